@@ -0,0 +1,248 @@
+/* Helios (TM) 3D Engine (Java): Keyframe Track Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Animation;
+
+import java.util.Arrays;
+
+import Math.Quaternion;
+import Math.QuaternionArray;
+import Math.Vector3;
+import Math.Vector3Array;
+
+/**
+ * A sequence of translation, rotation and scale keys at increasing times,
+ * sampled by linear interpolation of translation and scale and normalized
+ * linear interpolation of rotation along the shorter arc. Times before the
+ * first key or after the last clamp to it.
+ * <p>
+ * Each track remembers the key interval of its last sample. Playback that
+ * moves forward or backward by a few keys per sample finds the next interval
+ * in constant time; larger jumps fall back to a binary search. The cursor is
+ * only a hint that every sample checks, so a track may be sampled from
+ * several threads at once, at worst costing extra searches.
+ * <p>
+ * The key arrays are referenced, not copied, so keys may be edited in place
+ * as long as the times stay increasing.
+ */
+public class KeyframeTrack {
+	/**
+	 * Keys stepped over before giving up and binary searching
+	 */
+	private static final int MaxSteps = 4;
+	
+	private final float[] Times;
+	private final Vector3Array Translations;
+	private final QuaternionArray Rotations;
+	private final Vector3Array Scales;
+	private int Cursor;
+	
+	/**
+	 * Creates a track
+	 * @param Times the key times, strictly increasing
+	 * @param Translations the translation keys
+	 * @param Rotations the rotation keys, unit quaternions
+	 * @param Scales the scale keys
+	 * @throws IllegalArgumentException if there are no keys, a key array is
+	 * shorter than the times, or the times are not strictly increasing
+	 */
+	public KeyframeTrack(float[] Times, Vector3Array Translations, QuaternionArray Rotations, Vector3Array Scales) {
+		if(Times.length == 0) {
+			throw new IllegalArgumentException("Track needs at least one key");
+		}
+		if(Translations.size() < Times.length || Rotations.size() < Times.length || Scales.size() < Times.length) {
+			throw new IllegalArgumentException("Fewer keys than key times");
+		}
+		for(int i = 1; i < Times.length; i++) {
+			if(!(Times[i] > Times[i - 1])) {
+				throw new IllegalArgumentException("Key times must be strictly increasing, key " + i + " is at " + Times[i]);
+			}
+		}
+		this.Times = Times;
+		this.Translations = Translations;
+		this.Rotations = Rotations;
+		this.Scales = Scales;
+	}
+	
+	/*
+	 * STATIC METHODS
+	 */
+	
+	/**
+	 * Samples many tracks at one time, writing track i into element
+	 * Offset + i of the destinations. Allocation free, and equal to sampling
+	 * each track on its own.
+	 * @param Tracks the tracks
+	 * @param Time the sample time
+	 * @param Translations the destination translations
+	 * @param Rotations the destination rotations
+	 * @param Scales the destination scales
+	 * @param Offset the first destination element
+	 */
+	public static void sample(KeyframeTrack[] Tracks, float Time, Vector3Array Translations, QuaternionArray Rotations, Vector3Array Scales, int Offset) {
+		for(int i = 0; i < Tracks.length; i++) {
+			KeyframeTrack Track = Tracks[i];
+			int A = Track.locate(Time);
+			int B = Math.min(A + 1, Track.Times.length - 1);
+			float T = Track.fraction(A, Time), S = 1.0f - T;
+			float[] X = Track.Translations.x(), Y = Track.Translations.y(), Z = Track.Translations.z();
+			Translations.set(Offset + i, KeyframeTrack.lerp(X, A, B, S, T), KeyframeTrack.lerp(Y, A, B, S, T), KeyframeTrack.lerp(Z, A, B, S, T));
+			X = Track.Scales.x();
+			Y = Track.Scales.y();
+			Z = Track.Scales.z();
+			Scales.set(Offset + i, KeyframeTrack.lerp(X, A, B, S, T), KeyframeTrack.lerp(Y, A, B, S, T), KeyframeTrack.lerp(Z, A, B, S, T));
+			float[] QW = Track.Rotations.w(), QX = Track.Rotations.x(), QY = Track.Rotations.y(), QZ = Track.Rotations.z();
+			float R = KeyframeTrack.arc(Track.Rotations, A, B, T);
+			float W = KeyframeTrack.lerp(QW, A, B, S, R), RX = KeyframeTrack.lerp(QX, A, B, S, R);
+			float RY = KeyframeTrack.lerp(QY, A, B, S, R), RZ = KeyframeTrack.lerp(QZ, A, B, S, R);
+			float Inverse = KeyframeTrack.inverseLength(W, RX, RY, RZ);
+			Rotations.set(Offset + i, RX * Inverse, RY * Inverse, RZ * Inverse, W * Inverse);
+		}
+	}
+	
+	/**
+	 * Returns the weight of rotation key B, negated when B lies on the other
+	 * hemisphere from key A so the blend takes the shorter arc
+	 */
+	private static float arc(QuaternionArray Keys, int A, int B, float T) {
+		float[] QW = Keys.w(), QX = Keys.x(), QY = Keys.y(), QZ = Keys.z();
+		return QW[A] * QW[B] + QX[A] * QX[B] + QY[A] * QY[B] + QZ[A] * QZ[B] < 0.0f ? -T : T;
+	}
+	
+	/**
+	 * Returns the reciprocal of a quaternion's length, or zero for a zero
+	 * quaternion, as Quaternion.nlerp normalizes
+	 */
+	private static float inverseLength(float W, float X, float Y, float Z) {
+		float Length = (float) Math.sqrt(W * W + X * X + Y * Y + Z * Z);
+		return Length != 0.0f ? 1.0f / Length : 0.0f;
+	}
+	
+	/**
+	 * Blends one component of key A and key B with weights S and T. Both
+	 * sample methods build their results from these helpers, so single and
+	 * batch sampling cannot drift apart.
+	 */
+	private static float lerp(float[] Keys, int A, int B, float S, float T) {
+		return S * Keys[A] + T * Keys[B];
+	}
+	
+	/**
+	 * Finds the key at or before a time in a strictly increasing array,
+	 * or 0 if the time precedes every key
+	 */
+	private static int search(float[] Times, float Time) {
+		int Index = Arrays.binarySearch(Times, Time);
+		return Index >= 0 ? Index : Math.max(0, -Index - 2);
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Returns the time of the last key minus that of the first
+	 * @return the duration
+	 */
+	public float duration() {
+		return this.Times[this.Times.length - 1] - this.Times[0];
+	}
+	
+	/**
+	 * Returns the time of the last key
+	 * @return the end time
+	 */
+	public float endTime() {
+		return this.Times[this.Times.length - 1];
+	}
+	
+	/**
+	 * Returns the number of keys
+	 * @return the key count
+	 */
+	public int keyCount() {
+		return this.Times.length;
+	}
+	
+	/**
+	 * Samples the track, writing into the destinations
+	 * @param Time the sample time
+	 * @param Translation the destination translation
+	 * @param Rotation the destination rotation
+	 * @param Scale the destination scale
+	 */
+	public void sample(float Time, Vector3 Translation, Quaternion Rotation, Vector3 Scale) {
+		int A = this.locate(Time);
+		int B = Math.min(A + 1, this.Times.length - 1);
+		float T = this.fraction(A, Time), S = 1.0f - T;
+		float[] X = this.Translations.x(), Y = this.Translations.y(), Z = this.Translations.z();
+		Translation.set(KeyframeTrack.lerp(X, A, B, S, T), KeyframeTrack.lerp(Y, A, B, S, T), KeyframeTrack.lerp(Z, A, B, S, T));
+		X = this.Scales.x();
+		Y = this.Scales.y();
+		Z = this.Scales.z();
+		Scale.set(KeyframeTrack.lerp(X, A, B, S, T), KeyframeTrack.lerp(Y, A, B, S, T), KeyframeTrack.lerp(Z, A, B, S, T));
+		float[] QW = this.Rotations.w(), QX = this.Rotations.x(), QY = this.Rotations.y(), QZ = this.Rotations.z();
+		float R = KeyframeTrack.arc(this.Rotations, A, B, T);
+		float W = KeyframeTrack.lerp(QW, A, B, S, R), RX = KeyframeTrack.lerp(QX, A, B, S, R);
+		float RY = KeyframeTrack.lerp(QY, A, B, S, R), RZ = KeyframeTrack.lerp(QZ, A, B, S, R);
+		float Inverse = KeyframeTrack.inverseLength(W, RX, RY, RZ);
+		Rotation.set(RX * Inverse, RY * Inverse, RZ * Inverse, W * Inverse);
+	}
+	
+	/**
+	 * Returns the time of the first key
+	 * @return the start time
+	 */
+	public float startTime() {
+		return this.Times[0];
+	}
+	
+	/**
+	 * Returns the interpolation parameter between key A and the next,
+	 * clamped to [0, 1]
+	 */
+	private float fraction(int A, float Time) {
+		float[] Times = this.Times;
+		if(A + 1 >= Times.length) {
+			return 0.0f;
+		}
+		float T = (Time - Times[A]) / (Times[A + 1] - Times[A]);
+		return Math.max(0.0f, Math.min(1.0f, T));
+	}
+	
+	/**
+	 * Finds the key at or before a time, starting from the cached cursor and
+	 * stepping a few keys either way before resorting to a binary search
+	 */
+	private int locate(float Time) {
+		float[] Times = this.Times;
+		int Last = Times.length - 1;
+		int Key = this.Cursor;
+		int Steps = 0;
+		if(Time >= Times[Key]) {
+			while(Key < Last && Time >= Times[Key + 1]) {
+				if(++Steps > KeyframeTrack.MaxSteps) {
+					Key = KeyframeTrack.search(Times, Time);
+					break;
+				}
+				Key++;
+			}
+		}else {
+			while(Key > 0 && Time < Times[Key]) {
+				if(++Steps > KeyframeTrack.MaxSteps) {
+					Key = KeyframeTrack.search(Times, Time);
+					break;
+				}
+				Key--;
+			}
+		}
+		this.Cursor = Key;
+		return Key;
+	}
+}
@@ -0,0 +1,287 @@
+/* Helios (TM) 3D Engine (Java): Skinning Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Animation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import Math.DualQuaternion;
+import Math.Quaternion;
+import Math.Vector3Array;
+
+/**
+ * Dual quaternion linear blend skinning over packed vertices. Each vertex
+ * names up to INFLUENCES bones in a packed index array and weights them in a
+ * matching weight array, both holding INFLUENCES entries per vertex starting
+ * at Vertex * INFLUENCES. Unused slots have weight zero. The bone dual
+ * quaternions are summed by weight, with each flipped onto the hemisphere of
+ * the first influence, then normalized and applied to the vertex. Unlike
+ * blended matrices this keeps joints from collapsing, and the weights need
+ * not sum to one.
+ * <p>
+ * The bones are copied into a flat palette once per call, so the per-vertex
+ * loop reads packed floats and does not allocate. A vertex whose weights are
+ * all zero is copied unchanged.
+ * <p>
+ * Every index with a nonzero weight must name a bone, or an
+ * IndexOutOfBoundsException is thrown; indices in unused slots are not read.
+ * The destinations may then have been partly written.
+ */
+public final class Skinning {
+	/**
+	 * Bone influences per vertex in the index and weight arrays
+	 */
+	public static final int INFLUENCES = 4;
+	
+	/**
+	 * Ranges at or below this many vertices are not split further by the
+	 * parallel forms
+	 */
+	public static final int TASK_SIZE = 8192;
+	
+	private Skinning() {
+	}
+	
+	/*
+	 * STATIC METHODS
+	 * Each skins the vertices [Offset, Offset + Count). Destinations may be
+	 * the source arrays.
+	 */
+	
+	/**
+	 * Skins a range of vertex positions
+	 * @param Bones the bone transforms, unit dual quaternions taking bind
+	 * space to the posed space
+	 * @param Indices the bone indices, INFLUENCES per vertex
+	 * @param Weights the bone weights, INFLUENCES per vertex
+	 * @param Positions the bind-space positions
+	 * @param Dest the destination positions
+	 * @param Offset the first vertex
+	 * @param Count the number of vertices
+	 */
+	public static void skin(DualQuaternion[] Bones, int[] Indices, float[] Weights, Vector3Array Positions, Vector3Array Dest, int Offset, int Count) {
+		Skinning.skin(Skinning.palette(Bones), Indices, Weights, Positions, null, Dest, null, Offset, Count);
+	}
+	
+	/**
+	 * Skins a range of vertex positions, splitting the range across a
+	 * ForkJoinPool. Returns once every vertex has been written.
+	 * @param Bones the bone transforms, unit dual quaternions taking bind
+	 * space to the posed space
+	 * @param Indices the bone indices, INFLUENCES per vertex
+	 * @param Weights the bone weights, INFLUENCES per vertex
+	 * @param Positions the bind-space positions
+	 * @param Dest the destination positions
+	 * @param Offset the first vertex
+	 * @param Count the number of vertices
+	 * @param Pool the pool to run on, such as ForkJoinPool.commonPool(), or
+	 * null to run on the calling thread
+	 */
+	public static void skin(DualQuaternion[] Bones, int[] Indices, float[] Weights, Vector3Array Positions, Vector3Array Dest, int Offset, int Count, ForkJoinPool Pool) {
+		Skinning.skin(Skinning.palette(Bones), Indices, Weights, Positions, null, Dest, null, Offset, Count, Pool);
+	}
+	
+	/**
+	 * Skins a range of vertex positions and normals. Normals are rotated by
+	 * the blended rotation only.
+	 * @param Bones the bone transforms, unit dual quaternions taking bind
+	 * space to the posed space
+	 * @param Indices the bone indices, INFLUENCES per vertex
+	 * @param Weights the bone weights, INFLUENCES per vertex
+	 * @param Positions the bind-space positions
+	 * @param Normals the bind-space normals
+	 * @param PositionDest the destination positions
+	 * @param NormalDest the destination normals
+	 * @param Offset the first vertex
+	 * @param Count the number of vertices
+	 */
+	public static void skin(DualQuaternion[] Bones, int[] Indices, float[] Weights, Vector3Array Positions, Vector3Array Normals,
+							Vector3Array PositionDest, Vector3Array NormalDest, int Offset, int Count) {
+		Skinning.skin(Skinning.palette(Bones), Indices, Weights, Positions, Normals, PositionDest, NormalDest, Offset, Count);
+	}
+	
+	/**
+	 * Skins a range of vertex positions and normals, splitting the range
+	 * across a ForkJoinPool. Returns once every vertex has been written.
+	 * @param Bones the bone transforms, unit dual quaternions taking bind
+	 * space to the posed space
+	 * @param Indices the bone indices, INFLUENCES per vertex
+	 * @param Weights the bone weights, INFLUENCES per vertex
+	 * @param Positions the bind-space positions
+	 * @param Normals the bind-space normals
+	 * @param PositionDest the destination positions
+	 * @param NormalDest the destination normals
+	 * @param Offset the first vertex
+	 * @param Count the number of vertices
+	 * @param Pool the pool to run on, such as ForkJoinPool.commonPool(), or
+	 * null to run on the calling thread
+	 */
+	public static void skin(DualQuaternion[] Bones, int[] Indices, float[] Weights, Vector3Array Positions, Vector3Array Normals,
+							Vector3Array PositionDest, Vector3Array NormalDest, int Offset, int Count, ForkJoinPool Pool) {
+		Skinning.skin(Skinning.palette(Bones), Indices, Weights, Positions, Normals, PositionDest, NormalDest, Offset, Count, Pool);
+	}
+	
+	/**
+	 * Packs the bones as real XYZW then dual XYZW, eight floats per bone
+	 */
+	private static float[] palette(DualQuaternion[] Bones) {
+		float[] Palette = new float[8 * Bones.length];
+		for(int i = 0, Index = 0; i < Bones.length; i++, Index += 8) {
+			Quaternion Real = Bones[i].real(), Dual = Bones[i].dual();
+			Palette[Index] = Real.x();
+			Palette[Index + 1] = Real.y();
+			Palette[Index + 2] = Real.z();
+			Palette[Index + 3] = Real.w();
+			Palette[Index + 4] = Dual.x();
+			Palette[Index + 5] = Dual.y();
+			Palette[Index + 6] = Dual.z();
+			Palette[Index + 7] = Dual.w();
+		}
+		return Palette;
+	}
+	
+	private static void skin(float[] Palette, int[] Indices, float[] Weights, Vector3Array Positions, Vector3Array Normals,
+							 Vector3Array PositionDest, Vector3Array NormalDest, int Offset, int Count, ForkJoinPool Pool) {
+		if(Pool == null || Count <= Skinning.TASK_SIZE) {
+			Skinning.skin(Palette, Indices, Weights, Positions, Normals, PositionDest, NormalDest, Offset, Count);
+		}else {
+			Pool.invoke(new Task(Palette, Indices, Weights, Positions, Normals, PositionDest, NormalDest, Offset, Count));
+		}
+	}
+	
+	/**
+	 * The per-vertex loop. Normals and NormalDest are null when only positions
+	 * are skinned.
+	 */
+	private static void skin(float[] Palette, int[] Indices, float[] Weights, Vector3Array Positions, Vector3Array Normals,
+							 Vector3Array PositionDest, Vector3Array NormalDest, int Offset, int Count) {
+		int Bones = Palette.length / 8;
+		float[] PX = Positions.x(), PY = Positions.y(), PZ = Positions.z();
+		float[] OX = PositionDest.x(), OY = PositionDest.y(), OZ = PositionDest.z();
+		float[] NX = null, NY = null, NZ = null, MX = null, MY = null, MZ = null;
+		if(Normals != null) {
+			NX = Normals.x();
+			NY = Normals.y();
+			NZ = Normals.z();
+			MX = NormalDest.x();
+			MY = NormalDest.y();
+			MZ = NormalDest.z();
+		}
+		for(int v = Offset, End = Offset + Count; v < End; v++) {
+			float RX = 0.0f, RY = 0.0f, RZ = 0.0f, RW = 0.0f;
+			float DX = 0.0f, DY = 0.0f, DZ = 0.0f, DW = 0.0f;
+			float AX = 0.0f, AY = 0.0f, AZ = 0.0f, AW = 0.0f;
+			boolean First = true;
+			for(int k = v * Skinning.INFLUENCES, KEnd = k + Skinning.INFLUENCES; k < KEnd; k++) {
+				float Weight = Weights[k];
+				if(Weight == 0.0f) {
+					continue;
+				}
+				int Index = Indices[k];
+				if(Index < 0 || Index >= Bones) {
+					throw new IndexOutOfBoundsException("Bone " + Index + " of vertex " + v + " outside palette of " + Bones);
+				}
+				int Bone = 8 * Index;
+				float BX = Palette[Bone], BY = Palette[Bone + 1], BZ = Palette[Bone + 2], BW = Palette[Bone + 3];
+				if(First) {
+					AX = BX;
+					AY = BY;
+					AZ = BZ;
+					AW = BW;
+					First = false;
+				}else if(AX * BX + AY * BY + AZ * BZ + AW * BW < 0.0f) {
+					Weight = -Weight;
+				}
+				RX += Weight * BX;
+				RY += Weight * BY;
+				RZ += Weight * BZ;
+				RW += Weight * BW;
+				DX += Weight * Palette[Bone + 4];
+				DY += Weight * Palette[Bone + 5];
+				DZ += Weight * Palette[Bone + 6];
+				DW += Weight * Palette[Bone + 7];
+			}
+			float X = PX[v], Y = PY[v], Z = PZ[v];
+			float Length = (float) Math.sqrt(RX * RX + RY * RY + RZ * RZ + RW * RW);
+			if(Length == 0.0f) {
+				OX[v] = X;
+				OY[v] = Y;
+				OZ[v] = Z;
+				if(NX != null) {
+					MX[v] = NX[v];
+					MY[v] = NY[v];
+					MZ[v] = NZ[v];
+				}
+				continue;
+			}
+			float Inverse = 1.0f / Length;
+			RX *= Inverse;
+			RY *= Inverse;
+			RZ *= Inverse;
+			RW *= Inverse;
+			DX *= Inverse;
+			DY *= Inverse;
+			DZ *= Inverse;
+			DW *= Inverse;
+			//Rotate as Quaternion.rotate, then add the translation 2 * Dual * conjugate(Real)
+			float TX = 2.0f * (RY * Z - RZ * Y);
+			float TY = 2.0f * (RZ * X - RX * Z);
+			float TZ = 2.0f * (RX * Y - RY * X);
+			OX[v] = X + RW * TX + (RY * TZ - RZ * TY) + 2.0f * (RW * DX - DW * RX + RY * DZ - RZ * DY);
+			OY[v] = Y + RW * TY + (RZ * TX - RX * TZ) + 2.0f * (RW * DY - DW * RY + RZ * DX - RX * DZ);
+			OZ[v] = Z + RW * TZ + (RX * TY - RY * TX) + 2.0f * (RW * DZ - DW * RZ + RX * DY - RY * DX);
+			if(NX != null) {
+				X = NX[v];
+				Y = NY[v];
+				Z = NZ[v];
+				TX = 2.0f * (RY * Z - RZ * Y);
+				TY = 2.0f * (RZ * X - RX * Z);
+				TZ = 2.0f * (RX * Y - RY * X);
+				MX[v] = X + RW * TX + (RY * TZ - RZ * TY);
+				MY[v] = Y + RW * TY + (RZ * TX - RX * TZ);
+				MZ[v] = Z + RW * TZ + (RX * TY - RY * TX);
+			}
+		}
+	}
+	
+	/**
+	 * Halves its range until it is at most TASK_SIZE vertices
+	 */
+	private static final class Task extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		private final float[] Palette;
+		private final int[] Indices;
+		private final float[] Weights;
+		private final Vector3Array Positions, Normals, PositionDest, NormalDest;
+		private final int Offset, Count;
+		
+		Task(float[] Palette, int[] Indices, float[] Weights, Vector3Array Positions, Vector3Array Normals,
+			 Vector3Array PositionDest, Vector3Array NormalDest, int Offset, int Count) {
+			this.Palette = Palette;
+			this.Indices = Indices;
+			this.Weights = Weights;
+			this.Positions = Positions;
+			this.Normals = Normals;
+			this.PositionDest = PositionDest;
+			this.NormalDest = NormalDest;
+			this.Offset = Offset;
+			this.Count = Count;
+		}
+		
+		protected void compute() {
+			if(this.Count <= Skinning.TASK_SIZE) {
+				Skinning.skin(this.Palette, this.Indices, this.Weights, this.Positions, this.Normals, this.PositionDest, this.NormalDest, this.Offset, this.Count);
+				return;
+			}
+			int Half = this.Count / 2;
+			RecursiveAction.invokeAll(new Task(this.Palette, this.Indices, this.Weights, this.Positions, this.Normals, this.PositionDest, this.NormalDest, this.Offset, Half),
+									  new Task(this.Palette, this.Indices, this.Weights, this.Positions, this.Normals, this.PositionDest, this.NormalDest, this.Offset + Half, this.Count - Half));
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/* Helios (TM) 3D Engine (Java): Animation Sampling Benchmarks
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Animation.KeyframeTrack;
+import Math.Quaternion;
+import Math.QuaternionArray;
+import Math.Vector3;
+import Math.Vector3Array;
+
+/**
+ * One frame of skeletal playback: Skeletons x 60 bone tracks of 120 keys,
+ * sampled at a time advancing by 1/60 s per invocation. Sequential playback
+ * hits the cached cursor; the scrub variants jump to a random time every
+ * invocation and pay a binary search per track.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimationBenchmark {
+	private static final int Bones = 60;
+	private static final int Keys = 120;
+	
+	@Param({"1", "50", "500"})
+	public int Skeletons;
+	
+	private KeyframeTrack[] Tracks;
+	private Vector3Array Translations, Scales;
+	private QuaternionArray Rotations;
+	private Vector3 Translation, Scale;
+	private Quaternion Rotation;
+	private SplittableRandom Random;
+	private float Time, Duration;
+	
+	@Setup
+	public void setup() {
+		this.Random = new SplittableRandom(42);
+		int Count = this.Skeletons * AnimationBenchmark.Bones;
+		this.Tracks = new KeyframeTrack[Count];
+		float[] Times = new float[AnimationBenchmark.Keys];
+		for(int i = 0; i < Times.length; i++) {
+			Times[i] = i / 30.0f;
+		}
+		this.Duration = Times[Times.length - 1];
+		for(int t = 0; t < Count; t++) {
+			Vector3Array Translations = new Vector3Array(AnimationBenchmark.Keys);
+			Vector3Array Scales = new Vector3Array(AnimationBenchmark.Keys);
+			QuaternionArray Rotations = new QuaternionArray(AnimationBenchmark.Keys);
+			for(int k = 0; k < AnimationBenchmark.Keys; k++) {
+				Translations.set(k, (float) this.Random.nextDouble(), (float) this.Random.nextDouble(), (float) this.Random.nextDouble());
+				Scales.set(k, 1.0f, 1.0f, 1.0f);
+				Rotations.set(k, Quaternion.normalize(new Quaternion((float) this.Random.nextDouble(-1, 1), (float) this.Random.nextDouble(-1, 1),
+																	 (float) this.Random.nextDouble(-1, 1), (float) this.Random.nextDouble(-1, 1))));
+			}
+			this.Tracks[t] = new KeyframeTrack(Times, Translations, Rotations, Scales);
+		}
+		this.Translations = new Vector3Array(Count);
+		this.Scales = new Vector3Array(Count);
+		this.Rotations = new QuaternionArray(Count);
+		this.Translation = new Vector3();
+		this.Scale = new Vector3();
+		this.Rotation = new Quaternion();
+	}
+	
+	private float advance() {
+		this.Time += 1.0f / 60.0f;
+		if(this.Time > this.Duration) {
+			this.Time = 0.0f;
+		}
+		return this.Time;
+	}
+	
+	@Benchmark
+	public QuaternionArray sequentialBatch() {
+		KeyframeTrack.sample(this.Tracks, this.advance(), this.Translations, this.Rotations, this.Scales, 0);
+		return this.Rotations;
+	}
+	
+	@Benchmark
+	public Quaternion sequentialSingle() {
+		float Time = this.advance();
+		for(int i = 0; i < this.Tracks.length; i++) {
+			this.Tracks[i].sample(Time, this.Translation, this.Rotation, this.Scale);
+		}
+		return this.Rotation;
+	}
+	
+	@Benchmark
+	public QuaternionArray scrubBatch() {
+		KeyframeTrack.sample(this.Tracks, (float) this.Random.nextDouble(this.Duration), this.Translations, this.Rotations, this.Scales, 0);
+		return this.Rotations;
+	}
+}
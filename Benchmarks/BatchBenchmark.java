@@ -0,0 +1,286 @@
+/* Helios (TM) 3D Engine (Java): Math Batch Benchmarks
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import Math.HalfVector3Array;
+import Math.Quaternion;
+import Math.QuaternionArray;
+import Math.Reduction;
+import Math.Vector3;
+import Math.Vector3Array;
+import Math.Vector4;
+
+/**
+ * The same operations applied to Size elements, once over arrays of objects
+ * and once through the packed array kernels. Sizes step by decades from 1 to
+ * 10^6 so the results cover call overhead, L1/L2 resident and memory bound
+ * working sets. Results are per batch; divide by Size for per-element cost.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBenchmark {
+	@Param({"1", "10", "100", "1000", "10000", "100000", "1000000"})
+	public int Size;
+	
+	private Vector3[] Vectors, VectorDest;
+	private Quaternion[] Quaternions, QuaternionDest;
+	private Vector3Array Packed, PackedDest, Targets;
+	private HalfVector3Array HalfPacked;
+	private QuaternionArray PackedQuaternions, PackedQuaternionDest;
+	private Quaternion Rotation;
+	
+	@Setup
+	public void setup() {
+		SplittableRandom Random = new SplittableRandom(42);
+		this.Vectors = new Vector3[this.Size];
+		this.VectorDest = new Vector3[this.Size];
+		this.Quaternions = new Quaternion[this.Size];
+		this.QuaternionDest = new Quaternion[this.Size];
+		this.Packed = new Vector3Array(this.Size);
+		this.PackedDest = new Vector3Array(this.Size);
+		this.PackedQuaternions = new QuaternionArray(this.Size);
+		this.PackedQuaternionDest = new QuaternionArray(this.Size);
+		for(int i = 0; i < this.Size; i++) {
+			this.Vectors[i] = new Vector3((float) Random.nextDouble(-1, 1), (float) Random.nextDouble(-1, 1), (float) Random.nextDouble(-1, 1));
+			this.VectorDest[i] = new Vector3();
+			this.Quaternions[i] = new Quaternion((float) Random.nextDouble(-1, 1), (float) Random.nextDouble(-1, 1), (float) Random.nextDouble(-1, 1), (float) Random.nextDouble(-1, 1));
+			this.Quaternions[i].normalize();
+			this.QuaternionDest[i] = new Quaternion();
+			this.Packed.set(i, this.Vectors[i]);
+			this.PackedQuaternions.set(i, this.Quaternions[i]);
+		}
+		this.HalfPacked = new HalfVector3Array(this.Size);
+		HalfVector3Array.encode(this.Packed, this.HalfPacked, 0, this.Size);
+		this.Targets = new Vector3Array(this.Size);
+		for(int i = 0; i < this.Size; i++) {
+			this.Targets.set(i, this.Vectors[(i + 1) % this.Size]);
+		}
+		this.Rotation = Quaternion.normalize(new Quaternion(0.1f, 0.7f, -0.2f, 0.68f));
+	}
+	
+	@Benchmark
+	public void normalizeAllocating(Blackhole Hole) {
+		for(int i = 0; i < this.Size; i++) {
+			Hole.consume(Vector3.normalize(this.Vectors[i]));
+		}
+	}
+	
+	@Benchmark
+	public Vector3[] normalizeDestination() {
+		for(int i = 0; i < this.Size; i++) {
+			Vector3.normalize(this.Vectors[i], this.VectorDest[i]);
+		}
+		return this.VectorDest;
+	}
+	
+	@Benchmark
+	public Vector3Array normalizePacked() {
+		Vector3Array.normalize(this.Packed, this.PackedDest, 0, this.Size);
+		return this.PackedDest;
+	}
+	
+	/**
+	 * Decodes, normalizes and re-encodes half-precision vectors in place
+	 */
+	@Benchmark
+	public HalfVector3Array normalizeHalf() {
+		HalfVector3Array.normalize(this.HalfPacked, this.HalfPacked, 0, this.Size);
+		return this.HalfPacked;
+	}
+	
+	@Benchmark
+	public Vector3[] crossDestination() {
+		for(int i = 0; i < this.Size; i++) {
+			Vector3.cross(this.Vectors[i], this.VectorDest[i], this.VectorDest[i]);
+		}
+		return this.VectorDest;
+	}
+	
+	@Benchmark
+	public Vector3Array crossPacked() {
+		Vector3Array.cross(this.Packed, this.PackedDest, this.PackedDest, 0, this.Size);
+		return this.PackedDest;
+	}
+	
+	@Benchmark
+	public Vector3[] rotateDestination() {
+		for(int i = 0; i < this.Size; i++) {
+			Quaternion.rotate(this.Rotation, this.Vectors[i], this.VectorDest[i]);
+		}
+		return this.VectorDest;
+	}
+	
+	@Benchmark
+	public Vector3Array rotatePacked() {
+		Quaternion.rotate(this.Rotation, this.Packed, this.PackedDest, 0, this.Size);
+		return this.PackedDest;
+	}
+	
+	@Benchmark
+	public void multiplyAllocating(Blackhole Hole) {
+		for(int i = 0; i < this.Size; i++) {
+			Hole.consume(Quaternion.multiply(this.Quaternions[i], this.Rotation));
+		}
+	}
+	
+	@Benchmark
+	public Quaternion[] multiplyDestination() {
+		for(int i = 0; i < this.Size; i++) {
+			Quaternion.multiply(this.Quaternions[i], this.Rotation, this.QuaternionDest[i]);
+		}
+		return this.QuaternionDest;
+	}
+	
+	@Benchmark
+	public QuaternionArray multiplyPacked() {
+		QuaternionArray.multiply(this.PackedQuaternions, this.Rotation, this.PackedQuaternionDest, 0, this.Size);
+		return this.PackedQuaternionDest;
+	}
+	
+	@Benchmark
+	public QuaternionArray fastSlerpPacked() {
+		QuaternionArray.fastSlerp(this.PackedQuaternions, this.PackedQuaternionDest, 0.37f, this.PackedQuaternionDest, 0, this.Size);
+		return this.PackedQuaternionDest;
+	}
+	
+	/**
+	 * The integration step as written before Quaternion.integrate existed,
+	 * treating the vectors as angular velocities
+	 */
+	@Benchmark
+	public void integrateAllocating(Blackhole Hole) {
+		for(int i = 0; i < this.Size; i++) {
+			Quaternion Q = this.Quaternions[i];
+			Quaternion Spin = Quaternion.multiply(new Quaternion(this.Vectors[i]), Q);
+			Quaternion Step = Quaternion.scale(Spin, 0.5f / 60.0f);
+			Hole.consume(Quaternion.normalize(new Quaternion(Q.x() + Step.x(), Q.y() + Step.y(), Q.z() + Step.z(), Q.w() + Step.w())));
+		}
+	}
+	
+	@Benchmark
+	public Quaternion[] integrateDestination() {
+		for(int i = 0; i < this.Size; i++) {
+			Quaternion.integrate(this.Quaternions[i], this.Vectors[i], 1.0f / 60.0f, this.QuaternionDest[i]);
+		}
+		return this.QuaternionDest;
+	}
+	
+	@Benchmark
+	public QuaternionArray integratePacked() {
+		QuaternionArray.integrate(this.PackedQuaternions, this.Packed, 1.0f / 60.0f, this.PackedQuaternionDest, 0, this.Size);
+		return this.PackedQuaternionDest;
+	}
+	
+	/**
+	 * The rotation between two vectors as built before Quaternion.fromTo
+	 * existed, from Vector3.axisAngle and a sine and cosine
+	 */
+	@Benchmark
+	public void fromToAxisAngle(Blackhole Hole) {
+		for(int i = 0; i < this.Size; i++) {
+			Vector4 AxisAngle = Vector3.axisAngle(this.Vectors[i], this.Targets.view(i));
+			Vector3 Axis = Vector3.normalize(new Vector3(AxisAngle.x(), AxisAngle.y(), AxisAngle.z()));
+			float Sine = (float) Math.sin(0.5 * AxisAngle.w());
+			Hole.consume(new Quaternion(Axis.x() * Sine, Axis.y() * Sine, Axis.z() * Sine, (float) Math.cos(0.5 * AxisAngle.w())));
+		}
+	}
+	
+	@Benchmark
+	public Quaternion[] fromToDestination() {
+		for(int i = 0; i < this.Size; i++) {
+			Quaternion.fromTo(this.Vectors[i], this.Targets.view(i), this.QuaternionDest[i]);
+		}
+		return this.QuaternionDest;
+	}
+	
+	@Benchmark
+	public QuaternionArray fromToPacked() {
+		QuaternionArray.fromTo(this.Packed, this.Targets, this.PackedQuaternionDest, 0, this.Size);
+		return this.PackedQuaternionDest;
+	}
+	
+	@Benchmark
+	public QuaternionArray integrateExpPacked() {
+		QuaternionArray.integrateExp(this.PackedQuaternions, this.Packed, 1.0f / 60.0f, this.PackedQuaternionDest, 0, this.Size);
+		return this.PackedQuaternionDest;
+	}
+	
+	/**
+	 * A + (B - A) * T chained from the allocating subtract, scale and add
+	 */
+	@Benchmark
+	public void lerpAllocating(Blackhole Hole) {
+		Vector3 T = new Vector3(0.37f, 0.37f, 0.37f);
+		for(int i = 0; i < this.Size; i++) {
+			Hole.consume(Vector3.add(this.Vectors[i], Vector3.scale(Vector3.subtract(this.Targets.view(i), this.Vectors[i]), T)));
+		}
+	}
+	
+	@Benchmark
+	public Vector3[] lerpDestination() {
+		for(int i = 0; i < this.Size; i++) {
+			Vector3.lerp(this.Vectors[i], this.Targets.view(i), 0.37f, this.VectorDest[i]);
+		}
+		return this.VectorDest;
+	}
+	
+	@Benchmark
+	public Vector3Array lerpPacked() {
+		Vector3Array.lerp(this.Packed, this.Targets, 0.37f, this.PackedDest, 0, this.Size);
+		return this.PackedDest;
+	}
+	
+	@Benchmark
+	public Vector3Array lerpPackedFused() {
+		Vector3Array.lerp(this.Packed, this.Targets, 0.37f, this.PackedDest, 0, this.Size, true);
+		return this.PackedDest;
+	}
+	
+	/**
+	 * A single float accumulator advanced with Vector3.add
+	 */
+	@Benchmark
+	public Vector3 sumAccumulate() {
+		Vector3 Sum = new Vector3();
+		for(int i = 0; i < this.Size; i++) {
+			Sum.add(this.Vectors[i]);
+		}
+		return Sum;
+	}
+	
+	@Benchmark
+	public Vector3 sumPacked() {
+		return Reduction.sum(this.Packed, new Vector3(), 0, this.Size);
+	}
+	
+	@Benchmark
+	public Vector3 sumParallel() {
+		return Reduction.sum(this.Packed, new Vector3(), 0, this.Size, ForkJoinPool.commonPool());
+	}
+}
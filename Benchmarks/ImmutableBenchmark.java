@@ -0,0 +1,97 @@
+/* Helios (TM) 3D Engine (Java): Immutable Math Benchmarks
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Math.ImmutableQuaternion;
+import Math.ImmutableVector3;
+import Math.Quaternion;
+import Math.Vector3;
+
+/**
+ * Chained expressions on the immutable types against the same expression on
+ * the mutable types, allocating and destination forms. Returning a float
+ * keeps every intermediate local to the benchmark method, so with escape
+ * analysis working the immutable chains should report gc.alloc.rate.norm
+ * of zero after warm-up.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImmutableBenchmark {
+	private float AX = 0.3f, AY = -1.2f, AZ = 2.1f;
+	private float BX = 2.5f, BY = 0.7f, BZ = -0.4f;
+	private ImmutableQuaternion Rotation;
+	private Quaternion MutableRotation;
+	private Vector3 A, B, Cross, Rotated;
+	
+	@Setup
+	public void setup() {
+		this.Rotation = new ImmutableQuaternion(0.1f, 0.7f, -0.2f, 0.68f).normalize();
+		this.MutableRotation = this.Rotation.toQuaternion();
+		this.A = new Vector3(this.AX, this.AY, this.AZ);
+		this.B = new Vector3(this.BX, this.BY, this.BZ);
+		this.Cross = new Vector3();
+		this.Rotated = new Vector3();
+	}
+	
+	@Benchmark
+	public float normalizeCrossImmutable() {
+		ImmutableVector3 A = new ImmutableVector3(this.AX, this.AY, this.AZ);
+		ImmutableVector3 B = new ImmutableVector3(this.BX, this.BY, this.BZ);
+		return ImmutableVector3.normalize(ImmutableVector3.cross(A, B)).dot(B);
+	}
+	
+	@Benchmark
+	public float normalizeCrossAllocating() {
+		return Vector3.dot(Vector3.normalize(Vector3.cross(this.A, this.B)), this.B);
+	}
+	
+	@Benchmark
+	public float normalizeCrossDestination() {
+		Vector3.normalize(Vector3.cross(this.A, this.B, this.Cross), this.Cross);
+		return Vector3.dot(this.Cross, this.B);
+	}
+	
+	@Benchmark
+	public float rotateChainImmutable() {
+		ImmutableVector3 A = new ImmutableVector3(this.AX, this.AY, this.AZ);
+		ImmutableQuaternion Twice = this.Rotation.multiply(this.Rotation);
+		return Twice.rotate(A).add(this.Rotation.rotate(A)).scale(0.5f).length();
+	}
+	
+	@Benchmark
+	public float rotateChainAllocating() {
+		Quaternion Twice = Quaternion.multiply(this.MutableRotation, this.MutableRotation);
+		Vector3 Sum = Vector3.add(Quaternion.rotate(Twice, this.A), Quaternion.rotate(this.MutableRotation, this.A));
+		return Vector3.length(Sum) * 0.5f;
+	}
+	
+	@Benchmark
+	public float rotateChainDestination() {
+		Quaternion.rotate(this.MutableRotation, this.A, this.Rotated);
+		Quaternion.rotate(this.MutableRotation, this.Rotated, this.Cross);
+		this.Cross.add(Quaternion.rotate(this.MutableRotation, this.A, this.Rotated));
+		return Vector3.length(this.Cross) * 0.5f;
+	}
+}
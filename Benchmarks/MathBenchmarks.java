@@ -0,0 +1,43 @@
+/* Helios (TM) 3D Engine (Java): Math Benchmark Runner
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the Math benchmarks with the GC profiler attached, so every result
+ * reports gc.alloc.rate.norm (bytes allocated per operation) next to the
+ * throughput. The benchmark classes live in this package, outside the engine
+ * sources, and are built by the Maven module in this directory into
+ * target/benchmarks.jar, whose main class is this runner. Arguments are a
+ * regular expression selecting benchmarks, for example
+ * "BatchBenchmark.normalize". The SIMD kernels are measured by default;
+ * pass -Dbenchmark.simd=false to measure the scalar kernels instead.
+ */
+public final class MathBenchmarks {
+	private MathBenchmarks() {
+	}
+	
+	public static void main(String[] Arguments) throws RunnerException {
+		boolean Simd = Boolean.parseBoolean(System.getProperty("benchmark.simd", "true"));
+		OptionsBuilder Builder = new OptionsBuilder();
+		Builder.include(Arguments.length > 0 ? Arguments[0] : MathBenchmarks.class.getPackage().getName() + ".*")
+			   .addProfiler(GCProfiler.class)
+			   .forks(1)
+			   .jvmArgsAppend("-DHelios.simd=" + Simd);
+		if(Simd) {
+			Builder.jvmArgsAppend("--add-modules", "jdk.incubator.vector");
+		}
+		Options Options = Builder.build();
+		new Runner(Options).run();
+	}
+}
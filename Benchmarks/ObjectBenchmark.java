@@ -0,0 +1,198 @@
+/* Helios (TM) 3D Engine (Java): Math Object Benchmarks
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Math.Quaternion;
+import Math.Vector2;
+import Math.Vector3;
+import Math.Vector4;
+
+/**
+ * Single-object hot calls on Vector2, Vector3, Vector4 and Quaternion. Each
+ * operation is measured through the allocating static method, the static
+ * method with a destination, and the in-place instance mutator, so the cost
+ * of allocation shows up directly in the comparison. Mutated state is reset
+ * from the source values inside the measured call to keep the inputs stable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectBenchmark {
+	private Vector2 A2, B2, Dest2;
+	private Vector3 A3, B3, Dest3;
+	private Vector4 A4, Dest4, Axis;
+	private Quaternion QA, QB, QDest;
+	
+	@Setup
+	public void setup() {
+		this.A2 = new Vector2(0.3f, -1.2f);
+		this.B2 = new Vector2(2.5f, 0.7f);
+		this.Dest2 = new Vector2();
+		this.A3 = new Vector3(0.3f, -1.2f, 2.1f);
+		this.B3 = new Vector3(2.5f, 0.7f, -0.4f);
+		this.Dest3 = new Vector3();
+		this.A4 = new Vector4(0.3f, -1.2f, 2.1f, 0.9f);
+		this.Dest4 = new Vector4();
+		this.Axis = new Vector4();
+		this.QA = new Quaternion(0.1f, 0.7f, -0.2f, 0.68f);
+		this.QB = new Quaternion(-0.5f, 0.1f, 0.3f, 0.8f);
+		this.QDest = new Quaternion();
+	}
+	
+	//Vector2
+	
+	@Benchmark
+	public Vector2 normalize2Allocating() {
+		return Vector2.normalize(this.A2);
+	}
+	
+	@Benchmark
+	public Vector2 normalize2Destination() {
+		return Vector2.normalize(this.A2, this.Dest2);
+	}
+	
+	@Benchmark
+	public Vector2 normalize2Instance() {
+		this.Dest2.set(this.A2);
+		this.Dest2.normalize();
+		return this.Dest2;
+	}
+	
+	@Benchmark
+	public Vector2 add2Allocating() {
+		return Vector2.add(this.A2, this.B2);
+	}
+	
+	@Benchmark
+	public Vector2 add2Destination() {
+		return Vector2.add(this.A2, this.B2, this.Dest2);
+	}
+	
+	//Vector3
+	
+	@Benchmark
+	public Vector4 axisAngleAllocating() {
+		return Vector3.axisAngle(this.A3, this.B3);
+	}
+	
+	@Benchmark
+	public Vector4 axisAngleDestination() {
+		return Vector3.axisAngle(this.A3, this.B3, this.Axis);
+	}
+	
+	@Benchmark
+	public Vector4 axisAngleInstance() {
+		return this.A3.axisAngle(this.B3);
+	}
+	
+	@Benchmark
+	public Vector3 cross3Allocating() {
+		return Vector3.cross(this.A3, this.B3);
+	}
+	
+	@Benchmark
+	public Vector3 cross3Destination() {
+		return Vector3.cross(this.A3, this.B3, this.Dest3);
+	}
+	
+	@Benchmark
+	public Vector3 normalize3Allocating() {
+		return Vector3.normalize(this.A3);
+	}
+	
+	@Benchmark
+	public Vector3 normalize3Destination() {
+		return Vector3.normalize(this.A3, this.Dest3);
+	}
+	
+	@Benchmark
+	public Vector3 normalize3Instance() {
+		this.Dest3.set(this.A3);
+		this.Dest3.normalize();
+		return this.Dest3;
+	}
+	
+	//Vector4
+	
+	@Benchmark
+	public Vector4 normalize4Allocating() {
+		return Vector4.normalize(this.A4);
+	}
+	
+	@Benchmark
+	public Vector4 normalize4Destination() {
+		return Vector4.normalize(this.A4, this.Dest4);
+	}
+	
+	@Benchmark
+	public Vector4 normalize4Instance() {
+		this.Dest4.set(this.A4);
+		this.Dest4.normalize();
+		return this.Dest4;
+	}
+	
+	//Quaternion
+	
+	@Benchmark
+	public Quaternion multiplyAllocating() {
+		return Quaternion.multiply(this.QA, this.QB);
+	}
+	
+	@Benchmark
+	public Quaternion multiplyDestination() {
+		return Quaternion.multiply(this.QA, this.QB, this.QDest);
+	}
+	
+	@Benchmark
+	public Quaternion multiplyInstance() {
+		this.QDest.set(this.QA);
+		this.QDest.multiply(this.QB);
+		return this.QDest;
+	}
+	
+	@Benchmark
+	public Quaternion normalizeQuaternionAllocating() {
+		return Quaternion.normalize(this.QA);
+	}
+	
+	@Benchmark
+	public Quaternion normalizeQuaternionDestination() {
+		return Quaternion.normalize(this.QA, this.QDest);
+	}
+	
+	@Benchmark
+	public Vector3 rotateDestination() {
+		return Quaternion.rotate(this.QA, this.A3, this.Dest3);
+	}
+	
+	@Benchmark
+	public Quaternion slerpDestination() {
+		return Quaternion.slerp(this.QA, this.QB, 0.37f, this.QDest);
+	}
+	
+	@Benchmark
+	public Quaternion fastSlerpDestination() {
+		return Quaternion.fastSlerp(this.QA, this.QB, 0.37f, this.QDest);
+	}
+}
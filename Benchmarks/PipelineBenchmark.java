@@ -0,0 +1,116 @@
+/* Helios (TM) 3D Engine (Java): Point Pipeline Benchmarks
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Math.PointPipeline;
+import Math.Quaternion;
+import Math.Vector3;
+import Math.Vector3Array;
+
+/**
+ * Rotate, translate, scale and normalize over a large point cloud. Compares
+ * per-object calls, one unfused batch kernel pass per stage, and the fused
+ * PointPipeline on 1 to 16 threads. Trim the thread counts to the machine
+ * with -p Threads=1,2,4 on the command line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class PipelineBenchmark {
+	@Param({"10000000"})
+	public int Size;
+	
+	@Param({"1", "2", "4", "8", "16"})
+	public int Threads;
+	
+	private Vector3Array Points, Dest;
+	private Vector3[] Objects;
+	private Quaternion Rotation;
+	private Vector3 Translation, Scale;
+	private PointPipeline Pipeline;
+	private ForkJoinPool Pool;
+	
+	@Setup
+	public void setup() {
+		SplittableRandom Random = new SplittableRandom(42);
+		this.Points = new Vector3Array(this.Size);
+		this.Dest = new Vector3Array(this.Size);
+		this.Objects = new Vector3[this.Size];
+		for(int i = 0; i < this.Size; i++) {
+			this.Points.set(i, (float) Random.nextDouble(-100, 100), (float) Random.nextDouble(-100, 100), (float) Random.nextDouble(-100, 100));
+			this.Objects[i] = new Vector3();
+		}
+		this.Rotation = Quaternion.normalize(new Quaternion(0.1f, 0.7f, -0.2f, 0.68f));
+		this.Translation = new Vector3(1.0f, -2.0f, 0.5f);
+		this.Scale = new Vector3(2.0f, 2.0f, 2.0f);
+		this.Pipeline = new PointPipeline();
+		this.Pipeline.rotate(this.Rotation);
+		this.Pipeline.translate(this.Translation);
+		this.Pipeline.scale(this.Scale);
+		this.Pipeline.normalize();
+		this.Pool = new ForkJoinPool(this.Threads);
+	}
+	
+	@TearDown
+	public void tearDown() {
+		this.Pool.shutdown();
+	}
+	
+	@Benchmark
+	public Vector3[] perObject() {
+		for(int i = 0; i < this.Size; i++) {
+			Vector3 Point = this.Points.get(i, this.Objects[i]);
+			Quaternion.rotate(this.Rotation, Point, Point);
+			Point.add(this.Translation);
+			Point.scale(this.Scale);
+			Point.normalize();
+		}
+		return this.Objects;
+	}
+	
+	@Benchmark
+	public Vector3Array unfused() {
+		Quaternion.rotate(this.Rotation, this.Points, this.Dest, 0, this.Size);
+		Vector3Array.add(this.Dest, this.Translation, this.Dest, 0, this.Size);
+		Vector3Array.scale(this.Dest, this.Scale, this.Dest, 0, this.Size);
+		Vector3Array.normalize(this.Dest, this.Dest, 0, this.Size);
+		return this.Dest;
+	}
+	
+	@Benchmark
+	public Vector3Array fused() {
+		this.Pipeline.apply(this.Points, this.Dest, 0, this.Size);
+		return this.Dest;
+	}
+	
+	@Benchmark
+	public Vector3Array fusedParallel() {
+		this.Pipeline.apply(this.Points, this.Dest, 0, this.Size, this.Pool);
+		return this.Dest;
+	}
+}
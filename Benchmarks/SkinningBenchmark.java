@@ -0,0 +1,93 @@
+/* Helios (TM) 3D Engine (Java): Skinning Benchmarks
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Animation.Skinning;
+import Math.DualQuaternion;
+import Math.Quaternion;
+import Math.Vector3;
+import Math.Vector3Array;
+
+/**
+ * Dual quaternion skinning of a mesh against a 60 bone palette, with four
+ * random influences per vertex, serially and across the common pool.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkinningBenchmark {
+	private static final int Bones = 60;
+	
+	@Param({"10000", "100000"})
+	public int Vertices;
+	
+	private DualQuaternion[] Palette;
+	private int[] Indices;
+	private float[] Weights;
+	private Vector3Array Positions, Normals, PositionDest, NormalDest;
+	
+	@Setup
+	public void setup() {
+		SplittableRandom Random = new SplittableRandom(42);
+		this.Palette = new DualQuaternion[SkinningBenchmark.Bones];
+		for(int b = 0; b < this.Palette.length; b++) {
+			Quaternion Rotation = Quaternion.normalize(new Quaternion((float) Random.nextDouble(-1, 1), (float) Random.nextDouble(-1, 1),
+																	  (float) Random.nextDouble(-1, 1), (float) Random.nextDouble(-1, 1)));
+			this.Palette[b] = new DualQuaternion(Rotation, new Vector3((float) Random.nextDouble(), (float) Random.nextDouble(), (float) Random.nextDouble()));
+		}
+		this.Indices = new int[this.Vertices * Skinning.INFLUENCES];
+		this.Weights = new float[this.Vertices * Skinning.INFLUENCES];
+		this.Positions = new Vector3Array(this.Vertices);
+		this.Normals = new Vector3Array(this.Vertices);
+		for(int v = 0; v < this.Vertices; v++) {
+			this.Positions.set(v, (float) Random.nextDouble(-1, 1), (float) Random.nextDouble(-1, 1), (float) Random.nextDouble(-1, 1));
+			this.Normals.set(v, Vector3.normalize(new Vector3((float) Random.nextDouble(-1, 1), (float) Random.nextDouble(-1, 1), (float) Random.nextDouble(-1, 1))));
+			float Total = 0.0f;
+			for(int i = 0; i < Skinning.INFLUENCES; i++) {
+				this.Indices[v * Skinning.INFLUENCES + i] = Random.nextInt(SkinningBenchmark.Bones);
+				Total += this.Weights[v * Skinning.INFLUENCES + i] = (float) Random.nextDouble();
+			}
+			for(int i = 0; i < Skinning.INFLUENCES; i++) {
+				this.Weights[v * Skinning.INFLUENCES + i] /= Total;
+			}
+		}
+		this.PositionDest = new Vector3Array(this.Vertices);
+		this.NormalDest = new Vector3Array(this.Vertices);
+	}
+	
+	@Benchmark
+	public Vector3Array skinParallel() {
+		Skinning.skin(this.Palette, this.Indices, this.Weights, this.Positions, this.Normals, this.PositionDest, this.NormalDest, 0, this.Vertices, ForkJoinPool.commonPool());
+		return this.PositionDest;
+	}
+	
+	@Benchmark
+	public Vector3Array skinSerial() {
+		Skinning.skin(this.Palette, this.Indices, this.Weights, this.Positions, this.Normals, this.PositionDest, this.NormalDest, 0, this.Vertices);
+		return this.PositionDest;
+	}
+}
@@ -0,0 +1,244 @@
+/* Helios (TM) 3D Engine (Java): Vertex Buffer Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Graphics;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import Math.BufferVector2;
+import Math.BufferVector3;
+import Math.BufferVector4;
+import Math.Vector3Array;
+
+/**
+ * Interleaved vertices stored off-heap in a direct ByteBuffer in native byte
+ * order. The buffer can be handed to native rendering and IO code as is, and
+ * is filled and read in place through a Cursor.
+ */
+public class VertexBuffer {
+	private final ByteBuffer Buffer;
+	private final int Capacity;
+	private final VertexLayout Layout;
+	
+	/**
+	 * Allocates an off-heap buffer for a number of vertices
+	 * @param Layout the vertex layout
+	 * @param Capacity the number of vertices
+	 */
+	public VertexBuffer(VertexLayout Layout, int Capacity) {
+		this(Layout, ByteBuffer.allocateDirect(Layout.stride() * Capacity).order(ByteOrder.nativeOrder()));
+	}
+	
+	/**
+	 * Wraps an existing buffer, such as one mapped by a native layer. The
+	 * buffer's byte order is used as is; its capacity determines the number
+	 * of vertices.
+	 * @param Layout the vertex layout
+	 * @param Buffer the buffer holding the vertices, starting at index zero
+	 */
+	public VertexBuffer(VertexLayout Layout, ByteBuffer Buffer) {
+		this.Buffer = Buffer;
+		this.Capacity = Buffer.capacity() / Layout.stride();
+		this.Layout = Layout;
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Returns the underlying buffer. Its position and limit are not used by
+	 * this class.
+	 * @return the buffer
+	 */
+	public ByteBuffer buffer() {
+		return this.Buffer;
+	}
+	
+	/**
+	 * Returns the number of vertices the buffer holds
+	 * @return the vertex count
+	 */
+	public int capacity() {
+		return this.Capacity;
+	}
+	
+	/**
+	 * Creates a cursor positioned on the first vertex
+	 * @return a new cursor
+	 */
+	public Cursor cursor() {
+		return new Cursor();
+	}
+	
+	/**
+	 * Copies a range of a VECTOR3 attribute into a packed array
+	 * @param Attribute the attribute
+	 * @param Dest the destination vectors, indexed like the vertices
+	 * @param Offset the first vertex
+	 * @param Count the number of vertices
+	 */
+	public void get(int Attribute, Vector3Array Dest, int Offset, int Count) {
+		this.check(Attribute, VertexLayout.Attribute.VECTOR3);
+		float[] X = Dest.x(), Y = Dest.y(), Z = Dest.z();
+		int Stride = this.Layout.stride();
+		int Position = Offset * Stride + this.Layout.offset(Attribute);
+		for(int i = Offset, End = Offset + Count; i < End; i++, Position += Stride) {
+			X[i] = this.Buffer.getFloat(Position);
+			Y[i] = this.Buffer.getFloat(Position + 4);
+			Z[i] = this.Buffer.getFloat(Position + 8);
+		}
+	}
+	
+	/**
+	 * Returns the vertex layout
+	 * @return the layout
+	 */
+	public VertexLayout layout() {
+		return this.Layout;
+	}
+	
+	//Mutators
+	
+	/**
+	 * Copies a range of a packed array into a VECTOR3 attribute
+	 * @param Attribute the attribute
+	 * @param Source the source vectors, indexed like the vertices
+	 * @param Offset the first vertex
+	 * @param Count the number of vertices
+	 */
+	public void put(int Attribute, Vector3Array Source, int Offset, int Count) {
+		this.check(Attribute, VertexLayout.Attribute.VECTOR3);
+		float[] X = Source.x(), Y = Source.y(), Z = Source.z();
+		int Stride = this.Layout.stride();
+		int Position = Offset * Stride + this.Layout.offset(Attribute);
+		for(int i = Offset, End = Offset + Count; i < End; i++, Position += Stride) {
+			this.Buffer.putFloat(Position, X[i]);
+			this.Buffer.putFloat(Position + 4, Y[i]);
+			this.Buffer.putFloat(Position + 8, Z[i]);
+		}
+	}
+	
+	private void check(int Attribute, VertexLayout.Attribute Type) {
+		if(this.Layout.attribute(Attribute) != Type) {
+			throw new IllegalArgumentException("Attribute " + Attribute + " is " + this.Layout.attribute(Attribute) + ", not " + Type);
+		}
+	}
+	
+	/**
+	 * A movable position within the buffer. The views handed out by a cursor
+	 * read and write the attributes of the current vertex in place, and all
+	 * of them follow the cursor when it moves, so filling or reading a mesh
+	 * allocates nothing per vertex. A cursor holds one view per attribute and
+	 * returns it again on later calls.
+	 */
+	public class Cursor {
+		private final BufferVector2[] Vector2s = new BufferVector2[VertexBuffer.this.Layout.attributes()];
+		private final BufferVector3[] Vector3s = new BufferVector3[VertexBuffer.this.Layout.attributes()];
+		private final BufferVector4[] Vector4s = new BufferVector4[VertexBuffer.this.Layout.attributes()];
+		private int Base;
+		private int Vertex;
+		
+		private Cursor() {
+		}
+		
+		/**
+		 * Returns the float value of a FLOAT attribute at the current vertex
+		 * @param Attribute the attribute
+		 * @return the value
+		 */
+		public float getFloat(int Attribute) {
+			VertexBuffer.this.check(Attribute, VertexLayout.Attribute.FLOAT);
+			return VertexBuffer.this.Buffer.getFloat(this.Base + VertexBuffer.this.Layout.offset(Attribute));
+		}
+		
+		/**
+		 * Sets the float value of a FLOAT attribute at the current vertex
+		 * @param Attribute the attribute
+		 * @param Value the value
+		 */
+		public void putFloat(int Attribute, float Value) {
+			VertexBuffer.this.check(Attribute, VertexLayout.Attribute.FLOAT);
+			VertexBuffer.this.Buffer.putFloat(this.Base + VertexBuffer.this.Layout.offset(Attribute), Value);
+		}
+		
+		/**
+		 * Returns the view of a VECTOR2 attribute that follows this cursor,
+		 * creating it on the first call
+		 * @param Attribute the attribute
+		 * @return the view
+		 */
+		public BufferVector2 vector2(int Attribute) {
+			VertexBuffer.this.check(Attribute, VertexLayout.Attribute.VECTOR2);
+			if(this.Vector2s[Attribute] == null) {
+				this.Vector2s[Attribute] = new BufferVector2(VertexBuffer.this.Buffer, this.Base + VertexBuffer.this.Layout.offset(Attribute));
+			}
+			return this.Vector2s[Attribute];
+		}
+		
+		/**
+		 * Returns the view of a VECTOR3 attribute that follows this cursor,
+		 * creating it on the first call
+		 * @param Attribute the attribute
+		 * @return the view
+		 */
+		public BufferVector3 vector3(int Attribute) {
+			VertexBuffer.this.check(Attribute, VertexLayout.Attribute.VECTOR3);
+			if(this.Vector3s[Attribute] == null) {
+				this.Vector3s[Attribute] = new BufferVector3(VertexBuffer.this.Buffer, this.Base + VertexBuffer.this.Layout.offset(Attribute));
+			}
+			return this.Vector3s[Attribute];
+		}
+		
+		/**
+		 * Returns the view of a VECTOR4 attribute that follows this cursor,
+		 * creating it on the first call
+		 * @param Attribute the attribute
+		 * @return the view
+		 */
+		public BufferVector4 vector4(int Attribute) {
+			VertexBuffer.this.check(Attribute, VertexLayout.Attribute.VECTOR4);
+			if(this.Vector4s[Attribute] == null) {
+				this.Vector4s[Attribute] = new BufferVector4(VertexBuffer.this.Buffer, this.Base + VertexBuffer.this.Layout.offset(Attribute));
+			}
+			return this.Vector4s[Attribute];
+		}
+		
+		/**
+		 * Returns the vertex the cursor is on
+		 * @return the vertex index
+		 */
+		public int vertex() {
+			return this.Vertex;
+		}
+		
+		/**
+		 * Moves the cursor, and every view it has handed out, to a vertex
+		 * @param Vertex the vertex index
+		 */
+		public void vertex(int Vertex) {
+			if(Vertex < 0 || Vertex >= VertexBuffer.this.Capacity) {
+				throw new IndexOutOfBoundsException("Vertex " + Vertex + " outside buffer of " + VertexBuffer.this.Capacity);
+			}
+			this.Vertex = Vertex;
+			this.Base = Vertex * VertexBuffer.this.Layout.stride();
+			for(int i = 0; i < this.Vector2s.length; i++) {
+				int Offset = this.Base + VertexBuffer.this.Layout.offset(i);
+				if(this.Vector2s[i] != null) {
+					this.Vector2s[i].offset(Offset);
+				}else if(this.Vector3s[i] != null) {
+					this.Vector3s[i].offset(Offset);
+				}else if(this.Vector4s[i] != null) {
+					this.Vector4s[i].offset(Offset);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,181 @@
+/* Helios (TM) 3D Engine (Java): Vertex Layout Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Graphics;
+
+/**
+ * Describes one interleaved vertex: the attribute types in order, the byte
+ * offset of each attribute and the stride between vertices. Offsets follow
+ * the selected packing rules, so a buffer filled through this layout can be
+ * handed to a vertex input binding (PACKED) or bound as a uniform (STD140) or
+ * storage (STD430) buffer array of structs without repacking.
+ */
+public class VertexLayout {
+	/**
+	 * Attribute types, sized in bytes
+	 */
+	public enum Attribute {
+		FLOAT(4, 4),
+		VECTOR2(8, 8),
+		VECTOR3(12, 16),
+		VECTOR4(16, 16);
+		
+		private final int Size;
+		private final int Alignment;
+		
+		private Attribute(int Size, int Alignment) {
+			this.Size = Size;
+			this.Alignment = Alignment;
+		}
+		
+		/**
+		 * Returns the attribute's size in bytes
+		 * @return the size
+		 */
+		public int size() {
+			return this.Size;
+		}
+	}
+	
+	/**
+	 * Packing rules used to place attributes
+	 */
+	public enum Packing {
+		/**
+		 * Attributes are 4-byte aligned with no padding, as used by vertex
+		 * input bindings
+		 */
+		PACKED,
+		/**
+		 * GLSL std140 rules: vec3 and vec4 align to 16 bytes, vec2 to 8, and
+		 * the struct stride is rounded up to 16 bytes
+		 */
+		STD140,
+		/**
+		 * GLSL std430 rules: as std140, but the struct stride is only rounded
+		 * up to the largest member alignment
+		 */
+		STD430
+	}
+	
+	private final Attribute[] Attributes;
+	private final int[] Offsets;
+	private final Packing Rules;
+	private final int Stride;
+	
+	/**
+	 * Creates a layout with the smallest stride allowed by the packing rules
+	 * @param Rules the packing rules
+	 * @param Attributes the attribute types in vertex order
+	 */
+	public VertexLayout(Packing Rules, Attribute... Attributes) {
+		this(Rules, 0, Attributes);
+	}
+	
+	/**
+	 * Creates a layout with an explicit stride. A stride of zero selects the
+	 * smallest stride allowed by the packing rules.
+	 * @param Rules the packing rules
+	 * @param Stride the distance in bytes between vertices
+	 * @param Attributes the attribute types in vertex order
+	 */
+	public VertexLayout(Packing Rules, int Stride, Attribute... Attributes) {
+		this.Attributes = Attributes.clone();
+		this.Offsets = new int[Attributes.length];
+		this.Rules = Rules;
+		int Offset = 0;
+		int StructAlignment = 4;
+		for(int i = 0; i < Attributes.length; i++) {
+			int Alignment = (Rules == Packing.PACKED) ? 4 : Attributes[i].Alignment;
+			Offset = VertexLayout.align(Offset, Alignment);
+			this.Offsets[i] = Offset;
+			Offset += Attributes[i].Size;
+			StructAlignment = Math.max(StructAlignment, Alignment);
+		}
+		if(Rules == Packing.STD140) {
+			StructAlignment = 16;
+		}
+		int MinimumStride = VertexLayout.align(Offset, StructAlignment);
+		if(Stride == 0) {
+			Stride = MinimumStride;
+		} else if(Stride < MinimumStride || Stride % StructAlignment != 0) {
+			throw new IllegalArgumentException("Stride " + Stride + " is invalid for " + Rules + " layout needing " + MinimumStride + " bytes aligned to " + StructAlignment);
+		}
+		this.Stride = Stride;
+	}
+	
+	/*
+	 * STATIC METHODS
+	 */
+	
+	private static int align(int Offset, int Alignment) {
+		return (Offset + Alignment - 1) / Alignment * Alignment;
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Returns the type of an attribute
+	 * @param Index the attribute
+	 * @return the attribute type
+	 */
+	public Attribute attribute(int Index) {
+		return this.Attributes[Index];
+	}
+	
+	/**
+	 * Returns the number of attributes per vertex
+	 * @return the attribute count
+	 */
+	public int attributes() {
+		return this.Attributes.length;
+	}
+	
+	/**
+	 * Returns the byte offset of an attribute within a vertex
+	 * @param Index the attribute
+	 * @return the byte offset
+	 */
+	public int offset(int Index) {
+		return this.Offsets[Index];
+	}
+	
+	/**
+	 * Returns the packing rules used by this layout
+	 * @return the packing rules
+	 */
+	public Packing packing() {
+		return this.Rules;
+	}
+	
+	/**
+	 * Returns the distance in bytes between consecutive vertices
+	 * @return the stride
+	 */
+	public int stride() {
+		return this.Stride;
+	}
+	
+	/**
+	 * Returns a string describing the layout
+	 * Format: "PACKING[TYPE@OFFSET, ...]/STRIDE"
+	 */
+	public String toString() {
+		StringBuilder Builder = new StringBuilder(this.Rules.toString()).append('[');
+		for(int i = 0; i < this.Attributes.length; i++) {
+			if(i != 0) {
+				Builder.append(", ");
+			}
+			Builder.append(this.Attributes[i]).append('@').append(this.Offsets[i]);
+		}
+		return Builder.append("]/").append(this.Stride).toString();
+	}
+}
@@ -0,0 +1,568 @@
+/* Helios (TM) 3D Engine (Java): Memory-Mapped Data Store Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package IO;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import Math.BufferQuaternion;
+import Math.BufferVector3;
+import Math.BufferVector4;
+import Math.QuaternionArray;
+import Math.Vector3Array;
+import Math.Vector4Array;
+
+/**
+ * A file of named streams of Vector3, Vector4 or Quaternion records, read
+ * and written through memory mappings instead of parsing. Opening reads only
+ * the header and maps the streams; record data is paged in by the operating
+ * system as it is touched, and views read and write the mapped file
+ * directly.
+ * <p>
+ * The file is little-endian:
+ * <pre>
+ * Header  "HLXS", version (int), stream count (int), reserved (int)
+ * Streams per stream: type (int), reserved (int), record count (long),
+ *         byte offset of the first record (long), name (32 bytes UTF-8,
+ *         zero padded)
+ * Data    each stream's records back to back as floats X, Y, Z[, W],
+ *         starting on a 64-byte boundary
+ * </pre>
+ * Mappings are limited to 2GB, so each stream is mapped in chunks of a
+ * power of two records no larger than 1GB, and no record crosses a chunk.
+ * <p>
+ * Mapped memory is released when the buffers are garbage collected, not by
+ * {@link #close()}; views must not be used after the store is closed.
+ */
+public class MappedStore implements AutoCloseable {
+	/**
+	 * Record types stored in a stream, sized in bytes
+	 */
+	public enum Type {
+		VECTOR3(12),
+		VECTOR4(16),
+		QUATERNION(16);
+		
+		private final int Size;
+		
+		private Type(int Size) {
+			this.Size = Size;
+		}
+		
+		/**
+		 * Returns the record size in bytes
+		 * @return the size
+		 */
+		public int size() {
+			return this.Size;
+		}
+	}
+	
+	private static final int Magic = 0x53584C48;
+	private static final int Version = 1;
+	private static final int HeaderSize = 16;
+	private static final int EntrySize = 56;
+	private static final int NameSize = 32;
+	private static final int Alignment = 64;
+	private static final int MaxChunkShift = 30;
+	
+	private final FileChannel Channel;
+	private final List<Stream> Streams;
+	
+	private MappedStore(FileChannel Channel, boolean Writable) throws IOException {
+		this.Channel = Channel;
+		long FileSize = Channel.size();
+		ByteBuffer Header = MappedStore.read(Channel, 0, MappedStore.HeaderSize);
+		if(Header.getInt(0) != MappedStore.Magic) {
+			throw new IOException("Not a mapped store");
+		}
+		if(Header.getInt(4) != MappedStore.Version) {
+			throw new IOException("Unsupported mapped store version " + Header.getInt(4));
+		}
+		int Count = Header.getInt(8);
+		//The table is read into one heap buffer, so its size must also fit an int
+		if(Count < 0 || Count > (Integer.MAX_VALUE - MappedStore.HeaderSize) / MappedStore.EntrySize
+		   || MappedStore.HeaderSize + (long) Count * MappedStore.EntrySize > FileSize) {
+			throw new IOException("Corrupt stream table");
+		}
+		ByteBuffer Table = MappedStore.read(Channel, MappedStore.HeaderSize, Count * MappedStore.EntrySize);
+		Stream[] Streams = new Stream[Count];
+		Type[] Types = Type.values();
+		for(int i = 0; i < Count; i++) {
+			int Entry = i * MappedStore.EntrySize;
+			int TypeIndex = Table.getInt(Entry);
+			long Records = Table.getLong(Entry + 8);
+			long Offset = Table.getLong(Entry + 16);
+			//Bound Records by division so a corrupt count cannot overflow the size
+			if(TypeIndex < 0 || TypeIndex >= Types.length || Records < 0 || Offset < 0 || Offset > FileSize
+			   || Records > (FileSize - Offset) / Types[TypeIndex].size()) {
+				throw new IOException("Corrupt entry for stream " + i);
+			}
+			byte[] Name = new byte[MappedStore.NameSize];
+			Table.get(Entry + 24, Name);
+			int Length = 0;
+			while(Length < Name.length && Name[Length] != 0) {
+				Length++;
+			}
+			Streams[i] = new Stream(new String(Name, 0, Length, StandardCharsets.UTF_8), Types[TypeIndex], Records,
+									MappedStore.map(Channel, Offset, Records, Types[TypeIndex].size(), Writable));
+		}
+		this.Streams = Collections.unmodifiableList(Arrays.asList(Streams));
+	}
+	
+	/*
+	 * STATIC METHODS
+	 */
+	
+	/**
+	 * Creates a store with a given layout, replacing any existing file, and
+	 * opens it for writing. The records start out zero.
+	 * @param File the file to create
+	 * @param Layout the streams to allocate
+	 * @return the open store
+	 * @throws IOException if the file cannot be created or mapped
+	 */
+	public static MappedStore create(Path File, Layout Layout) throws IOException {
+		int Count = Layout.Names.size();
+		ByteBuffer Header = ByteBuffer.allocate(MappedStore.HeaderSize + Count * MappedStore.EntrySize).order(ByteOrder.LITTLE_ENDIAN);
+		Header.putInt(MappedStore.Magic).putInt(MappedStore.Version).putInt(Count).putInt(0);
+		long Offset = MappedStore.align(Header.capacity());
+		for(int i = 0; i < Count; i++) {
+			Type Type = Layout.Types.get(i);
+			long Records = Layout.Counts.get(i);
+			Header.putInt(Type.ordinal()).putInt(0).putLong(Records).putLong(Offset);
+			byte[] Name = Layout.Names.get(i).getBytes(StandardCharsets.UTF_8);
+			Header.put(Name).put(new byte[MappedStore.NameSize - Name.length]);
+			Offset = MappedStore.align(Offset + Records * Type.size());
+		}
+		Header.flip();
+		try(FileChannel Channel = FileChannel.open(File, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+												   StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			while(Header.hasRemaining()) {
+				Channel.write(Header);
+			}
+			//Extend the file with a hole; the file system supplies the zeros
+			if(Offset > Channel.size()) {
+				Channel.write(ByteBuffer.allocate(1), Offset - 1);
+			}
+		}
+		return MappedStore.open(File, true);
+	}
+	
+	/**
+	 * Opens a store read-only
+	 * @param File the store file
+	 * @return the open store
+	 * @throws IOException if the file cannot be read, is not a store, or is
+	 * truncated
+	 */
+	public static MappedStore open(Path File) throws IOException {
+		return MappedStore.open(File, false);
+	}
+	
+	/**
+	 * Opens a store
+	 * @param File the store file
+	 * @param Writable true to allow writes through views and put
+	 * @return the open store
+	 * @throws IOException if the file cannot be opened, is not a store, or
+	 * is truncated
+	 */
+	public static MappedStore open(Path File, boolean Writable) throws IOException {
+		FileChannel Channel = Writable ? FileChannel.open(File, StandardOpenOption.READ, StandardOpenOption.WRITE)
+									   : FileChannel.open(File, StandardOpenOption.READ);
+		try {
+			return new MappedStore(Channel, Writable);
+		}catch(IOException | RuntimeException Exception) {
+			Channel.close();
+			throw Exception;
+		}
+	}
+	
+	private static long align(long Offset) {
+		return (Offset + MappedStore.Alignment - 1) & -MappedStore.Alignment;
+	}
+	
+	private static MappedByteBuffer[] map(FileChannel Channel, long Offset, long Records, int Size, boolean Writable) throws IOException {
+		int Shift = Stream.shift(Size);
+		long PerChunk = 1L << Shift;
+		MappedByteBuffer[] Chunks = new MappedByteBuffer[(int) ((Records + PerChunk - 1) >>> Shift)];
+		FileChannel.MapMode Mode = Writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+		for(int i = 0; i < Chunks.length; i++) {
+			long First = (long) i << Shift;
+			long Length = Math.min(PerChunk, Records - First) * Size;
+			Chunks[i] = Channel.map(Mode, Offset + First * Size, Length);
+			Chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+		}
+		return Chunks;
+	}
+	
+	private static ByteBuffer read(FileChannel Channel, long Position, int Length) throws IOException {
+		ByteBuffer Buffer = ByteBuffer.allocate(Length).order(ByteOrder.LITTLE_ENDIAN);
+		while(Buffer.hasRemaining()) {
+			if(Channel.read(Buffer, Position + Buffer.position()) < 0) {
+				throw new IOException("Unexpected end of file");
+			}
+		}
+		return Buffer;
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Returns a stream by name
+	 * @param Name the stream name
+	 * @return the stream, or null if there is none by that name
+	 */
+	public Stream stream(String Name) {
+		for(int i = 0; i < this.Streams.size(); i++) {
+			if(this.Streams.get(i).Name.equals(Name)) {
+				return this.Streams.get(i);
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns the streams in file order
+	 * @return an unmodifiable list of the streams
+	 */
+	public List<Stream> streams() {
+		return this.Streams;
+	}
+	
+	//Mutators
+	
+	/**
+	 * Closes the file. Writes through views are flushed by the operating
+	 * system; call {@link Stream#force()} first to wait for them.
+	 * @throws IOException if closing fails
+	 */
+	public void close() throws IOException {
+		this.Channel.close();
+	}
+	
+	/**
+	 * Describes the streams of a store to create
+	 */
+	public static class Layout {
+		private final List<String> Names = new ArrayList<String>();
+		private final List<Type> Types = new ArrayList<Type>();
+		private final List<Long> Counts = new ArrayList<Long>();
+		
+		/**
+		 * Adds a stream
+		 * @param Name a unique name of at most 32 UTF-8 bytes
+		 * @param Type the record type
+		 * @param Count the number of records
+		 * @return this layout
+		 * @throws IllegalArgumentException if the name is too long or taken,
+		 * or the count is negative
+		 */
+		public Layout add(String Name, Type Type, long Count) {
+			if(Name.getBytes(StandardCharsets.UTF_8).length > MappedStore.NameSize) {
+				throw new IllegalArgumentException("Stream name longer than " + MappedStore.NameSize + " bytes: " + Name);
+			}
+			if(this.Names.contains(Name)) {
+				throw new IllegalArgumentException("Duplicate stream name: " + Name);
+			}
+			if(Count < 0) {
+				throw new IllegalArgumentException("Negative record count: " + Count);
+			}
+			this.Names.add(Name);
+			this.Types.add(Type);
+			this.Counts.add(Count);
+			return this;
+		}
+	}
+	
+	/**
+	 * One stream of records. Views are flyweights: the allocating accessors
+	 * return a new view, and the others move an existing one, so a loop can
+	 * walk millions of records with a single object.
+	 */
+	public static class Stream {
+		private final String Name;
+		private final Type Type;
+		private final long Count;
+		private final MappedByteBuffer[] Chunks;
+		private final int Shift, Mask;
+		
+		Stream(String Name, Type Type, long Count, MappedByteBuffer[] Chunks) {
+			this.Name = Name;
+			this.Type = Type;
+			this.Count = Count;
+			this.Chunks = Chunks;
+			this.Shift = Stream.shift(Type.size());
+			this.Mask = (1 << this.Shift) - 1;
+		}
+		
+		/**
+		 * Returns the log2 of the records per chunk, the largest power of two
+		 * whose records fit in 2^MaxChunkShift bytes
+		 */
+		static int shift(int Size) {
+			return MappedStore.MaxChunkShift - (32 - Integer.numberOfLeadingZeros(Size - 1));
+		}
+		
+		/*
+		 * INSTANCE METHODS
+		 */
+		
+		//Accessors
+		
+		/**
+		 * Returns the number of records
+		 * @return the record count
+		 */
+		public long count() {
+			return this.Count;
+		}
+		
+		/**
+		 * Copies quaternion records into an array
+		 * @param Index the first record
+		 * @param Dest the destination quaternions
+		 * @param Offset the first destination element
+		 * @param Count the number of records
+		 */
+		public void get(long Index, QuaternionArray Dest, int Offset, int Count) {
+			this.check(MappedStore.Type.QUATERNION, Index, Count);
+			this.get4(Index, Dest.x(), Dest.y(), Dest.z(), Dest.w(), Offset, Count);
+		}
+		
+		/**
+		 * Copies Vector3 records into an array
+		 * @param Index the first record
+		 * @param Dest the destination vectors
+		 * @param Offset the first destination element
+		 * @param Count the number of records
+		 */
+		public void get(long Index, Vector3Array Dest, int Offset, int Count) {
+			this.check(MappedStore.Type.VECTOR3, Index, Count);
+			float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+			for(int i = Offset, End = Offset + Count; i < End; ) {
+				ByteBuffer Chunk = this.Chunks[(int) (Index >>> this.Shift)];
+				int Position = ((int) Index & this.Mask) * 12;
+				int Run = Math.min(End - i, (Chunk.limit() - Position) / 12);
+				for(int j = 0; j < Run; j++, i++, Position += 12) {
+					DX[i] = Chunk.getFloat(Position);
+					DY[i] = Chunk.getFloat(Position + 4);
+					DZ[i] = Chunk.getFloat(Position + 8);
+				}
+				Index += Run;
+			}
+		}
+		
+		/**
+		 * Copies Vector4 records into an array
+		 * @param Index the first record
+		 * @param Dest the destination vectors
+		 * @param Offset the first destination element
+		 * @param Count the number of records
+		 */
+		public void get(long Index, Vector4Array Dest, int Offset, int Count) {
+			this.check(MappedStore.Type.VECTOR4, Index, Count);
+			this.get4(Index, Dest.x(), Dest.y(), Dest.z(), Dest.w(), Offset, Count);
+		}
+		
+		/**
+		 * Returns the stream name
+		 * @return the name
+		 */
+		public String name() {
+			return this.Name;
+		}
+		
+		/**
+		 * Returns a new view of a quaternion record
+		 * @param Index the record
+		 * @return a new view
+		 */
+		public BufferQuaternion quaternion(long Index) {
+			return this.quaternion(Index, new BufferQuaternion(null, 0));
+		}
+		
+		/**
+		 * Moves a view onto a quaternion record
+		 * @param Index the record
+		 * @param View the view to move
+		 * @return the view
+		 */
+		public BufferQuaternion quaternion(long Index, BufferQuaternion View) {
+			this.check(MappedStore.Type.QUATERNION, Index, 1);
+			View.buffer(this.Chunks[(int) (Index >>> this.Shift)], ((int) Index & this.Mask) * 16);
+			return View;
+		}
+		
+		public String toString() {
+			return this.Name + " (" + this.Count + " x " + this.Type + ")";
+		}
+		
+		/**
+		 * Returns the record type
+		 * @return the type
+		 */
+		public Type type() {
+			return this.Type;
+		}
+		
+		/**
+		 * Returns a new view of a Vector3 record
+		 * @param Index the record
+		 * @return a new view
+		 */
+		public BufferVector3 vector3(long Index) {
+			return this.vector3(Index, new BufferVector3(null, 0));
+		}
+		
+		/**
+		 * Moves a view onto a Vector3 record
+		 * @param Index the record
+		 * @param View the view to move
+		 * @return the view
+		 */
+		public BufferVector3 vector3(long Index, BufferVector3 View) {
+			this.check(MappedStore.Type.VECTOR3, Index, 1);
+			View.buffer(this.Chunks[(int) (Index >>> this.Shift)], ((int) Index & this.Mask) * 12);
+			return View;
+		}
+		
+		/**
+		 * Returns a new view of a Vector4 record
+		 * @param Index the record
+		 * @return a new view
+		 */
+		public BufferVector4 vector4(long Index) {
+			return this.vector4(Index, new BufferVector4(null, 0));
+		}
+		
+		/**
+		 * Moves a view onto a Vector4 record
+		 * @param Index the record
+		 * @param View the view to move
+		 * @return the view
+		 */
+		public BufferVector4 vector4(long Index, BufferVector4 View) {
+			this.check(MappedStore.Type.VECTOR4, Index, 1);
+			View.buffer(this.Chunks[(int) (Index >>> this.Shift)], ((int) Index & this.Mask) * 16);
+			return View;
+		}
+		
+		//Mutators
+		
+		/**
+		 * Waits until writes to this stream have reached the storage device
+		 */
+		public void force() {
+			for(int i = 0; i < this.Chunks.length; i++) {
+				this.Chunks[i].force();
+			}
+		}
+		
+		/**
+		 * Copies quaternions from an array into records
+		 * @param Index the first record
+		 * @param A the source quaternions
+		 * @param Offset the first source element
+		 * @param Count the number of records
+		 */
+		public void put(long Index, QuaternionArray A, int Offset, int Count) {
+			this.check(MappedStore.Type.QUATERNION, Index, Count);
+			this.put4(Index, A.x(), A.y(), A.z(), A.w(), Offset, Count);
+		}
+		
+		/**
+		 * Copies vectors from an array into records
+		 * @param Index the first record
+		 * @param A the source vectors
+		 * @param Offset the first source element
+		 * @param Count the number of records
+		 */
+		public void put(long Index, Vector3Array A, int Offset, int Count) {
+			this.check(MappedStore.Type.VECTOR3, Index, Count);
+			float[] AX = A.x(), AY = A.y(), AZ = A.z();
+			for(int i = Offset, End = Offset + Count; i < End; ) {
+				ByteBuffer Chunk = this.Chunks[(int) (Index >>> this.Shift)];
+				int Position = ((int) Index & this.Mask) * 12;
+				int Run = Math.min(End - i, (Chunk.limit() - Position) / 12);
+				for(int j = 0; j < Run; j++, i++, Position += 12) {
+					Chunk.putFloat(Position, AX[i]);
+					Chunk.putFloat(Position + 4, AY[i]);
+					Chunk.putFloat(Position + 8, AZ[i]);
+				}
+				Index += Run;
+			}
+		}
+		
+		/**
+		 * Copies vectors from an array into records
+		 * @param Index the first record
+		 * @param A the source vectors
+		 * @param Offset the first source element
+		 * @param Count the number of records
+		 */
+		public void put(long Index, Vector4Array A, int Offset, int Count) {
+			this.check(MappedStore.Type.VECTOR4, Index, Count);
+			this.put4(Index, A.x(), A.y(), A.z(), A.w(), Offset, Count);
+		}
+		
+		private void check(Type Expected, long Index, int Count) {
+			if(this.Type != Expected) {
+				throw new IllegalStateException("Stream " + this.Name + " holds " + this.Type + ", not " + Expected);
+			}
+			if(Index < 0 || Count < 0 || Index + Count > this.Count) {
+				throw new IndexOutOfBoundsException("Records " + Index + " to " + (Index + Count) + " outside stream of " + this.Count);
+			}
+		}
+		
+		private void get4(long Index, float[] DX, float[] DY, float[] DZ, float[] DW, int Offset, int Count) {
+			for(int i = Offset, End = Offset + Count; i < End; ) {
+				ByteBuffer Chunk = this.Chunks[(int) (Index >>> this.Shift)];
+				int Position = ((int) Index & this.Mask) * 16;
+				int Run = Math.min(End - i, (Chunk.limit() - Position) / 16);
+				for(int j = 0; j < Run; j++, i++, Position += 16) {
+					DX[i] = Chunk.getFloat(Position);
+					DY[i] = Chunk.getFloat(Position + 4);
+					DZ[i] = Chunk.getFloat(Position + 8);
+					DW[i] = Chunk.getFloat(Position + 12);
+				}
+				Index += Run;
+			}
+		}
+		
+		private void put4(long Index, float[] AX, float[] AY, float[] AZ, float[] AW, int Offset, int Count) {
+			for(int i = Offset, End = Offset + Count; i < End; ) {
+				ByteBuffer Chunk = this.Chunks[(int) (Index >>> this.Shift)];
+				int Position = ((int) Index & this.Mask) * 16;
+				int Run = Math.min(End - i, (Chunk.limit() - Position) / 16);
+				for(int j = 0; j < Run; j++, i++, Position += 16) {
+					Chunk.putFloat(Position, AX[i]);
+					Chunk.putFloat(Position + 4, AY[i]);
+					Chunk.putFloat(Position + 8, AZ[i]);
+					Chunk.putFloat(Position + 12, AW[i]);
+				}
+				Index += Run;
+			}
+		}
+	}
+}
@@ -0,0 +1,94 @@
+/* Helios (TM) 3D Engine (Java): Packed Field Helper Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package IO;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Bit-packed fields of up to 8 bytes, written least significant byte first
+ * whatever the buffer's byte order, so packed data reads the same on every
+ * platform.
+ */
+final class Packing {
+	private Packing() {
+	}
+	
+	/*
+	 * STATIC METHODS
+	 */
+	
+	/**
+	 * Reads a packed field at an absolute index. Reads a whole long and masks
+	 * it when the buffer extends far enough, otherwise assembles the bytes
+	 * one at a time.
+	 */
+	static long get(ByteBuffer Source, int Index, int Bytes) {
+		if(Index + 8 <= Source.limit()) {
+			long Value = Source.getLong(Index);
+			if(Source.order() == ByteOrder.BIG_ENDIAN) {
+				Value = Long.reverseBytes(Value);
+			}
+			return Bytes == 8 ? Value : Value & ((1L << (8 * Bytes)) - 1);
+		}
+		long Value = 0;
+		for(int i = Bytes - 1; i >= 0; i--) {
+			Value = (Value << 8) | (Source.get(Index + i) & 0xFF);
+		}
+		return Value;
+	}
+	
+	/**
+	 * Writes a packed field at an absolute index, touching only its own bytes
+	 */
+	static void put(ByteBuffer Dest, int Index, long Value, int Bytes) {
+		int i = 0;
+		if(Bytes >= 4) {
+			int Low = (int) Value;
+			Dest.putInt(Index, Dest.order() == ByteOrder.BIG_ENDIAN ? Integer.reverseBytes(Low) : Low);
+			Value >>>= 32;
+			i = 4;
+		}
+		for(; i < Bytes; i++) {
+			Dest.put(Index + i, (byte) Value);
+			Value >>>= 8;
+		}
+	}
+	
+	/**
+	 * Quantizes a value to an integer in [0, Mask], clamping out of range
+	 * values and sending NaN to zero
+	 */
+	static long quantize(float Value, float Min, float Scale, int Mask) {
+		int Q = (int) ((Value - Min) * Scale + 0.5f);
+		return Math.max(0, Math.min(Mask, Q));
+	}
+	
+	/**
+	 * Checks that a buffer has room for Bytes more bytes and returns its
+	 * position
+	 */
+	static int reserve(ByteBuffer Dest, long Bytes) {
+		if(Dest.remaining() < Bytes) {
+			throw new BufferOverflowException();
+		}
+		return Dest.position();
+	}
+	
+	/**
+	 * Checks that a buffer holds Bytes more bytes and returns its position
+	 */
+	static int require(ByteBuffer Source, long Bytes) {
+		if(Source.remaining() < Bytes) {
+			throw new BufferUnderflowException();
+		}
+		return Source.position();
+	}
+}
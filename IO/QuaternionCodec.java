@@ -0,0 +1,336 @@
+/* Helios (TM) 3D Engine (Java): Quaternion Binary Codec Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package IO;
+
+import java.nio.ByteBuffer;
+
+import Math.Half;
+import Math.Quaternion;
+import Math.QuaternionArray;
+
+/**
+ * A fixed-size binary encoding of Quaternion values. Every quaternion takes
+ * {@link #bytes()} bytes, so encoded arrays can be indexed directly.
+ * <ul>
+ * <li>{@link #FLOAT}: X, Y, Z, W as floats, 16 bytes, lossless</li>
+ * <li>{@link #HALF}: X, Y, Z, W as halves, 8 bytes</li>
+ * <li>{@link #smallestThree(int)}: for unit quaternions, 2 + 3 Bits bits
+ * (29 to 47) packed into 4 to 6 bytes</li>
+ * </ul>
+ * Floats and halves use the buffer's byte order; packed fields are written
+ * least significant byte first. Buffer position handling is as for
+ * {@link Vector3Codec}.
+ */
+public abstract class QuaternionCodec {
+	/**
+	 * Lossless 32-bit components
+	 */
+	public static final QuaternionCodec FLOAT = new QuaternionCodec.Float32();
+	
+	/**
+	 * 16-bit IEEE half components
+	 * @see Half
+	 */
+	public static final QuaternionCodec HALF = new QuaternionCodec.Float16();
+	
+	QuaternionCodec() {
+	}
+	
+	/*
+	 * STATIC METHODS
+	 */
+	
+	/**
+	 * Returns a smallest-three codec. The component of largest magnitude is
+	 * dropped, its index stored in 2 bits, and the quaternion negated if
+	 * needed to make it positive, which leaves the rotation unchanged. The
+	 * other three lie within +-1/sqrt(2) and are quantized to Bits bits each;
+	 * the dropped one is rebuilt as sqrt(1 - a^2 - b^2 - c^2) on decode.
+	 * Decoded rotations are within about 4.4 / 2^Bits radians of the
+	 * original: 8.6E-3 for 9 bits, 2.1E-3 for 11, 1.3E-4 for 15.
+	 * @param Bits the bits per stored component, 9 to 15
+	 * @return a new codec
+	 * @throws IllegalArgumentException if Bits is out of range
+	 */
+	public static QuaternionCodec smallestThree(int Bits) {
+		if(Bits < 9 || Bits > 15) {
+			throw new IllegalArgumentException("Bits must be 9 to 15, got " + Bits);
+		}
+		return new QuaternionCodec.SmallestThree(Bits);
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Returns the encoded size of one quaternion
+	 * @return the size in bytes
+	 */
+	public abstract int bytes();
+	
+	/**
+	 * Reads one quaternion at the buffer's position, advancing it
+	 * @param Source the buffer
+	 * @param Dest the destination quaternion
+	 * @return the destination quaternion
+	 */
+	public Quaternion decode(ByteBuffer Source, Quaternion Dest) {
+		int Index = Packing.require(Source, this.bytes());
+		this.decode(Source, Index, Dest);
+		Source.position(Index + this.bytes());
+		return Dest;
+	}
+	
+	/**
+	 * Reads Count quaternions at the buffer's position, advancing it
+	 * @param Source the buffer
+	 * @param Dest the destination quaternions
+	 * @param Offset the first destination element
+	 * @param Count the number of quaternions
+	 */
+	public void decode(ByteBuffer Source, QuaternionArray Dest, int Offset, int Count) {
+		int Index = Packing.require(Source, (long) Count * this.bytes());
+		this.decode(Source, Index, Dest, Offset, Count);
+		Source.position(Index + Count * this.bytes());
+	}
+	
+	/**
+	 * Writes one quaternion at the buffer's position, advancing it
+	 * @param A the quaternion
+	 * @param Dest the buffer
+	 */
+	public void encode(Quaternion A, ByteBuffer Dest) {
+		int Index = Packing.reserve(Dest, this.bytes());
+		this.encode(A.x(), A.y(), A.z(), A.w(), Dest, Index);
+		Dest.position(Index + this.bytes());
+	}
+	
+	/**
+	 * Writes Count quaternions at the buffer's position, advancing it
+	 * @param A the quaternions
+	 * @param Offset the first source element
+	 * @param Count the number of quaternions
+	 * @param Dest the buffer
+	 */
+	public void encode(QuaternionArray A, int Offset, int Count, ByteBuffer Dest) {
+		int Index = Packing.reserve(Dest, (long) Count * this.bytes());
+		this.encode(A, Offset, Count, Dest, Index);
+		Dest.position(Index + Count * this.bytes());
+	}
+	
+	abstract void decode(ByteBuffer Source, int Index, Quaternion Dest);
+	
+	abstract void decode(ByteBuffer Source, int Index, QuaternionArray Dest, int Offset, int Count);
+	
+	abstract void encode(float X, float Y, float Z, float W, ByteBuffer Dest, int Index);
+	
+	abstract void encode(QuaternionArray A, int Offset, int Count, ByteBuffer Dest, int Index);
+	
+	private static final class Float32 extends QuaternionCodec {
+		public int bytes() {
+			return 16;
+		}
+		
+		void decode(ByteBuffer Source, int Index, Quaternion Dest) {
+			Dest.set(Source.getFloat(Index), Source.getFloat(Index + 4), Source.getFloat(Index + 8), Source.getFloat(Index + 12));
+		}
+		
+		void decode(ByteBuffer Source, int Index, QuaternionArray Dest, int Offset, int Count) {
+			float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z(), DW = Dest.w();
+			for(int i = Offset, End = Offset + Count; i < End; i++, Index += 16) {
+				DX[i] = Source.getFloat(Index);
+				DY[i] = Source.getFloat(Index + 4);
+				DZ[i] = Source.getFloat(Index + 8);
+				DW[i] = Source.getFloat(Index + 12);
+			}
+		}
+		
+		void encode(float X, float Y, float Z, float W, ByteBuffer Dest, int Index) {
+			Dest.putFloat(Index, X);
+			Dest.putFloat(Index + 4, Y);
+			Dest.putFloat(Index + 8, Z);
+			Dest.putFloat(Index + 12, W);
+		}
+		
+		void encode(QuaternionArray A, int Offset, int Count, ByteBuffer Dest, int Index) {
+			float[] AX = A.x(), AY = A.y(), AZ = A.z(), AW = A.w();
+			for(int i = Offset, End = Offset + Count; i < End; i++, Index += 16) {
+				this.encode(AX[i], AY[i], AZ[i], AW[i], Dest, Index);
+			}
+		}
+	}
+	
+	private static final class Float16 extends QuaternionCodec {
+		public int bytes() {
+			return 8;
+		}
+		
+		void decode(ByteBuffer Source, int Index, Quaternion Dest) {
+			Dest.set(Half.toFloat(Source.getShort(Index)), Half.toFloat(Source.getShort(Index + 2)),
+					 Half.toFloat(Source.getShort(Index + 4)), Half.toFloat(Source.getShort(Index + 6)));
+		}
+		
+		void decode(ByteBuffer Source, int Index, QuaternionArray Dest, int Offset, int Count) {
+			float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z(), DW = Dest.w();
+			for(int i = Offset, End = Offset + Count; i < End; i++, Index += 8) {
+				DX[i] = Half.toFloat(Source.getShort(Index));
+				DY[i] = Half.toFloat(Source.getShort(Index + 2));
+				DZ[i] = Half.toFloat(Source.getShort(Index + 4));
+				DW[i] = Half.toFloat(Source.getShort(Index + 6));
+			}
+		}
+		
+		void encode(float X, float Y, float Z, float W, ByteBuffer Dest, int Index) {
+			Dest.putShort(Index, Half.fromFloat(X));
+			Dest.putShort(Index + 2, Half.fromFloat(Y));
+			Dest.putShort(Index + 4, Half.fromFloat(Z));
+			Dest.putShort(Index + 6, Half.fromFloat(W));
+		}
+		
+		void encode(QuaternionArray A, int Offset, int Count, ByteBuffer Dest, int Index) {
+			float[] AX = A.x(), AY = A.y(), AZ = A.z(), AW = A.w();
+			for(int i = Offset, End = Offset + Count; i < End; i++, Index += 8) {
+				this.encode(AX[i], AY[i], AZ[i], AW[i], Dest, Index);
+			}
+		}
+	}
+	
+	/**
+	 * The three kept components, in X, Y, Z, W order skipping the dropped one,
+	 * are packed from the low bits up, followed by the 2-bit index of the
+	 * dropped component (0 for X through 3 for W)
+	 */
+	private static final class SmallestThree extends QuaternionCodec {
+		private static final float Range = 0.70710677f;
+		
+		private final int Bits, Bytes, Mask;
+		private final float Scale, Step;
+		
+		SmallestThree(int Bits) {
+			this.Bits = Bits;
+			this.Bytes = (2 + 3 * Bits + 7) / 8;
+			this.Mask = (1 << Bits) - 1;
+			this.Step = 2.0f * SmallestThree.Range / this.Mask;
+			this.Scale = this.Mask / (2.0f * SmallestThree.Range);
+		}
+		
+		public int bytes() {
+			return this.Bytes;
+		}
+		
+		void decode(ByteBuffer Source, int Index, Quaternion Dest) {
+			long Packed = Packing.get(Source, Index, this.Bytes);
+			float A = (Packed & this.Mask) * this.Step - SmallestThree.Range;
+			float B = ((Packed >>> this.Bits) & this.Mask) * this.Step - SmallestThree.Range;
+			float C = ((Packed >>> (2 * this.Bits)) & this.Mask) * this.Step - SmallestThree.Range;
+			float D = (float) Math.sqrt(Math.max(0.0f, 1.0f - A * A - B * B - C * C));
+			switch((int) (Packed >>> (3 * this.Bits))) {
+				case 0:
+					Dest.set(D, A, B, C);
+					break;
+				case 1:
+					Dest.set(A, D, B, C);
+					break;
+				case 2:
+					Dest.set(A, B, D, C);
+					break;
+				default:
+					Dest.set(A, B, C, D);
+					break;
+			}
+		}
+		
+		void decode(ByteBuffer Source, int Index, QuaternionArray Dest, int Offset, int Count) {
+			float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z(), DW = Dest.w();
+			for(int i = Offset, End = Offset + Count; i < End; i++, Index += this.Bytes) {
+				long Packed = Packing.get(Source, Index, this.Bytes);
+				float A = (Packed & this.Mask) * this.Step - SmallestThree.Range;
+				float B = ((Packed >>> this.Bits) & this.Mask) * this.Step - SmallestThree.Range;
+				float C = ((Packed >>> (2 * this.Bits)) & this.Mask) * this.Step - SmallestThree.Range;
+				float D = (float) Math.sqrt(Math.max(0.0f, 1.0f - A * A - B * B - C * C));
+				switch((int) (Packed >>> (3 * this.Bits))) {
+					case 0:
+						DX[i] = D;
+						DY[i] = A;
+						DZ[i] = B;
+						DW[i] = C;
+						break;
+					case 1:
+						DX[i] = A;
+						DY[i] = D;
+						DZ[i] = B;
+						DW[i] = C;
+						break;
+					case 2:
+						DX[i] = A;
+						DY[i] = B;
+						DZ[i] = D;
+						DW[i] = C;
+						break;
+					default:
+						DX[i] = A;
+						DY[i] = B;
+						DZ[i] = C;
+						DW[i] = D;
+						break;
+				}
+			}
+		}
+		
+		void encode(float X, float Y, float Z, float W, ByteBuffer Dest, int Index) {
+			float AX = Math.abs(X), AY = Math.abs(Y), AZ = Math.abs(Z), AW = Math.abs(W);
+			long Largest;
+			float A, B, C, Sign;
+			if(AX >= AY && AX >= AZ && AX >= AW) {
+				Largest = 0;
+				Sign = X;
+				A = Y;
+				B = Z;
+				C = W;
+			}else if(AY >= AZ && AY >= AW) {
+				Largest = 1;
+				Sign = Y;
+				A = X;
+				B = Z;
+				C = W;
+			}else if(AZ >= AW) {
+				Largest = 2;
+				Sign = Z;
+				A = X;
+				B = Y;
+				C = W;
+			}else {
+				Largest = 3;
+				Sign = W;
+				A = X;
+				B = Y;
+				C = Z;
+			}
+			if(Sign < 0.0f) {
+				A = -A;
+				B = -B;
+				C = -C;
+			}
+			long Packed = Packing.quantize(A, -SmallestThree.Range, this.Scale, this.Mask)
+						  | Packing.quantize(B, -SmallestThree.Range, this.Scale, this.Mask) << this.Bits
+						  | Packing.quantize(C, -SmallestThree.Range, this.Scale, this.Mask) << (2 * this.Bits)
+						  | Largest << (3 * this.Bits);
+			Packing.put(Dest, Index, Packed, this.Bytes);
+		}
+		
+		void encode(QuaternionArray A, int Offset, int Count, ByteBuffer Dest, int Index) {
+			float[] AX = A.x(), AY = A.y(), AZ = A.z(), AW = A.w();
+			for(int i = Offset, End = Offset + Count; i < End; i++, Index += this.Bytes) {
+				this.encode(AX[i], AY[i], AZ[i], AW[i], Dest, Index);
+			}
+		}
+	}
+}
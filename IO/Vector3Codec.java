@@ -0,0 +1,266 @@
+/* Helios (TM) 3D Engine (Java): Vector3 Binary Codec Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package IO;
+
+import java.nio.ByteBuffer;
+
+import Math.AABB;
+import Math.Half;
+import Math.Vector3;
+import Math.Vector3Array;
+
+/**
+ * A fixed-size binary encoding of Vector3 values. Every vector takes
+ * {@link #bytes()} bytes, so encoded arrays can be indexed directly.
+ * <ul>
+ * <li>{@link #FLOAT}: three floats, 12 bytes, lossless</li>
+ * <li>{@link #HALF}: three halves, 6 bytes, about three significant digits
+ * and a range of 65504</li>
+ * <li>{@link #quantized(AABB, int)}: each component quantized to Bits bits
+ * within known bounds, packed into ceil(3 Bits / 8) bytes</li>
+ * </ul>
+ * Floats and halves use the buffer's byte order; packed fields are written
+ * least significant byte first. The single-value methods read or write at
+ * the buffer's position and advance it; the bulk methods check the whole
+ * range up front, so a short buffer throws before anything is transferred.
+ */
+public abstract class Vector3Codec {
+	/**
+	 * Lossless 32-bit components
+	 */
+	public static final Vector3Codec FLOAT = new Vector3Codec.Float32();
+	
+	/**
+	 * 16-bit IEEE half components
+	 * @see Half
+	 */
+	public static final Vector3Codec HALF = new Vector3Codec.Float16();
+	
+	Vector3Codec() {
+	}
+	
+	/*
+	 * STATIC METHODS
+	 */
+	
+	/**
+	 * Returns a codec quantizing each component uniformly within a box.
+	 * Components outside the box are clamped to it. The error per component
+	 * is at most half a step, (Max - Min) / (2 (2^Bits - 1)).
+	 * @param Bounds the range of the encoded values
+	 * @param Bits the bits per component, 1 to 21
+	 * @return a new codec
+	 * @throws IllegalArgumentException if Bits is out of range or the box is
+	 * empty or not finite
+	 */
+	public static Vector3Codec quantized(AABB Bounds, int Bits) {
+		if(Bits < 1 || Bits > 21) {
+			throw new IllegalArgumentException("Bits must be 1 to 21, got " + Bits);
+		}
+		if(Bounds.isEmpty() || !Float.isFinite(Bounds.minX()) || !Float.isFinite(Bounds.minY()) || !Float.isFinite(Bounds.minZ())
+		   || !Float.isFinite(Bounds.maxX()) || !Float.isFinite(Bounds.maxY()) || !Float.isFinite(Bounds.maxZ())) {
+			throw new IllegalArgumentException("Bounds must be finite and non-empty");
+		}
+		return new Vector3Codec.Quantized(Bounds, Bits);
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Returns the encoded size of one vector
+	 * @return the size in bytes
+	 */
+	public abstract int bytes();
+	
+	/**
+	 * Reads one vector at the buffer's position, advancing it
+	 * @param Source the buffer
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public Vector3 decode(ByteBuffer Source, Vector3 Dest) {
+		int Index = Packing.require(Source, this.bytes());
+		this.decode(Source, Index, Dest);
+		Source.position(Index + this.bytes());
+		return Dest;
+	}
+	
+	/**
+	 * Reads Count vectors at the buffer's position, advancing it
+	 * @param Source the buffer
+	 * @param Dest the destination vectors
+	 * @param Offset the first destination element
+	 * @param Count the number of vectors
+	 */
+	public void decode(ByteBuffer Source, Vector3Array Dest, int Offset, int Count) {
+		int Index = Packing.require(Source, (long) Count * this.bytes());
+		this.decode(Source, Index, Dest, Offset, Count);
+		Source.position(Index + Count * this.bytes());
+	}
+	
+	/**
+	 * Writes one vector at the buffer's position, advancing it
+	 * @param A the vector
+	 * @param Dest the buffer
+	 */
+	public void encode(Vector3 A, ByteBuffer Dest) {
+		int Index = Packing.reserve(Dest, this.bytes());
+		this.encode(A.x(), A.y(), A.z(), Dest, Index);
+		Dest.position(Index + this.bytes());
+	}
+	
+	/**
+	 * Writes Count vectors at the buffer's position, advancing it
+	 * @param A the vectors
+	 * @param Offset the first source element
+	 * @param Count the number of vectors
+	 * @param Dest the buffer
+	 */
+	public void encode(Vector3Array A, int Offset, int Count, ByteBuffer Dest) {
+		int Index = Packing.reserve(Dest, (long) Count * this.bytes());
+		this.encode(A, Offset, Count, Dest, Index);
+		Dest.position(Index + Count * this.bytes());
+	}
+	
+	abstract void decode(ByteBuffer Source, int Index, Vector3 Dest);
+	
+	abstract void decode(ByteBuffer Source, int Index, Vector3Array Dest, int Offset, int Count);
+	
+	abstract void encode(float X, float Y, float Z, ByteBuffer Dest, int Index);
+	
+	abstract void encode(Vector3Array A, int Offset, int Count, ByteBuffer Dest, int Index);
+	
+	private static final class Float32 extends Vector3Codec {
+		public int bytes() {
+			return 12;
+		}
+		
+		void decode(ByteBuffer Source, int Index, Vector3 Dest) {
+			Dest.set(Source.getFloat(Index), Source.getFloat(Index + 4), Source.getFloat(Index + 8));
+		}
+		
+		void decode(ByteBuffer Source, int Index, Vector3Array Dest, int Offset, int Count) {
+			float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+			for(int i = Offset, End = Offset + Count; i < End; i++, Index += 12) {
+				DX[i] = Source.getFloat(Index);
+				DY[i] = Source.getFloat(Index + 4);
+				DZ[i] = Source.getFloat(Index + 8);
+			}
+		}
+		
+		void encode(float X, float Y, float Z, ByteBuffer Dest, int Index) {
+			Dest.putFloat(Index, X);
+			Dest.putFloat(Index + 4, Y);
+			Dest.putFloat(Index + 8, Z);
+		}
+		
+		void encode(Vector3Array A, int Offset, int Count, ByteBuffer Dest, int Index) {
+			float[] AX = A.x(), AY = A.y(), AZ = A.z();
+			for(int i = Offset, End = Offset + Count; i < End; i++, Index += 12) {
+				this.encode(AX[i], AY[i], AZ[i], Dest, Index);
+			}
+		}
+	}
+	
+	private static final class Float16 extends Vector3Codec {
+		public int bytes() {
+			return 6;
+		}
+		
+		void decode(ByteBuffer Source, int Index, Vector3 Dest) {
+			Dest.set(Half.toFloat(Source.getShort(Index)), Half.toFloat(Source.getShort(Index + 2)), Half.toFloat(Source.getShort(Index + 4)));
+		}
+		
+		void decode(ByteBuffer Source, int Index, Vector3Array Dest, int Offset, int Count) {
+			float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+			for(int i = Offset, End = Offset + Count; i < End; i++, Index += 6) {
+				DX[i] = Half.toFloat(Source.getShort(Index));
+				DY[i] = Half.toFloat(Source.getShort(Index + 2));
+				DZ[i] = Half.toFloat(Source.getShort(Index + 4));
+			}
+		}
+		
+		void encode(float X, float Y, float Z, ByteBuffer Dest, int Index) {
+			Dest.putShort(Index, Half.fromFloat(X));
+			Dest.putShort(Index + 2, Half.fromFloat(Y));
+			Dest.putShort(Index + 4, Half.fromFloat(Z));
+		}
+		
+		void encode(Vector3Array A, int Offset, int Count, ByteBuffer Dest, int Index) {
+			float[] AX = A.x(), AY = A.y(), AZ = A.z();
+			for(int i = Offset, End = Offset + Count; i < End; i++, Index += 6) {
+				this.encode(AX[i], AY[i], AZ[i], Dest, Index);
+			}
+		}
+	}
+	
+	/**
+	 * Components packed as X in the low Bits bits, then Y, then Z
+	 */
+	private static final class Quantized extends Vector3Codec {
+		private final int Bits, Bytes, Mask;
+		private final float MinX, MinY, MinZ;
+		private final float ScaleX, ScaleY, ScaleZ;
+		private final float StepX, StepY, StepZ;
+		
+		Quantized(AABB Bounds, int Bits) {
+			this.Bits = Bits;
+			this.Bytes = (3 * Bits + 7) / 8;
+			this.Mask = (1 << Bits) - 1;
+			this.MinX = Bounds.minX();
+			this.MinY = Bounds.minY();
+			this.MinZ = Bounds.minZ();
+			//A zero-width axis gets a zero step, decoding every value to Min
+			this.StepX = (Bounds.maxX() - this.MinX) / this.Mask;
+			this.StepY = (Bounds.maxY() - this.MinY) / this.Mask;
+			this.StepZ = (Bounds.maxZ() - this.MinZ) / this.Mask;
+			this.ScaleX = this.StepX > 0.0f ? 1.0f / this.StepX : 0.0f;
+			this.ScaleY = this.StepY > 0.0f ? 1.0f / this.StepY : 0.0f;
+			this.ScaleZ = this.StepZ > 0.0f ? 1.0f / this.StepZ : 0.0f;
+		}
+		
+		public int bytes() {
+			return this.Bytes;
+		}
+		
+		void decode(ByteBuffer Source, int Index, Vector3 Dest) {
+			long Packed = Packing.get(Source, Index, this.Bytes);
+			Dest.set(this.MinX + (Packed & this.Mask) * this.StepX,
+					 this.MinY + ((Packed >>> this.Bits) & this.Mask) * this.StepY,
+					 this.MinZ + ((Packed >>> (2 * this.Bits)) & this.Mask) * this.StepZ);
+		}
+		
+		void decode(ByteBuffer Source, int Index, Vector3Array Dest, int Offset, int Count) {
+			float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+			for(int i = Offset, End = Offset + Count; i < End; i++, Index += this.Bytes) {
+				long Packed = Packing.get(Source, Index, this.Bytes);
+				DX[i] = this.MinX + (Packed & this.Mask) * this.StepX;
+				DY[i] = this.MinY + ((Packed >>> this.Bits) & this.Mask) * this.StepY;
+				DZ[i] = this.MinZ + ((Packed >>> (2 * this.Bits)) & this.Mask) * this.StepZ;
+			}
+		}
+		
+		void encode(float X, float Y, float Z, ByteBuffer Dest, int Index) {
+			long Packed = Packing.quantize(X, this.MinX, this.ScaleX, this.Mask)
+						  | Packing.quantize(Y, this.MinY, this.ScaleY, this.Mask) << this.Bits
+						  | Packing.quantize(Z, this.MinZ, this.ScaleZ, this.Mask) << (2 * this.Bits);
+			Packing.put(Dest, Index, Packed, this.Bytes);
+		}
+		
+		void encode(Vector3Array A, int Offset, int Count, ByteBuffer Dest, int Index) {
+			float[] AX = A.x(), AY = A.y(), AZ = A.z();
+			for(int i = Offset, End = Offset + Count; i < End; i++, Index += this.Bytes) {
+				this.encode(AX[i], AY[i], AZ[i], Dest, Index);
+			}
+		}
+	}
+}
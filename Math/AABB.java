@@ -0,0 +1,406 @@
+/* Helios (TM) 3D Engine (Java): Axis-Aligned Bounding Box Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+/**
+ * An axis-aligned bounding box stored as its minimum and maximum corners. An
+ * empty box has its minimum at +infinity and its maximum at -infinity, so
+ * merging anything into it yields that thing, and it contains and intersects
+ * nothing.
+ */
+public class AABB {
+	private float MinX, MinY, MinZ;
+	private float MaxX, MaxY, MaxZ;
+	
+	/**
+	 * Creates an empty box
+	 */
+	public AABB() {
+		this.clear();
+	}
+	
+	public AABB(float MinX, float MinY, float MinZ, float MaxX, float MaxY, float MaxZ) {
+		this.set(MinX, MinY, MinZ, MaxX, MaxY, MaxZ);
+	}
+	
+	public AABB(Vector3 Min, Vector3 Max) {
+		this.set(Min, Max);
+	}
+	
+	public AABB(AABB Box) {
+		this.set(Box);
+	}
+	
+	/*
+	 * STATIC METHODS
+	 * All computation is performed using these methods. Destinations may be
+	 * one of the operands.
+	 */
+	
+	/**
+	 * Computes the bounds of a range of packed points in a single pass
+	 * @param Points the points
+	 * @param Dest the destination box, empty if Count is zero
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @return the destination box
+	 */
+	public static AABB compute(Vector3Array Points, AABB Dest, int Offset, int Count) {
+		BatchKernels.get().bounds(Points, Dest, Offset, Count);
+		return Dest;
+	}
+	
+	/**
+	 * Tests whether the box contains a point, boundary included
+	 * @param A a box
+	 * @param Point a point
+	 * @return true if the point is inside the box
+	 */
+	public static boolean contains(AABB A, Vector3 Point) {
+		float X = Point.x(), Y = Point.y(), Z = Point.z();
+		return X >= A.MinX && X <= A.MaxX && Y >= A.MinY && Y <= A.MaxY && Z >= A.MinZ && Z <= A.MaxZ;
+	}
+	
+	/**
+	 * Tests whether the first box entirely contains the second. Every box
+	 * contains an empty box.
+	 * @param A the outer box
+	 * @param B the inner box
+	 * @return true if B lies inside A
+	 */
+	public static boolean contains(AABB A, AABB B) {
+		return B.isEmpty() || (B.MinX >= A.MinX && B.MaxX <= A.MaxX && B.MinY >= A.MinY && B.MaxY <= A.MaxY && B.MinZ >= A.MinZ && B.MaxZ <= A.MaxZ);
+	}
+	
+	/**
+	 * Computes the overlap of two boxes, storing the result in the
+	 * destination. Disjoint boxes give an empty box.
+	 * @param A a box
+	 * @param B a box
+	 * @param Dest the destination box
+	 * @return the destination box
+	 */
+	public static AABB intersection(AABB A, AABB B, AABB Dest) {
+		if(!AABB.intersects(A, B)) {
+			Dest.clear();
+			return Dest;
+		}
+		Dest.set(Math.max(A.MinX, B.MinX), Math.max(A.MinY, B.MinY), Math.max(A.MinZ, B.MinZ),
+				 Math.min(A.MaxX, B.MaxX), Math.min(A.MaxY, B.MaxY), Math.min(A.MaxZ, B.MaxZ));
+		return Dest;
+	}
+	
+	/**
+	 * Tests whether two boxes overlap, touching boundaries included
+	 * @param A a box
+	 * @param B a box
+	 * @return true if the boxes overlap
+	 */
+	public static boolean intersects(AABB A, AABB B) {
+		return A.MinX <= B.MaxX && A.MaxX >= B.MinX && A.MinY <= B.MaxY && A.MaxY >= B.MinY && A.MinZ <= B.MaxZ && A.MaxZ >= B.MinZ;
+	}
+	
+	/**
+	 * Tests whether a box and a sphere overlap, using the distance from the
+	 * sphere's center to the closest point of the box
+	 * @param A a box
+	 * @param B a sphere
+	 * @return true if they overlap
+	 */
+	public static boolean intersects(AABB A, BoundingSphere B) {
+		if(A.isEmpty() || B.isEmpty()) {
+			return false;
+		}
+		float CX = B.centerX(), CY = B.centerY(), CZ = B.centerZ();
+		float DX = CX - Math.max(A.MinX, Math.min(CX, A.MaxX));
+		float DY = CY - Math.max(A.MinY, Math.min(CY, A.MaxY));
+		float DZ = CZ - Math.max(A.MinZ, Math.min(CZ, A.MaxZ));
+		return DX * DX + DY * DY + DZ * DZ <= B.radius() * B.radius();
+	}
+	
+	/**
+	 * Computes the smallest box containing both boxes, storing the result in
+	 * the destination
+	 * @param A a box
+	 * @param B a box
+	 * @param Dest the destination box
+	 * @return the destination box
+	 */
+	public static AABB merge(AABB A, AABB B, AABB Dest) {
+		Dest.set(Math.min(A.MinX, B.MinX), Math.min(A.MinY, B.MinY), Math.min(A.MinZ, B.MinZ),
+				 Math.max(A.MaxX, B.MaxX), Math.max(A.MaxY, B.MaxY), Math.max(A.MaxZ, B.MaxZ));
+		return Dest;
+	}
+	
+	/**
+	 * Computes the smallest box containing the box and a point, storing the
+	 * result in the destination
+	 * @param A a box
+	 * @param Point a point
+	 * @param Dest the destination box
+	 * @return the destination box
+	 */
+	public static AABB merge(AABB A, Vector3 Point, AABB Dest) {
+		float X = Point.x(), Y = Point.y(), Z = Point.z();
+		Dest.set(Math.min(A.MinX, X), Math.min(A.MinY, Y), Math.min(A.MinZ, Z),
+				 Math.max(A.MaxX, X), Math.max(A.MaxY, Y), Math.max(A.MaxZ, Z));
+		return Dest;
+	}
+	
+	/**
+	 * Bounds the box after an affine transform, storing the result in the
+	 * destination. Uses Arvo's method: the new center is the transformed
+	 * center, and the new half extents are the old ones multiplied by the
+	 * absolute values of the 3x3 block. The result is exact for the
+	 * transformed corners, without transforming all eight.
+	 * @param A a box
+	 * @param Matrix an affine matrix
+	 * @param Dest the destination box
+	 * @return the destination box
+	 */
+	public static AABB transform(AABB A, Matrix4 Matrix, AABB Dest) {
+		return AABB.transform(A,
+							  Matrix.get(0, 0), Matrix.get(0, 1), Matrix.get(0, 2),
+							  Matrix.get(1, 0), Matrix.get(1, 1), Matrix.get(1, 2),
+							  Matrix.get(2, 0), Matrix.get(2, 1), Matrix.get(2, 2),
+							  Matrix.get(0, 3), Matrix.get(1, 3), Matrix.get(2, 3), Dest);
+	}
+	
+	/**
+	 * Bounds the box after a rotation followed by a translation, storing the
+	 * result in the destination
+	 * @param A a box
+	 * @param Rotation a unit quaternion
+	 * @param Translation the translation applied after the rotation
+	 * @param Dest the destination box
+	 * @return the destination box
+	 * @see #transform(AABB, Matrix4, AABB)
+	 */
+	public static AABB transform(AABB A, Quaternion Rotation, Vector3 Translation, AABB Dest) {
+		float W = Rotation.w(), X = Rotation.x(), Y = Rotation.y(), Z = Rotation.z();
+		float XX = X * X, YY = Y * Y, ZZ = Z * Z;
+		float XY = X * Y, XZ = X * Z, YZ = Y * Z;
+		float WX = W * X, WY = W * Y, WZ = W * Z;
+		return AABB.transform(A,
+							  1.0f - 2.0f * (YY + ZZ), 2.0f * (XY - WZ), 2.0f * (XZ + WY),
+							  2.0f * (XY + WZ), 1.0f - 2.0f * (XX + ZZ), 2.0f * (YZ - WX),
+							  2.0f * (XZ - WY), 2.0f * (YZ + WX), 1.0f - 2.0f * (XX + YY),
+							  Translation.x(), Translation.y(), Translation.z(), Dest);
+	}
+	
+	private static AABB transform(AABB A, float M00, float M01, float M02, float M10, float M11, float M12,
+								  float M20, float M21, float M22, float TX, float TY, float TZ, AABB Dest) {
+		if(A.isEmpty()) {
+			Dest.clear();
+			return Dest;
+		}
+		float CX = 0.5f * (A.MinX + A.MaxX), CY = 0.5f * (A.MinY + A.MaxY), CZ = 0.5f * (A.MinZ + A.MaxZ);
+		float EX = 0.5f * (A.MaxX - A.MinX), EY = 0.5f * (A.MaxY - A.MinY), EZ = 0.5f * (A.MaxZ - A.MinZ);
+		float NX = M00 * CX + M01 * CY + M02 * CZ + TX;
+		float NY = M10 * CX + M11 * CY + M12 * CZ + TY;
+		float NZ = M20 * CX + M21 * CY + M22 * CZ + TZ;
+		float FX = Math.abs(M00) * EX + Math.abs(M01) * EY + Math.abs(M02) * EZ;
+		float FY = Math.abs(M10) * EX + Math.abs(M11) * EY + Math.abs(M12) * EZ;
+		float FZ = Math.abs(M20) * EX + Math.abs(M21) * EY + Math.abs(M22) * EZ;
+		Dest.set(NX - FX, NY - FY, NZ - FZ, NX + FX, NY + FY, NZ + FZ);
+		return Dest;
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 * All computations are forwarded from these methods to the static methods.
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Copies the center of the box into a vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public Vector3 center(Vector3 Dest) {
+		Dest.set(0.5f * (this.MinX + this.MaxX), 0.5f * (this.MinY + this.MaxY), 0.5f * (this.MinZ + this.MaxZ));
+		return Dest;
+	}
+	
+	public boolean contains(AABB B) {
+		return AABB.contains(this, B);
+	}
+	
+	public boolean contains(Vector3 Point) {
+		return AABB.contains(this, Point);
+	}
+	
+	/**
+	 * Copies the half extents of the box into a vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public Vector3 extent(Vector3 Dest) {
+		Dest.set(0.5f * (this.MaxX - this.MinX), 0.5f * (this.MaxY - this.MinY), 0.5f * (this.MaxZ - this.MinZ));
+		return Dest;
+	}
+	
+	public boolean intersects(AABB B) {
+		return AABB.intersects(this, B);
+	}
+	
+	public boolean intersects(BoundingSphere B) {
+		return AABB.intersects(this, B);
+	}
+	
+	/**
+	 * Returns whether the box is empty
+	 * @return true if the minimum exceeds the maximum on any axis
+	 */
+	public boolean isEmpty() {
+		return this.MinX > this.MaxX || this.MinY > this.MaxY || this.MinZ > this.MaxZ;
+	}
+	
+	/**
+	 * Copies the maximum corner into a vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public Vector3 max(Vector3 Dest) {
+		Dest.set(this.MaxX, this.MaxY, this.MaxZ);
+		return Dest;
+	}
+	
+	public float maxX() {
+		return this.MaxX;
+	}
+	
+	public float maxY() {
+		return this.MaxY;
+	}
+	
+	public float maxZ() {
+		return this.MaxZ;
+	}
+	
+	/**
+	 * Copies the minimum corner into a vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public Vector3 min(Vector3 Dest) {
+		Dest.set(this.MinX, this.MinY, this.MinZ);
+		return Dest;
+	}
+	
+	public float minX() {
+		return this.MinX;
+	}
+	
+	public float minY() {
+		return this.MinY;
+	}
+	
+	public float minZ() {
+		return this.MinZ;
+	}
+	
+	/**
+	 * Returns the surface area of the box, zero when empty
+	 * @return the surface area
+	 */
+	public float surfaceArea() {
+		if(this.isEmpty()) {
+			return 0.0f;
+		}
+		float X = this.MaxX - this.MinX, Y = this.MaxY - this.MinY, Z = this.MaxZ - this.MinZ;
+		return 2.0f * (X * Y + Y * Z + Z * X);
+	}
+	
+	/**
+	 * Returns a string containing the box's corners
+	 * Format: "[(MinX, MinY, MinZ), (MaxX, MaxY, MaxZ)]"
+	 */
+	public String toString() {
+		return "[(" + this.MinX + ", " + this.MinY + ", " + this.MinZ + "), (" + this.MaxX + ", " + this.MaxY + ", " + this.MaxZ + ")]";
+	}
+	
+	//Mutators
+	
+	/**
+	 * Makes this box empty
+	 */
+	public void clear() {
+		this.MinX = Float.POSITIVE_INFINITY;
+		this.MinY = Float.POSITIVE_INFINITY;
+		this.MinZ = Float.POSITIVE_INFINITY;
+		this.MaxX = Float.NEGATIVE_INFINITY;
+		this.MaxY = Float.NEGATIVE_INFINITY;
+		this.MaxZ = Float.NEGATIVE_INFINITY;
+	}
+	
+	/**
+	 * Grows this box to contain another box
+	 * @param B a box
+	 */
+	public void merge(AABB B) {
+		AABB.merge(this, B, this);
+	}
+	
+	/**
+	 * Grows this box to contain a point
+	 * @param Point a point
+	 */
+	public void merge(Vector3 Point) {
+		AABB.merge(this, Point, this);
+	}
+	
+	/**
+	 * Sets new corners for the box
+	 */
+	public void set(float MinX, float MinY, float MinZ, float MaxX, float MaxY, float MaxZ) {
+		this.MinX = MinX;
+		this.MinY = MinY;
+		this.MinZ = MinZ;
+		this.MaxX = MaxX;
+		this.MaxY = MaxY;
+		this.MaxZ = MaxZ;
+	}
+	
+	/**
+	 * Sets new corners for the box
+	 * @param Min the minimum corner
+	 * @param Max the maximum corner
+	 */
+	public void set(Vector3 Min, Vector3 Max) {
+		this.set(Min.x(), Min.y(), Min.z(), Max.x(), Max.y(), Max.z());
+	}
+	
+	/**
+	 * Sets new corners for the box
+	 * @param Box a box
+	 */
+	public void set(AABB Box) {
+		this.set(Box.MinX, Box.MinY, Box.MinZ, Box.MaxX, Box.MaxY, Box.MaxZ);
+	}
+	
+	/**
+	 * Bounds this box after a rotation followed by a translation, overwriting
+	 * the existing values
+	 * @param Rotation a unit quaternion
+	 * @param Translation the translation
+	 */
+	public void transform(Quaternion Rotation, Vector3 Translation) {
+		AABB.transform(this, Rotation, Translation, this);
+	}
+	
+	/**
+	 * Bounds this box after an affine transform, overwriting the existing
+	 * values
+	 * @param Matrix an affine matrix
+	 */
+	public void transform(Matrix4 Matrix) {
+		AABB.transform(this, Matrix, this);
+	}
+}
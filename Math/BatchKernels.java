@@ -0,0 +1,557 @@
+/* Helios (TM) 3D Engine (Java): Batch Kernel Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+/**
+ * The throughput-bound kernels behind the packed array containers. This class
+ * is the scalar implementation. At class initialization a SIMD implementation
+ * built on jdk.incubator.vector is substituted when the module is present at
+ * runtime (--add-modules jdk.incubator.vector) and the hardware offers at
+ * least four float lanes. Setting the system property Helios.simd to false
+ * forces the scalar kernels.
+ */
+public class BatchKernels {
+	private static final BatchKernels Kernels = BatchKernels.select();
+	
+	protected BatchKernels() {
+	}
+	
+	/*
+	 * STATIC METHODS
+	 */
+	
+	/**
+	 * Returns the kernels selected for this runtime
+	 * @return the kernels
+	 */
+	public static BatchKernels get() {
+		return BatchKernels.Kernels;
+	}
+	
+	/**
+	 * Returns the scalar kernels regardless of the runtime selection
+	 * @return the scalar kernels
+	 */
+	public static BatchKernels scalar() {
+		return new BatchKernels();
+	}
+	
+	private static BatchKernels select() {
+		if(!Boolean.parseBoolean(System.getProperty("Helios.simd", "true"))) {
+			return new BatchKernels();
+		}
+		try {
+			BatchKernels Vector = (BatchKernels) Class.forName("Math.VectorBatchKernels").getDeclaredConstructor().newInstance();
+			if(Vector.lanes() >= 4) {
+				return Vector;
+			}
+		} catch(ReflectiveOperationException | LinkageError | SecurityException Exception) {
+			//The vector module is not available, fall through to the scalar kernels
+		}
+		return new BatchKernels();
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 * Each kernel operates on the elements [Offset, Offset + Count) of every
+	 * array it is given. Destinations may alias the operands.
+	 */
+	
+	/**
+	 * Returns the number of floats processed per step
+	 * @return the lane count
+	 */
+	public int lanes() {
+		return 1;
+	}
+	
+	/**
+	 * Returns a short name for the implementation
+	 * @return the implementation name
+	 */
+	public String name() {
+		return "scalar";
+	}
+	
+	/**
+	 * Adds the "right side" vectors scaled by a factor to the "left side"
+	 * vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param Scale a float scaling the "right side" vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void addScaled(Vector3Array A, Vector3Array B, float Scale, Vector3Array Dest, int Offset, int Count, boolean Fused) {
+		this.addScaled(A.x(), B.x(), Scale, Dest.x(), Offset, Count, Fused);
+		this.addScaled(A.y(), B.y(), Scale, Dest.y(), Offset, Count, Fused);
+		this.addScaled(A.z(), B.z(), Scale, Dest.z(), Offset, Count, Fused);
+	}
+	
+	/**
+	 * Adds the "right side" vectors scaled by a factor to the "left side"
+	 * vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param Scale a float scaling the "right side" vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void addScaled(Vector4Array A, Vector4Array B, float Scale, Vector4Array Dest, int Offset, int Count, boolean Fused) {
+		this.addScaled(A.w(), B.w(), Scale, Dest.w(), Offset, Count, Fused);
+		this.addScaled(A.x(), B.x(), Scale, Dest.x(), Offset, Count, Fused);
+		this.addScaled(A.y(), B.y(), Scale, Dest.y(), Offset, Count, Fused);
+		this.addScaled(A.z(), B.z(), Scale, Dest.z(), Offset, Count, Fused);
+	}
+	
+	/**
+	 * Computes the bounding box of a set of points in a single pass
+	 * @param A the points
+	 * @param Dest the destination box, empty if Count is zero
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public void bounds(Vector3Array A, AABB Dest, int Offset, int Count) {
+		float[] AX = A.x(), AY = A.y(), AZ = A.z();
+		float MinX = Float.POSITIVE_INFINITY, MinY = Float.POSITIVE_INFINITY, MinZ = Float.POSITIVE_INFINITY;
+		float MaxX = Float.NEGATIVE_INFINITY, MaxY = Float.NEGATIVE_INFINITY, MaxZ = Float.NEGATIVE_INFINITY;
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float X = AX[i], Y = AY[i], Z = AZ[i];
+			MinX = Math.min(MinX, X);
+			MinY = Math.min(MinY, Y);
+			MinZ = Math.min(MinZ, Z);
+			MaxX = Math.max(MaxX, X);
+			MaxY = Math.max(MaxY, Y);
+			MaxZ = Math.max(MaxZ, Z);
+		}
+		Dest.set(MinX, MinY, MinZ, MaxX, MaxY, MaxZ);
+	}
+	
+	/**
+	 * Calculates the cross products between two sets of vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public void cross(Vector3Array A, Vector3Array B, Vector3Array Dest, int Offset, int Count) {
+		float[] AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] BX = B.x(), BY = B.y(), BZ = B.z();
+		float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float X = AY[i] * BZ[i] - AZ[i] * BY[i];
+			float Y = AZ[i] * BX[i] - AX[i] * BZ[i];
+			float Z = AX[i] * BY[i] - AY[i] * BX[i];
+			DX[i] = X;
+			DY[i] = Y;
+			DZ[i] = Z;
+		}
+	}
+	
+	/**
+	 * Computes the dot products between two sets of vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param Dest the destination floats, indexed like the vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public void dot(Vector3Array A, Vector3Array B, float[] Dest, int Offset, int Count) {
+		float[] AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] BX = B.x(), BY = B.y(), BZ = B.z();
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			Dest[i] = AX[i] * BX[i] + AY[i] * BY[i] + AZ[i] * BZ[i];
+		}
+	}
+	
+	/**
+	 * Approximately normalizes a set of vectors
+	 * @param A the vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @see FastMath#inverseSqrt(float)
+	 */
+	public void fastNormalize(Vector3Array A, Vector3Array Dest, int Offset, int Count) {
+		float[] AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float X = AX[i], Y = AY[i], Z = AZ[i];
+			float InverseLength = FastMath.inverseSqrt(X * X + Y * Y + Z * Z);
+			DX[i] = X * InverseLength;
+			DY[i] = Y * InverseLength;
+			DZ[i] = Z * InverseLength;
+		}
+	}
+	
+	/**
+	 * Approximately normalizes a set of vectors
+	 * @param A the vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @see FastMath#inverseSqrt(float)
+	 */
+	public void fastNormalize(Vector4Array A, Vector4Array Dest, int Offset, int Count) {
+		this.fastNormalize4(A.x(), A.y(), A.z(), A.w(), Dest.x(), Dest.y(), Dest.z(), Dest.w(), Offset, Count);
+	}
+	
+	/**
+	 * Approximately normalizes a set of quaternions
+	 * @param A the quaternions
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @see FastMath#inverseSqrt(float)
+	 */
+	public void fastNormalize(QuaternionArray A, QuaternionArray Dest, int Offset, int Count) {
+		this.fastNormalize4(A.x(), A.y(), A.z(), A.w(), Dest.x(), Dest.y(), Dest.z(), Dest.w(), Offset, Count);
+	}
+	
+	/**
+	 * Approximately slerps between two sets of unit quaternions with a common
+	 * parameter
+	 * @param A the start quaternions
+	 * @param B the end quaternions
+	 * @param T the interpolation parameter, 0 to 1
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @see Quaternion#fastSlerp(Quaternion, Quaternion, float, Quaternion)
+	 */
+	public void fastSlerp(QuaternionArray A, QuaternionArray B, float T, QuaternionArray Dest, int Offset, int Count) {
+		float[] AW = A.w(), AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] BW = B.w(), BX = B.x(), BY = B.y(), BZ = B.z();
+		float[] DW = Dest.w(), DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		float H = T - 0.5f;
+		float Cubic = T * H * (T - 1.0f), Square = H * H;
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float QW = AW[i], QX = AX[i], QY = AY[i], QZ = AZ[i];
+			float RW = BW[i], RX = BX[i], RY = BY[i], RZ = BZ[i];
+			float Dot = QW * RW + QX * RX + QY * RY + QZ * RZ;
+			float D = Math.abs(Dot);
+			float KA = 1.0904f + D * (-3.2452f + D * (3.55645f - D * 1.43519f));
+			float KB = 0.848013f + D * (-1.06021f + D * 0.215638f);
+			float R = T + Cubic * (KA * Square + KB);
+			float S = 1.0f - R;
+			if(Dot < 0.0f) {
+				R = -R;
+			}
+			float W = S * QW + R * RW;
+			float X = S * QX + R * RX;
+			float Y = S * QY + R * RY;
+			float Z = S * QZ + R * RZ;
+			float InverseLength = 1.0f / (float) Math.sqrt(W * W + X * X + Y * Y + Z * Z);
+			DW[i] = W * InverseLength;
+			DX[i] = X * InverseLength;
+			DY[i] = Y * InverseLength;
+			DZ[i] = Z * InverseLength;
+		}
+	}
+	
+	/**
+	 * Advances orientations by angular velocities with a first-order step
+	 * @param A the unit quaternions
+	 * @param Omega the angular velocities in world space
+	 * @param DT the time step
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public void integrate(QuaternionArray A, Vector3Array Omega, float DT, QuaternionArray Dest, int Offset, int Count) {
+		float[] AW = A.w(), AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] OX = Omega.x(), OY = Omega.y(), OZ = Omega.z();
+		float[] DW = Dest.w(), DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		float H = 0.5f * DT;
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float QW = AW[i], QX = AX[i], QY = AY[i], QZ = AZ[i];
+			float VX = OX[i], VY = OY[i], VZ = OZ[i];
+			float W = QW - H * (VX * QX + VY * QY + VZ * QZ);
+			float X = QX + H * (VX * QW + VY * QZ - VZ * QY);
+			float Y = QY + H * (VY * QW + VZ * QX - VX * QZ);
+			float Z = QZ + H * (VZ * QW + VX * QY - VY * QX);
+			float InverseLength = 1.0f / (float) Math.sqrt(X * X + Y * Y + Z * Z + W * W);
+			DW[i] = W * InverseLength;
+			DX[i] = X * InverseLength;
+			DY[i] = Y * InverseLength;
+			DZ[i] = Z * InverseLength;
+		}
+	}
+	
+	/**
+	 * Linearly interpolates from the "left side" vectors to the "right side"
+	 * vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param T a float representing the interpolation factor
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void lerp(Vector3Array A, Vector3Array B, float T, Vector3Array Dest, int Offset, int Count, boolean Fused) {
+		this.lerp(A.x(), B.x(), T, Dest.x(), Offset, Count, Fused);
+		this.lerp(A.y(), B.y(), T, Dest.y(), Offset, Count, Fused);
+		this.lerp(A.z(), B.z(), T, Dest.z(), Offset, Count, Fused);
+	}
+	
+	/**
+	 * Linearly interpolates from the "left side" vectors to the "right side"
+	 * vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param T a float representing the interpolation factor
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void lerp(Vector4Array A, Vector4Array B, float T, Vector4Array Dest, int Offset, int Count, boolean Fused) {
+		this.lerp(A.w(), B.w(), T, Dest.w(), Offset, Count, Fused);
+		this.lerp(A.x(), B.x(), T, Dest.x(), Offset, Count, Fused);
+		this.lerp(A.y(), B.y(), T, Dest.y(), Offset, Count, Fused);
+		this.lerp(A.z(), B.z(), T, Dest.z(), Offset, Count, Fused);
+	}
+	
+	/**
+	 * Multiplies two sets of vectors component-wise and adds a third
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param C the vectors added to the products
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void madd(Vector3Array A, Vector3Array B, Vector3Array C, Vector3Array Dest, int Offset, int Count, boolean Fused) {
+		this.madd(A.x(), B.x(), C.x(), Dest.x(), Offset, Count, Fused);
+		this.madd(A.y(), B.y(), C.y(), Dest.y(), Offset, Count, Fused);
+		this.madd(A.z(), B.z(), C.z(), Dest.z(), Offset, Count, Fused);
+	}
+	
+	/**
+	 * Multiplies two sets of vectors component-wise and adds a third
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param C the vectors added to the products
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void madd(Vector4Array A, Vector4Array B, Vector4Array C, Vector4Array Dest, int Offset, int Count, boolean Fused) {
+		this.madd(A.w(), B.w(), C.w(), Dest.w(), Offset, Count, Fused);
+		this.madd(A.x(), B.x(), C.x(), Dest.x(), Offset, Count, Fused);
+		this.madd(A.y(), B.y(), C.y(), Dest.y(), Offset, Count, Fused);
+		this.madd(A.z(), B.z(), C.z(), Dest.z(), Offset, Count, Fused);
+	}
+	
+	/**
+	 * Multiplies two sets of quaternions
+	 * @param A the "left side" quaternions
+	 * @param B the "right side" quaternions
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public void multiply(QuaternionArray A, QuaternionArray B, QuaternionArray Dest, int Offset, int Count) {
+		float[] AW = A.w(), AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] BW = B.w(), BX = B.x(), BY = B.y(), BZ = B.z();
+		float[] DW = Dest.w(), DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float QW = AW[i], QX = AX[i], QY = AY[i], QZ = AZ[i];
+			float RW = BW[i], RX = BX[i], RY = BY[i], RZ = BZ[i];
+			DW[i] = QW * RW - QX * RX - QY * RY - QZ * RZ;
+			DX[i] = QX * RW + QW * RX + QY * RZ - QZ * RY;
+			DY[i] = QY * RW + QW * RY + QZ * RX - QX * RZ;
+			DZ[i] = QZ * RW + QW * RZ + QX * RY - QY * RX;
+		}
+	}
+	
+	/**
+	 * Normalized-lerps between two sets of unit quaternions with a common
+	 * parameter
+	 * @param A the start quaternions
+	 * @param B the end quaternions
+	 * @param T the interpolation parameter, 0 to 1
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public void nlerp(QuaternionArray A, QuaternionArray B, float T, QuaternionArray Dest, int Offset, int Count) {
+		float[] AW = A.w(), AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] BW = B.w(), BX = B.x(), BY = B.y(), BZ = B.z();
+		float[] DW = Dest.w(), DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		float S = 1.0f - T;
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float QW = AW[i], QX = AX[i], QY = AY[i], QZ = AZ[i];
+			float RW = BW[i], RX = BX[i], RY = BY[i], RZ = BZ[i];
+			float R = QW * RW + QX * RX + QY * RY + QZ * RZ < 0.0f ? -T : T;
+			float W = S * QW + R * RW;
+			float X = S * QX + R * RX;
+			float Y = S * QY + R * RY;
+			float Z = S * QZ + R * RZ;
+			float InverseLength = 1.0f / (float) Math.sqrt(W * W + X * X + Y * Y + Z * Z);
+			DW[i] = W * InverseLength;
+			DX[i] = X * InverseLength;
+			DY[i] = Y * InverseLength;
+			DZ[i] = Z * InverseLength;
+		}
+	}
+	
+	/**
+	 * Rotates a set of vectors by a single unit quaternion
+	 * @param Q the quaternion
+	 * @param A the vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public void rotate(Quaternion Q, Vector3Array A, Vector3Array Dest, int Offset, int Count) {
+		float QW = Q.w(), QX = Q.x(), QY = Q.y(), QZ = Q.z();
+		float[] AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float VX = AX[i], VY = AY[i], VZ = AZ[i];
+			float TX = 2.0f * (QY * VZ - QZ * VY);
+			float TY = 2.0f * (QZ * VX - QX * VZ);
+			float TZ = 2.0f * (QX * VY - QY * VX);
+			DX[i] = VX + QW * TX + (QY * TZ - QZ * TY);
+			DY[i] = VY + QW * TY + (QZ * TX - QX * TZ);
+			DZ[i] = VZ + QW * TZ + (QX * TY - QY * TX);
+		}
+	}
+	
+	/**
+	 * Normalizes a set of vectors
+	 * @param A the vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public void normalize(Vector3Array A, Vector3Array Dest, int Offset, int Count) {
+		float[] AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float X = AX[i], Y = AY[i], Z = AZ[i];
+			float Length = (float) Math.sqrt(X * X + Y * Y + Z * Z);
+			if(Length != 0.0f) {
+				Length = 1.0f / Length;
+			}
+			DX[i] = X * Length;
+			DY[i] = Y * Length;
+			DZ[i] = Z * Length;
+		}
+	}
+	
+	/**
+	 * Normalizes a set of vectors
+	 * @param A the vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public void normalize(Vector4Array A, Vector4Array Dest, int Offset, int Count) {
+		this.normalize4(A.x(), A.y(), A.z(), A.w(), Dest.x(), Dest.y(), Dest.z(), Dest.w(), Offset, Count);
+	}
+	
+	/**
+	 * Normalizes a set of quaternions
+	 * @param A the quaternions
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public void normalize(QuaternionArray A, QuaternionArray Dest, int Offset, int Count) {
+		this.normalize4(A.x(), A.y(), A.z(), A.w(), Dest.x(), Dest.y(), Dest.z(), Dest.w(), Offset, Count);
+	}
+	
+	/**
+	 * Computes A + B * Scale over a single component array
+	 */
+	protected void addScaled(float[] A, float[] B, float Scale, float[] Dest, int Offset, int Count, boolean Fused) {
+		if(Fused) {
+			for(int i = Offset, End = Offset + Count; i < End; i++) {
+				Dest[i] = Math.fma(B[i], Scale, A[i]);
+			}
+		} else {
+			for(int i = Offset, End = Offset + Count; i < End; i++) {
+				Dest[i] = A[i] + B[i] * Scale;
+			}
+		}
+	}
+	
+	/**
+	 * Approximately normalizes four-component values held in separate
+	 * component arrays
+	 */
+	protected void fastNormalize4(float[] AX, float[] AY, float[] AZ, float[] AW,
+								  float[] DX, float[] DY, float[] DZ, float[] DW, int Offset, int Count) {
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float X = AX[i], Y = AY[i], Z = AZ[i], W = AW[i];
+			float InverseLength = FastMath.inverseSqrt(X * X + Y * Y + Z * Z + W * W);
+			DX[i] = X * InverseLength;
+			DY[i] = Y * InverseLength;
+			DZ[i] = Z * InverseLength;
+			DW[i] = W * InverseLength;
+		}
+	}
+	
+	/**
+	 * Computes A + (B - A) * T over a single component array
+	 */
+	protected void lerp(float[] A, float[] B, float T, float[] Dest, int Offset, int Count, boolean Fused) {
+		if(Fused) {
+			for(int i = Offset, End = Offset + Count; i < End; i++) {
+				Dest[i] = Math.fma(B[i] - A[i], T, A[i]);
+			}
+		} else {
+			for(int i = Offset, End = Offset + Count; i < End; i++) {
+				Dest[i] = A[i] + (B[i] - A[i]) * T;
+			}
+		}
+	}
+	
+	/**
+	 * Computes A * B + C over a single component array
+	 */
+	protected void madd(float[] A, float[] B, float[] C, float[] Dest, int Offset, int Count, boolean Fused) {
+		if(Fused) {
+			for(int i = Offset, End = Offset + Count; i < End; i++) {
+				Dest[i] = Math.fma(A[i], B[i], C[i]);
+			}
+		} else {
+			for(int i = Offset, End = Offset + Count; i < End; i++) {
+				Dest[i] = A[i] * B[i] + C[i];
+			}
+		}
+	}
+	
+	/**
+	 * Normalizes four-component values held in separate component arrays
+	 */
+	protected void normalize4(float[] AX, float[] AY, float[] AZ, float[] AW,
+							  float[] DX, float[] DY, float[] DZ, float[] DW, int Offset, int Count) {
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float X = AX[i], Y = AY[i], Z = AZ[i], W = AW[i];
+			float Length = (float) Math.sqrt(X * X + Y * Y + Z * Z + W * W);
+			if(Length != 0.0f) {
+				Length = 1.0f / Length;
+			}
+			DX[i] = X * Length;
+			DY[i] = Y * Length;
+			DZ[i] = Z * Length;
+			DW[i] = W * Length;
+		}
+	}
+}
@@ -0,0 +1,342 @@
+/* Helios (TM) 3D Engine (Java): Bounding Sphere Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+/**
+ * A bounding sphere stored as its center and radius. A negative radius marks
+ * an empty sphere, which contains and intersects nothing.
+ */
+public class BoundingSphere {
+	private static final ThreadLocal<AABB> Boxes = ThreadLocal.withInitial(AABB::new);
+	
+	private float CenterX, CenterY, CenterZ;
+	private float Radius;
+	
+	/**
+	 * Creates an empty sphere
+	 */
+	public BoundingSphere() {
+		this.clear();
+	}
+	
+	public BoundingSphere(float CenterX, float CenterY, float CenterZ, float Radius) {
+		this.set(CenterX, CenterY, CenterZ, Radius);
+	}
+	
+	public BoundingSphere(Vector3 Center, float Radius) {
+		this.set(Center.x(), Center.y(), Center.z(), Radius);
+	}
+	
+	public BoundingSphere(BoundingSphere Sphere) {
+		this.set(Sphere);
+	}
+	
+	/*
+	 * STATIC METHODS
+	 * All computation is performed using these methods. Destinations may be
+	 * one of the operands.
+	 */
+	
+	/**
+	 * Computes a bounding sphere of a range of packed points. The center is
+	 * the center of their bounding box, found in one pass, and the radius is
+	 * the largest distance from it, found in a second pass. The sphere is at
+	 * most sqrt(3) times larger than the minimal one and is usually close.
+	 * The box is found by the batch kernels into a per-thread box, so this does
+	 * not allocate.
+	 * @param Points the points
+	 * @param Dest the destination sphere, empty if Count is zero
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @return the destination sphere
+	 */
+	public static BoundingSphere compute(Vector3Array Points, BoundingSphere Dest, int Offset, int Count) {
+		if(Count <= 0) {
+			Dest.clear();
+			return Dest;
+		}
+		AABB Box = BoundingSphere.Boxes.get();
+		BatchKernels.get().bounds(Points, Box, Offset, Count);
+		float CX = 0.5f * (Box.minX() + Box.maxX()), CY = 0.5f * (Box.minY() + Box.maxY()), CZ = 0.5f * (Box.minZ() + Box.maxZ());
+		float[] PX = Points.x(), PY = Points.y(), PZ = Points.z();
+		float Square = 0.0f;
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float DX = PX[i] - CX, DY = PY[i] - CY, DZ = PZ[i] - CZ;
+			Square = Math.max(Square, DX * DX + DY * DY + DZ * DZ);
+		}
+		//Round up so that contains() holds for the farthest point despite rounding
+		Dest.set(CX, CY, CZ, Math.nextUp((float) Math.sqrt(Square)));
+		return Dest;
+	}
+	
+	/**
+	 * Tests whether the sphere contains a point, boundary included
+	 * @param A a sphere
+	 * @param Point a point
+	 * @return true if the point is inside the sphere
+	 */
+	public static boolean contains(BoundingSphere A, Vector3 Point) {
+		float DX = Point.x() - A.CenterX, DY = Point.y() - A.CenterY, DZ = Point.z() - A.CenterZ;
+		return A.Radius >= 0.0f && DX * DX + DY * DY + DZ * DZ <= A.Radius * A.Radius;
+	}
+	
+	/**
+	 * Tests whether the first sphere entirely contains the second. Every
+	 * sphere contains an empty sphere.
+	 * @param A the outer sphere
+	 * @param B the inner sphere
+	 * @return true if B lies inside A
+	 */
+	public static boolean contains(BoundingSphere A, BoundingSphere B) {
+		if(B.Radius < 0.0f) {
+			return true;
+		}
+		float Reach = A.Radius - B.Radius;
+		if(Reach < 0.0f) {
+			return false;
+		}
+		float DX = B.CenterX - A.CenterX, DY = B.CenterY - A.CenterY, DZ = B.CenterZ - A.CenterZ;
+		return DX * DX + DY * DY + DZ * DZ <= Reach * Reach;
+	}
+	
+	/**
+	 * Tests whether two spheres overlap, touching boundaries included
+	 * @param A a sphere
+	 * @param B a sphere
+	 * @return true if the spheres overlap
+	 */
+	public static boolean intersects(BoundingSphere A, BoundingSphere B) {
+		if(A.Radius < 0.0f || B.Radius < 0.0f) {
+			return false;
+		}
+		float DX = B.CenterX - A.CenterX, DY = B.CenterY - A.CenterY, DZ = B.CenterZ - A.CenterZ;
+		float Reach = A.Radius + B.Radius;
+		return DX * DX + DY * DY + DZ * DZ <= Reach * Reach;
+	}
+	
+	/**
+	 * Computes the smallest sphere containing both spheres, storing the
+	 * result in the destination
+	 * @param A a sphere
+	 * @param B a sphere
+	 * @param Dest the destination sphere
+	 * @return the destination sphere
+	 */
+	public static BoundingSphere merge(BoundingSphere A, BoundingSphere B, BoundingSphere Dest) {
+		return BoundingSphere.merge(A.CenterX, A.CenterY, A.CenterZ, A.Radius, B.CenterX, B.CenterY, B.CenterZ, B.Radius, Dest);
+	}
+	
+	/**
+	 * Computes the smallest sphere containing the sphere and a point, storing
+	 * the result in the destination
+	 * @param A a sphere
+	 * @param Point a point
+	 * @param Dest the destination sphere
+	 * @return the destination sphere
+	 */
+	public static BoundingSphere merge(BoundingSphere A, Vector3 Point, BoundingSphere Dest) {
+		return BoundingSphere.merge(A.CenterX, A.CenterY, A.CenterZ, A.Radius, Point.x(), Point.y(), Point.z(), 0.0f, Dest);
+	}
+	
+	private static BoundingSphere merge(float AX, float AY, float AZ, float AR, float BX, float BY, float BZ, float BR, BoundingSphere Dest) {
+		float DX = BX - AX, DY = BY - AY, DZ = BZ - AZ;
+		float Distance = (float) Math.sqrt(DX * DX + DY * DY + DZ * DZ);
+		if(BR < 0.0f || (AR >= 0.0f && Distance + BR <= AR)) {
+			//B is empty or inside A
+			Dest.set(AX, AY, AZ, AR);
+		}else if(AR < 0.0f || Distance + AR <= BR) {
+			//A is empty or inside B
+			Dest.set(BX, BY, BZ, BR);
+		}else {
+			//Neither contains the other, so Distance > |AR - BR| >= 0
+			float Radius = 0.5f * (Distance + AR + BR);
+			float Shift = (Radius - AR) / Distance;
+			Dest.set(AX + DX * Shift, AY + DY * Shift, AZ + DZ * Shift, Radius);
+		}
+		return Dest;
+	}
+	
+	/**
+	 * Transforms the sphere by an affine matrix, storing the result in the
+	 * destination. The radius is scaled by the largest column length of the
+	 * 3x3 block, so non-uniform scale gives a conservative sphere.
+	 * @param A a sphere
+	 * @param Matrix an affine matrix
+	 * @param Dest the destination sphere
+	 * @return the destination sphere
+	 */
+	public static BoundingSphere transform(BoundingSphere A, Matrix4 Matrix, BoundingSphere Dest) {
+		if(A.Radius < 0.0f) {
+			Dest.clear();
+			return Dest;
+		}
+		float CX = A.CenterX, CY = A.CenterY, CZ = A.CenterZ;
+		float M00 = Matrix.get(0, 0), M01 = Matrix.get(0, 1), M02 = Matrix.get(0, 2);
+		float M10 = Matrix.get(1, 0), M11 = Matrix.get(1, 1), M12 = Matrix.get(1, 2);
+		float M20 = Matrix.get(2, 0), M21 = Matrix.get(2, 1), M22 = Matrix.get(2, 2);
+		float Scale = Math.max(M00 * M00 + M10 * M10 + M20 * M20, Math.max(M01 * M01 + M11 * M11 + M21 * M21, M02 * M02 + M12 * M12 + M22 * M22));
+		Dest.set(M00 * CX + M01 * CY + M02 * CZ + Matrix.get(0, 3),
+				 M10 * CX + M11 * CY + M12 * CZ + Matrix.get(1, 3),
+				 M20 * CX + M21 * CY + M22 * CZ + Matrix.get(2, 3),
+				 A.Radius * (float) Math.sqrt(Scale));
+		return Dest;
+	}
+	
+	/**
+	 * Transforms the sphere by a rotation followed by a translation, storing
+	 * the result in the destination. The radius is unchanged.
+	 * @param A a sphere
+	 * @param Rotation a unit quaternion
+	 * @param Translation the translation applied after the rotation
+	 * @param Dest the destination sphere
+	 * @return the destination sphere
+	 */
+	public static BoundingSphere transform(BoundingSphere A, Quaternion Rotation, Vector3 Translation, BoundingSphere Dest) {
+		if(A.Radius < 0.0f) {
+			Dest.clear();
+			return Dest;
+		}
+		float QW = Rotation.w(), QX = Rotation.x(), QY = Rotation.y(), QZ = Rotation.z();
+		float VX = A.CenterX, VY = A.CenterY, VZ = A.CenterZ;
+		float TX = 2.0f * (QY * VZ - QZ * VY);
+		float TY = 2.0f * (QZ * VX - QX * VZ);
+		float TZ = 2.0f * (QX * VY - QY * VX);
+		Dest.set(VX + QW * TX + (QY * TZ - QZ * TY) + Translation.x(),
+				 VY + QW * TY + (QZ * TX - QX * TZ) + Translation.y(),
+				 VZ + QW * TZ + (QX * TY - QY * TX) + Translation.z(),
+				 A.Radius);
+		return Dest;
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 * All computations are forwarded from these methods to the static methods.
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Copies the center into a vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public Vector3 center(Vector3 Dest) {
+		Dest.set(this.CenterX, this.CenterY, this.CenterZ);
+		return Dest;
+	}
+	
+	public float centerX() {
+		return this.CenterX;
+	}
+	
+	public float centerY() {
+		return this.CenterY;
+	}
+	
+	public float centerZ() {
+		return this.CenterZ;
+	}
+	
+	public boolean contains(BoundingSphere B) {
+		return BoundingSphere.contains(this, B);
+	}
+	
+	public boolean contains(Vector3 Point) {
+		return BoundingSphere.contains(this, Point);
+	}
+	
+	public boolean intersects(AABB B) {
+		return AABB.intersects(B, this);
+	}
+	
+	public boolean intersects(BoundingSphere B) {
+		return BoundingSphere.intersects(this, B);
+	}
+	
+	/**
+	 * Returns whether the sphere is empty
+	 * @return true if the radius is negative
+	 */
+	public boolean isEmpty() {
+		return this.Radius < 0.0f;
+	}
+	
+	public float radius() {
+		return this.Radius;
+	}
+	
+	/**
+	 * Returns a string containing the sphere's center and radius
+	 * Format: "[(X, Y, Z), Radius]"
+	 */
+	public String toString() {
+		return "[(" + this.CenterX + ", " + this.CenterY + ", " + this.CenterZ + "), " + this.Radius + "]";
+	}
+	
+	//Mutators
+	
+	/**
+	 * Makes this sphere empty
+	 */
+	public void clear() {
+		this.set(0.0f, 0.0f, 0.0f, -1.0f);
+	}
+	
+	/**
+	 * Grows this sphere to contain another sphere
+	 * @param B a sphere
+	 */
+	public void merge(BoundingSphere B) {
+		BoundingSphere.merge(this, B, this);
+	}
+	
+	/**
+	 * Grows this sphere to contain a point
+	 * @param Point a point
+	 */
+	public void merge(Vector3 Point) {
+		BoundingSphere.merge(this, Point, this);
+	}
+	
+	/**
+	 * Sets a new center and radius
+	 */
+	public void set(float CenterX, float CenterY, float CenterZ, float Radius) {
+		this.CenterX = CenterX;
+		this.CenterY = CenterY;
+		this.CenterZ = CenterZ;
+		this.Radius = Radius;
+	}
+	
+	/**
+	 * Sets a new center and radius
+	 * @param Sphere a sphere
+	 */
+	public void set(BoundingSphere Sphere) {
+		this.set(Sphere.CenterX, Sphere.CenterY, Sphere.CenterZ, Sphere.Radius);
+	}
+	
+	/**
+	 * Transforms this sphere by a rotation followed by a translation,
+	 * overwriting the existing values
+	 * @param Rotation a unit quaternion
+	 * @param Translation the translation
+	 */
+	public void transform(Quaternion Rotation, Vector3 Translation) {
+		BoundingSphere.transform(this, Rotation, Translation, this);
+	}
+	
+	/**
+	 * Transforms this sphere by an affine matrix, overwriting the existing
+	 * values
+	 * @param Matrix an affine matrix
+	 */
+	public void transform(Matrix4 Matrix) {
+		BoundingSphere.transform(this, Matrix, this);
+	}
+}
@@ -0,0 +1,84 @@
+/* Helios (TM) 3D Engine (Java): Buffer-Backed Quaternion Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A Quaternion whose components are four consecutive floats (X, Y, Z, W) in
+ * a ByteBuffer, read and written in place using the buffer's byte order. The
+ * view is a flyweight: moving it with offset(int) lets one object walk a
+ * whole buffer.
+ */
+public class BufferQuaternion extends Quaternion {
+	private ByteBuffer Buffer;
+	private int Offset;
+	
+	public BufferQuaternion(ByteBuffer Buffer, int Offset) {
+		this.Buffer = Buffer;
+		this.Offset = Offset;
+	}
+	
+	/**
+	 * Returns the buffer this view reads and writes
+	 * @return the buffer
+	 */
+	public ByteBuffer buffer() {
+		return this.Buffer;
+	}
+	
+	/**
+	 * Moves this view to a byte offset in another buffer, for walking data
+	 * split across several buffers
+	 * @param Buffer the buffer to read and write
+	 * @param Offset the byte offset of the X component
+	 */
+	public void buffer(ByteBuffer Buffer, int Offset) {
+		this.Buffer = Buffer;
+		this.Offset = Offset;
+	}
+	
+	/**
+	 * Returns the byte offset of the X component
+	 * @return the byte offset
+	 */
+	public int offset() {
+		return this.Offset;
+	}
+	
+	/**
+	 * Moves this view to another byte offset
+	 * @param Offset the byte offset of the X component
+	 */
+	public void offset(int Offset) {
+		this.Offset = Offset;
+	}
+	
+	public float w() {
+		return this.Buffer.getFloat(this.Offset + 12);
+	}
+	
+	public float x() {
+		return this.Buffer.getFloat(this.Offset);
+	}
+	
+	public float y() {
+		return this.Buffer.getFloat(this.Offset + 4);
+	}
+	
+	public float z() {
+		return this.Buffer.getFloat(this.Offset + 8);
+	}
+	
+	public void set(float X, float Y, float Z, float W) {
+		this.Buffer.putFloat(this.Offset, X);
+		this.Buffer.putFloat(this.Offset + 4, Y);
+		this.Buffer.putFloat(this.Offset + 8, Z);
+		this.Buffer.putFloat(this.Offset + 12, W);
+	}
+}
@@ -0,0 +1,355 @@
+/* Helios (TM) 3D Engine (Java): Dual Quaternion Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+/**
+ * A rigid transform stored as a unit dual quaternion: a real part holding the
+ * rotation and a dual part holding half the translation multiplied by the
+ * rotation. Composing two transforms is one multiply, and transforms blend
+ * linearly without the shrinking seen when blending matrices.
+ */
+public class DualQuaternion {
+	private final Quaternion Real;
+	private final Quaternion Dual;
+	
+	/**
+	 * Creates an identity transform
+	 */
+	public DualQuaternion() {
+		this.Real = new Quaternion(0.0f, 0.0f, 0.0f, 1.0f);
+		this.Dual = new Quaternion();
+	}
+	
+	/**
+	 * Creates a transform that rotates and then translates
+	 * @param Rotation a unit quaternion
+	 * @param Translation the translation
+	 */
+	public DualQuaternion(Quaternion Rotation, Vector3 Translation) {
+		this();
+		DualQuaternion.fromRotationTranslation(Rotation, Translation, this);
+	}
+	
+	public DualQuaternion(DualQuaternion A) {
+		this.Real = new Quaternion(A.Real);
+		this.Dual = new Quaternion(A.Dual);
+	}
+	
+	/*
+	 * STATIC METHODS
+	 * All computation is performed using these methods. They return the
+	 * result in a new object, or write it into a destination supplied by the
+	 * caller. The destination may be one of the operands.
+	 */
+	
+	/**
+	 * Conjugates both parts of the dual quaternion, returning the result as a
+	 * new dual quaternion
+	 * @param A a dual quaternion
+	 * @return a new dual quaternion
+	 */
+	public static DualQuaternion conjugate(DualQuaternion A) {
+		return DualQuaternion.conjugate(A, new DualQuaternion());
+	}
+	
+	/**
+	 * Conjugates both parts of the dual quaternion, storing the result in the
+	 * destination. For a unit dual quaternion this is the inverse transform.
+	 * @param A a dual quaternion
+	 * @param Dest the destination dual quaternion
+	 * @return the destination dual quaternion
+	 */
+	public static DualQuaternion conjugate(DualQuaternion A, DualQuaternion Dest) {
+		Quaternion.conjugate(A.Real, Dest.Real);
+		Quaternion.conjugate(A.Dual, Dest.Dual);
+		return Dest;
+	}
+	
+	/**
+	 * Builds the transform that rotates and then translates, returning the
+	 * result as a new dual quaternion
+	 * @param Rotation a unit quaternion
+	 * @param Translation the translation
+	 * @return a new dual quaternion
+	 */
+	public static DualQuaternion fromRotationTranslation(Quaternion Rotation, Vector3 Translation) {
+		return DualQuaternion.fromRotationTranslation(Rotation, Translation, new DualQuaternion());
+	}
+	
+	/**
+	 * Builds the transform that rotates and then translates, storing the
+	 * result in the destination. The dual part is (Translation, 0) *
+	 * Rotation / 2.
+	 * @param Rotation a unit quaternion
+	 * @param Translation the translation
+	 * @param Dest the destination dual quaternion
+	 * @return the destination dual quaternion
+	 */
+	public static DualQuaternion fromRotationTranslation(Quaternion Rotation, Vector3 Translation, DualQuaternion Dest) {
+		float RW = Rotation.w(), RX = Rotation.x(), RY = Rotation.y(), RZ = Rotation.z();
+		float TX = 0.5f * Translation.x(), TY = 0.5f * Translation.y(), TZ = 0.5f * Translation.z();
+		Dest.Real.set(RX, RY, RZ, RW);
+		Dest.Dual.set(TX * RW + TY * RZ - TZ * RY,
+					  TY * RW + TZ * RX - TX * RZ,
+					  TZ * RW + TX * RY - TY * RX,
+					  -TX * RX - TY * RY - TZ * RZ);
+		return Dest;
+	}
+	
+	/**
+	 * Multiplies two dual quaternions, returning the result as a new dual
+	 * quaternion
+	 * @param A the "left side" dual quaternion
+	 * @param B the "right side" dual quaternion
+	 * @return a new dual quaternion
+	 */
+	public static DualQuaternion multiply(DualQuaternion A, DualQuaternion B) {
+		return DualQuaternion.multiply(A, B, new DualQuaternion());
+	}
+	
+	/**
+	 * Multiplies two dual quaternions, storing the result in the destination.
+	 * The product applies B first and then A.
+	 * @param A the "left side" dual quaternion
+	 * @param B the "right side" dual quaternion
+	 * @param Dest the destination dual quaternion
+	 * @return the destination dual quaternion
+	 */
+	public static DualQuaternion multiply(DualQuaternion A, DualQuaternion B, DualQuaternion Dest) {
+		float AW = A.Real.w(), AX = A.Real.x(), AY = A.Real.y(), AZ = A.Real.z();
+		float EW = A.Dual.w(), EX = A.Dual.x(), EY = A.Dual.y(), EZ = A.Dual.z();
+		float BW = B.Real.w(), BX = B.Real.x(), BY = B.Real.y(), BZ = B.Real.z();
+		float FW = B.Dual.w(), FX = B.Dual.x(), FY = B.Dual.y(), FZ = B.Dual.z();
+		//Real = A.Real * B.Real, Dual = A.Real * B.Dual + A.Dual * B.Real
+		Dest.Real.set(AX * BW + AW * BX + AY * BZ - AZ * BY,
+					  AY * BW + AW * BY + AZ * BX - AX * BZ,
+					  AZ * BW + AW * BZ + AX * BY - AY * BX,
+					  AW * BW - AX * BX - AY * BY - AZ * BZ);
+		Dest.Dual.set(AX * FW + AW * FX + AY * FZ - AZ * FY + EX * BW + EW * BX + EY * BZ - EZ * BY,
+					  AY * FW + AW * FY + AZ * FX - AX * FZ + EY * BW + EW * BY + EZ * BX - EX * BZ,
+					  AZ * FW + AW * FZ + AX * FY - AY * FX + EZ * BW + EW * BZ + EX * BY - EY * BX,
+					  AW * FW - AX * FX - AY * FY - AZ * FZ + EW * BW - EX * BX - EY * BY - EZ * BZ);
+		return Dest;
+	}
+	
+	/**
+	 * Normalizes the dual quaternion, returning the result as a new dual
+	 * quaternion
+	 * @param A a dual quaternion
+	 * @return a new dual quaternion
+	 */
+	public static DualQuaternion normalize(DualQuaternion A) {
+		return DualQuaternion.normalize(A, new DualQuaternion());
+	}
+	
+	/**
+	 * Normalizes the dual quaternion, storing the result in the destination.
+	 * Both parts are divided by the length of the real part, and the dual part
+	 * is then made orthogonal to the real part, giving a unit dual quaternion.
+	 * A zero real part gives zero.
+	 * @param A a dual quaternion
+	 * @param Dest the destination dual quaternion
+	 * @return the destination dual quaternion
+	 */
+	public static DualQuaternion normalize(DualQuaternion A, DualQuaternion Dest) {
+		float RW = A.Real.w(), RX = A.Real.x(), RY = A.Real.y(), RZ = A.Real.z();
+		float DW = A.Dual.w(), DX = A.Dual.x(), DY = A.Dual.y(), DZ = A.Dual.z();
+		float InverseLength = (float) Math.sqrt(RW * RW + RX * RX + RY * RY + RZ * RZ);
+		if(InverseLength != 0.0f) {
+			InverseLength = 1.0f / InverseLength;
+		}
+		RW *= InverseLength;
+		RX *= InverseLength;
+		RY *= InverseLength;
+		RZ *= InverseLength;
+		DW *= InverseLength;
+		DX *= InverseLength;
+		DY *= InverseLength;
+		DZ *= InverseLength;
+		float Dot = RW * DW + RX * DX + RY * DY + RZ * DZ;
+		Dest.Real.set(RX, RY, RZ, RW);
+		Dest.Dual.set(DX - Dot * RX, DY - Dot * RY, DZ - Dot * RZ, DW - Dot * RW);
+		return Dest;
+	}
+	
+	/**
+	 * Returns a string containing the dual quaternion's contents
+	 * Format: "[(X, Y, Z, W), (X, Y, Z, W)]", real part first
+	 */
+	public static String toString(DualQuaternion A) {
+		return "[" + A.Real + ", " + A.Dual + "]";
+	}
+	
+	/**
+	 * Transforms a point by the dual quaternion, returning the result as a new
+	 * vector
+	 * @param A a unit dual quaternion
+	 * @param Point the point
+	 * @return a new vector
+	 */
+	public static Vector3 transform(DualQuaternion A, Vector3 Point) {
+		return DualQuaternion.transform(A, Point, new Vector3());
+	}
+	
+	/**
+	 * Transforms a point by the dual quaternion, storing the result in the
+	 * destination. The point is rotated as by Quaternion.rotate and the
+	 * translation 2 * Dual * conjugate(Real) is added.
+	 * @param A a unit dual quaternion
+	 * @param Point the point
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 * @see Quaternion#rotate(Quaternion, Vector3, Vector3)
+	 */
+	public static Vector3 transform(DualQuaternion A, Vector3 Point, Vector3 Dest) {
+		float RW = A.Real.w(), RX = A.Real.x(), RY = A.Real.y(), RZ = A.Real.z();
+		float DW = A.Dual.w(), DX = A.Dual.x(), DY = A.Dual.y(), DZ = A.Dual.z();
+		float PX = Point.x(), PY = Point.y(), PZ = Point.z();
+		float TX, TY, TZ;
+		TX = 2.0f * (RY * PZ - RZ * PY);
+		TY = 2.0f * (RZ * PX - RX * PZ);
+		TZ = 2.0f * (RX * PY - RY * PX);
+		Dest.set(PX + RW * TX + (RY * TZ - RZ * TY) + 2.0f * (RW * DX - DW * RX + RY * DZ - RZ * DY),
+				 PY + RW * TY + (RZ * TX - RX * TZ) + 2.0f * (RW * DY - DW * RY + RZ * DX - RX * DZ),
+				 PZ + RW * TZ + (RX * TY - RY * TX) + 2.0f * (RW * DZ - DW * RZ + RX * DY - RY * DX));
+		return Dest;
+	}
+	
+	/**
+	 * Extracts the translation of the dual quaternion, returning the result as
+	 * a new vector
+	 * @param A a unit dual quaternion
+	 * @return a new vector
+	 */
+	public static Vector3 translation(DualQuaternion A) {
+		return DualQuaternion.translation(A, new Vector3());
+	}
+	
+	/**
+	 * Extracts the translation of the dual quaternion, storing the result in
+	 * the destination
+	 * @param A a unit dual quaternion
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector3 translation(DualQuaternion A, Vector3 Dest) {
+		float RW = A.Real.w(), RX = A.Real.x(), RY = A.Real.y(), RZ = A.Real.z();
+		float DW = A.Dual.w(), DX = A.Dual.x(), DY = A.Dual.y(), DZ = A.Dual.z();
+		Dest.set(2.0f * (RW * DX - DW * RX + RY * DZ - RZ * DY),
+				 2.0f * (RW * DY - DW * RY + RZ * DX - RX * DZ),
+				 2.0f * (RW * DZ - DW * RZ + RX * DY - RY * DX));
+		return Dest;
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 * All computations are forwarded from these methods to the static methods.
+	 * Mutators pass this dual quaternion as the destination and do not
+	 * allocate.
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Returns the dual part. Writes to it are visible through the dual
+	 * quaternion.
+	 * @return the dual part
+	 */
+	public Quaternion dual() {
+		return this.Dual;
+	}
+	
+	/**
+	 * Returns the real part, the rotation of a unit dual quaternion. Writes to
+	 * it are visible through the dual quaternion.
+	 * @return the real part
+	 */
+	public Quaternion real() {
+		return this.Real;
+	}
+	
+	/**
+	 * Returns a string containing the dual quaternion's contents
+	 * Format: "[(X, Y, Z, W), (X, Y, Z, W)]", real part first
+	 */
+	public String toString() {
+		return DualQuaternion.toString(this);
+	}
+	
+	/**
+	 * Transforms a point by this dual quaternion, storing the result in
+	 * another vector
+	 * @param In the point to transform
+	 * @param Out the destination vector, which may be the input vector
+	 */
+	public void transform(Vector3 In, Vector3 Out) {
+		DualQuaternion.transform(this, In, Out);
+	}
+	
+	/**
+	 * Extracts the translation of this dual quaternion
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public Vector3 translation(Vector3 Dest) {
+		return DualQuaternion.translation(this, Dest);
+	}
+	
+	//Mutators
+	
+	/**
+	 * Conjugates both parts of this dual quaternion, overwriting the existing
+	 * values
+	 */
+	public void conjugate() {
+		DualQuaternion.conjugate(this, this);
+	}
+	
+	/**
+	 * Resets this dual quaternion to the identity transform
+	 */
+	public void identity() {
+		this.Real.set(0.0f, 0.0f, 0.0f, 1.0f);
+		this.Dual.set(0.0f, 0.0f, 0.0f, 0.0f);
+	}
+	
+	/**
+	 * Multiplies this dual quaternion by another, overwriting the existing
+	 * values
+	 * @param B the "right side" dual quaternion
+	 */
+	public void multiply(DualQuaternion B) {
+		DualQuaternion.multiply(this, B, this);
+	}
+	
+	/**
+	 * Normalizes this dual quaternion, overwriting the existing values
+	 */
+	public void normalize() {
+		DualQuaternion.normalize(this, this);
+	}
+	
+	/**
+	 * Sets this dual quaternion to the transform that rotates and then
+	 * translates
+	 * @param Rotation a unit quaternion
+	 * @param Translation the translation
+	 */
+	public void set(Quaternion Rotation, Vector3 Translation) {
+		DualQuaternion.fromRotationTranslation(Rotation, Translation, this);
+	}
+	
+	/**
+	 * Sets new values for the dual quaternion
+	 * @param A a dual quaternion
+	 */
+	public void set(DualQuaternion A) {
+		this.Real.set(A.Real);
+		this.Dual.set(A.Dual);
+	}
+}
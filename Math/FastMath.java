@@ -0,0 +1,44 @@
+/* Helios (TM) 3D Engine (Java): Approximate Math Functions
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+/**
+ * Approximations for call sites that trade a bounded error for fewer
+ * long-latency instructions. The exact methods elsewhere in the package are
+ * unaffected; each caller picks one or the other.
+ */
+public final class FastMath {
+	/**
+	 * Initial guess constant for inverseSqrt
+	 */
+	static final int InverseSqrtMagic = 0x5F375A86;
+	
+	private FastMath() {
+	}
+	
+	/*
+	 * STATIC METHODS
+	 */
+	
+	/**
+	 * Approximates 1 / sqrt(X) with an integer estimate of the exponent
+	 * followed by two Newton-Raphson steps, using no square root or division.
+	 * The measured maximum relative error over every normal float is 4.8E-6,
+	 * about 40 float ULPs. Zero gives a large finite value, so multiplying a
+	 * zero vector by the result leaves it zero. Subnormal, infinite and
+	 * negative inputs are not supported.
+	 * @param X a positive normal float
+	 * @return the approximate reciprocal square root
+	 */
+	public static float inverseSqrt(float X) {
+		float Half = 0.5f * X;
+		float Y = Float.intBitsToFloat(FastMath.InverseSqrtMagic - (Float.floatToRawIntBits(X) >> 1));
+		Y = Y * (1.5f - Half * Y * Y);
+		return Y * (1.5f - Half * Y * Y);
+	}
+}
@@ -0,0 +1,184 @@
+/* Helios (TM) 3D Engine (Java): Half-Precision Float Conversion Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Conversions between float and IEEE 754 binary16 ("half") values stored in
+ * a short. A half has 1 sign, 5 exponent and 10 mantissa bits: about three
+ * decimal digits over a range of 6.1E-5 to 65504, with subnormals down to
+ * 6.0E-8.
+ * <p>
+ * On a JDK that has Float.floatToFloat16 and Float.float16ToFloat (20 and
+ * later) the conversions call them, and the JIT compiles them to hardware
+ * instructions where the processor has them. Otherwise an equivalent
+ * software conversion is used. Both round the same way; only the payload
+ * bits of a NaN may differ.
+ */
+public final class Half {
+	/**
+	 * The largest finite half, 65504
+	 */
+	public static final float MAX_VALUE = 65504.0f;
+	
+	/**
+	 * Elements converted per step by the half-precision array kernels
+	 */
+	static final int Chunk = 256;
+	
+	private static final MethodHandle FromFloat = Half.lookup("floatToFloat16", short.class, float.class);
+	private static final MethodHandle ToFloat = Half.lookup("float16ToFloat", float.class, short.class);
+	
+	private Half() {
+	}
+	
+	/*
+	 * STATIC METHODS
+	 */
+	
+	/**
+	 * Converts a float to the nearest half, rounding ties to even. Values
+	 * beyond the half range become infinity, values below half the smallest
+	 * subnormal become zero, and NaN stays NaN.
+	 * @param Value a float
+	 * @return the half bits
+	 */
+	public static short fromFloat(float Value) {
+		if(Half.FromFloat != null) {
+			try {
+				return (short) Half.FromFloat.invokeExact(Value);
+			} catch(Throwable Exception) {
+				throw new AssertionError(Exception);
+			}
+		}
+		return Half.softwareFromFloat(Value);
+	}
+	
+	/**
+	 * Converts a range of floats to halves
+	 * @param Source the floats
+	 * @param SourceOffset the first float
+	 * @param Dest the destination halves
+	 * @param DestOffset the first destination half
+	 * @param Count the number of values
+	 */
+	public static void fromFloat(float[] Source, int SourceOffset, short[] Dest, int DestOffset, int Count) {
+		for(int i = 0; i < Count; i++) {
+			Dest[DestOffset + i] = Half.fromFloat(Source[SourceOffset + i]);
+		}
+	}
+	
+	/**
+	 * Returns whether the conversions call the JDK's Float methods rather
+	 * than the software fallback
+	 * @return true on JDK 20 and later
+	 */
+	public static boolean intrinsic() {
+		return Half.FromFloat != null && Half.ToFloat != null;
+	}
+	
+	/**
+	 * Converts a half to a float. Every half is exactly representable.
+	 * @param Value the half bits
+	 * @return the float value
+	 */
+	public static float toFloat(short Value) {
+		if(Half.ToFloat != null) {
+			try {
+				return (float) Half.ToFloat.invokeExact(Value);
+			} catch(Throwable Exception) {
+				throw new AssertionError(Exception);
+			}
+		}
+		return Half.softwareToFloat(Value);
+	}
+	
+	/**
+	 * Converts a range of halves to floats
+	 * @param Source the halves
+	 * @param SourceOffset the first half
+	 * @param Dest the destination floats
+	 * @param DestOffset the first destination float
+	 * @param Count the number of values
+	 */
+	public static void toFloat(short[] Source, int SourceOffset, float[] Dest, int DestOffset, int Count) {
+		for(int i = 0; i < Count; i++) {
+			Dest[DestOffset + i] = Half.toFloat(Source[SourceOffset + i]);
+		}
+	}
+	
+	/**
+	 * Finds a static Float method, or returns null if this JDK lacks it
+	 */
+	private static MethodHandle lookup(String Name, Class<?> Return, Class<?> Parameter) {
+		try {
+			return MethodHandles.publicLookup().findStatic(Float.class, Name, MethodType.methodType(Return, Parameter));
+		} catch(ReflectiveOperationException Exception) {
+			return null;
+		}
+	}
+	
+	/**
+	 * The software conversion from float, used before JDK 20
+	 */
+	static short softwareFromFloat(float Value) {
+		int Bits = Float.floatToRawIntBits(Value);
+		int Sign = (Bits >>> 16) & 0x8000;
+		int Abs = Bits & 0x7FFFFFFF;
+		if(Abs >= 0x7F800000) {
+			//Infinity, or NaN keeping the top of its payload and staying quiet
+			return (short) (Sign | 0x7C00 | (Abs > 0x7F800000 ? 0x0200 | ((Abs >>> 13) & 0x03FF) : 0));
+		}
+		if(Abs >= 0x477FF000) {
+			//At least halfway from 65504 to 65536, which rounds up out of range
+			return (short) (Sign | 0x7C00);
+		}
+		if(Abs < 0x38800000) {
+			//Below 2^-14: a subnormal half, counting units of 2^-24
+			int Exponent = Abs >>> 23;
+			if(Exponent < 102) {
+				return (short) Sign;
+			}
+			int Mantissa = (Abs & 0x007FFFFF) | 0x00800000;
+			int Shift = 126 - Exponent;
+			int Result = Mantissa >>> Shift;
+			int Remainder = Mantissa & ((1 << Shift) - 1);
+			int Halfway = 1 << (Shift - 1);
+			if(Remainder > Halfway || (Remainder == Halfway && (Result & 1) != 0)) {
+				Result++;
+			}
+			return (short) (Sign | Result);
+		}
+		//Rebias the exponent from 127 to 15, then round off 13 mantissa bits.
+		//A carry out of the mantissa correctly bumps the exponent.
+		int Result = Abs - 0x38000000;
+		Result = (Result + 0x0FFF + ((Result >>> 13) & 1)) >>> 13;
+		return (short) (Sign | Result);
+	}
+	
+	/**
+	 * The software conversion to float, used before JDK 20
+	 */
+	static float softwareToFloat(short Half) {
+		int Bits = Half & 0xFFFF;
+		int Sign = (Bits & 0x8000) << 16;
+		int Exponent = (Bits >>> 10) & 0x1F;
+		int Mantissa = Bits & 0x03FF;
+		if(Exponent == 0x1F) {
+			return Float.intBitsToFloat(Sign | 0x7F800000 | (Mantissa << 13));
+		}
+		if(Exponent == 0) {
+			float Value = Mantissa * 0x1.0p-24f;
+			return Sign != 0 ? -Value : Value;
+		}
+		return Float.intBitsToFloat(Sign | ((Exponent + 112) << 23) | (Mantissa << 13));
+	}
+}
@@ -0,0 +1,233 @@
+/* Helios (TM) 3D Engine (Java): Half-Precision Quaternion Array Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+/**
+ * A fixed-size array of quaternions stored as four half-precision component
+ * arrays, using half the memory of a QuaternionArray. Suited to orientations
+ * in animation caches, where rounding a unit quaternion to half precision
+ * turns it by less than 0.1 degrees. Components are widened to float when
+ * read and rounded to the nearest half when written.
+ * <p>
+ * The bulk kernels decode a small chunk into per-thread float buffers, run
+ * the float batch kernel on it and encode the result before moving on, so
+ * each element passes through memory once and the arithmetic is done in
+ * float.
+ * @see Half
+ */
+public class HalfQuaternionArray {
+	private static final ThreadLocal<QuaternionArray[]> Buffers = ThreadLocal.withInitial(() -> new QuaternionArray[] {new QuaternionArray(Half.Chunk), new QuaternionArray(Half.Chunk)});
+	
+	private final short[] W;
+	private final short[] X;
+	private final short[] Y;
+	private final short[] Z;
+	
+	public HalfQuaternionArray(int Size) {
+		this.W = new short[Size];
+		this.X = new short[Size];
+		this.Y = new short[Size];
+		this.Z = new short[Size];
+	}
+	
+	public HalfQuaternionArray(HalfQuaternionArray Array) {
+		this.W = Array.W.clone();
+		this.X = Array.X.clone();
+		this.Y = Array.Y.clone();
+		this.Z = Array.Z.clone();
+	}
+	
+	/*
+	 * STATIC METHODS
+	 * Each operates on the elements [Offset, Offset + Count) of every array it
+	 * is given, and writes into a destination array which may be one of the
+	 * operands.
+	 */
+	
+	/**
+	 * Widens the quaternions to float
+	 * @param A the half-precision quaternions
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void decode(HalfQuaternionArray A, QuaternionArray Dest, int Offset, int Count) {
+		HalfQuaternionArray.decode(A, Offset, Dest, Offset, Count);
+	}
+	
+	/**
+	 * Rounds the quaternions to half precision
+	 * @param A the quaternions
+	 * @param Dest the destination half-precision quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void encode(QuaternionArray A, HalfQuaternionArray Dest, int Offset, int Count) {
+		HalfQuaternionArray.encode(A, Offset, Dest, Offset, Count);
+	}
+	
+	/**
+	 * Multiplies each of the quaternions by a single quaternion
+	 * @param A the "left side" quaternions
+	 * @param B the "right side" quaternion
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void multiply(HalfQuaternionArray A, Quaternion B, HalfQuaternionArray Dest, int Offset, int Count) {
+		QuaternionArray Buffer = HalfQuaternionArray.Buffers.get()[0];
+		for(int Start = Offset, End = Offset + Count; Start < End; Start += Half.Chunk) {
+			int Length = Math.min(Half.Chunk, End - Start);
+			HalfQuaternionArray.decode(A, Start, Buffer, 0, Length);
+			QuaternionArray.multiply(Buffer, B, Buffer, 0, Length);
+			HalfQuaternionArray.encode(Buffer, 0, Dest, Start, Length);
+		}
+	}
+	
+	/**
+	 * Linearly interpolates between two sets of quaternions and normalizes
+	 * the results, taking the shorter path
+	 * @param A the "left side" quaternions
+	 * @param B the "right side" quaternions
+	 * @param T a float representing the interpolation factor
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @see QuaternionArray#nlerp(QuaternionArray, QuaternionArray, float, QuaternionArray, int, int)
+	 */
+	public static void nlerp(HalfQuaternionArray A, HalfQuaternionArray B, float T, HalfQuaternionArray Dest, int Offset, int Count) {
+		QuaternionArray[] Buffers = HalfQuaternionArray.Buffers.get();
+		BatchKernels Kernels = BatchKernels.get();
+		for(int Start = Offset, End = Offset + Count; Start < End; Start += Half.Chunk) {
+			int Length = Math.min(Half.Chunk, End - Start);
+			HalfQuaternionArray.decode(A, Start, Buffers[0], 0, Length);
+			HalfQuaternionArray.decode(B, Start, Buffers[1], 0, Length);
+			Kernels.nlerp(Buffers[0], Buffers[1], T, Buffers[0], 0, Length);
+			HalfQuaternionArray.encode(Buffers[0], 0, Dest, Start, Length);
+		}
+	}
+	
+	/**
+	 * Normalizes the quaternions
+	 * @param A the quaternions
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void normalize(HalfQuaternionArray A, HalfQuaternionArray Dest, int Offset, int Count) {
+		QuaternionArray Buffer = HalfQuaternionArray.Buffers.get()[0];
+		BatchKernels Kernels = BatchKernels.get();
+		for(int Start = Offset, End = Offset + Count; Start < End; Start += Half.Chunk) {
+			int Length = Math.min(Half.Chunk, End - Start);
+			HalfQuaternionArray.decode(A, Start, Buffer, 0, Length);
+			Kernels.normalize(Buffer, Buffer, 0, Length);
+			HalfQuaternionArray.encode(Buffer, 0, Dest, Start, Length);
+		}
+	}
+	
+	private static void decode(HalfQuaternionArray A, int Offset, QuaternionArray Dest, int DestOffset, int Count) {
+		Half.toFloat(A.W, Offset, Dest.w(), DestOffset, Count);
+		Half.toFloat(A.X, Offset, Dest.x(), DestOffset, Count);
+		Half.toFloat(A.Y, Offset, Dest.y(), DestOffset, Count);
+		Half.toFloat(A.Z, Offset, Dest.z(), DestOffset, Count);
+	}
+	
+	private static void encode(QuaternionArray A, int Offset, HalfQuaternionArray Dest, int DestOffset, int Count) {
+		Half.fromFloat(A.w(), Offset, Dest.W, DestOffset, Count);
+		Half.fromFloat(A.x(), Offset, Dest.X, DestOffset, Count);
+		Half.fromFloat(A.y(), Offset, Dest.Y, DestOffset, Count);
+		Half.fromFloat(A.z(), Offset, Dest.Z, DestOffset, Count);
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Widens an element into a quaternion
+	 * @param Index the element
+	 * @param Dest the destination quaternion
+	 * @return the destination quaternion
+	 */
+	public Quaternion get(int Index, Quaternion Dest) {
+		Dest.set(Half.toFloat(this.X[Index]), Half.toFloat(this.Y[Index]), Half.toFloat(this.Z[Index]), Half.toFloat(this.W[Index]));
+		return Dest;
+	}
+	
+	/**
+	 * Returns the number of elements
+	 * @return the size
+	 */
+	public int size() {
+		return this.X.length;
+	}
+	
+	/**
+	 * Returns the W component array of half bits. Writes to it are visible
+	 * through the container.
+	 * @return the W components
+	 */
+	public short[] w() {
+		return this.W;
+	}
+	
+	/**
+	 * Returns the X component array of half bits. Writes to it are visible
+	 * through the container.
+	 * @return the X components
+	 */
+	public short[] x() {
+		return this.X;
+	}
+	
+	/**
+	 * Returns the Y component array of half bits. Writes to it are visible
+	 * through the container.
+	 * @return the Y components
+	 */
+	public short[] y() {
+		return this.Y;
+	}
+	
+	/**
+	 * Returns the Z component array of half bits. Writes to it are visible
+	 * through the container.
+	 * @return the Z components
+	 */
+	public short[] z() {
+		return this.Z;
+	}
+	
+	//Mutators
+	
+	/**
+	 * Rounds new values into an element
+	 * @param Index the element
+	 * @param X a float representing the X component
+	 * @param Y a float representing the Y component
+	 * @param Z a float representing the Z component
+	 * @param W a float representing the W component
+	 */
+	public void set(int Index, float X, float Y, float Z, float W) {
+		this.W[Index] = Half.fromFloat(W);
+		this.X[Index] = Half.fromFloat(X);
+		this.Y[Index] = Half.fromFloat(Y);
+		this.Z[Index] = Half.fromFloat(Z);
+	}
+	
+	/**
+	 * Rounds a quaternion into an element
+	 * @param Index the element
+	 * @param Q a quaternion
+	 */
+	public void set(int Index, Quaternion Q) {
+		this.set(Index, Q.x(), Q.y(), Q.z(), Q.w());
+	}
+}
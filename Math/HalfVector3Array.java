@@ -0,0 +1,235 @@
+/* Helios (TM) 3D Engine (Java): Half-Precision 3D Vector Array Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+/**
+ * A fixed-size array of 3D vectors stored as three half-precision component
+ * arrays, using half the memory of a Vector3Array. Suited to normals and
+ * directions, which need about three significant digits. Components are
+ * widened to float when read and rounded to the nearest half when written.
+ * <p>
+ * The bulk kernels decode a small chunk into per-thread float buffers, run
+ * the float batch kernel on it and encode the result before moving on, so
+ * each element passes through memory once and the arithmetic is done in
+ * float.
+ * @see Half
+ */
+public class HalfVector3Array {
+	private static final ThreadLocal<Vector3Array[]> Buffers = ThreadLocal.withInitial(() -> new Vector3Array[] {new Vector3Array(Half.Chunk), new Vector3Array(Half.Chunk)});
+	
+	private final short[] X;
+	private final short[] Y;
+	private final short[] Z;
+	
+	public HalfVector3Array(int Size) {
+		this.X = new short[Size];
+		this.Y = new short[Size];
+		this.Z = new short[Size];
+	}
+	
+	public HalfVector3Array(HalfVector3Array Array) {
+		this.X = Array.X.clone();
+		this.Y = Array.Y.clone();
+		this.Z = Array.Z.clone();
+	}
+	
+	/*
+	 * STATIC METHODS
+	 * Each operates on the elements [Offset, Offset + Count) of every array it
+	 * is given, and writes into a destination array which may be one of the
+	 * operands.
+	 */
+	
+	/**
+	 * Widens the vectors to float
+	 * @param A the half-precision vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void decode(HalfVector3Array A, Vector3Array Dest, int Offset, int Count) {
+		HalfVector3Array.decode(A, Offset, Dest, Offset, Count);
+	}
+	
+	/**
+	 * Rounds the vectors to half precision
+	 * @param A the vectors
+	 * @param Dest the destination half-precision vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void encode(Vector3Array A, HalfVector3Array Dest, int Offset, int Count) {
+		HalfVector3Array.encode(A, Offset, Dest, Offset, Count);
+	}
+	
+	/**
+	 * Linearly interpolates from the "left side" vectors to the "right side"
+	 * vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param T a float representing the interpolation factor
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @see Vector3Array#lerp(Vector3Array, Vector3Array, float, Vector3Array, int, int)
+	 */
+	public static void lerp(HalfVector3Array A, HalfVector3Array B, float T, HalfVector3Array Dest, int Offset, int Count) {
+		Vector3Array[] Buffers = HalfVector3Array.Buffers.get();
+		BatchKernels Kernels = BatchKernels.get();
+		for(int Start = Offset, End = Offset + Count; Start < End; Start += Half.Chunk) {
+			int Length = Math.min(Half.Chunk, End - Start);
+			HalfVector3Array.decode(A, Start, Buffers[0], 0, Length);
+			HalfVector3Array.decode(B, Start, Buffers[1], 0, Length);
+			Kernels.lerp(Buffers[0], Buffers[1], T, Buffers[0], 0, Length, false);
+			HalfVector3Array.encode(Buffers[0], 0, Dest, Start, Length);
+		}
+	}
+	
+	/**
+	 * Normalizes the vectors
+	 * @param A the vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void normalize(HalfVector3Array A, HalfVector3Array Dest, int Offset, int Count) {
+		Vector3Array Buffer = HalfVector3Array.Buffers.get()[0];
+		BatchKernels Kernels = BatchKernels.get();
+		for(int Start = Offset, End = Offset + Count; Start < End; Start += Half.Chunk) {
+			int Length = Math.min(Half.Chunk, End - Start);
+			HalfVector3Array.decode(A, Start, Buffer, 0, Length);
+			Kernels.normalize(Buffer, Buffer, 0, Length);
+			HalfVector3Array.encode(Buffer, 0, Dest, Start, Length);
+		}
+	}
+	
+	/**
+	 * Rotates the vectors by a quaternion
+	 * @param Q a unit quaternion
+	 * @param A the vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void rotate(Quaternion Q, HalfVector3Array A, HalfVector3Array Dest, int Offset, int Count) {
+		Vector3Array Buffer = HalfVector3Array.Buffers.get()[0];
+		BatchKernels Kernels = BatchKernels.get();
+		for(int Start = Offset, End = Offset + Count; Start < End; Start += Half.Chunk) {
+			int Length = Math.min(Half.Chunk, End - Start);
+			HalfVector3Array.decode(A, Start, Buffer, 0, Length);
+			Kernels.rotate(Q, Buffer, Buffer, 0, Length);
+			HalfVector3Array.encode(Buffer, 0, Dest, Start, Length);
+		}
+	}
+	
+	/**
+	 * Transforms the vectors by a matrix, such as the normal matrix of a mesh
+	 * @param Matrix a matrix
+	 * @param A the vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void transform(Matrix3 Matrix, HalfVector3Array A, HalfVector3Array Dest, int Offset, int Count) {
+		Vector3Array Buffer = HalfVector3Array.Buffers.get()[0];
+		for(int Start = Offset, End = Offset + Count; Start < End; Start += Half.Chunk) {
+			int Length = Math.min(Half.Chunk, End - Start);
+			HalfVector3Array.decode(A, Start, Buffer, 0, Length);
+			Matrix3.transform(Matrix, Buffer, Buffer, 0, Length);
+			HalfVector3Array.encode(Buffer, 0, Dest, Start, Length);
+		}
+	}
+	
+	private static void decode(HalfVector3Array A, int Offset, Vector3Array Dest, int DestOffset, int Count) {
+		Half.toFloat(A.X, Offset, Dest.x(), DestOffset, Count);
+		Half.toFloat(A.Y, Offset, Dest.y(), DestOffset, Count);
+		Half.toFloat(A.Z, Offset, Dest.z(), DestOffset, Count);
+	}
+	
+	private static void encode(Vector3Array A, int Offset, HalfVector3Array Dest, int DestOffset, int Count) {
+		Half.fromFloat(A.x(), Offset, Dest.X, DestOffset, Count);
+		Half.fromFloat(A.y(), Offset, Dest.Y, DestOffset, Count);
+		Half.fromFloat(A.z(), Offset, Dest.Z, DestOffset, Count);
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Widens an element into a vector
+	 * @param Index the element
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public Vector3 get(int Index, Vector3 Dest) {
+		Dest.set(Half.toFloat(this.X[Index]), Half.toFloat(this.Y[Index]), Half.toFloat(this.Z[Index]));
+		return Dest;
+	}
+	
+	/**
+	 * Returns the number of elements
+	 * @return the size
+	 */
+	public int size() {
+		return this.X.length;
+	}
+	
+	/**
+	 * Returns the X component array of half bits. Writes to it are visible
+	 * through the container.
+	 * @return the X components
+	 */
+	public short[] x() {
+		return this.X;
+	}
+	
+	/**
+	 * Returns the Y component array of half bits. Writes to it are visible
+	 * through the container.
+	 * @return the Y components
+	 */
+	public short[] y() {
+		return this.Y;
+	}
+	
+	/**
+	 * Returns the Z component array of half bits. Writes to it are visible
+	 * through the container.
+	 * @return the Z components
+	 */
+	public short[] z() {
+		return this.Z;
+	}
+	
+	//Mutators
+	
+	/**
+	 * Rounds new values into an element
+	 * @param Index the element
+	 * @param X a float representing the X component
+	 * @param Y a float representing the Y component
+	 * @param Z a float representing the Z component
+	 */
+	public void set(int Index, float X, float Y, float Z) {
+		this.X[Index] = Half.fromFloat(X);
+		this.Y[Index] = Half.fromFloat(Y);
+		this.Z[Index] = Half.fromFloat(Z);
+	}
+	
+	/**
+	 * Rounds a vector into an element
+	 * @param Index the element
+	 * @param Vector a vector
+	 */
+	public void set(int Index, Vector3 Vector) {
+		this.set(Index, Vector.x(), Vector.y(), Vector.z());
+	}
+}
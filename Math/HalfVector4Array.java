@@ -0,0 +1,214 @@
+/* Helios (TM) 3D Engine (Java): Half-Precision 4D Vector Array Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+/**
+ * A fixed-size array of 4D vectors stored as four half-precision component
+ * arrays, using half the memory of a Vector4Array. Suited to tangents and
+ * colors, which need about three significant digits. Components are widened
+ * to float when read and rounded to the nearest half when written.
+ * <p>
+ * The bulk kernels decode a small chunk into per-thread float buffers, run
+ * the float batch kernel on it and encode the result before moving on, so
+ * each element passes through memory once and the arithmetic is done in
+ * float.
+ * @see Half
+ */
+public class HalfVector4Array {
+	private static final ThreadLocal<Vector4Array[]> Buffers = ThreadLocal.withInitial(() -> new Vector4Array[] {new Vector4Array(Half.Chunk), new Vector4Array(Half.Chunk)});
+	
+	private final short[] W;
+	private final short[] X;
+	private final short[] Y;
+	private final short[] Z;
+	
+	public HalfVector4Array(int Size) {
+		this.W = new short[Size];
+		this.X = new short[Size];
+		this.Y = new short[Size];
+		this.Z = new short[Size];
+	}
+	
+	public HalfVector4Array(HalfVector4Array Array) {
+		this.W = Array.W.clone();
+		this.X = Array.X.clone();
+		this.Y = Array.Y.clone();
+		this.Z = Array.Z.clone();
+	}
+	
+	/*
+	 * STATIC METHODS
+	 * Each operates on the elements [Offset, Offset + Count) of every array it
+	 * is given, and writes into a destination array which may be one of the
+	 * operands.
+	 */
+	
+	/**
+	 * Widens the vectors to float
+	 * @param A the half-precision vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void decode(HalfVector4Array A, Vector4Array Dest, int Offset, int Count) {
+		HalfVector4Array.decode(A, Offset, Dest, Offset, Count);
+	}
+	
+	/**
+	 * Rounds the vectors to half precision
+	 * @param A the vectors
+	 * @param Dest the destination half-precision vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void encode(Vector4Array A, HalfVector4Array Dest, int Offset, int Count) {
+		HalfVector4Array.encode(A, Offset, Dest, Offset, Count);
+	}
+	
+	/**
+	 * Linearly interpolates from the "left side" vectors to the "right side"
+	 * vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param T a float representing the interpolation factor
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @see Vector4Array#lerp(Vector4Array, Vector4Array, float, Vector4Array, int, int)
+	 */
+	public static void lerp(HalfVector4Array A, HalfVector4Array B, float T, HalfVector4Array Dest, int Offset, int Count) {
+		Vector4Array[] Buffers = HalfVector4Array.Buffers.get();
+		BatchKernels Kernels = BatchKernels.get();
+		for(int Start = Offset, End = Offset + Count; Start < End; Start += Half.Chunk) {
+			int Length = Math.min(Half.Chunk, End - Start);
+			HalfVector4Array.decode(A, Start, Buffers[0], 0, Length);
+			HalfVector4Array.decode(B, Start, Buffers[1], 0, Length);
+			Kernels.lerp(Buffers[0], Buffers[1], T, Buffers[0], 0, Length, false);
+			HalfVector4Array.encode(Buffers[0], 0, Dest, Start, Length);
+		}
+	}
+	
+	/**
+	 * Normalizes the vectors
+	 * @param A the vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void normalize(HalfVector4Array A, HalfVector4Array Dest, int Offset, int Count) {
+		Vector4Array Buffer = HalfVector4Array.Buffers.get()[0];
+		BatchKernels Kernels = BatchKernels.get();
+		for(int Start = Offset, End = Offset + Count; Start < End; Start += Half.Chunk) {
+			int Length = Math.min(Half.Chunk, End - Start);
+			HalfVector4Array.decode(A, Start, Buffer, 0, Length);
+			Kernels.normalize(Buffer, Buffer, 0, Length);
+			HalfVector4Array.encode(Buffer, 0, Dest, Start, Length);
+		}
+	}
+	
+	private static void decode(HalfVector4Array A, int Offset, Vector4Array Dest, int DestOffset, int Count) {
+		Half.toFloat(A.W, Offset, Dest.w(), DestOffset, Count);
+		Half.toFloat(A.X, Offset, Dest.x(), DestOffset, Count);
+		Half.toFloat(A.Y, Offset, Dest.y(), DestOffset, Count);
+		Half.toFloat(A.Z, Offset, Dest.z(), DestOffset, Count);
+	}
+	
+	private static void encode(Vector4Array A, int Offset, HalfVector4Array Dest, int DestOffset, int Count) {
+		Half.fromFloat(A.w(), Offset, Dest.W, DestOffset, Count);
+		Half.fromFloat(A.x(), Offset, Dest.X, DestOffset, Count);
+		Half.fromFloat(A.y(), Offset, Dest.Y, DestOffset, Count);
+		Half.fromFloat(A.z(), Offset, Dest.Z, DestOffset, Count);
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Widens an element into a vector
+	 * @param Index the element
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public Vector4 get(int Index, Vector4 Dest) {
+		Dest.set(Half.toFloat(this.X[Index]), Half.toFloat(this.Y[Index]), Half.toFloat(this.Z[Index]), Half.toFloat(this.W[Index]));
+		return Dest;
+	}
+	
+	/**
+	 * Returns the number of elements
+	 * @return the size
+	 */
+	public int size() {
+		return this.X.length;
+	}
+	
+	/**
+	 * Returns the W component array of half bits. Writes to it are visible
+	 * through the container.
+	 * @return the W components
+	 */
+	public short[] w() {
+		return this.W;
+	}
+	
+	/**
+	 * Returns the X component array of half bits. Writes to it are visible
+	 * through the container.
+	 * @return the X components
+	 */
+	public short[] x() {
+		return this.X;
+	}
+	
+	/**
+	 * Returns the Y component array of half bits. Writes to it are visible
+	 * through the container.
+	 * @return the Y components
+	 */
+	public short[] y() {
+		return this.Y;
+	}
+	
+	/**
+	 * Returns the Z component array of half bits. Writes to it are visible
+	 * through the container.
+	 * @return the Z components
+	 */
+	public short[] z() {
+		return this.Z;
+	}
+	
+	//Mutators
+	
+	/**
+	 * Rounds new values into an element
+	 * @param Index the element
+	 * @param X a float representing the X component
+	 * @param Y a float representing the Y component
+	 * @param Z a float representing the Z component
+	 * @param W a float representing the W component
+	 */
+	public void set(int Index, float X, float Y, float Z, float W) {
+		this.W[Index] = Half.fromFloat(W);
+		this.X[Index] = Half.fromFloat(X);
+		this.Y[Index] = Half.fromFloat(Y);
+		this.Z[Index] = Half.fromFloat(Z);
+	}
+	
+	/**
+	 * Rounds a vector into an element
+	 * @param Index the element
+	 * @param Vector a vector
+	 */
+	public void set(int Index, Vector4 Vector) {
+		this.set(Index, Vector.x(), Vector.y(), Vector.z(), Vector.w());
+	}
+}
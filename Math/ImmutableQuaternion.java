@@ -0,0 +1,246 @@
+/* Helios (TM) 3D Engine (Java): Immutable Quaternion Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+/**
+ * A quaternion value. Every operation returns a new instance, so inlined
+ * expression chains can be scalar-replaced by escape analysis.
+ * @see ImmutableVector3
+ */
+public final class ImmutableQuaternion {
+	public static final ImmutableQuaternion IDENTITY = new ImmutableQuaternion(0.0f, 0.0f, 0.0f, 1.0f);
+	
+	private final float X;
+	private final float Y;
+	private final float Z;
+	private final float W;
+	
+	public ImmutableQuaternion(float X, float Y, float Z, float W) {
+		this.X = X;
+		this.Y = Y;
+		this.Z = Z;
+		this.W = W;
+	}
+	
+	/**
+	 * Copies the current value of a mutable quaternion
+	 * @param A a quaternion
+	 */
+	public ImmutableQuaternion(Quaternion A) {
+		this(A.x(), A.y(), A.z(), A.w());
+	}
+	
+	/*
+	 * STATIC METHODS
+	 */
+	
+	/**
+	 * Computes the conjugate of a quaternion
+	 * @param A a quaternion
+	 * @return the conjugate
+	 */
+	public static ImmutableQuaternion conjugate(ImmutableQuaternion A) {
+		return new ImmutableQuaternion(-A.X, -A.Y, -A.Z, A.W);
+	}
+	
+	/**
+	 * Computes the dot product of two quaternions
+	 * @param A the "left side" quaternion
+	 * @param B the "right side" quaternion
+	 * @return the dot product
+	 */
+	public static float dot(ImmutableQuaternion A, ImmutableQuaternion B) {
+		return A.W * B.W + A.X * B.X + A.Y * B.Y + A.Z * B.Z;
+	}
+	
+	/**
+	 * Computes the inverse of a quaternion, its conjugate divided by its
+	 * squared length. A zero quaternion gives a zero quaternion.
+	 * @param A a quaternion
+	 * @return the inverse
+	 */
+	public static ImmutableQuaternion inverse(ImmutableQuaternion A) {
+		float Square = A.W * A.W + A.X * A.X + A.Y * A.Y + A.Z * A.Z;
+		if(Square != 0.0f) {
+			Square = 1.0f / Square;
+		}
+		return new ImmutableQuaternion(-A.X * Square, -A.Y * Square, -A.Z * Square, A.W * Square);
+	}
+	
+	/**
+	 * Calculates the length of a quaternion
+	 * @param A a quaternion
+	 * @return the length
+	 */
+	public static float length(ImmutableQuaternion A) {
+		return (float) Math.sqrt(A.W * A.W + A.X * A.X + A.Y * A.Y + A.Z * A.Z);
+	}
+	
+	/**
+	 * Multiplies two quaternions
+	 * @param A the "left side" quaternion
+	 * @param B the "right side" quaternion
+	 * @return the product
+	 */
+	public static ImmutableQuaternion multiply(ImmutableQuaternion A, ImmutableQuaternion B) {
+		return new ImmutableQuaternion(A.X * B.W + A.W * B.X + A.Y * B.Z - A.Z * B.Y,
+									   A.Y * B.W + A.W * B.Y + A.Z * B.X - A.X * B.Z,
+									   A.Z * B.W + A.W * B.Z + A.X * B.Y - A.Y * B.X,
+									   A.W * B.W - A.X * B.X - A.Y * B.Y - A.Z * B.Z);
+	}
+	
+	/**
+	 * Normalizes a quaternion. A zero quaternion stays zero.
+	 * @param A a quaternion
+	 * @return the unit quaternion
+	 */
+	public static ImmutableQuaternion normalize(ImmutableQuaternion A) {
+		float Length = (float) Math.sqrt(A.W * A.W + A.X * A.X + A.Y * A.Y + A.Z * A.Z);
+		if(Length != 0.0f) {
+			Length = 1.0f / Length;
+		}
+		return new ImmutableQuaternion(A.X * Length, A.Y * Length, A.Z * Length, A.W * Length);
+	}
+	
+	/**
+	 * Rotates a vector by a unit quaternion
+	 * @param A a unit quaternion
+	 * @param Vector the vector
+	 * @return the rotated vector
+	 * @see Quaternion#rotate(Quaternion, Vector3, Vector3)
+	 */
+	public static ImmutableVector3 rotate(ImmutableQuaternion A, ImmutableVector3 Vector) {
+		float VX = Vector.x(), VY = Vector.y(), VZ = Vector.z();
+		float TX = 2.0f * (A.Y * VZ - A.Z * VY);
+		float TY = 2.0f * (A.Z * VX - A.X * VZ);
+		float TZ = 2.0f * (A.X * VY - A.Y * VX);
+		return new ImmutableVector3(VX + A.W * TX + (A.Y * TZ - A.Z * TY),
+									VY + A.W * TY + (A.Z * TX - A.X * TZ),
+									VZ + A.W * TZ + (A.X * TY - A.Y * TX));
+	}
+	
+	/**
+	 * Spherically interpolates between two unit quaternions
+	 * @param A the start quaternion
+	 * @param B the end quaternion
+	 * @param T the interpolation parameter, 0 to 1
+	 * @return the interpolated quaternion
+	 * @see Quaternion#slerp(Quaternion, Quaternion, float, Quaternion)
+	 */
+	public static ImmutableQuaternion slerp(ImmutableQuaternion A, ImmutableQuaternion B, float T) {
+		float Dot = A.W * B.W + A.X * B.X + A.Y * B.Y + A.Z * B.Z;
+		float D = Math.abs(Dot);
+		float S, R;
+		if(D > Quaternion.SlerpThreshold) {
+			S = 1.0f - T;
+			R = T;
+		}else {
+			double Angle = Math.acos(D);
+			double InverseSine = 1.0 / Math.sin(Angle);
+			S = (float) (Math.sin((1.0 - T) * Angle) * InverseSine);
+			R = (float) (Math.sin(T * Angle) * InverseSine);
+		}
+		if(Dot < 0.0f) {
+			R = -R;
+		}
+		ImmutableQuaternion Result = new ImmutableQuaternion(S * A.X + R * B.X, S * A.Y + R * B.Y, S * A.Z + R * B.Z, S * A.W + R * B.W);
+		return D > Quaternion.SlerpThreshold ? ImmutableQuaternion.normalize(Result) : Result;
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 * All computations are forwarded from these methods to the static methods.
+	 */
+	
+	public ImmutableQuaternion conjugate() {
+		return ImmutableQuaternion.conjugate(this);
+	}
+	
+	public float dot(ImmutableQuaternion B) {
+		return ImmutableQuaternion.dot(this, B);
+	}
+	
+	public boolean equals(Object Other) {
+		if(!(Other instanceof ImmutableQuaternion)) {
+			return false;
+		}
+		ImmutableQuaternion B = (ImmutableQuaternion) Other;
+		return Float.compare(this.X, B.X) == 0 && Float.compare(this.Y, B.Y) == 0
+			&& Float.compare(this.Z, B.Z) == 0 && Float.compare(this.W, B.W) == 0;
+	}
+	
+	/**
+	 * Copies this value into a mutable quaternion
+	 * @param Dest the destination quaternion
+	 * @return the destination quaternion
+	 */
+	public Quaternion get(Quaternion Dest) {
+		Dest.set(this.X, this.Y, this.Z, this.W);
+		return Dest;
+	}
+	
+	public int hashCode() {
+		return 31 * (31 * (31 * Float.hashCode(this.X) + Float.hashCode(this.Y)) + Float.hashCode(this.Z)) + Float.hashCode(this.W);
+	}
+	
+	public ImmutableQuaternion inverse() {
+		return ImmutableQuaternion.inverse(this);
+	}
+	
+	public float length() {
+		return ImmutableQuaternion.length(this);
+	}
+	
+	public ImmutableQuaternion multiply(ImmutableQuaternion B) {
+		return ImmutableQuaternion.multiply(this, B);
+	}
+	
+	public ImmutableQuaternion normalize() {
+		return ImmutableQuaternion.normalize(this);
+	}
+	
+	public ImmutableVector3 rotate(ImmutableVector3 Vector) {
+		return ImmutableQuaternion.rotate(this, Vector);
+	}
+	
+	public ImmutableQuaternion slerp(ImmutableQuaternion B, float T) {
+		return ImmutableQuaternion.slerp(this, B, T);
+	}
+	
+	/**
+	 * Returns a new mutable copy of this value
+	 * @return a new quaternion
+	 */
+	public Quaternion toQuaternion() {
+		return new Quaternion(this.X, this.Y, this.Z, this.W);
+	}
+	
+	/**
+	 * Returns a string containing the quaternion's contents
+	 * Format: "(X, Y, Z, W)"
+	 */
+	public String toString() {
+		return "(" + this.X + ", " + this.Y + ", " + this.Z + ", " + this.W + ")";
+	}
+	
+	public float w() {
+		return this.W;
+	}
+	
+	public float x() {
+		return this.X;
+	}
+	
+	public float y() {
+		return this.Y;
+	}
+	
+	public float z() {
+		return this.Z;
+	}
+}
@@ -0,0 +1,225 @@
+/* Helios (TM) 3D Engine (Java): Immutable 3D Vector Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+/**
+ * A 3D vector value. Every operation returns a new instance and nothing is
+ * ever written after construction. The class and its methods are final and
+ * small, so once a chain such as normalize(cross(A, B)) is inlined, C2's
+ * escape analysis can replace the intermediate instances with registers
+ * and the chain allocates nothing. Only values that escape the compiled
+ * method (stored in a field, returned, or passed to a call that is not
+ * inlined) are actually allocated.
+ */
+public final class ImmutableVector3 {
+	public static final ImmutableVector3 ZERO = new ImmutableVector3(0.0f, 0.0f, 0.0f);
+	
+	private final float X;
+	private final float Y;
+	private final float Z;
+	
+	public ImmutableVector3(float X, float Y, float Z) {
+		this.X = X;
+		this.Y = Y;
+		this.Z = Z;
+	}
+	
+	/**
+	 * Copies the current value of a mutable vector
+	 * @param Vector a vector
+	 */
+	public ImmutableVector3(Vector3 Vector) {
+		this(Vector.x(), Vector.y(), Vector.z());
+	}
+	
+	/*
+	 * STATIC METHODS
+	 */
+	
+	/**
+	 * Adds two vectors
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @return the sum
+	 */
+	public static ImmutableVector3 add(ImmutableVector3 A, ImmutableVector3 B) {
+		return new ImmutableVector3(A.X + B.X, A.Y + B.Y, A.Z + B.Z);
+	}
+	
+	/**
+	 * Calculates the cross product between two vectors
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @return the cross product
+	 */
+	public static ImmutableVector3 cross(ImmutableVector3 A, ImmutableVector3 B) {
+		return new ImmutableVector3(A.Y * B.Z - A.Z * B.Y, A.Z * B.X - A.X * B.Z, A.X * B.Y - A.Y * B.X);
+	}
+	
+	/**
+	 * Computes the dot product of two vectors
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @return the dot product
+	 */
+	public static float dot(ImmutableVector3 A, ImmutableVector3 B) {
+		return A.X * B.X + A.Y * B.Y + A.Z * B.Z;
+	}
+	
+	/**
+	 * Calculates the length of a vector
+	 * @param A a vector
+	 * @return the length
+	 */
+	public static float length(ImmutableVector3 A) {
+		return (float) Math.sqrt(A.X * A.X + A.Y * A.Y + A.Z * A.Z);
+	}
+	
+	/**
+	 * Negates a vector
+	 * @param A a vector
+	 * @return the negated vector
+	 */
+	public static ImmutableVector3 negate(ImmutableVector3 A) {
+		return new ImmutableVector3(-A.X, -A.Y, -A.Z);
+	}
+	
+	/**
+	 * Normalizes a vector. A zero vector stays zero.
+	 * @param A a vector
+	 * @return the unit vector
+	 */
+	public static ImmutableVector3 normalize(ImmutableVector3 A) {
+		float Length = (float) Math.sqrt(A.X * A.X + A.Y * A.Y + A.Z * A.Z);
+		if(Length != 0.0f) {
+			Length = 1.0f / Length;
+		}
+		return new ImmutableVector3(A.X * Length, A.Y * Length, A.Z * Length);
+	}
+	
+	/**
+	 * Scales a vector uniformly
+	 * @param A a vector
+	 * @param Scale a scaling value
+	 * @return the scaled vector
+	 */
+	public static ImmutableVector3 scale(ImmutableVector3 A, float Scale) {
+		return new ImmutableVector3(A.X * Scale, A.Y * Scale, A.Z * Scale);
+	}
+	
+	/**
+	 * Scales a vector per component
+	 * @param A a vector
+	 * @param B a vector representing the XYZ scale
+	 * @return the scaled vector
+	 */
+	public static ImmutableVector3 scale(ImmutableVector3 A, ImmutableVector3 B) {
+		return new ImmutableVector3(A.X * B.X, A.Y * B.Y, A.Z * B.Z);
+	}
+	
+	/**
+	 * Subtracts the "right side" vector from the "left side" vector
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @return the difference
+	 */
+	public static ImmutableVector3 subtract(ImmutableVector3 A, ImmutableVector3 B) {
+		return new ImmutableVector3(A.X - B.X, A.Y - B.Y, A.Z - B.Z);
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 * All computations are forwarded from these methods to the static methods.
+	 */
+	
+	public ImmutableVector3 add(ImmutableVector3 B) {
+		return ImmutableVector3.add(this, B);
+	}
+	
+	public ImmutableVector3 cross(ImmutableVector3 B) {
+		return ImmutableVector3.cross(this, B);
+	}
+	
+	public float dot(ImmutableVector3 B) {
+		return ImmutableVector3.dot(this, B);
+	}
+	
+	public boolean equals(Object Other) {
+		if(!(Other instanceof ImmutableVector3)) {
+			return false;
+		}
+		ImmutableVector3 B = (ImmutableVector3) Other;
+		return Float.compare(this.X, B.X) == 0 && Float.compare(this.Y, B.Y) == 0 && Float.compare(this.Z, B.Z) == 0;
+	}
+	
+	/**
+	 * Copies this value into a mutable vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public Vector3 get(Vector3 Dest) {
+		Dest.set(this.X, this.Y, this.Z);
+		return Dest;
+	}
+	
+	public int hashCode() {
+		return 31 * (31 * Float.hashCode(this.X) + Float.hashCode(this.Y)) + Float.hashCode(this.Z);
+	}
+	
+	public float length() {
+		return ImmutableVector3.length(this);
+	}
+	
+	public ImmutableVector3 negate() {
+		return ImmutableVector3.negate(this);
+	}
+	
+	public ImmutableVector3 normalize() {
+		return ImmutableVector3.normalize(this);
+	}
+	
+	public ImmutableVector3 scale(float Scale) {
+		return ImmutableVector3.scale(this, Scale);
+	}
+	
+	public ImmutableVector3 scale(ImmutableVector3 B) {
+		return ImmutableVector3.scale(this, B);
+	}
+	
+	public ImmutableVector3 subtract(ImmutableVector3 B) {
+		return ImmutableVector3.subtract(this, B);
+	}
+	
+	/**
+	 * Returns a string containing the vector's contents
+	 * Format: "(X, Y, Z)"
+	 */
+	public String toString() {
+		return "(" + this.X + ", " + this.Y + ", " + this.Z + ")";
+	}
+	
+	/**
+	 * Returns a new mutable copy of this value
+	 * @return a new vector
+	 */
+	public Vector3 toVector3() {
+		return new Vector3(this.X, this.Y, this.Z);
+	}
+	
+	public float x() {
+		return this.X;
+	}
+	
+	public float y() {
+		return this.Y;
+	}
+	
+	public float z() {
+		return this.Z;
+	}
+}
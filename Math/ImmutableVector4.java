@@ -0,0 +1,214 @@
+/* Helios (TM) 3D Engine (Java): Immutable 4D Vector Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+/**
+ * A 4D vector value. Every operation returns a new instance, so inlined
+ * expression chains can be scalar-replaced by escape analysis.
+ * @see ImmutableVector3
+ */
+public final class ImmutableVector4 {
+	public static final ImmutableVector4 ZERO = new ImmutableVector4(0.0f, 0.0f, 0.0f, 0.0f);
+	
+	private final float X;
+	private final float Y;
+	private final float Z;
+	private final float W;
+	
+	public ImmutableVector4(float X, float Y, float Z, float W) {
+		this.X = X;
+		this.Y = Y;
+		this.Z = Z;
+		this.W = W;
+	}
+	
+	/**
+	 * Copies the current value of a mutable vector
+	 * @param Vector a vector
+	 */
+	public ImmutableVector4(Vector4 Vector) {
+		this(Vector.x(), Vector.y(), Vector.z(), Vector.w());
+	}
+	
+	/*
+	 * STATIC METHODS
+	 */
+	
+	/**
+	 * Adds two vectors
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @return the sum
+	 */
+	public static ImmutableVector4 add(ImmutableVector4 A, ImmutableVector4 B) {
+		return new ImmutableVector4(A.X + B.X, A.Y + B.Y, A.Z + B.Z, A.W + B.W);
+	}
+	
+	/**
+	 * Computes the dot product of two vectors
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @return the dot product
+	 */
+	public static float dot(ImmutableVector4 A, ImmutableVector4 B) {
+		return A.X * B.X + A.Y * B.Y + A.Z * B.Z + A.W * B.W;
+	}
+	
+	/**
+	 * Calculates the length of a vector
+	 * @param A a vector
+	 * @return the length
+	 */
+	public static float length(ImmutableVector4 A) {
+		return (float) Math.sqrt(A.X * A.X + A.Y * A.Y + A.Z * A.Z + A.W * A.W);
+	}
+	
+	/**
+	 * Negates a vector
+	 * @param A a vector
+	 * @return the negated vector
+	 */
+	public static ImmutableVector4 negate(ImmutableVector4 A) {
+		return new ImmutableVector4(-A.X, -A.Y, -A.Z, -A.W);
+	}
+	
+	/**
+	 * Normalizes a vector. A zero vector stays zero.
+	 * @param A a vector
+	 * @return the unit vector
+	 */
+	public static ImmutableVector4 normalize(ImmutableVector4 A) {
+		float Length = (float) Math.sqrt(A.X * A.X + A.Y * A.Y + A.Z * A.Z + A.W * A.W);
+		if(Length != 0.0f) {
+			Length = 1.0f / Length;
+		}
+		return new ImmutableVector4(A.X * Length, A.Y * Length, A.Z * Length, A.W * Length);
+	}
+	
+	/**
+	 * Scales a vector uniformly
+	 * @param A a vector
+	 * @param Scale a scaling value
+	 * @return the scaled vector
+	 */
+	public static ImmutableVector4 scale(ImmutableVector4 A, float Scale) {
+		return new ImmutableVector4(A.X * Scale, A.Y * Scale, A.Z * Scale, A.W * Scale);
+	}
+	
+	/**
+	 * Scales a vector per component
+	 * @param A a vector
+	 * @param B a vector representing the XYZW scale
+	 * @return the scaled vector
+	 */
+	public static ImmutableVector4 scale(ImmutableVector4 A, ImmutableVector4 B) {
+		return new ImmutableVector4(A.X * B.X, A.Y * B.Y, A.Z * B.Z, A.W * B.W);
+	}
+	
+	/**
+	 * Subtracts the "right side" vector from the "left side" vector
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @return the difference
+	 */
+	public static ImmutableVector4 subtract(ImmutableVector4 A, ImmutableVector4 B) {
+		return new ImmutableVector4(A.X - B.X, A.Y - B.Y, A.Z - B.Z, A.W - B.W);
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 * All computations are forwarded from these methods to the static methods.
+	 */
+	
+	public ImmutableVector4 add(ImmutableVector4 B) {
+		return ImmutableVector4.add(this, B);
+	}
+	
+	public float dot(ImmutableVector4 B) {
+		return ImmutableVector4.dot(this, B);
+	}
+	
+	public boolean equals(Object Other) {
+		if(!(Other instanceof ImmutableVector4)) {
+			return false;
+		}
+		ImmutableVector4 B = (ImmutableVector4) Other;
+		return Float.compare(this.X, B.X) == 0 && Float.compare(this.Y, B.Y) == 0
+			&& Float.compare(this.Z, B.Z) == 0 && Float.compare(this.W, B.W) == 0;
+	}
+	
+	/**
+	 * Copies this value into a mutable vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public Vector4 get(Vector4 Dest) {
+		Dest.set(this.X, this.Y, this.Z, this.W);
+		return Dest;
+	}
+	
+	public int hashCode() {
+		return 31 * (31 * (31 * Float.hashCode(this.X) + Float.hashCode(this.Y)) + Float.hashCode(this.Z)) + Float.hashCode(this.W);
+	}
+	
+	public float length() {
+		return ImmutableVector4.length(this);
+	}
+	
+	public ImmutableVector4 negate() {
+		return ImmutableVector4.negate(this);
+	}
+	
+	public ImmutableVector4 normalize() {
+		return ImmutableVector4.normalize(this);
+	}
+	
+	public ImmutableVector4 scale(float Scale) {
+		return ImmutableVector4.scale(this, Scale);
+	}
+	
+	public ImmutableVector4 scale(ImmutableVector4 B) {
+		return ImmutableVector4.scale(this, B);
+	}
+	
+	public ImmutableVector4 subtract(ImmutableVector4 B) {
+		return ImmutableVector4.subtract(this, B);
+	}
+	
+	/**
+	 * Returns a string containing the vector's contents
+	 * Format: "(X, Y, Z, W)"
+	 */
+	public String toString() {
+		return "(" + this.X + ", " + this.Y + ", " + this.Z + ", " + this.W + ")";
+	}
+	
+	/**
+	 * Returns a new mutable copy of this value
+	 * @return a new vector
+	 */
+	public Vector4 toVector4() {
+		return new Vector4(this.X, this.Y, this.Z, this.W);
+	}
+	
+	public float w() {
+		return this.W;
+	}
+	
+	public float x() {
+		return this.X;
+	}
+	
+	public float y() {
+		return this.Y;
+	}
+	
+	public float z() {
+		return this.Z;
+	}
+}
@@ -0,0 +1,419 @@
+/* Helios (TM) 3D Engine (Java): 3x3 Matrix Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+/**
+ * A 3x3 float matrix acting on column vectors (v' = M * v). Component Mrc is
+ * row r, column c. Arrays are read and written in column-major order.
+ */
+public class Matrix3 {
+	private float M00, M01, M02;
+	private float M10, M11, M12;
+	private float M20, M21, M22;
+	
+	/**
+	 * Creates an identity matrix
+	 */
+	public Matrix3() {
+		this.M00 = 1.0f;
+		this.M11 = 1.0f;
+		this.M22 = 1.0f;
+	}
+	
+	public Matrix3(Matrix3 Matrix) {
+		this.set(Matrix);
+	}
+	
+	/*
+	 * STATIC METHODS
+	 * All computation is performed using these methods. They return the
+	 * result in a new object, or write it into a destination supplied by the
+	 * caller. The destination may be one of the operands.
+	 */
+	
+	/**
+	 * Computes the determinant of the matrix
+	 * @param A a matrix
+	 * @return the determinant
+	 */
+	public static float determinant(Matrix3 A) {
+		return A.M00 * (A.M11 * A.M22 - A.M12 * A.M21)
+			 - A.M01 * (A.M10 * A.M22 - A.M12 * A.M20)
+			 + A.M02 * (A.M10 * A.M21 - A.M11 * A.M20);
+	}
+	
+	/**
+	 * Builds the rotation matrix of a unit quaternion, returning the result as
+	 * a new matrix
+	 * @param Q a unit quaternion
+	 * @return a new matrix
+	 */
+	public static Matrix3 fromQuaternion(Quaternion Q) {
+		return Matrix3.fromQuaternion(Q, new Matrix3());
+	}
+	
+	/**
+	 * Builds the rotation matrix of a unit quaternion, storing the result in
+	 * the destination
+	 * @param Q a unit quaternion
+	 * @param Dest the destination matrix
+	 * @return the destination matrix
+	 */
+	public static Matrix3 fromQuaternion(Quaternion Q, Matrix3 Dest) {
+		float W = Q.w(), X = Q.x(), Y = Q.y(), Z = Q.z();
+		float XX = X * X, YY = Y * Y, ZZ = Z * Z;
+		float XY = X * Y, XZ = X * Z, YZ = Y * Z;
+		float WX = W * X, WY = W * Y, WZ = W * Z;
+		Dest.M00 = 1.0f - 2.0f * (YY + ZZ);
+		Dest.M01 = 2.0f * (XY - WZ);
+		Dest.M02 = 2.0f * (XZ + WY);
+		Dest.M10 = 2.0f * (XY + WZ);
+		Dest.M11 = 1.0f - 2.0f * (XX + ZZ);
+		Dest.M12 = 2.0f * (YZ - WX);
+		Dest.M20 = 2.0f * (XZ - WY);
+		Dest.M21 = 2.0f * (YZ + WX);
+		Dest.M22 = 1.0f - 2.0f * (XX + YY);
+		return Dest;
+	}
+	
+	/**
+	 * Inverts the matrix, returning the result as a new matrix
+	 * @param A a matrix
+	 * @return a new matrix
+	 */
+	public static Matrix3 inverse(Matrix3 A) {
+		return Matrix3.inverse(A, new Matrix3());
+	}
+	
+	/**
+	 * Inverts the matrix, storing the result in the destination. A singular
+	 * matrix produces a zero matrix.
+	 * @param A a matrix
+	 * @param Dest the destination matrix
+	 * @return the destination matrix
+	 */
+	public static Matrix3 inverse(Matrix3 A, Matrix3 Dest) {
+		float C00 = A.M11 * A.M22 - A.M12 * A.M21;
+		float C01 = A.M12 * A.M20 - A.M10 * A.M22;
+		float C02 = A.M10 * A.M21 - A.M11 * A.M20;
+		float Determinant = A.M00 * C00 + A.M01 * C01 + A.M02 * C02;
+		if(Determinant != 0.0f) {
+			Determinant = 1.0f / Determinant;
+		}
+		float N00 = C00 * Determinant;
+		float N01 = (A.M02 * A.M21 - A.M01 * A.M22) * Determinant;
+		float N02 = (A.M01 * A.M12 - A.M02 * A.M11) * Determinant;
+		float N10 = C01 * Determinant;
+		float N11 = (A.M00 * A.M22 - A.M02 * A.M20) * Determinant;
+		float N12 = (A.M02 * A.M10 - A.M00 * A.M12) * Determinant;
+		float N20 = C02 * Determinant;
+		float N21 = (A.M01 * A.M20 - A.M00 * A.M21) * Determinant;
+		float N22 = (A.M00 * A.M11 - A.M01 * A.M10) * Determinant;
+		Dest.M00 = N00; Dest.M01 = N01; Dest.M02 = N02;
+		Dest.M10 = N10; Dest.M11 = N11; Dest.M12 = N12;
+		Dest.M20 = N20; Dest.M21 = N21; Dest.M22 = N22;
+		return Dest;
+	}
+	
+	/**
+	 * Multiplies two matrices, returning the result as a new matrix
+	 * @param A the "left side" matrix
+	 * @param B the "right side" matrix
+	 * @return a new matrix
+	 */
+	public static Matrix3 multiply(Matrix3 A, Matrix3 B) {
+		return Matrix3.multiply(A, B, new Matrix3());
+	}
+	
+	/**
+	 * Multiplies two matrices, storing the result in the destination
+	 * @param A the "left side" matrix
+	 * @param B the "right side" matrix
+	 * @param Dest the destination matrix
+	 * @return the destination matrix
+	 */
+	public static Matrix3 multiply(Matrix3 A, Matrix3 B, Matrix3 Dest) {
+		float N00 = A.M00 * B.M00 + A.M01 * B.M10 + A.M02 * B.M20;
+		float N01 = A.M00 * B.M01 + A.M01 * B.M11 + A.M02 * B.M21;
+		float N02 = A.M00 * B.M02 + A.M01 * B.M12 + A.M02 * B.M22;
+		float N10 = A.M10 * B.M00 + A.M11 * B.M10 + A.M12 * B.M20;
+		float N11 = A.M10 * B.M01 + A.M11 * B.M11 + A.M12 * B.M21;
+		float N12 = A.M10 * B.M02 + A.M11 * B.M12 + A.M12 * B.M22;
+		float N20 = A.M20 * B.M00 + A.M21 * B.M10 + A.M22 * B.M20;
+		float N21 = A.M20 * B.M01 + A.M21 * B.M11 + A.M22 * B.M21;
+		float N22 = A.M20 * B.M02 + A.M21 * B.M12 + A.M22 * B.M22;
+		Dest.M00 = N00; Dest.M01 = N01; Dest.M02 = N02;
+		Dest.M10 = N10; Dest.M11 = N11; Dest.M12 = N12;
+		Dest.M20 = N20; Dest.M21 = N21; Dest.M22 = N22;
+		return Dest;
+	}
+	
+	/**
+	 * Extracts the rotation of an orthonormal matrix as a quaternion, returning
+	 * the result as a new quaternion
+	 * @param A a rotation matrix
+	 * @return a new quaternion
+	 */
+	public static Quaternion toQuaternion(Matrix3 A) {
+		return Matrix3.toQuaternion(A, new Quaternion());
+	}
+	
+	/**
+	 * Extracts the rotation of an orthonormal matrix as a quaternion, storing
+	 * the result in the destination
+	 * @param A a rotation matrix
+	 * @param Dest the destination quaternion
+	 * @return the destination quaternion
+	 */
+	public static Quaternion toQuaternion(Matrix3 A, Quaternion Dest) {
+		return Matrix3.toQuaternion(A.M00, A.M01, A.M02, A.M10, A.M11, A.M12, A.M20, A.M21, A.M22, Dest);
+	}
+	
+	/**
+	 * Converts the rotation part of a matrix to a quaternion, choosing the
+	 * largest diagonal term as the pivot to stay well conditioned
+	 */
+	static Quaternion toQuaternion(float M00, float M01, float M02,
+								   float M10, float M11, float M12,
+								   float M20, float M21, float M22, Quaternion Dest) {
+		float Trace = M00 + M11 + M22;
+		float S;
+		if(Trace > 0.0f) {
+			S = 0.5f / (float) Math.sqrt(Trace + 1.0f);
+			Dest.set((M21 - M12) * S, (M02 - M20) * S, (M10 - M01) * S, 0.25f / S);
+		} else if(M00 > M11 && M00 > M22) {
+			S = 0.5f / (float) Math.sqrt(1.0f + M00 - M11 - M22);
+			Dest.set(0.25f / S, (M01 + M10) * S, (M02 + M20) * S, (M21 - M12) * S);
+		} else if(M11 > M22) {
+			S = 0.5f / (float) Math.sqrt(1.0f + M11 - M00 - M22);
+			Dest.set((M01 + M10) * S, 0.25f / S, (M12 + M21) * S, (M02 - M20) * S);
+		} else {
+			S = 0.5f / (float) Math.sqrt(1.0f + M22 - M00 - M11);
+			Dest.set((M02 + M20) * S, (M12 + M21) * S, 0.25f / S, (M10 - M01) * S);
+		}
+		return Dest;
+	}
+	
+	/**
+	 * Transforms a vector by the matrix, returning the result as a new vector
+	 * @param A a matrix
+	 * @param Vector a vector
+	 * @return a new vector
+	 */
+	public static Vector3 transform(Matrix3 A, Vector3 Vector) {
+		return Matrix3.transform(A, Vector, new Vector3());
+	}
+	
+	/**
+	 * Transforms a vector by the matrix, storing the result in the destination
+	 * @param A a matrix
+	 * @param Vector a vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector3 transform(Matrix3 A, Vector3 Vector, Vector3 Dest) {
+		float X = Vector.x(), Y = Vector.y(), Z = Vector.z();
+		Dest.set(A.M00 * X + A.M01 * Y + A.M02 * Z,
+				 A.M10 * X + A.M11 * Y + A.M12 * Z,
+				 A.M20 * X + A.M21 * Y + A.M22 * Z);
+		return Dest;
+	}
+	
+	/**
+	 * Transforms a range of packed vectors by the matrix
+	 * @param A a matrix
+	 * @param Vectors the vectors
+	 * @param Dest the destination vectors, which may be the source vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void transform(Matrix3 A, Vector3Array Vectors, Vector3Array Dest, int Offset, int Count) {
+		float M00 = A.M00, M01 = A.M01, M02 = A.M02;
+		float M10 = A.M10, M11 = A.M11, M12 = A.M12;
+		float M20 = A.M20, M21 = A.M21, M22 = A.M22;
+		float[] VX = Vectors.x(), VY = Vectors.y(), VZ = Vectors.z();
+		float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float X = VX[i], Y = VY[i], Z = VZ[i];
+			DX[i] = M00 * X + M01 * Y + M02 * Z;
+			DY[i] = M10 * X + M11 * Y + M12 * Z;
+			DZ[i] = M20 * X + M21 * Y + M22 * Z;
+		}
+	}
+	
+	/**
+	 * Transposes the matrix, returning the result as a new matrix
+	 * @param A a matrix
+	 * @return a new matrix
+	 */
+	public static Matrix3 transpose(Matrix3 A) {
+		return Matrix3.transpose(A, new Matrix3());
+	}
+	
+	/**
+	 * Transposes the matrix, storing the result in the destination
+	 * @param A a matrix
+	 * @param Dest the destination matrix
+	 * @return the destination matrix
+	 */
+	public static Matrix3 transpose(Matrix3 A, Matrix3 Dest) {
+		float N01 = A.M10, N02 = A.M20, N12 = A.M21;
+		float N10 = A.M01, N20 = A.M02, N21 = A.M12;
+		Dest.M00 = A.M00; Dest.M01 = N01; Dest.M02 = N02;
+		Dest.M10 = N10; Dest.M11 = A.M11; Dest.M12 = N12;
+		Dest.M20 = N20; Dest.M21 = N21; Dest.M22 = A.M22;
+		return Dest;
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 * All computations are forwarded from these methods to the static methods.
+	 * Mutators pass this matrix as the destination and do not allocate.
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Computes the matrix's determinant
+	 * @return the determinant
+	 */
+	public float determinant() {
+		return Matrix3.determinant(this);
+	}
+	
+	/**
+	 * Returns a single component
+	 * @param Row the row, 0 to 2
+	 * @param Column the column, 0 to 2
+	 * @return the component
+	 */
+	public float get(int Row, int Column) {
+		if(Row < 0 || Row > 2 || Column < 0 || Column > 2) {
+			throw new IndexOutOfBoundsException("(" + Row + ", " + Column + ")");
+		}
+		switch(Row * 3 + Column) {
+			case 0: return this.M00;
+			case 1: return this.M01;
+			case 2: return this.M02;
+			case 3: return this.M10;
+			case 4: return this.M11;
+			case 5: return this.M12;
+			case 6: return this.M20;
+			case 7: return this.M21;
+			case 8: return this.M22;
+			default: throw new IndexOutOfBoundsException("(" + Row + ", " + Column + ")");
+		}
+	}
+	
+	/**
+	 * Copies the components into an array in column-major order
+	 * @param Dest the destination array
+	 * @param Offset the index of the first component
+	 */
+	public void get(float[] Dest, int Offset) {
+		Dest[Offset]     = this.M00; Dest[Offset + 1] = this.M10; Dest[Offset + 2] = this.M20;
+		Dest[Offset + 3] = this.M01; Dest[Offset + 4] = this.M11; Dest[Offset + 5] = this.M21;
+		Dest[Offset + 6] = this.M02; Dest[Offset + 7] = this.M12; Dest[Offset + 8] = this.M22;
+	}
+	
+	/**
+	 * Returns a string containing the matrix's rows
+	 * Format: "[(M00, M01, M02), (M10, M11, M12), (M20, M21, M22)]"
+	 */
+	public String toString() {
+		return "[(" + this.M00 + ", " + this.M01 + ", " + this.M02 + "), ("
+					+ this.M10 + ", " + this.M11 + ", " + this.M12 + "), ("
+					+ this.M20 + ", " + this.M21 + ", " + this.M22 + ")]";
+	}
+	
+	//Mutators
+	
+	/**
+	 * Sets this matrix to the identity
+	 */
+	public void identity() {
+		this.M00 = 1.0f; this.M01 = 0.0f; this.M02 = 0.0f;
+		this.M10 = 0.0f; this.M11 = 1.0f; this.M12 = 0.0f;
+		this.M20 = 0.0f; this.M21 = 0.0f; this.M22 = 1.0f;
+	}
+	
+	/**
+	 * Inverts this matrix, overwriting the existing values
+	 */
+	public void inverse() {
+		Matrix3.inverse(this, this);
+	}
+	
+	/**
+	 * Multiplies this matrix by another matrix, overwriting the existing values
+	 * @param B the "right side" matrix
+	 */
+	public void multiply(Matrix3 B) {
+		Matrix3.multiply(this, B, this);
+	}
+	
+	/**
+	 * Sets a single component
+	 * @param Row the row, 0 to 2
+	 * @param Column the column, 0 to 2
+	 * @param Value the component
+	 */
+	public void set(int Row, int Column, float Value) {
+		if(Row < 0 || Row > 2 || Column < 0 || Column > 2) {
+			throw new IndexOutOfBoundsException("(" + Row + ", " + Column + ")");
+		}
+		switch(Row * 3 + Column) {
+			case 0: this.M00 = Value; break;
+			case 1: this.M01 = Value; break;
+			case 2: this.M02 = Value; break;
+			case 3: this.M10 = Value; break;
+			case 4: this.M11 = Value; break;
+			case 5: this.M12 = Value; break;
+			case 6: this.M20 = Value; break;
+			case 7: this.M21 = Value; break;
+			case 8: this.M22 = Value; break;
+			default: throw new IndexOutOfBoundsException("(" + Row + ", " + Column + ")");
+		}
+	}
+	
+	/**
+	 * Sets the components from an array in column-major order
+	 * @param Source the source array
+	 * @param Offset the index of the first component
+	 */
+	public void set(float[] Source, int Offset) {
+		this.M00 = Source[Offset];     this.M10 = Source[Offset + 1]; this.M20 = Source[Offset + 2];
+		this.M01 = Source[Offset + 3]; this.M11 = Source[Offset + 4]; this.M21 = Source[Offset + 5];
+		this.M02 = Source[Offset + 6]; this.M12 = Source[Offset + 7]; this.M22 = Source[Offset + 8];
+	}
+	
+	/**
+	 * Sets new values for the matrix
+	 * @param Matrix a matrix
+	 */
+	public void set(Matrix3 Matrix) {
+		this.M00 = Matrix.M00; this.M01 = Matrix.M01; this.M02 = Matrix.M02;
+		this.M10 = Matrix.M10; this.M11 = Matrix.M11; this.M12 = Matrix.M12;
+		this.M20 = Matrix.M20; this.M21 = Matrix.M21; this.M22 = Matrix.M22;
+	}
+	
+	/**
+	 * Sets this matrix to the rotation of a unit quaternion
+	 * @param Q a unit quaternion
+	 */
+	public void set(Quaternion Q) {
+		Matrix3.fromQuaternion(Q, this);
+	}
+	
+	/**
+	 * Transposes this matrix, overwriting the existing values
+	 */
+	public void transpose() {
+		Matrix3.transpose(this, this);
+	}
+}
@@ -0,0 +1,729 @@
+/* Helios (TM) 3D Engine (Java): 4x4 Matrix Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+import java.nio.FloatBuffer;
+
+/**
+ * A 4x4 float matrix acting on column vectors (v' = M * v). Component Mrc is
+ * row r, column c, so the translation of an affine matrix is M03, M13, M23.
+ * Arrays and buffers are read and written in column-major order.
+ */
+public class Matrix4 {
+	private float M00, M01, M02, M03;
+	private float M10, M11, M12, M13;
+	private float M20, M21, M22, M23;
+	private float M30, M31, M32, M33;
+	
+	/**
+	 * Creates an identity matrix
+	 */
+	public Matrix4() {
+		this.M00 = 1.0f;
+		this.M11 = 1.0f;
+		this.M22 = 1.0f;
+		this.M33 = 1.0f;
+	}
+	
+	public Matrix4(Matrix4 Matrix) {
+		this.set(Matrix);
+	}
+	
+	/*
+	 * STATIC METHODS
+	 * All computation is performed using these methods. They return the
+	 * result in a new object, or write it into a destination supplied by the
+	 * caller. The destination may be one of the operands.
+	 */
+	
+	/**
+	 * Builds the rotation matrix of a unit quaternion, returning the result as
+	 * a new matrix
+	 * @param Q a unit quaternion
+	 * @return a new matrix
+	 */
+	public static Matrix4 fromQuaternion(Quaternion Q) {
+		return Matrix4.fromQuaternion(Q, new Matrix4());
+	}
+	
+	/**
+	 * Builds the rotation matrix of a unit quaternion, storing the result in
+	 * the destination
+	 * @param Q a unit quaternion
+	 * @param Dest the destination matrix
+	 * @return the destination matrix
+	 */
+	public static Matrix4 fromQuaternion(Quaternion Q, Matrix4 Dest) {
+		return Matrix4.fromTranslationRotationScale(0.0f, 0.0f, 0.0f, Q, 1.0f, 1.0f, 1.0f, Dest);
+	}
+	
+	/**
+	 * Builds the affine matrix T * R * S that scales, then rotates, then
+	 * translates, returning the result as a new matrix
+	 * @param Translation the translation
+	 * @param Rotation a unit quaternion
+	 * @param Scale the XYZ scale
+	 * @return a new matrix
+	 */
+	public static Matrix4 fromTranslationRotationScale(Vector3 Translation, Quaternion Rotation, Vector3 Scale) {
+		return Matrix4.fromTranslationRotationScale(Translation, Rotation, Scale, new Matrix4());
+	}
+	
+	/**
+	 * Builds the affine matrix T * R * S that scales, then rotates, then
+	 * translates, storing the result in the destination
+	 * @param Translation the translation
+	 * @param Rotation a unit quaternion
+	 * @param Scale the XYZ scale
+	 * @param Dest the destination matrix
+	 * @return the destination matrix
+	 */
+	public static Matrix4 fromTranslationRotationScale(Vector3 Translation, Quaternion Rotation, Vector3 Scale, Matrix4 Dest) {
+		return Matrix4.fromTranslationRotationScale(Translation.x(), Translation.y(), Translation.z(), Rotation, Scale.x(), Scale.y(), Scale.z(), Dest);
+	}
+	
+	private static Matrix4 fromTranslationRotationScale(float TX, float TY, float TZ, Quaternion Rotation, float SX, float SY, float SZ, Matrix4 Dest) {
+		float W = Rotation.w(), X = Rotation.x(), Y = Rotation.y(), Z = Rotation.z();
+		float XX = X * X, YY = Y * Y, ZZ = Z * Z;
+		float XY = X * Y, XZ = X * Z, YZ = Y * Z;
+		float WX = W * X, WY = W * Y, WZ = W * Z;
+		Dest.M00 = (1.0f - 2.0f * (YY + ZZ)) * SX;
+		Dest.M01 = 2.0f * (XY - WZ) * SY;
+		Dest.M02 = 2.0f * (XZ + WY) * SZ;
+		Dest.M03 = TX;
+		Dest.M10 = 2.0f * (XY + WZ) * SX;
+		Dest.M11 = (1.0f - 2.0f * (XX + ZZ)) * SY;
+		Dest.M12 = 2.0f * (YZ - WX) * SZ;
+		Dest.M13 = TY;
+		Dest.M20 = 2.0f * (XZ - WY) * SX;
+		Dest.M21 = 2.0f * (YZ + WX) * SY;
+		Dest.M22 = (1.0f - 2.0f * (XX + YY)) * SZ;
+		Dest.M23 = TZ;
+		Dest.M30 = 0.0f;
+		Dest.M31 = 0.0f;
+		Dest.M32 = 0.0f;
+		Dest.M33 = 1.0f;
+		return Dest;
+	}
+	
+	/**
+	 * Inverts the matrix, returning the result as a new matrix
+	 * @param A a matrix
+	 * @return a new matrix
+	 */
+	public static Matrix4 inverse(Matrix4 A) {
+		return Matrix4.inverse(A, new Matrix4());
+	}
+	
+	/**
+	 * Inverts a general matrix by cofactor expansion, storing the result in
+	 * the destination. A singular matrix produces a zero matrix.
+	 * @param A a matrix
+	 * @param Dest the destination matrix
+	 * @return the destination matrix
+	 */
+	public static Matrix4 inverse(Matrix4 A, Matrix4 Dest) {
+		float A00 = A.M00, A01 = A.M01, A02 = A.M02, A03 = A.M03;
+		float A10 = A.M10, A11 = A.M11, A12 = A.M12, A13 = A.M13;
+		float A20 = A.M20, A21 = A.M21, A22 = A.M22, A23 = A.M23;
+		float A30 = A.M30, A31 = A.M31, A32 = A.M32, A33 = A.M33;
+		float S0 = A00 * A11 - A10 * A01;
+		float S1 = A00 * A12 - A10 * A02;
+		float S2 = A00 * A13 - A10 * A03;
+		float S3 = A01 * A12 - A11 * A02;
+		float S4 = A01 * A13 - A11 * A03;
+		float S5 = A02 * A13 - A12 * A03;
+		float C0 = A20 * A31 - A30 * A21;
+		float C1 = A20 * A32 - A30 * A22;
+		float C2 = A20 * A33 - A30 * A23;
+		float C3 = A21 * A32 - A31 * A22;
+		float C4 = A21 * A33 - A31 * A23;
+		float C5 = A22 * A33 - A32 * A23;
+		float Determinant = S0 * C5 - S1 * C4 + S2 * C3 + S3 * C2 - S4 * C1 + S5 * C0;
+		if(Determinant != 0.0f) {
+			Determinant = 1.0f / Determinant;
+		}
+		Dest.M00 = ( A11 * C5 - A12 * C4 + A13 * C3) * Determinant;
+		Dest.M01 = (-A01 * C5 + A02 * C4 - A03 * C3) * Determinant;
+		Dest.M02 = ( A31 * S5 - A32 * S4 + A33 * S3) * Determinant;
+		Dest.M03 = (-A21 * S5 + A22 * S4 - A23 * S3) * Determinant;
+		Dest.M10 = (-A10 * C5 + A12 * C2 - A13 * C1) * Determinant;
+		Dest.M11 = ( A00 * C5 - A02 * C2 + A03 * C1) * Determinant;
+		Dest.M12 = (-A30 * S5 + A32 * S2 - A33 * S1) * Determinant;
+		Dest.M13 = ( A20 * S5 - A22 * S2 + A23 * S1) * Determinant;
+		Dest.M20 = ( A10 * C4 - A11 * C2 + A13 * C0) * Determinant;
+		Dest.M21 = (-A00 * C4 + A01 * C2 - A03 * C0) * Determinant;
+		Dest.M22 = ( A30 * S4 - A31 * S2 + A33 * S0) * Determinant;
+		Dest.M23 = (-A20 * S4 + A21 * S2 - A23 * S0) * Determinant;
+		Dest.M30 = (-A10 * C3 + A11 * C1 - A12 * C0) * Determinant;
+		Dest.M31 = ( A00 * C3 - A01 * C1 + A02 * C0) * Determinant;
+		Dest.M32 = (-A30 * S3 + A31 * S1 - A32 * S0) * Determinant;
+		Dest.M33 = ( A20 * S3 - A21 * S1 + A22 * S0) * Determinant;
+		return Dest;
+	}
+	
+	/**
+	 * Inverts an affine matrix, returning the result as a new matrix
+	 * @param A an affine matrix
+	 * @return a new matrix
+	 */
+	public static Matrix4 inverseAffine(Matrix4 A) {
+		return Matrix4.inverseAffine(A, new Matrix4());
+	}
+	
+	/**
+	 * Inverts an affine matrix (bottom row 0, 0, 0, 1), storing the result in
+	 * the destination. Only the upper 3x3 block is inverted, and the
+	 * translation is rotated back through it. A singular matrix produces a
+	 * zero linear part.
+	 * @param A an affine matrix
+	 * @param Dest the destination matrix
+	 * @return the destination matrix
+	 */
+	public static Matrix4 inverseAffine(Matrix4 A, Matrix4 Dest) {
+		float A00 = A.M00, A01 = A.M01, A02 = A.M02;
+		float A10 = A.M10, A11 = A.M11, A12 = A.M12;
+		float A20 = A.M20, A21 = A.M21, A22 = A.M22;
+		float TX = A.M03, TY = A.M13, TZ = A.M23;
+		float C00 = A11 * A22 - A12 * A21;
+		float C01 = A12 * A20 - A10 * A22;
+		float C02 = A10 * A21 - A11 * A20;
+		float Determinant = A00 * C00 + A01 * C01 + A02 * C02;
+		if(Determinant != 0.0f) {
+			Determinant = 1.0f / Determinant;
+		}
+		float N00 = C00 * Determinant;
+		float N01 = (A02 * A21 - A01 * A22) * Determinant;
+		float N02 = (A01 * A12 - A02 * A11) * Determinant;
+		float N10 = C01 * Determinant;
+		float N11 = (A00 * A22 - A02 * A20) * Determinant;
+		float N12 = (A02 * A10 - A00 * A12) * Determinant;
+		float N20 = C02 * Determinant;
+		float N21 = (A01 * A20 - A00 * A21) * Determinant;
+		float N22 = (A00 * A11 - A01 * A10) * Determinant;
+		Dest.M00 = N00; Dest.M01 = N01; Dest.M02 = N02; Dest.M03 = -(N00 * TX + N01 * TY + N02 * TZ);
+		Dest.M10 = N10; Dest.M11 = N11; Dest.M12 = N12; Dest.M13 = -(N10 * TX + N11 * TY + N12 * TZ);
+		Dest.M20 = N20; Dest.M21 = N21; Dest.M22 = N22; Dest.M23 = -(N20 * TX + N21 * TY + N22 * TZ);
+		Dest.M30 = 0.0f; Dest.M31 = 0.0f; Dest.M32 = 0.0f; Dest.M33 = 1.0f;
+		return Dest;
+	}
+	
+	/**
+	 * Inverts a rigid matrix, returning the result as a new matrix
+	 * @param A a rigid matrix
+	 * @return a new matrix
+	 */
+	public static Matrix4 inverseRigid(Matrix4 A) {
+		return Matrix4.inverseRigid(A, new Matrix4());
+	}
+	
+	/**
+	 * Inverts a rigid matrix (rotation and translation only), storing the
+	 * result in the destination. The rotation is transposed instead of
+	 * inverted, so any scale or shear in the input gives a wrong result.
+	 * @param A a rigid matrix
+	 * @param Dest the destination matrix
+	 * @return the destination matrix
+	 */
+	public static Matrix4 inverseRigid(Matrix4 A, Matrix4 Dest) {
+		float A00 = A.M00, A01 = A.M01, A02 = A.M02;
+		float A10 = A.M10, A11 = A.M11, A12 = A.M12;
+		float A20 = A.M20, A21 = A.M21, A22 = A.M22;
+		float TX = A.M03, TY = A.M13, TZ = A.M23;
+		Dest.M00 = A00; Dest.M01 = A10; Dest.M02 = A20; Dest.M03 = -(A00 * TX + A10 * TY + A20 * TZ);
+		Dest.M10 = A01; Dest.M11 = A11; Dest.M12 = A21; Dest.M13 = -(A01 * TX + A11 * TY + A21 * TZ);
+		Dest.M20 = A02; Dest.M21 = A12; Dest.M22 = A22; Dest.M23 = -(A02 * TX + A12 * TY + A22 * TZ);
+		Dest.M30 = 0.0f; Dest.M31 = 0.0f; Dest.M32 = 0.0f; Dest.M33 = 1.0f;
+		return Dest;
+	}
+	
+	/**
+	 * Multiplies two matrices, returning the result as a new matrix
+	 * @param A the "left side" matrix
+	 * @param B the "right side" matrix
+	 * @return a new matrix
+	 */
+	public static Matrix4 multiply(Matrix4 A, Matrix4 B) {
+		return Matrix4.multiply(A, B, new Matrix4());
+	}
+	
+	/**
+	 * Multiplies two matrices, storing the result in the destination
+	 * @param A the "left side" matrix
+	 * @param B the "right side" matrix
+	 * @param Dest the destination matrix
+	 * @return the destination matrix
+	 */
+	public static Matrix4 multiply(Matrix4 A, Matrix4 B, Matrix4 Dest) {
+		float A00 = A.M00, A01 = A.M01, A02 = A.M02, A03 = A.M03;
+		float A10 = A.M10, A11 = A.M11, A12 = A.M12, A13 = A.M13;
+		float A20 = A.M20, A21 = A.M21, A22 = A.M22, A23 = A.M23;
+		float A30 = A.M30, A31 = A.M31, A32 = A.M32, A33 = A.M33;
+		float B00 = B.M00, B01 = B.M01, B02 = B.M02, B03 = B.M03;
+		float B10 = B.M10, B11 = B.M11, B12 = B.M12, B13 = B.M13;
+		float B20 = B.M20, B21 = B.M21, B22 = B.M22, B23 = B.M23;
+		float B30 = B.M30, B31 = B.M31, B32 = B.M32, B33 = B.M33;
+		Dest.M00 = A00 * B00 + A01 * B10 + A02 * B20 + A03 * B30;
+		Dest.M01 = A00 * B01 + A01 * B11 + A02 * B21 + A03 * B31;
+		Dest.M02 = A00 * B02 + A01 * B12 + A02 * B22 + A03 * B32;
+		Dest.M03 = A00 * B03 + A01 * B13 + A02 * B23 + A03 * B33;
+		Dest.M10 = A10 * B00 + A11 * B10 + A12 * B20 + A13 * B30;
+		Dest.M11 = A10 * B01 + A11 * B11 + A12 * B21 + A13 * B31;
+		Dest.M12 = A10 * B02 + A11 * B12 + A12 * B22 + A13 * B32;
+		Dest.M13 = A10 * B03 + A11 * B13 + A12 * B23 + A13 * B33;
+		Dest.M20 = A20 * B00 + A21 * B10 + A22 * B20 + A23 * B30;
+		Dest.M21 = A20 * B01 + A21 * B11 + A22 * B21 + A23 * B31;
+		Dest.M22 = A20 * B02 + A21 * B12 + A22 * B22 + A23 * B32;
+		Dest.M23 = A20 * B03 + A21 * B13 + A22 * B23 + A23 * B33;
+		Dest.M30 = A30 * B00 + A31 * B10 + A32 * B20 + A33 * B30;
+		Dest.M31 = A30 * B01 + A31 * B11 + A32 * B21 + A33 * B31;
+		Dest.M32 = A30 * B02 + A31 * B12 + A32 * B22 + A33 * B32;
+		Dest.M33 = A30 * B03 + A31 * B13 + A32 * B23 + A33 * B33;
+		return Dest;
+	}
+	
+	/**
+	 * Multiplies two affine matrices, returning the result as a new matrix
+	 * @param A the "left side" matrix
+	 * @param B the "right side" matrix
+	 * @return a new matrix
+	 */
+	public static Matrix4 multiplyAffine(Matrix4 A, Matrix4 B) {
+		return Matrix4.multiplyAffine(A, B, new Matrix4());
+	}
+	
+	/**
+	 * Multiplies two affine matrices (bottom row 0, 0, 0, 1), storing the
+	 * result in the destination. Skips the bottom row, saving 28 of the 64
+	 * multiplies of a general product.
+	 * @param A the "left side" matrix
+	 * @param B the "right side" matrix
+	 * @param Dest the destination matrix
+	 * @return the destination matrix
+	 */
+	public static Matrix4 multiplyAffine(Matrix4 A, Matrix4 B, Matrix4 Dest) {
+		float A00 = A.M00, A01 = A.M01, A02 = A.M02, A03 = A.M03;
+		float A10 = A.M10, A11 = A.M11, A12 = A.M12, A13 = A.M13;
+		float A20 = A.M20, A21 = A.M21, A22 = A.M22, A23 = A.M23;
+		float B00 = B.M00, B01 = B.M01, B02 = B.M02, B03 = B.M03;
+		float B10 = B.M10, B11 = B.M11, B12 = B.M12, B13 = B.M13;
+		float B20 = B.M20, B21 = B.M21, B22 = B.M22, B23 = B.M23;
+		Dest.M00 = A00 * B00 + A01 * B10 + A02 * B20;
+		Dest.M01 = A00 * B01 + A01 * B11 + A02 * B21;
+		Dest.M02 = A00 * B02 + A01 * B12 + A02 * B22;
+		Dest.M03 = A00 * B03 + A01 * B13 + A02 * B23 + A03;
+		Dest.M10 = A10 * B00 + A11 * B10 + A12 * B20;
+		Dest.M11 = A10 * B01 + A11 * B11 + A12 * B21;
+		Dest.M12 = A10 * B02 + A11 * B12 + A12 * B22;
+		Dest.M13 = A10 * B03 + A11 * B13 + A12 * B23 + A13;
+		Dest.M20 = A20 * B00 + A21 * B10 + A22 * B20;
+		Dest.M21 = A20 * B01 + A21 * B11 + A22 * B21;
+		Dest.M22 = A20 * B02 + A21 * B12 + A22 * B22;
+		Dest.M23 = A20 * B03 + A21 * B13 + A22 * B23 + A23;
+		Dest.M30 = 0.0f;
+		Dest.M31 = 0.0f;
+		Dest.M32 = 0.0f;
+		Dest.M33 = 1.0f;
+		return Dest;
+	}
+	
+	/**
+	 * Extracts the rotation of the upper 3x3 block as a quaternion, returning
+	 * the result as a new quaternion
+	 * @param A a matrix
+	 * @return a new quaternion
+	 */
+	public static Quaternion toQuaternion(Matrix4 A) {
+		return Matrix4.toQuaternion(A, new Quaternion());
+	}
+	
+	/**
+	 * Extracts the rotation of the upper 3x3 block as a quaternion, storing
+	 * the result in the destination. The block must be orthonormal, so any
+	 * scale has to be removed first.
+	 * @param A a matrix
+	 * @param Dest the destination quaternion
+	 * @return the destination quaternion
+	 */
+	public static Quaternion toQuaternion(Matrix4 A, Quaternion Dest) {
+		return Matrix3.toQuaternion(A.M00, A.M01, A.M02, A.M10, A.M11, A.M12, A.M20, A.M21, A.M22, Dest);
+	}
+	
+	/**
+	 * Transforms a vector by the matrix, returning the result as a new vector
+	 * @param A a matrix
+	 * @param Vector a vector
+	 * @return a new vector
+	 */
+	public static Vector4 transform(Matrix4 A, Vector4 Vector) {
+		return Matrix4.transform(A, Vector, new Vector4());
+	}
+	
+	/**
+	 * Transforms a vector by the matrix, storing the result in the destination
+	 * @param A a matrix
+	 * @param Vector a vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector4 transform(Matrix4 A, Vector4 Vector, Vector4 Dest) {
+		float X = Vector.x(), Y = Vector.y(), Z = Vector.z(), W = Vector.w();
+		Dest.set(A.M00 * X + A.M01 * Y + A.M02 * Z + A.M03 * W,
+				 A.M10 * X + A.M11 * Y + A.M12 * Z + A.M13 * W,
+				 A.M20 * X + A.M21 * Y + A.M22 * Z + A.M23 * W,
+				 A.M30 * X + A.M31 * Y + A.M32 * Z + A.M33 * W);
+		return Dest;
+	}
+	
+	/**
+	 * Transforms a range of packed vectors by the matrix
+	 * @param A a matrix
+	 * @param Vectors the vectors
+	 * @param Dest the destination vectors, which may be the source vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void transform(Matrix4 A, Vector4Array Vectors, Vector4Array Dest, int Offset, int Count) {
+		float M00 = A.M00, M01 = A.M01, M02 = A.M02, M03 = A.M03;
+		float M10 = A.M10, M11 = A.M11, M12 = A.M12, M13 = A.M13;
+		float M20 = A.M20, M21 = A.M21, M22 = A.M22, M23 = A.M23;
+		float M30 = A.M30, M31 = A.M31, M32 = A.M32, M33 = A.M33;
+		float[] VX = Vectors.x(), VY = Vectors.y(), VZ = Vectors.z(), VW = Vectors.w();
+		float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z(), DW = Dest.w();
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float X = VX[i], Y = VY[i], Z = VZ[i], W = VW[i];
+			DX[i] = M00 * X + M01 * Y + M02 * Z + M03 * W;
+			DY[i] = M10 * X + M11 * Y + M12 * Z + M13 * W;
+			DZ[i] = M20 * X + M21 * Y + M22 * Z + M23 * W;
+			DW[i] = M30 * X + M31 * Y + M32 * Z + M33 * W;
+		}
+	}
+	
+	/**
+	 * Transforms a direction by the upper 3x3 block of the matrix, ignoring
+	 * translation, returning the result as a new vector
+	 * @param A a matrix
+	 * @param Vector a direction
+	 * @return a new vector
+	 */
+	public static Vector3 transformDirection(Matrix4 A, Vector3 Vector) {
+		return Matrix4.transformDirection(A, Vector, new Vector3());
+	}
+	
+	/**
+	 * Transforms a direction by the upper 3x3 block of the matrix, ignoring
+	 * translation, storing the result in the destination
+	 * @param A a matrix
+	 * @param Vector a direction
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector3 transformDirection(Matrix4 A, Vector3 Vector, Vector3 Dest) {
+		float X = Vector.x(), Y = Vector.y(), Z = Vector.z();
+		Dest.set(A.M00 * X + A.M01 * Y + A.M02 * Z,
+				 A.M10 * X + A.M11 * Y + A.M12 * Z,
+				 A.M20 * X + A.M21 * Y + A.M22 * Z);
+		return Dest;
+	}
+	
+	/**
+	 * Transforms a range of packed directions by the upper 3x3 block of the
+	 * matrix, ignoring translation
+	 * @param A a matrix
+	 * @param Vectors the directions
+	 * @param Dest the destination vectors, which may be the source vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void transformDirections(Matrix4 A, Vector3Array Vectors, Vector3Array Dest, int Offset, int Count) {
+		float M00 = A.M00, M01 = A.M01, M02 = A.M02;
+		float M10 = A.M10, M11 = A.M11, M12 = A.M12;
+		float M20 = A.M20, M21 = A.M21, M22 = A.M22;
+		float[] VX = Vectors.x(), VY = Vectors.y(), VZ = Vectors.z();
+		float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float X = VX[i], Y = VY[i], Z = VZ[i];
+			DX[i] = M00 * X + M01 * Y + M02 * Z;
+			DY[i] = M10 * X + M11 * Y + M12 * Z;
+			DZ[i] = M20 * X + M21 * Y + M22 * Z;
+		}
+	}
+	
+	/**
+	 * Transforms a point by an affine matrix, returning the result as a new
+	 * vector
+	 * @param A an affine matrix
+	 * @param Vector a point
+	 * @return a new vector
+	 */
+	public static Vector3 transformPoint(Matrix4 A, Vector3 Vector) {
+		return Matrix4.transformPoint(A, Vector, new Vector3());
+	}
+	
+	/**
+	 * Transforms a point by an affine matrix, storing the result in the
+	 * destination. The point is taken to have W = 1 and the bottom row of the
+	 * matrix is ignored.
+	 * @param A an affine matrix
+	 * @param Vector a point
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector3 transformPoint(Matrix4 A, Vector3 Vector, Vector3 Dest) {
+		float X = Vector.x(), Y = Vector.y(), Z = Vector.z();
+		Dest.set(A.M00 * X + A.M01 * Y + A.M02 * Z + A.M03,
+				 A.M10 * X + A.M11 * Y + A.M12 * Z + A.M13,
+				 A.M20 * X + A.M21 * Y + A.M22 * Z + A.M23);
+		return Dest;
+	}
+	
+	/**
+	 * Transforms a range of packed points by an affine matrix
+	 * @param A an affine matrix
+	 * @param Vectors the points
+	 * @param Dest the destination vectors, which may be the source vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void transformPoints(Matrix4 A, Vector3Array Vectors, Vector3Array Dest, int Offset, int Count) {
+		float M00 = A.M00, M01 = A.M01, M02 = A.M02, M03 = A.M03;
+		float M10 = A.M10, M11 = A.M11, M12 = A.M12, M13 = A.M13;
+		float M20 = A.M20, M21 = A.M21, M22 = A.M22, M23 = A.M23;
+		float[] VX = Vectors.x(), VY = Vectors.y(), VZ = Vectors.z();
+		float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float X = VX[i], Y = VY[i], Z = VZ[i];
+			DX[i] = M00 * X + M01 * Y + M02 * Z + M03;
+			DY[i] = M10 * X + M11 * Y + M12 * Z + M13;
+			DZ[i] = M20 * X + M21 * Y + M22 * Z + M23;
+		}
+	}
+	
+	/**
+	 * Transposes the matrix, returning the result as a new matrix
+	 * @param A a matrix
+	 * @return a new matrix
+	 */
+	public static Matrix4 transpose(Matrix4 A) {
+		return Matrix4.transpose(A, new Matrix4());
+	}
+	
+	/**
+	 * Transposes the matrix, storing the result in the destination
+	 * @param A a matrix
+	 * @param Dest the destination matrix
+	 * @return the destination matrix
+	 */
+	public static Matrix4 transpose(Matrix4 A, Matrix4 Dest) {
+		float N01 = A.M10, N02 = A.M20, N03 = A.M30, N12 = A.M21, N13 = A.M31, N23 = A.M32;
+		float N10 = A.M01, N20 = A.M02, N30 = A.M03, N21 = A.M12, N31 = A.M13, N32 = A.M23;
+		Dest.M00 = A.M00; Dest.M01 = N01; Dest.M02 = N02; Dest.M03 = N03;
+		Dest.M10 = N10; Dest.M11 = A.M11; Dest.M12 = N12; Dest.M13 = N13;
+		Dest.M20 = N20; Dest.M21 = N21; Dest.M22 = A.M22; Dest.M23 = N23;
+		Dest.M30 = N30; Dest.M31 = N31; Dest.M32 = N32; Dest.M33 = A.M33;
+		return Dest;
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 * All computations are forwarded from these methods to the static methods.
+	 * Mutators pass this matrix as the destination and do not allocate.
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Returns a single component
+	 * @param Row the row, 0 to 3
+	 * @param Column the column, 0 to 3
+	 * @return the component
+	 */
+	public float get(int Row, int Column) {
+		if(Row < 0 || Row > 3 || Column < 0 || Column > 3) {
+			throw new IndexOutOfBoundsException("(" + Row + ", " + Column + ")");
+		}
+		switch(Row * 4 + Column) {
+			case 0: return this.M00;
+			case 1: return this.M01;
+			case 2: return this.M02;
+			case 3: return this.M03;
+			case 4: return this.M10;
+			case 5: return this.M11;
+			case 6: return this.M12;
+			case 7: return this.M13;
+			case 8: return this.M20;
+			case 9: return this.M21;
+			case 10: return this.M22;
+			case 11: return this.M23;
+			case 12: return this.M30;
+			case 13: return this.M31;
+			case 14: return this.M32;
+			case 15: return this.M33;
+			default: throw new IndexOutOfBoundsException("(" + Row + ", " + Column + ")");
+		}
+	}
+	
+	/**
+	 * Copies the components into an array in column-major order
+	 * @param Dest the destination array
+	 * @param Offset the index of the first component
+	 */
+	public void get(float[] Dest, int Offset) {
+		Dest[Offset]      = this.M00; Dest[Offset + 1]  = this.M10; Dest[Offset + 2]  = this.M20; Dest[Offset + 3]  = this.M30;
+		Dest[Offset + 4]  = this.M01; Dest[Offset + 5]  = this.M11; Dest[Offset + 6]  = this.M21; Dest[Offset + 7]  = this.M31;
+		Dest[Offset + 8]  = this.M02; Dest[Offset + 9]  = this.M12; Dest[Offset + 10] = this.M22; Dest[Offset + 11] = this.M32;
+		Dest[Offset + 12] = this.M03; Dest[Offset + 13] = this.M13; Dest[Offset + 14] = this.M23; Dest[Offset + 15] = this.M33;
+	}
+	
+	/**
+	 * Copies the components into a buffer in column-major order, starting at
+	 * the buffer's position. The position is left unchanged.
+	 * @param Dest the destination buffer
+	 */
+	public void get(FloatBuffer Dest) {
+		int Offset = Dest.position();
+		Dest.put(Offset, this.M00).put(Offset + 1, this.M10).put(Offset + 2, this.M20).put(Offset + 3, this.M30);
+		Dest.put(Offset + 4, this.M01).put(Offset + 5, this.M11).put(Offset + 6, this.M21).put(Offset + 7, this.M31);
+		Dest.put(Offset + 8, this.M02).put(Offset + 9, this.M12).put(Offset + 10, this.M22).put(Offset + 11, this.M32);
+		Dest.put(Offset + 12, this.M03).put(Offset + 13, this.M13).put(Offset + 14, this.M23).put(Offset + 15, this.M33);
+	}
+	
+	/**
+	 * Copies the translation column into a vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public Vector3 getTranslation(Vector3 Dest) {
+		Dest.set(this.M03, this.M13, this.M23);
+		return Dest;
+	}
+	
+	/**
+	 * Returns a string containing the matrix's rows
+	 * Format: "[(M00, M01, M02, M03), ..., (M30, M31, M32, M33)]"
+	 */
+	public String toString() {
+		return "[(" + this.M00 + ", " + this.M01 + ", " + this.M02 + ", " + this.M03 + "), ("
+					+ this.M10 + ", " + this.M11 + ", " + this.M12 + ", " + this.M13 + "), ("
+					+ this.M20 + ", " + this.M21 + ", " + this.M22 + ", " + this.M23 + "), ("
+					+ this.M30 + ", " + this.M31 + ", " + this.M32 + ", " + this.M33 + ")]";
+	}
+	
+	//Mutators
+	
+	/**
+	 * Sets this matrix to the identity
+	 */
+	public void identity() {
+		this.M00 = 1.0f; this.M01 = 0.0f; this.M02 = 0.0f; this.M03 = 0.0f;
+		this.M10 = 0.0f; this.M11 = 1.0f; this.M12 = 0.0f; this.M13 = 0.0f;
+		this.M20 = 0.0f; this.M21 = 0.0f; this.M22 = 1.0f; this.M23 = 0.0f;
+		this.M30 = 0.0f; this.M31 = 0.0f; this.M32 = 0.0f; this.M33 = 1.0f;
+	}
+	
+	/**
+	 * Inverts this matrix, overwriting the existing values
+	 */
+	public void inverse() {
+		Matrix4.inverse(this, this);
+	}
+	
+	/**
+	 * Inverts this affine matrix, overwriting the existing values
+	 */
+	public void inverseAffine() {
+		Matrix4.inverseAffine(this, this);
+	}
+	
+	/**
+	 * Multiplies this matrix by another matrix, overwriting the existing values
+	 * @param B the "right side" matrix
+	 */
+	public void multiply(Matrix4 B) {
+		Matrix4.multiply(this, B, this);
+	}
+	
+	/**
+	 * Sets a single component
+	 * @param Row the row, 0 to 3
+	 * @param Column the column, 0 to 3
+	 * @param Value the component
+	 */
+	public void set(int Row, int Column, float Value) {
+		if(Row < 0 || Row > 3 || Column < 0 || Column > 3) {
+			throw new IndexOutOfBoundsException("(" + Row + ", " + Column + ")");
+		}
+		switch(Row * 4 + Column) {
+			case 0: this.M00 = Value; break;
+			case 1: this.M01 = Value; break;
+			case 2: this.M02 = Value; break;
+			case 3: this.M03 = Value; break;
+			case 4: this.M10 = Value; break;
+			case 5: this.M11 = Value; break;
+			case 6: this.M12 = Value; break;
+			case 7: this.M13 = Value; break;
+			case 8: this.M20 = Value; break;
+			case 9: this.M21 = Value; break;
+			case 10: this.M22 = Value; break;
+			case 11: this.M23 = Value; break;
+			case 12: this.M30 = Value; break;
+			case 13: this.M31 = Value; break;
+			case 14: this.M32 = Value; break;
+			case 15: this.M33 = Value; break;
+			default: throw new IndexOutOfBoundsException("(" + Row + ", " + Column + ")");
+		}
+	}
+	
+	/**
+	 * Sets the components from an array in column-major order
+	 * @param Source the source array
+	 * @param Offset the index of the first component
+	 */
+	public void set(float[] Source, int Offset) {
+		this.M00 = Source[Offset];      this.M10 = Source[Offset + 1];  this.M20 = Source[Offset + 2];  this.M30 = Source[Offset + 3];
+		this.M01 = Source[Offset + 4];  this.M11 = Source[Offset + 5];  this.M21 = Source[Offset + 6];  this.M31 = Source[Offset + 7];
+		this.M02 = Source[Offset + 8];  this.M12 = Source[Offset + 9];  this.M22 = Source[Offset + 10]; this.M32 = Source[Offset + 11];
+		this.M03 = Source[Offset + 12]; this.M13 = Source[Offset + 13]; this.M23 = Source[Offset + 14]; this.M33 = Source[Offset + 15];
+	}
+	
+	/**
+	 * Sets new values for the matrix
+	 * @param Matrix a matrix
+	 */
+	public void set(Matrix4 Matrix) {
+		this.M00 = Matrix.M00; this.M01 = Matrix.M01; this.M02 = Matrix.M02; this.M03 = Matrix.M03;
+		this.M10 = Matrix.M10; this.M11 = Matrix.M11; this.M12 = Matrix.M12; this.M13 = Matrix.M13;
+		this.M20 = Matrix.M20; this.M21 = Matrix.M21; this.M22 = Matrix.M22; this.M23 = Matrix.M23;
+		this.M30 = Matrix.M30; this.M31 = Matrix.M31; this.M32 = Matrix.M32; this.M33 = Matrix.M33;
+	}
+	
+	/**
+	 * Sets this matrix to the rotation of a unit quaternion
+	 * @param Q a unit quaternion
+	 */
+	public void set(Quaternion Q) {
+		Matrix4.fromQuaternion(Q, this);
+	}
+	
+	/**
+	 * Sets this matrix to T * R * S
+	 * @param Translation the translation
+	 * @param Rotation a unit quaternion
+	 * @param Scale the XYZ scale
+	 */
+	public void set(Vector3 Translation, Quaternion Rotation, Vector3 Scale) {
+		Matrix4.fromTranslationRotationScale(Translation, Rotation, Scale, this);
+	}
+	
+	/**
+	 * Transposes this matrix, overwriting the existing values
+	 */
+	public void transpose() {
+		Matrix4.transpose(this, this);
+	}
+}
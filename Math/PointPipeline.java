@@ -0,0 +1,244 @@
+/* Helios (TM) 3D Engine (Java): Point Pipeline Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A fixed sequence of per-point operations applied to a packed point array in
+ * one pass. The points are walked in chunks small enough to stay in the L1 and
+ * L2 caches, and every stage runs over a chunk before the next chunk is
+ * loaded, so each point is read from and written to main memory once no
+ * matter how many stages there are. The stages themselves are the batch
+ * kernels, so they use SIMD where BatchKernels selected it.
+ * <p>
+ * The parallel form splits the range on a ForkJoinPool. Stage operands are
+ * copied when a stage is added and only read while applying, so one pipeline
+ * can be applied from several threads at once, but it must not be modified
+ * while it is being applied.
+ */
+public class PointPipeline {
+	/**
+	 * Points processed per stage before moving to the next stage. 2048 points
+	 * are 24 KB per Vector3Array, so source and destination stay in L1/L2.
+	 */
+	public static final int CHUNK_SIZE = 2048;
+	
+	/**
+	 * Ranges at or below this size are not split further by the parallel form
+	 */
+	public static final int TASK_SIZE = 16 * PointPipeline.CHUNK_SIZE;
+	
+	private static final int ROTATE = 0;
+	private static final int TRANSLATE = 1;
+	private static final int SCALE = 2;
+	private static final int NORMALIZE = 3;
+	private static final int FAST_NORMALIZE = 4;
+	private static final int TRANSFORM = 5;
+	
+	private final ArrayList<Stage> Stages = new ArrayList<Stage>();
+	
+	public PointPipeline() {
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Applies the stages in order to a range of points on the calling thread
+	 * @param Points the source points
+	 * @param Dest the destination points, which may be the source points
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public void apply(Vector3Array Points, Vector3Array Dest, int Offset, int Count) {
+		for(int Start = Offset, End = Offset + Count; Start < End; Start += PointPipeline.CHUNK_SIZE) {
+			this.chunk(Points, Dest, Start, Math.min(PointPipeline.CHUNK_SIZE, End - Start));
+		}
+	}
+	
+	/**
+	 * Applies the stages in order to a range of points, splitting the range
+	 * across a ForkJoinPool. Returns once every point has been written.
+	 * @param Points the source points
+	 * @param Dest the destination points, which may be the source points
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Pool the pool to run on, such as ForkJoinPool.commonPool()
+	 */
+	public void apply(Vector3Array Points, Vector3Array Dest, int Offset, int Count, ForkJoinPool Pool) {
+		if(Count <= PointPipeline.TASK_SIZE) {
+			this.apply(Points, Dest, Offset, Count);
+		}else {
+			Pool.invoke(new Task(this, Points, Dest, Offset, Count));
+		}
+	}
+	
+	/**
+	 * Returns the number of stages
+	 * @return the number of stages
+	 */
+	public int size() {
+		return this.Stages.size();
+	}
+	
+	//Mutators
+	
+	/**
+	 * Removes every stage
+	 */
+	public void clear() {
+		this.Stages.clear();
+	}
+	
+	/**
+	 * Appends an approximate normalization stage
+	 * @see Vector3#fastNormalize(Vector3, Vector3)
+	 */
+	public void fastNormalize() {
+		this.Stages.add(new Stage(PointPipeline.FAST_NORMALIZE, null, null, null));
+	}
+	
+	/**
+	 * Appends a normalization stage
+	 */
+	public void normalize() {
+		this.Stages.add(new Stage(PointPipeline.NORMALIZE, null, null, null));
+	}
+	
+	/**
+	 * Appends a rotation stage
+	 * @param Rotation a unit quaternion, copied
+	 */
+	public void rotate(Quaternion Rotation) {
+		this.Stages.add(new Stage(PointPipeline.ROTATE, new Quaternion(Rotation.x(), Rotation.y(), Rotation.z(), Rotation.w()), null, null));
+	}
+	
+	/**
+	 * Appends a uniform scaling stage
+	 * @param Scale a scaling value
+	 */
+	public void scale(float Scale) {
+		this.Stages.add(new Stage(PointPipeline.SCALE, null, new Vector3(Scale, Scale, Scale), null));
+	}
+	
+	/**
+	 * Appends a per-axis scaling stage
+	 * @param Scale a vector representing the XYZ scale, copied
+	 */
+	public void scale(Vector3 Scale) {
+		this.Stages.add(new Stage(PointPipeline.SCALE, null, new Vector3(Scale.x(), Scale.y(), Scale.z()), null));
+	}
+	
+	/**
+	 * Appends an affine transform stage, treating the points as positions
+	 * @param Matrix an affine matrix, copied
+	 * @see Matrix4#transformPoints(Matrix4, Vector3Array, Vector3Array, int, int)
+	 */
+	public void transform(Matrix4 Matrix) {
+		this.Stages.add(new Stage(PointPipeline.TRANSFORM, null, null, new Matrix4(Matrix)));
+	}
+	
+	/**
+	 * Appends a translation stage
+	 * @param Translation the translation, copied
+	 */
+	public void translate(Vector3 Translation) {
+		this.Stages.add(new Stage(PointPipeline.TRANSLATE, null, new Vector3(Translation.x(), Translation.y(), Translation.z()), null));
+	}
+	
+	/**
+	 * Runs every stage over one chunk. The first stage reads the source and
+	 * later stages work in place on the destination.
+	 */
+	private void chunk(Vector3Array Points, Vector3Array Dest, int Offset, int Count) {
+		BatchKernels Kernels = BatchKernels.get();
+		Vector3Array Source = Points;
+		for(int i = 0, Size = this.Stages.size(); i < Size; i++) {
+			Stage Stage = this.Stages.get(i);
+			switch(Stage.Operation) {
+				case PointPipeline.ROTATE:
+					Kernels.rotate(Stage.Rotation, Source, Dest, Offset, Count);
+					break;
+				case PointPipeline.TRANSLATE:
+					Vector3Array.add(Source, Stage.Vector, Dest, Offset, Count);
+					break;
+				case PointPipeline.SCALE:
+					Vector3Array.scale(Source, Stage.Vector, Dest, Offset, Count);
+					break;
+				case PointPipeline.NORMALIZE:
+					Kernels.normalize(Source, Dest, Offset, Count);
+					break;
+				case PointPipeline.FAST_NORMALIZE:
+					Kernels.fastNormalize(Source, Dest, Offset, Count);
+					break;
+				case PointPipeline.TRANSFORM:
+					Matrix4.transformPoints(Stage.Matrix, Source, Dest, Offset, Count);
+					break;
+			}
+			Source = Dest;
+		}
+		if(Source != Dest) {
+			System.arraycopy(Points.x(), Offset, Dest.x(), Offset, Count);
+			System.arraycopy(Points.y(), Offset, Dest.y(), Offset, Count);
+			System.arraycopy(Points.z(), Offset, Dest.z(), Offset, Count);
+		}
+	}
+	
+	/**
+	 * One operation and its operand
+	 */
+	private static final class Stage {
+		final int Operation;
+		final Quaternion Rotation;
+		final Vector3 Vector;
+		final Matrix4 Matrix;
+		
+		Stage(int Operation, Quaternion Rotation, Vector3 Vector, Matrix4 Matrix) {
+			this.Operation = Operation;
+			this.Rotation = Rotation;
+			this.Vector = Vector;
+			this.Matrix = Matrix;
+		}
+	}
+	
+	/**
+	 * Halves its range until it is at most TASK_SIZE points, splitting on
+	 * chunk boundaries
+	 */
+	private static final class Task extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		private final PointPipeline Pipeline;
+		private final Vector3Array Points, Dest;
+		private final int Offset, Count;
+		
+		Task(PointPipeline Pipeline, Vector3Array Points, Vector3Array Dest, int Offset, int Count) {
+			this.Pipeline = Pipeline;
+			this.Points = Points;
+			this.Dest = Dest;
+			this.Offset = Offset;
+			this.Count = Count;
+		}
+		
+		protected void compute() {
+			if(this.Count <= PointPipeline.TASK_SIZE) {
+				this.Pipeline.apply(this.Points, this.Dest, this.Offset, this.Count);
+				return;
+			}
+			int Half = (this.Count / 2 + PointPipeline.CHUNK_SIZE - 1) / PointPipeline.CHUNK_SIZE * PointPipeline.CHUNK_SIZE;
+			RecursiveAction.invokeAll(new Task(this.Pipeline, this.Points, this.Dest, this.Offset, Half),
+									  new Task(this.Pipeline, this.Points, this.Dest, this.Offset + Half, this.Count - Half));
+		}
+	}
+}
@@ -0,0 +1,496 @@
+/* Helios (TM) 3D Engine (Java): Packed Quaternion Array Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+/**
+ * A fixed-size array of quaternions stored as four primitive component
+ * arrays (structure of arrays).
+ */
+public class QuaternionArray {
+	private final float[] W;
+	private final float[] X;
+	private final float[] Y;
+	private final float[] Z;
+	
+	public QuaternionArray(int Size) {
+		this.W = new float[Size];
+		this.X = new float[Size];
+		this.Y = new float[Size];
+		this.Z = new float[Size];
+	}
+	
+	public QuaternionArray(QuaternionArray Array) {
+		this.W = Array.W.clone();
+		this.X = Array.X.clone();
+		this.Y = Array.Y.clone();
+		this.Z = Array.Z.clone();
+	}
+	
+	/*
+	 * STATIC METHODS
+	 * Bulk kernels mirroring the Quaternion static methods. Each operates on
+	 * the elements [Offset, Offset + Count) of every array it is given, and
+	 * writes into a destination array which may be one of the operands.
+	 */
+	
+	/**
+	 * Computes the conjugates of the quaternions
+	 * @param A the quaternions
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void conjugate(QuaternionArray A, QuaternionArray Dest, int Offset, int Count) {
+		float[] AW = A.W, AX = A.X, AY = A.Y, AZ = A.Z;
+		float[] DW = Dest.W, DX = Dest.X, DY = Dest.Y, DZ = Dest.Z;
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			DW[i] =  AW[i];
+			DX[i] = -AX[i];
+			DY[i] = -AY[i];
+			DZ[i] = -AZ[i];
+		}
+	}
+	
+	/**
+	 * Computes the dot products between two sets of quaternions
+	 * @param A the "left side" quaternions
+	 * @param B the "right side" quaternions
+	 * @param Dest the destination floats, indexed like the quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void dot(QuaternionArray A, QuaternionArray B, float[] Dest, int Offset, int Count) {
+		float[] AW = A.W, AX = A.X, AY = A.Y, AZ = A.Z;
+		float[] BW = B.W, BX = B.X, BY = B.Y, BZ = B.Z;
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			Dest[i] = AW[i] * BW[i] + AX[i] * BX[i] + AY[i] * BY[i] + AZ[i] * BZ[i];
+		}
+	}
+	
+	/**
+	 * Approximately normalizes the quaternions. Lengths below about 1E-19 or above
+	 * about 1.8E19 are not supported.
+	 * @param A the quaternions
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @see FastMath#inverseSqrt(float)
+	 */
+	public static void fastNormalize(QuaternionArray A, QuaternionArray Dest, int Offset, int Count) {
+		BatchKernels.get().fastNormalize(A, Dest, Offset, Count);
+	}
+	
+	/**
+	 * Approximately slerps between two sets of unit quaternions with a common
+	 * parameter
+	 * @param A the start quaternions
+	 * @param B the end quaternions
+	 * @param T the interpolation parameter, 0 to 1
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @see Quaternion#fastSlerp(Quaternion, Quaternion, float, Quaternion)
+	 */
+	public static void fastSlerp(QuaternionArray A, QuaternionArray B, float T, QuaternionArray Dest, int Offset, int Count) {
+		BatchKernels.get().fastSlerp(A, B, T, Dest, Offset, Count);
+	}
+	
+	/**
+	 * Computes the shortest-arc rotations taking the directions of one set of
+	 * vectors to those of another
+	 * @param A the start directions
+	 * @param B the end directions
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @see Quaternion#fromTo(Vector3, Vector3, Quaternion)
+	 */
+	public static void fromTo(Vector3Array A, Vector3Array B, QuaternionArray Dest, int Offset, int Count) {
+		float[] AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] BX = B.x(), BY = B.y(), BZ = B.z();
+		float[] DW = Dest.W, DX = Dest.X, DY = Dest.Y, DZ = Dest.Z;
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			double PX = AX[i], PY = AY[i], PZ = AZ[i];
+			double QX = BX[i], QY = BY[i], QZ = BZ[i];
+			double X = PY * QZ - PZ * QY;
+			double Y = PZ * QX - PX * QZ;
+			double Z = PX * QY - PY * QX;
+			double Dot = PX * QX + PY * QY + PZ * QZ;
+			double Cross = X * X + Y * Y + Z * Z;
+			double Norm = Math.sqrt(Cross + Dot * Dot);
+			double W;
+			if(Cross > 0.0 || Dot > 0.0) {
+				W = Dot >= 0.0 ? Norm + Dot : Cross / (Norm - Dot);
+			}else if(Dot < 0.0) {
+				W = 0.0;
+				if(Math.abs(PX) > Math.abs(PZ)) {
+					X = -PY;
+					Y = PX;
+					Z = 0.0;
+				}else {
+					X = 0.0;
+					Y = -PZ;
+					Z = PY;
+				}
+			}else {
+				W = 1.0;
+			}
+			double InverseLength = 1.0 / Math.sqrt(X * X + Y * Y + Z * Z + W * W);
+			DW[i] = (float) (W * InverseLength);
+			DX[i] = (float) (X * InverseLength);
+			DY[i] = (float) (Y * InverseLength);
+			DZ[i] = (float) (Z * InverseLength);
+		}
+	}
+	
+	/**
+	 * Advances orientations by angular velocities over a common time step with
+	 * a first-order step
+	 * @param A the unit quaternions
+	 * @param Omega the angular velocities in world space
+	 * @param DT the time step
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @see Quaternion#integrate(Quaternion, Vector3, float, Quaternion)
+	 */
+	public static void integrate(QuaternionArray A, Vector3Array Omega, float DT, QuaternionArray Dest, int Offset, int Count) {
+		BatchKernels.get().integrate(A, Omega, DT, Dest, Offset, Count);
+	}
+	
+	/**
+	 * Advances orientations by angular velocities over a common time step using
+	 * the exponential map
+	 * @param A the unit quaternions
+	 * @param Omega the angular velocities in world space
+	 * @param DT the time step
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @see Quaternion#integrateExp(Quaternion, Vector3, float, Quaternion)
+	 */
+	public static void integrateExp(QuaternionArray A, Vector3Array Omega, float DT, QuaternionArray Dest, int Offset, int Count) {
+		float[] AW = A.W, AX = A.X, AY = A.Y, AZ = A.Z;
+		float[] OX = Omega.x(), OY = Omega.y(), OZ = Omega.z();
+		float[] DW = Dest.W, DX = Dest.X, DY = Dest.Y, DZ = Dest.Z;
+		float H = 0.5f * DT;
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float QW = AW[i], QX = AX[i], QY = AY[i], QZ = AZ[i];
+			float VX = OX[i] * H, VY = OY[i] * H, VZ = OZ[i] * H;
+			double Angle = Math.sqrt(VX * VX + VY * VY + VZ * VZ);
+			float C = (float) Math.cos(Angle);
+			float S = (float) (Angle > 1.0E-4 ? Math.sin(Angle) / Angle : 1.0 - Angle * Angle / 6.0);
+			DW[i] = C * QW - S * (VX * QX + VY * QY + VZ * QZ);
+			DX[i] = C * QX + S * (VX * QW + VY * QZ - VZ * QY);
+			DY[i] = C * QY + S * (VY * QW + VZ * QX - VX * QZ);
+			DZ[i] = C * QZ + S * (VZ * QW + VX * QY - VY * QX);
+		}
+	}
+	
+	/**
+	 * Multiplies two sets of quaternions
+	 * @param A the "left side" quaternions
+	 * @param B the "right side" quaternions
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void multiply(QuaternionArray A, QuaternionArray B, QuaternionArray Dest, int Offset, int Count) {
+		BatchKernels.get().multiply(A, B, Dest, Offset, Count);
+	}
+	
+	/**
+	 * Multiplies each of the quaternions by a single "right side" quaternion
+	 * @param A the "left side" quaternions
+	 * @param B the "right side" quaternion
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void multiply(QuaternionArray A, Quaternion B, QuaternionArray Dest, int Offset, int Count) {
+		float[] AW = A.W, AX = A.X, AY = A.Y, AZ = A.Z;
+		float[] DW = Dest.W, DX = Dest.X, DY = Dest.Y, DZ = Dest.Z;
+		float BW = B.w(), BX = B.x(), BY = B.y(), BZ = B.z();
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float QW = AW[i], QX = AX[i], QY = AY[i], QZ = AZ[i];
+			DW[i] = QW * BW - QX * BX - QY * BY - QZ * BZ;
+			DX[i] = QX * BW + QW * BX + QY * BZ - QZ * BY;
+			DY[i] = QY * BW + QW * BY + QZ * BX - QX * BZ;
+			DZ[i] = QZ * BW + QW * BZ + QX * BY - QY * BX;
+		}
+	}
+	
+	/**
+	 * Multiplies a single "left side" quaternion by each of the quaternions
+	 * @param A the "left side" quaternion
+	 * @param B the "right side" quaternions
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void multiply(Quaternion A, QuaternionArray B, QuaternionArray Dest, int Offset, int Count) {
+		float[] BW = B.W, BX = B.X, BY = B.Y, BZ = B.Z;
+		float[] DW = Dest.W, DX = Dest.X, DY = Dest.Y, DZ = Dest.Z;
+		float AW = A.w(), AX = A.x(), AY = A.y(), AZ = A.z();
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float QW = BW[i], QX = BX[i], QY = BY[i], QZ = BZ[i];
+			DW[i] = AW * QW - AX * QX - AY * QY - AZ * QZ;
+			DX[i] = AX * QW + AW * QX + AY * QZ - AZ * QY;
+			DY[i] = AY * QW + AW * QY + AZ * QX - AX * QZ;
+			DZ[i] = AZ * QW + AW * QZ + AX * QY - AY * QX;
+		}
+	}
+	
+	/**
+	 * Normalized-lerps between two sets of unit quaternions with a common
+	 * parameter
+	 * @param A the start quaternions
+	 * @param B the end quaternions
+	 * @param T the interpolation parameter, 0 to 1
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @see Quaternion#nlerp(Quaternion, Quaternion, float, Quaternion)
+	 */
+	public static void nlerp(QuaternionArray A, QuaternionArray B, float T, QuaternionArray Dest, int Offset, int Count) {
+		BatchKernels.get().nlerp(A, B, T, Dest, Offset, Count);
+	}
+	
+	/**
+	 * Normalizes the quaternions
+	 * @param A the quaternions
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void normalize(QuaternionArray A, QuaternionArray Dest, int Offset, int Count) {
+		BatchKernels.get().normalize(A, Dest, Offset, Count);
+	}
+	
+	/**
+	 * Scales the quaternions
+	 * @param A the quaternions
+	 * @param Scale a scaling value
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void scale(QuaternionArray A, float Scale, QuaternionArray Dest, int Offset, int Count) {
+		float[] AW = A.W, AX = A.X, AY = A.Y, AZ = A.Z;
+		float[] DW = Dest.W, DX = Dest.X, DY = Dest.Y, DZ = Dest.Z;
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			DW[i] = AW[i] * Scale;
+			DX[i] = AX[i] * Scale;
+			DY[i] = AY[i] * Scale;
+			DZ[i] = AZ[i] * Scale;
+		}
+	}
+	
+	/**
+	 * Slerps between two sets of unit quaternions with a common parameter
+	 * @param A the start quaternions
+	 * @param B the end quaternions
+	 * @param T the interpolation parameter, 0 to 1
+	 * @param Dest the destination quaternions
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @see Quaternion#slerp(Quaternion, Quaternion, float, Quaternion)
+	 */
+	public static void slerp(QuaternionArray A, QuaternionArray B, float T, QuaternionArray Dest, int Offset, int Count) {
+		float[] AW = A.W, AX = A.X, AY = A.Y, AZ = A.Z;
+		float[] BW = B.W, BX = B.X, BY = B.Y, BZ = B.Z;
+		float[] DW = Dest.W, DX = Dest.X, DY = Dest.Y, DZ = Dest.Z;
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			float QW = AW[i], QX = AX[i], QY = AY[i], QZ = AZ[i];
+			float RW = BW[i], RX = BX[i], RY = BY[i], RZ = BZ[i];
+			float Dot = QW * RW + QX * RX + QY * RY + QZ * RZ;
+			float D = Math.abs(Dot);
+			float S, R;
+			if(D > Quaternion.SlerpThreshold) {
+				S = 1.0f - T;
+				R = T;
+			}else {
+				double Angle = Math.acos(D);
+				double InverseSine = 1.0 / Math.sin(Angle);
+				S = (float) (Math.sin((1.0 - T) * Angle) * InverseSine);
+				R = (float) (Math.sin(T * Angle) * InverseSine);
+			}
+			if(Dot < 0.0f) {
+				R = -R;
+			}
+			float W = S * QW + R * RW;
+			float X = S * QX + R * RX;
+			float Y = S * QY + R * RY;
+			float Z = S * QZ + R * RZ;
+			if(D > Quaternion.SlerpThreshold) {
+				float InverseLength = 1.0f / (float) Math.sqrt(W * W + X * X + Y * Y + Z * Z);
+				W *= InverseLength;
+				X *= InverseLength;
+				Y *= InverseLength;
+				Z *= InverseLength;
+			}
+			DW[i] = W;
+			DX[i] = X;
+			DY[i] = Y;
+			DZ[i] = Z;
+		}
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Copies an element into a quaternion
+	 * @param Index the element
+	 * @param Dest the destination quaternion
+	 * @return the destination quaternion
+	 */
+	public Quaternion get(int Index, Quaternion Dest) {
+		Dest.set(this.X[Index], this.Y[Index], this.Z[Index], this.W[Index]);
+		return Dest;
+	}
+	
+	/**
+	 * Returns the number of elements in the array
+	 * @return the number of elements
+	 */
+	public int size() {
+		return this.X.length;
+	}
+	
+	/**
+	 * Returns a view of an element. The view reads and writes the array
+	 * directly and can be passed anywhere a Quaternion is accepted.
+	 * @param Index the element
+	 * @return a new view
+	 */
+	public Element view(int Index) {
+		return new Element(this, Index);
+	}
+	
+	/**
+	 * Returns the W component array. Writes to it are visible through the
+	 * container.
+	 * @return the W components
+	 */
+	public float[] w() {
+		return this.W;
+	}
+	
+	/**
+	 * Returns the X component array. Writes to it are visible through the
+	 * container.
+	 * @return the X components
+	 */
+	public float[] x() {
+		return this.X;
+	}
+	
+	/**
+	 * Returns the Y component array. Writes to it are visible through the
+	 * container.
+	 * @return the Y components
+	 */
+	public float[] y() {
+		return this.Y;
+	}
+	
+	/**
+	 * Returns the Z component array. Writes to it are visible through the
+	 * container.
+	 * @return the Z components
+	 */
+	public float[] z() {
+		return this.Z;
+	}
+	
+	//Mutators
+	
+	/**
+	 * Sets new values for an element
+	 * @param Index the element
+	 * @param X the X component
+	 * @param Y the Y component
+	 * @param Z the Z component
+	 * @param W the W component
+	 */
+	public void set(int Index, float X, float Y, float Z, float W) {
+		this.W[Index] = W;
+		this.X[Index] = X;
+		this.Y[Index] = Y;
+		this.Z[Index] = Z;
+	}
+	
+	/**
+	 * Sets new values for an element
+	 * @param Index the element
+	 * @param A a quaternion
+	 */
+	public void set(int Index, Quaternion A) {
+		this.W[Index] = A.w();
+		this.X[Index] = A.x();
+		this.Y[Index] = A.y();
+		this.Z[Index] = A.z();
+	}
+	
+	/**
+	 * A Quaternion whose components live in a QuaternionArray element. Moving
+	 * the view with index(int) lets a single object walk the whole array.
+	 */
+	public static class Element extends Quaternion {
+		private final QuaternionArray Array;
+		private int Index;
+		
+		public Element(QuaternionArray Array, int Index) {
+			this.Array = Array;
+			this.Index = Index;
+		}
+		
+		/**
+		 * Returns the element this view refers to
+		 * @return the element index
+		 */
+		public int index() {
+			return this.Index;
+		}
+		
+		/**
+		 * Moves this view to another element
+		 * @param Index the element index
+		 */
+		public void index(int Index) {
+			this.Index = Index;
+		}
+		
+		public float w() {
+			return this.Array.W[this.Index];
+		}
+		
+		public float x() {
+			return this.Array.X[this.Index];
+		}
+		
+		public float y() {
+			return this.Array.Y[this.Index];
+		}
+		
+		public float z() {
+			return this.Array.Z[this.Index];
+		}
+		
+		public void set(float X, float Y, float Z, float W) {
+			this.Array.W[this.Index] = W;
+			this.Array.X[this.Index] = X;
+			this.Array.Y[this.Index] = Y;
+			this.Array.Z[this.Index] = Z;
+		}
+	}
+}
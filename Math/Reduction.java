@@ -0,0 +1,577 @@
+/* Helios (TM) 3D Engine (Java): Reduction Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Reductions over packed vector arrays: sums, centroids, bounds, summed dot
+ * products and covariance. The range is halved on LEAF_SIZE boundaries until
+ * each piece holds at most LEAF_SIZE elements. Each leaf is accumulated in
+ * double and the partial results are added back together pairwise in tree
+ * order, so the rounding error grows with log(Count) instead of Count.
+ * <p>
+ * The tree depends only on Count. The serial form and the parallel form on a
+ * pool of any size therefore return the same bits for the same input.
+ */
+public final class Reduction {
+	/**
+	 * Elements accumulated sequentially before partial results are combined
+	 */
+	public static final int LEAF_SIZE = 1024;
+	
+	/**
+	 * Ranges at or below this size are not split further by the parallel form
+	 */
+	public static final int TASK_SIZE = 64 * Reduction.LEAF_SIZE;
+	
+	private Reduction() {
+	}
+	
+	/*
+	 * STATIC METHODS
+	 * Each reduction reads the elements [Offset, Offset + Count) of its arrays.
+	 * The forms taking a ForkJoinPool split ranges larger than TASK_SIZE across
+	 * the pool and return once the result has been written.
+	 */
+	
+	/**
+	 * Computes the bounding box of a set of points
+	 * @param A the points
+	 * @param Dest the destination box, empty if Count is zero
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @return the destination box
+	 */
+	public static AABB bounds(Vector3Array A, AABB Dest, int Offset, int Count) {
+		return Reduction.bounds(A, Dest, Offset, Count, null);
+	}
+	
+	/**
+	 * Computes the bounding box of a set of points, splitting the range across
+	 * a ForkJoinPool
+	 * @param A the points
+	 * @param Dest the destination box, empty if Count is zero
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Pool the pool to run on, such as ForkJoinPool.commonPool()
+	 * @return the destination box
+	 */
+	public static AABB bounds(Vector3Array A, AABB Dest, int Offset, int Count, ForkJoinPool Pool) {
+		double[] Bounds = Reduction.reduce(new Bounds(A.x(), A.y(), A.z(), null), Offset, Count, Pool);
+		Dest.set((float) Bounds[0], (float) Bounds[1], (float) Bounds[2], (float) Bounds[4], (float) Bounds[5], (float) Bounds[6]);
+		return Dest;
+	}
+	
+	/**
+	 * Computes the component-wise minimum and maximum of a set of vectors.
+	 * Both are left infinite and inverted if Count is zero.
+	 * @param A the vectors
+	 * @param Min the destination minimum
+	 * @param Max the destination maximum
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void bounds(Vector4Array A, Vector4 Min, Vector4 Max, int Offset, int Count) {
+		Reduction.bounds(A, Min, Max, Offset, Count, null);
+	}
+	
+	/**
+	 * Computes the component-wise minimum and maximum of a set of vectors,
+	 * splitting the range across a ForkJoinPool
+	 * @param A the vectors
+	 * @param Min the destination minimum
+	 * @param Max the destination maximum
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Pool the pool to run on, such as ForkJoinPool.commonPool()
+	 */
+	public static void bounds(Vector4Array A, Vector4 Min, Vector4 Max, int Offset, int Count, ForkJoinPool Pool) {
+		double[] Bounds = Reduction.reduce(new Bounds(A.x(), A.y(), A.z(), A.w()), Offset, Count, Pool);
+		Min.set((float) Bounds[0], (float) Bounds[1], (float) Bounds[2], (float) Bounds[3]);
+		Max.set((float) Bounds[4], (float) Bounds[5], (float) Bounds[6], (float) Bounds[7]);
+	}
+	
+	/**
+	 * Computes the mean of a set of points
+	 * @param A the points
+	 * @param Dest the destination vector, zero if Count is zero
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @return the destination vector
+	 */
+	public static Vector3 centroid(Vector3Array A, Vector3 Dest, int Offset, int Count) {
+		return Reduction.centroid(A, Dest, Offset, Count, null);
+	}
+	
+	/**
+	 * Computes the mean of a set of points, splitting the range across a
+	 * ForkJoinPool
+	 * @param A the points
+	 * @param Dest the destination vector, zero if Count is zero
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Pool the pool to run on, such as ForkJoinPool.commonPool()
+	 * @return the destination vector
+	 */
+	public static Vector3 centroid(Vector3Array A, Vector3 Dest, int Offset, int Count, ForkJoinPool Pool) {
+		double[] Mean = Reduction.mean(A.x(), A.y(), A.z(), null, Offset, Count, Pool);
+		Dest.set((float) Mean[0], (float) Mean[1], (float) Mean[2]);
+		return Dest;
+	}
+	
+	/**
+	 * Computes the mean of a set of vectors
+	 * @param A the vectors
+	 * @param Dest the destination vector, zero if Count is zero
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @return the destination vector
+	 */
+	public static Vector4 centroid(Vector4Array A, Vector4 Dest, int Offset, int Count) {
+		return Reduction.centroid(A, Dest, Offset, Count, null);
+	}
+	
+	/**
+	 * Computes the mean of a set of vectors, splitting the range across a
+	 * ForkJoinPool
+	 * @param A the vectors
+	 * @param Dest the destination vector, zero if Count is zero
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Pool the pool to run on, such as ForkJoinPool.commonPool()
+	 * @return the destination vector
+	 */
+	public static Vector4 centroid(Vector4Array A, Vector4 Dest, int Offset, int Count, ForkJoinPool Pool) {
+		double[] Mean = Reduction.mean(A.x(), A.y(), A.z(), A.w(), Offset, Count, Pool);
+		Dest.set((float) Mean[0], (float) Mean[1], (float) Mean[2], (float) Mean[3]);
+		return Dest;
+	}
+	
+	/**
+	 * Computes the covariance matrix of a set of points, dividing by Count.
+	 * The centroid is found first and the products are taken about it, so
+	 * points far from the origin do not cancel.
+	 * @param A the points
+	 * @param Dest the destination matrix, zero if Count is zero
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @return the destination matrix
+	 */
+	public static Matrix3 covariance(Vector3Array A, Matrix3 Dest, int Offset, int Count) {
+		return Reduction.covariance(A, Dest, Offset, Count, null);
+	}
+	
+	/**
+	 * Computes the covariance matrix of a set of points, dividing by Count and
+	 * splitting the range across a ForkJoinPool
+	 * @param A the points
+	 * @param Dest the destination matrix, zero if Count is zero
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Pool the pool to run on, such as ForkJoinPool.commonPool()
+	 * @return the destination matrix
+	 * @see #covariance(Vector3Array, Matrix3, int, int)
+	 */
+	public static Matrix3 covariance(Vector3Array A, Matrix3 Dest, int Offset, int Count, ForkJoinPool Pool) {
+		double[] Mean = Reduction.mean(A.x(), A.y(), A.z(), null, Offset, Count, Pool);
+		double[] Moments = Reduction.reduce(new Moments(A.x(), A.y(), A.z(), Mean), Offset, Count, Pool);
+		double Scale = Count > 0 ? 1.0 / Count : 0.0;
+		float XX = (float) (Moments[0] * Scale), XY = (float) (Moments[1] * Scale), XZ = (float) (Moments[2] * Scale);
+		float YY = (float) (Moments[3] * Scale), YZ = (float) (Moments[4] * Scale), ZZ = (float) (Moments[5] * Scale);
+		Dest.set(new float[] {XX, XY, XZ, XY, YY, YZ, XZ, YZ, ZZ}, 0);
+		return Dest;
+	}
+	
+	/**
+	 * Computes the sum of the dot products between two sets of vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @return the sum of A[i] . B[i]
+	 */
+	public static float dot(Vector3Array A, Vector3Array B, int Offset, int Count) {
+		return Reduction.dot(A, B, Offset, Count, null);
+	}
+	
+	/**
+	 * Computes the sum of the dot products between two sets of vectors,
+	 * splitting the range across a ForkJoinPool
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Pool the pool to run on, such as ForkJoinPool.commonPool()
+	 * @return the sum of A[i] . B[i]
+	 */
+	public static float dot(Vector3Array A, Vector3Array B, int Offset, int Count, ForkJoinPool Pool) {
+		return (float) Reduction.reduce(new Dot(A.x(), A.y(), A.z(), null, B.x(), B.y(), B.z(), null), Offset, Count, Pool)[0];
+	}
+	
+	/**
+	 * Computes the sum of the dot products between two sets of vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @return the sum of A[i] . B[i]
+	 */
+	public static float dot(Vector4Array A, Vector4Array B, int Offset, int Count) {
+		return Reduction.dot(A, B, Offset, Count, null);
+	}
+	
+	/**
+	 * Computes the sum of the dot products between two sets of vectors,
+	 * splitting the range across a ForkJoinPool
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Pool the pool to run on, such as ForkJoinPool.commonPool()
+	 * @return the sum of A[i] . B[i]
+	 */
+	public static float dot(Vector4Array A, Vector4Array B, int Offset, int Count, ForkJoinPool Pool) {
+		return (float) Reduction.reduce(new Dot(A.x(), A.y(), A.z(), A.w(), B.x(), B.y(), B.z(), B.w()), Offset, Count, Pool)[0];
+	}
+	
+	/**
+	 * Computes the sum of a set of vectors
+	 * @param A the vectors
+	 * @param Dest the destination vector
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @return the destination vector
+	 */
+	public static Vector3 sum(Vector3Array A, Vector3 Dest, int Offset, int Count) {
+		return Reduction.sum(A, Dest, Offset, Count, null);
+	}
+	
+	/**
+	 * Computes the sum of a set of vectors, splitting the range across a
+	 * ForkJoinPool
+	 * @param A the vectors
+	 * @param Dest the destination vector
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Pool the pool to run on, such as ForkJoinPool.commonPool()
+	 * @return the destination vector
+	 */
+	public static Vector3 sum(Vector3Array A, Vector3 Dest, int Offset, int Count, ForkJoinPool Pool) {
+		double[] Sum = Reduction.reduce(new Sum(A.x(), A.y(), A.z(), null), Offset, Count, Pool);
+		Dest.set((float) Sum[0], (float) Sum[1], (float) Sum[2]);
+		return Dest;
+	}
+	
+	/**
+	 * Computes the sum of a set of vectors
+	 * @param A the vectors
+	 * @param Dest the destination vector
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @return the destination vector
+	 */
+	public static Vector4 sum(Vector4Array A, Vector4 Dest, int Offset, int Count) {
+		return Reduction.sum(A, Dest, Offset, Count, null);
+	}
+	
+	/**
+	 * Computes the sum of a set of vectors, splitting the range across a
+	 * ForkJoinPool
+	 * @param A the vectors
+	 * @param Dest the destination vector
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Pool the pool to run on, such as ForkJoinPool.commonPool()
+	 * @return the destination vector
+	 */
+	public static Vector4 sum(Vector4Array A, Vector4 Dest, int Offset, int Count, ForkJoinPool Pool) {
+		double[] Sum = Reduction.reduce(new Sum(A.x(), A.y(), A.z(), A.w()), Offset, Count, Pool);
+		Dest.set((float) Sum[0], (float) Sum[1], (float) Sum[2], (float) Sum[3]);
+		return Dest;
+	}
+	
+	/**
+	 * Sums the components and divides by Count in double
+	 */
+	private static double[] mean(float[] X, float[] Y, float[] Z, float[] W, int Offset, int Count, ForkJoinPool Pool) {
+		double[] Mean = Reduction.reduce(new Sum(X, Y, Z, W), Offset, Count, Pool);
+		double Scale = Count > 0 ? 1.0 / Count : 0.0;
+		for(int i = 0; i < Mean.length; i++) {
+			Mean[i] *= Scale;
+		}
+		return Mean;
+	}
+	
+	/**
+	 * Runs the kernel over the range on the calling thread, or on the pool
+	 * when one is given and the range is larger than TASK_SIZE
+	 */
+	private static double[] reduce(Kernel Kernel, int Offset, int Count, ForkJoinPool Pool) {
+		if(Pool == null || Count <= Reduction.TASK_SIZE) {
+			return Reduction.reduce(Kernel, Offset, Count);
+		}
+		return Pool.invoke(new Task(Kernel, Offset, Count));
+	}
+	
+	/**
+	 * Reduces the range serially along the same tree as the parallel form
+	 */
+	private static double[] reduce(Kernel Kernel, int Offset, int Count) {
+		if(Count <= Reduction.LEAF_SIZE) {
+			double[] Result = Kernel.identity();
+			Kernel.leaf(Result, Offset, Count);
+			return Result;
+		}
+		int Half = Reduction.split(Count);
+		double[] Left = Reduction.reduce(Kernel, Offset, Half);
+		Kernel.combine(Left, Reduction.reduce(Kernel, Offset + Half, Count - Half));
+		return Left;
+	}
+	
+	/**
+	 * Returns the size of the left half of a range larger than LEAF_SIZE,
+	 * rounded up to a whole number of leaves
+	 */
+	private static int split(int Count) {
+		return (Count / 2 + Reduction.LEAF_SIZE - 1) / Reduction.LEAF_SIZE * Reduction.LEAF_SIZE;
+	}
+	
+	/**
+	 * The per-leaf accumulation of one reduction and how two partial results
+	 * combine. Partial results are double arrays of a fixed width.
+	 */
+	private static abstract class Kernel {
+		/**
+		 * Returns the partial result of an empty range
+		 */
+		abstract double[] identity();
+		
+		/**
+		 * Accumulates a range of at most LEAF_SIZE elements into Dest
+		 */
+		abstract void leaf(double[] Dest, int Offset, int Count);
+		
+		/**
+		 * Folds the right partial result into the left one
+		 */
+		void combine(double[] Left, double[] Right) {
+			for(int i = 0; i < Left.length; i++) {
+				Left[i] += Right[i];
+			}
+		}
+	}
+	
+	/**
+	 * Minimum and maximum per component. W is null for three components, and
+	 * its slots then stay infinite.
+	 */
+	private static final class Bounds extends Kernel {
+		private final float[] X, Y, Z, W;
+		
+		Bounds(float[] X, float[] Y, float[] Z, float[] W) {
+			this.X = X;
+			this.Y = Y;
+			this.Z = Z;
+			this.W = W;
+		}
+		
+		double[] identity() {
+			double Inf = Double.POSITIVE_INFINITY;
+			return new double[] {Inf, Inf, Inf, Inf, -Inf, -Inf, -Inf, -Inf};
+		}
+		
+		void leaf(double[] Dest, int Offset, int Count) {
+			float[] X = this.X, Y = this.Y, Z = this.Z;
+			float MinX = Float.POSITIVE_INFINITY, MinY = Float.POSITIVE_INFINITY, MinZ = Float.POSITIVE_INFINITY;
+			float MaxX = Float.NEGATIVE_INFINITY, MaxY = Float.NEGATIVE_INFINITY, MaxZ = Float.NEGATIVE_INFINITY;
+			for(int i = Offset, End = Offset + Count; i < End; i++) {
+				MinX = Math.min(MinX, X[i]);
+				MinY = Math.min(MinY, Y[i]);
+				MinZ = Math.min(MinZ, Z[i]);
+				MaxX = Math.max(MaxX, X[i]);
+				MaxY = Math.max(MaxY, Y[i]);
+				MaxZ = Math.max(MaxZ, Z[i]);
+			}
+			Dest[0] = MinX;
+			Dest[1] = MinY;
+			Dest[2] = MinZ;
+			Dest[4] = MaxX;
+			Dest[5] = MaxY;
+			Dest[6] = MaxZ;
+			if(this.W != null) {
+				float[] W = this.W;
+				float MinW = Float.POSITIVE_INFINITY, MaxW = Float.NEGATIVE_INFINITY;
+				for(int i = Offset, End = Offset + Count; i < End; i++) {
+					MinW = Math.min(MinW, W[i]);
+					MaxW = Math.max(MaxW, W[i]);
+				}
+				Dest[3] = MinW;
+				Dest[7] = MaxW;
+			}
+		}
+		
+		void combine(double[] Left, double[] Right) {
+			for(int i = 0; i < 4; i++) {
+				Left[i] = Math.min(Left[i], Right[i]);
+				Left[i + 4] = Math.max(Left[i + 4], Right[i + 4]);
+			}
+		}
+	}
+	
+	/**
+	 * Sum of A[i] . B[i]. W arrays are null for three components.
+	 */
+	private static final class Dot extends Kernel {
+		private final float[] AX, AY, AZ, AW;
+		private final float[] BX, BY, BZ, BW;
+		
+		Dot(float[] AX, float[] AY, float[] AZ, float[] AW, float[] BX, float[] BY, float[] BZ, float[] BW) {
+			this.AX = AX;
+			this.AY = AY;
+			this.AZ = AZ;
+			this.AW = AW;
+			this.BX = BX;
+			this.BY = BY;
+			this.BZ = BZ;
+			this.BW = BW;
+		}
+		
+		double[] identity() {
+			return new double[1];
+		}
+		
+		void leaf(double[] Dest, int Offset, int Count) {
+			float[] AX = this.AX, AY = this.AY, AZ = this.AZ;
+			float[] BX = this.BX, BY = this.BY, BZ = this.BZ;
+			double Sum = 0.0;
+			for(int i = Offset, End = Offset + Count; i < End; i++) {
+				Sum += (double) AX[i] * BX[i] + (double) AY[i] * BY[i] + (double) AZ[i] * BZ[i];
+			}
+			if(this.AW != null) {
+				float[] AW = this.AW, BW = this.BW;
+				for(int i = Offset, End = Offset + Count; i < End; i++) {
+					Sum += (double) AW[i] * BW[i];
+				}
+			}
+			Dest[0] = Sum;
+		}
+	}
+	
+	/**
+	 * Sums of the products of the offsets from a centre: XX, XY, XZ, YY, YZ
+	 * and ZZ
+	 */
+	private static final class Moments extends Kernel {
+		private final float[] X, Y, Z;
+		private final double CX, CY, CZ;
+		
+		Moments(float[] X, float[] Y, float[] Z, double[] Centre) {
+			this.X = X;
+			this.Y = Y;
+			this.Z = Z;
+			this.CX = Centre[0];
+			this.CY = Centre[1];
+			this.CZ = Centre[2];
+		}
+		
+		double[] identity() {
+			return new double[6];
+		}
+		
+		void leaf(double[] Dest, int Offset, int Count) {
+			float[] X = this.X, Y = this.Y, Z = this.Z;
+			double XX = 0.0, XY = 0.0, XZ = 0.0, YY = 0.0, YZ = 0.0, ZZ = 0.0;
+			for(int i = Offset, End = Offset + Count; i < End; i++) {
+				double DX = X[i] - this.CX, DY = Y[i] - this.CY, DZ = Z[i] - this.CZ;
+				XX += DX * DX;
+				XY += DX * DY;
+				XZ += DX * DZ;
+				YY += DY * DY;
+				YZ += DY * DZ;
+				ZZ += DZ * DZ;
+			}
+			Dest[0] = XX;
+			Dest[1] = XY;
+			Dest[2] = XZ;
+			Dest[3] = YY;
+			Dest[4] = YZ;
+			Dest[5] = ZZ;
+		}
+	}
+	
+	/**
+	 * Per-component sums. W is null for three components.
+	 */
+	private static final class Sum extends Kernel {
+		private final float[] X, Y, Z, W;
+		
+		Sum(float[] X, float[] Y, float[] Z, float[] W) {
+			this.X = X;
+			this.Y = Y;
+			this.Z = Z;
+			this.W = W;
+		}
+		
+		double[] identity() {
+			return new double[this.W != null ? 4 : 3];
+		}
+		
+		void leaf(double[] Dest, int Offset, int Count) {
+			float[] X = this.X, Y = this.Y, Z = this.Z;
+			double SX = 0.0, SY = 0.0, SZ = 0.0;
+			for(int i = Offset, End = Offset + Count; i < End; i++) {
+				SX += X[i];
+				SY += Y[i];
+				SZ += Z[i];
+			}
+			Dest[0] = SX;
+			Dest[1] = SY;
+			Dest[2] = SZ;
+			if(this.W != null) {
+				float[] W = this.W;
+				double SW = 0.0;
+				for(int i = Offset, End = Offset + Count; i < End; i++) {
+					SW += W[i];
+				}
+				Dest[3] = SW;
+			}
+		}
+	}
+	
+	/**
+	 * Halves its range until it is at most TASK_SIZE elements, splitting at
+	 * the same points as the serial reduction
+	 */
+	private static final class Task extends RecursiveTask<double[]> {
+		private static final long serialVersionUID = 1L;
+		
+		private final Kernel Kernel;
+		private final int Offset, Count;
+		
+		Task(Kernel Kernel, int Offset, int Count) {
+			this.Kernel = Kernel;
+			this.Offset = Offset;
+			this.Count = Count;
+		}
+		
+		protected double[] compute() {
+			if(this.Count <= Reduction.TASK_SIZE) {
+				return Reduction.reduce(this.Kernel, this.Offset, this.Count);
+			}
+			int Half = Reduction.split(this.Count);
+			Task Left = new Task(this.Kernel, this.Offset, Half);
+			Left.fork();
+			double[] Right = new Task(this.Kernel, this.Offset + Half, this.Count - Half).compute();
+			double[] Result = Left.join();
+			this.Kernel.combine(Result, Right);
+			return Result;
+		}
+	}
+}
@@ -0,0 +1,212 @@
+/* Helios (TM) 3D Engine (Java): Scratch Arena Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+import java.util.Arrays;
+
+/**
+ * A per-thread stack of reusable Vector3, Vector4 and Quaternion temporaries.
+ * A method pushes a frame, takes as many temporaries as it needs, and pops the
+ * frame before returning, which hands every temporary taken since the push
+ * back to the arena:
+ * <pre>
+ * Scratch Arena = Scratch.get();
+ * int Mark = Arena.push();
+ * Vector3 Edge = Arena.vector3();
+ * ...
+ * Arena.pop(Mark);
+ * </pre>
+ * The pools grow on demand and never shrink, so once the deepest call pattern
+ * has run once no further objects are allocated. Temporaries must not outlive
+ * the frame they were taken in, and must not be handed to another thread.
+ * <p>
+ * Setting the system property Helios.scratch.debug to true enables checks:
+ * taking a temporary outside any frame, popping a frame other than the top
+ * one, and calling reset with frames still open throw IllegalStateException.
+ * Popped temporaries are also filled with NaN, so a reference that escaped
+ * its frame shows up as NaN wherever it is used.
+ */
+public final class Scratch {
+	private static final boolean Debug = Boolean.getBoolean("Helios.scratch.debug");
+	private static final ThreadLocal<Scratch> Local = ThreadLocal.withInitial(Scratch::new);
+	
+	private Vector3[] Vectors3 = new Vector3[16];
+	private Vector4[] Vectors4 = new Vector4[16];
+	private Quaternion[] Quaternions = new Quaternion[16];
+	private int Top3, Top4, TopQ;
+	//Three saved tops per open frame
+	private int[] Frames = new int[3 * 16];
+	private int Depth;
+	
+	private Scratch() {
+	}
+	
+	/*
+	 * STATIC METHODS
+	 */
+	
+	/**
+	 * Returns the arena belonging to the calling thread
+	 * @return the arena
+	 */
+	public static Scratch get() {
+		return Scratch.Local.get();
+	}
+	
+	/**
+	 * Returns whether the debug checks are enabled
+	 * @return true if Helios.scratch.debug is set
+	 */
+	public static boolean debug() {
+		return Scratch.Debug;
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Returns the number of open frames
+	 * @return the frame depth
+	 */
+	public int depth() {
+		return this.Depth;
+	}
+	
+	//Mutators
+	
+	/**
+	 * Opens a frame. Every temporary taken until the matching pop is returned
+	 * to the arena by that pop.
+	 * @return a mark to pass to pop
+	 */
+	public int push() {
+		int Base = 3 * this.Depth;
+		if(Base == this.Frames.length) {
+			this.Frames = Arrays.copyOf(this.Frames, 2 * Base);
+		}
+		this.Frames[Base] = this.Top3;
+		this.Frames[Base + 1] = this.Top4;
+		this.Frames[Base + 2] = this.TopQ;
+		return this.Depth++;
+	}
+	
+	/**
+	 * Closes the innermost frame, returning its temporaries to the arena
+	 * @param Mark the mark returned by the matching push
+	 * @throws IllegalStateException if there is no open frame, or in debug
+	 * mode if the mark is not that of the innermost frame
+	 */
+	public void pop(int Mark) {
+		if(this.Depth == 0) {
+			throw new IllegalStateException("Scratch pop without a matching push");
+		}
+		if(Scratch.Debug && Mark != this.Depth - 1) {
+			throw new IllegalStateException("Scratch frame " + Mark + " popped while frame " + (this.Depth - 1) + " is open");
+		}
+		this.Depth--;
+		int Base = 3 * this.Depth;
+		this.release(this.Frames[Base], this.Frames[Base + 1], this.Frames[Base + 2]);
+	}
+	
+	/**
+	 * Returns a temporary quaternion. Its contents are undefined.
+	 * @return a quaternion owned by the innermost frame
+	 */
+	public Quaternion quaternion() {
+		this.check();
+		if(this.TopQ == this.Quaternions.length) {
+			this.Quaternions = Arrays.copyOf(this.Quaternions, 2 * this.TopQ);
+		}
+		Quaternion Result = this.Quaternions[this.TopQ];
+		if(Result == null) {
+			Result = this.Quaternions[this.TopQ] = new Quaternion();
+		}
+		this.TopQ++;
+		return Result;
+	}
+	
+	/**
+	 * Discards every frame and temporary. Intended to be called once per frame
+	 * of the main loop as a backstop for unbalanced push and pop.
+	 * @throws IllegalStateException in debug mode if frames are still open
+	 */
+	public void reset() {
+		if(Scratch.Debug && this.Depth != 0) {
+			int Open = this.Depth;
+			this.Depth = 0;
+			this.release(0, 0, 0);
+			throw new IllegalStateException(Open + " scratch frame(s) leaked, push without pop");
+		}
+		this.Depth = 0;
+		this.release(0, 0, 0);
+	}
+	
+	/**
+	 * Returns a temporary 3D vector. Its contents are undefined.
+	 * @return a vector owned by the innermost frame
+	 */
+	public Vector3 vector3() {
+		this.check();
+		if(this.Top3 == this.Vectors3.length) {
+			this.Vectors3 = Arrays.copyOf(this.Vectors3, 2 * this.Top3);
+		}
+		Vector3 Result = this.Vectors3[this.Top3];
+		if(Result == null) {
+			Result = this.Vectors3[this.Top3] = new Vector3();
+		}
+		this.Top3++;
+		return Result;
+	}
+	
+	/**
+	 * Returns a temporary 4D vector. Its contents are undefined.
+	 * @return a vector owned by the innermost frame
+	 */
+	public Vector4 vector4() {
+		this.check();
+		if(this.Top4 == this.Vectors4.length) {
+			this.Vectors4 = Arrays.copyOf(this.Vectors4, 2 * this.Top4);
+		}
+		Vector4 Result = this.Vectors4[this.Top4];
+		if(Result == null) {
+			Result = this.Vectors4[this.Top4] = new Vector4();
+		}
+		this.Top4++;
+		return Result;
+	}
+	
+	private void check() {
+		if(Scratch.Debug && this.Depth == 0) {
+			throw new IllegalStateException("Scratch temporary taken outside a push/pop frame");
+		}
+	}
+	
+	/**
+	 * Lowers the tops to the given values, poisoning the released temporaries
+	 * in debug mode
+	 */
+	private void release(int Top3, int Top4, int TopQ) {
+		if(Scratch.Debug) {
+			for(int i = Top3; i < this.Top3; i++) {
+				this.Vectors3[i].set(Float.NaN, Float.NaN, Float.NaN);
+			}
+			for(int i = Top4; i < this.Top4; i++) {
+				this.Vectors4[i].set(Float.NaN, Float.NaN, Float.NaN, Float.NaN);
+			}
+			for(int i = TopQ; i < this.TopQ; i++) {
+				this.Quaternions[i].set(Float.NaN, Float.NaN, Float.NaN, Float.NaN);
+			}
+		}
+		this.Top3 = Top3;
+		this.Top4 = Top4;
+		this.TopQ = TopQ;
+	}
+}
@@ -28,8 +28,10 @@ public class Vector2 {
 	
 	/*
 	 * STATIC METHODS
-	 * All computation is performed using these methods, and they all return
-	 * a the result in a new vector2 or float object.
+	 * All computation is performed using these methods. They return the
+	 * result in a new Vector2 or float object, or write it into a destination
+	 * vector supplied by the caller. The destination may be one of the
+	 * operands.
 	 */
 	
 	/**
@@ -40,10 +42,23 @@ public class Vector2 {
 	 * @return a new vector
 	 */
 	public static Vector2 add(Vector2 Vector, float X, float Y) {
+		return Vector2.add(Vector, X, Y, new Vector2());
+	}
+	
+	/**
+	 * Adds the XY values to the vector, storing the result in the destination
+	 * @param Vector the vector
+	 * @param X a float
+	 * @param Y a float
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector2 add(Vector2 Vector, float X, float Y, Vector2 Dest) {
 		float NX, NY;
 		NX = Vector.x() + X;
 		NY = Vector.y() + Y;
-		return new Vector2(NX, NY);
+		Dest.set(NX, NY);
+		return Dest;
 	}
 	
 	/**
@@ -54,10 +69,73 @@ public class Vector2 {
 	 * @return a new vector
 	 */
 	public static Vector2 add(Vector2 A, Vector2 B) {
+		return Vector2.add(A, B, new Vector2());
+	}
+	
+	/**
+	 * Adds the "right side" vector to the "left side" vector, storing the
+	 * result in the destination
+	 * @param A left-side vector
+	 * @param B right-side vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector2 add(Vector2 A, Vector2 B, Vector2 Dest) {
 		float X, Y;
 		X = A.x() + B.x();
 		Y = A.y() + B.y();
-		return new Vector2(X, Y);
+		Dest.set(X, Y);
+		return Dest;
+	}
+	
+	/**
+	 * Adds the "right side" vector scaled by a factor to the "left side"
+	 * vector, returning the result in a new vector
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Scale a float scaling the "right side" vector
+	 * @return a new vector
+	 */
+	public static Vector2 addScaled(Vector2 A, Vector2 B, float Scale) {
+		return Vector2.addScaled(A, B, Scale, new Vector2(), false);
+	}
+	
+	/**
+	 * Adds the "right side" vector scaled by a factor to the "left side"
+	 * vector, storing the result in the destination
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Scale a float scaling the "right side" vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector2 addScaled(Vector2 A, Vector2 B, float Scale, Vector2 Dest) {
+		return Vector2.addScaled(A, B, Scale, Dest, false);
+	}
+	
+	/**
+	 * Adds the "right side" vector scaled by a factor to the "left side"
+	 * vector, storing the result in the destination. Fused components are
+	 * computed by Math.fma with a single rounding, which is only fast where
+	 * the hardware has a fused multiply-add instruction.
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Scale a float scaling the "right side" vector
+	 * @param Dest the destination vector
+	 * @param Fused whether to round once using Math.fma
+	 * @return the destination vector
+	 */
+	public static Vector2 addScaled(Vector2 A, Vector2 B, float Scale, Vector2 Dest, boolean Fused) {
+		float X, Y;
+		if(Fused) {
+			X = Math.fma(B.x(), Scale, A.x());
+			Y = Math.fma(B.y(), Scale, A.y());
+		} else {
+			X = A.x() + B.x() * Scale;
+			Y = A.y() + B.y() * Scale;
+		}
+		Dest.set(X, Y);
+		return Dest;
 	}
 	
 	/**
@@ -109,13 +187,122 @@ public class Vector2 {
 		return (float) Math.sqrt(Vector.x() * Vector.x() + Vector.y() * Vector.y());
 	}
 	
+	/**
+	 * Linearly interpolates from the "left side" vector to the "right side"
+	 * vector, returning the result in a new vector
+	 * @param A the "left side" vector, returned at T = 0
+	 * @param B the "right side" vector, approached as T reaches 1
+	 * @param T a float representing the interpolation factor
+	 * @return a new vector
+	 */
+	public static Vector2 lerp(Vector2 A, Vector2 B, float T) {
+		return Vector2.lerp(A, B, T, new Vector2(), false);
+	}
+	
+	/**
+	 * Linearly interpolates from the "left side" vector to the "right side"
+	 * vector, storing the result in the destination
+	 * @param A the "left side" vector, returned at T = 0
+	 * @param B the "right side" vector, approached as T reaches 1
+	 * @param T a float representing the interpolation factor
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector2 lerp(Vector2 A, Vector2 B, float T, Vector2 Dest) {
+		return Vector2.lerp(A, B, T, Dest, false);
+	}
+	
+	/**
+	 * Linearly interpolates from the "left side" vector to the "right side"
+	 * vector as A + (B - A) * T, storing the result in the destination
+	 * @param A the "left side" vector, returned at T = 0
+	 * @param B the "right side" vector, approached as T reaches 1
+	 * @param T a float representing the interpolation factor
+	 * @param Dest the destination vector
+	 * @param Fused whether to round the multiply-add once using Math.fma
+	 * @return the destination vector
+	 * @see #addScaled(Vector2, Vector2, float, Vector2, boolean)
+	 */
+	public static Vector2 lerp(Vector2 A, Vector2 B, float T, Vector2 Dest, boolean Fused) {
+		float X, Y;
+		if(Fused) {
+			X = Math.fma(B.x() - A.x(), T, A.x());
+			Y = Math.fma(B.y() - A.y(), T, A.y());
+		} else {
+			X = A.x() + (B.x() - A.x()) * T;
+			Y = A.y() + (B.y() - A.y()) * T;
+		}
+		Dest.set(X, Y);
+		return Dest;
+	}
+	
+	/**
+	 * Multiplies two vectors component-wise and adds a third, returning the
+	 * result in a new vector
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param C the vector added to the product
+	 * @return a new vector
+	 */
+	public static Vector2 madd(Vector2 A, Vector2 B, Vector2 C) {
+		return Vector2.madd(A, B, C, new Vector2(), false);
+	}
+	
+	/**
+	 * Multiplies two vectors component-wise and adds a third, storing the
+	 * result in the destination
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param C the vector added to the product
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector2 madd(Vector2 A, Vector2 B, Vector2 C, Vector2 Dest) {
+		return Vector2.madd(A, B, C, Dest, false);
+	}
+	
+	/**
+	 * Multiplies two vectors component-wise and adds a third, storing the
+	 * result in the destination
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param C the vector added to the product
+	 * @param Dest the destination vector
+	 * @param Fused whether to round once using Math.fma
+	 * @return the destination vector
+	 * @see #addScaled(Vector2, Vector2, float, Vector2, boolean)
+	 */
+	public static Vector2 madd(Vector2 A, Vector2 B, Vector2 C, Vector2 Dest, boolean Fused) {
+		float X, Y;
+		if(Fused) {
+			X = Math.fma(A.x(), B.x(), C.x());
+			Y = Math.fma(A.y(), B.y(), C.y());
+		} else {
+			X = A.x() * B.x() + C.x();
+			Y = A.y() * B.y() + C.y();
+		}
+		Dest.set(X, Y);
+		return Dest;
+	}
+	
 	/**
 	 * Negates the vector, returning the result as a new vector
 	 * @param Vector a vector
 	 * @return a new vector
 	 */
 	public static Vector2 negate(Vector2 Vector) {
-		return new Vector2(-Vector.x(), -Vector.y());
+		return Vector2.negate(Vector, new Vector2());
+	}
+	
+	/**
+	 * Negates the vector, storing the result in the destination
+	 * @param Vector a vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector2 negate(Vector2 Vector, Vector2 Dest) {
+		Dest.set(-Vector.x(), -Vector.y());
+		return Dest;
 	}
 	
 	/**
@@ -124,17 +311,28 @@ public class Vector2 {
 	 * @return a new vector
 	 */
 	public static Vector2 normalize(Vector2 Vector) {
-		float X, Y;
-		float Length = (float) Math.sqrt(Vector.x() * Vector.x() + Vector.y() * Vector.y());
+		return Vector2.normalize(Vector, new Vector2());
+	}
+	
+	/**
+	 * Normalizes the vector, storing the result in the destination
+	 * @param Vector a vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector2 normalize(Vector2 Vector, Vector2 Dest) {
+		float X = Vector.x(), Y = Vector.y();
+		float Length = (float) Math.sqrt(X * X + Y * Y);
 		if(Length != 0.0f) {
 			Length = 1.0f / Length;
-			X = Vector.x() * Length;
-			Y = Vector.y() * Length;
+			X *= Length;
+			Y *= Length;
 		} else {
 			X = 0.0f;
 			Y = 0.0f;
 		}
-		return new Vector2(X, Y);
+		Dest.set(X, Y);
+		return Dest;
 	}
 	
 	/**
@@ -145,10 +343,23 @@ public class Vector2 {
 	 * @return a new vector
 	 */
 	public static Vector2 scale(Vector2 Vector, float X, float Y) {
+		return Vector2.scale(Vector, X, Y, new Vector2());
+	}
+	
+	/**
+	 * Scales the vector by XY, storing the result in the destination
+	 * @param Vector the vector
+	 * @param X a float representing the X scale
+	 * @param Y a float representing the Y scale
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector2 scale(Vector2 Vector, float X, float Y, Vector2 Dest) {
 		float NX, NY;
 		NX = Vector.x() * X;
 		NY = Vector.y() * Y;
-		return new Vector2(NX, NY);
+		Dest.set(NX, NY);
+		return Dest;
 	}
 	
 	/**
@@ -158,10 +369,62 @@ public class Vector2 {
 	 * @return a new vector
 	 */
 	public static Vector2 scale(Vector2 A, Vector2 B) {
+		return Vector2.scale(A, B, new Vector2());
+	}
+	
+	/**
+	 * Scales the vector by another vector, storing the result in the destination
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector representing the XY scale
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector2 scale(Vector2 A, Vector2 B, Vector2 Dest) {
 		float NX, NY;
 		NX = A.x() * B.x();
 		NY = A.y() * B.y();
-		return new Vector2(NX, NY);
+		Dest.set(NX, NY);
+		return Dest;
+	}
+	
+	/**
+	 * Scales the "left side" vector by a factor and adds the "right side"
+	 * vector, returning the result in a new vector
+	 * @param A the "left side" vector
+	 * @param Scale a float scaling the "left side" vector
+	 * @param B the "right side" vector
+	 * @return a new vector
+	 */
+	public static Vector2 scaleAdd(Vector2 A, float Scale, Vector2 B) {
+		return Vector2.addScaled(B, A, Scale, new Vector2(), false);
+	}
+	
+	/**
+	 * Scales the "left side" vector by a factor and adds the "right side"
+	 * vector, storing the result in the destination
+	 * @param A the "left side" vector
+	 * @param Scale a float scaling the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector2 scaleAdd(Vector2 A, float Scale, Vector2 B, Vector2 Dest) {
+		return Vector2.addScaled(B, A, Scale, Dest, false);
+	}
+	
+	/**
+	 * Scales the "left side" vector by a factor and adds the "right side"
+	 * vector, storing the result in the destination
+	 * @param A the "left side" vector
+	 * @param Scale a float scaling the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Dest the destination vector
+	 * @param Fused whether to round once using Math.fma
+	 * @return the destination vector
+	 * @see #addScaled(Vector2, Vector2, float, Vector2, boolean)
+	 */
+	public static Vector2 scaleAdd(Vector2 A, float Scale, Vector2 B, Vector2 Dest, boolean Fused) {
+		return Vector2.addScaled(B, A, Scale, Dest, Fused);
 	}
 	
 	/**
@@ -172,10 +435,23 @@ public class Vector2 {
 	 * @return a new vector
 	 */
 	public static Vector2 subtract(Vector2 Vector, float X, float Y) {
+		return Vector2.subtract(Vector, X, Y, new Vector2());
+	}
+	
+	/**
+	 * Subtracts the XY values from the vector, storing the result in the destination
+	 * @param Vector the vector
+	 * @param X a float
+	 * @param Y a float
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector2 subtract(Vector2 Vector, float X, float Y, Vector2 Dest) {
 		float NX, NY;
 		NX = Vector.x() - X;
 		NY = Vector.y() - Y;
-		return new Vector2(NX, NY);
+		Dest.set(NX, NY);
+		return Dest;
 	}
 	
 	/**
@@ -186,15 +462,29 @@ public class Vector2 {
 	 * @return a new vector
 	 */
 	public static Vector2 subtract(Vector2 A, Vector2 B) {
+		return Vector2.subtract(A, B, new Vector2());
+	}
+	
+	/**
+	 * Subtracts the "right side" vector from the "left side" vector, storing
+	 * the result in the destination
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector2 subtract(Vector2 A, Vector2 B, Vector2 Dest) {
 		float X, Y;
 		X = A.x() - B.x();
 		Y = A.y() - B.y();
-		return new Vector2(X, Y);
+		Dest.set(X, Y);
+		return Dest;
 	}
 	
 	/*
 	 * INSTANCE METHODS
-	 * All computations are forwarded from these methods to the static methods
+	 * All computations are forwarded from these methods to the static methods.
+	 * Mutators pass this vector as the destination and do not allocate.
 	 */
 	
 	//Accessors
@@ -210,7 +500,7 @@ public class Vector2 {
 	}
 	
 	public void copy(Vector2 Vector) {
-		Vector.set(this.X, this.Y);
+		Vector.set(this.x(), this.y());
 	}
 	
 	/**
@@ -236,7 +526,7 @@ public class Vector2 {
 	 * Format: "(X, Y)"
 	 */
 	public String toString() {
-		return "(" + this.X + ", " + this.Y + ")";
+		return "(" + this.x() + ", " + this.y() + ")";
 	}
 	
 	public float x() {
@@ -255,7 +545,7 @@ public class Vector2 {
 	 * @param Y a float
 	 */
 	public void add(float X, float Y) {
-		this.set(Vector2.add(this, X, Y));
+		Vector2.add(this, X, Y, this);
 	}
 	
 	/**
@@ -263,29 +553,91 @@ public class Vector2 {
 	 * @param Vector a vector
 	 */
 	public void add(Vector2 Vector) {
-		this.set(Vector2.add(this, Vector));
+		Vector2.add(this, Vector, this);
+	}
+	
+	/**
+	 * Adds another vector scaled by a factor to this vector, overwriting the
+	 * existing values
+	 * @param Vector a vector
+	 * @param Scale a float scaling the other vector
+	 */
+	public void addScaled(Vector2 Vector, float Scale) {
+		Vector2.addScaled(this, Vector, Scale, this, false);
+	}
+	
+	/**
+	 * Adds another vector scaled by a factor to this vector, overwriting the
+	 * existing values
+	 * @param Vector a vector
+	 * @param Scale a float scaling the other vector
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void addScaled(Vector2 Vector, float Scale, boolean Fused) {
+		Vector2.addScaled(this, Vector, Scale, this, Fused);
 	}
 	
 	/**
 	 * Sets the vector's components to zero	
 	 */
 	public void clear() {
-		this.X = 0.0f;
-		this.Y = 0.0f;
+		this.set(0.0f, 0.0f);
+	}
+	
+	/**
+	 * Linearly interpolates this vector towards another vector, overwriting
+	 * the existing values
+	 * @param Vector the target vector
+	 * @param T a float representing the interpolation factor
+	 */
+	public void lerp(Vector2 Vector, float T) {
+		Vector2.lerp(this, Vector, T, this, false);
+	}
+	
+	/**
+	 * Linearly interpolates this vector towards another vector, overwriting
+	 * the existing values
+	 * @param Vector the target vector
+	 * @param T a float representing the interpolation factor
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void lerp(Vector2 Vector, float T, boolean Fused) {
+		Vector2.lerp(this, Vector, T, this, Fused);
+	}
+	
+	/**
+	 * Multiplies this vector component-wise by another vector and adds a
+	 * third, overwriting the existing values
+	 * @param B a vector representing the XY scale
+	 * @param C a vector added to the product
+	 */
+	public void madd(Vector2 B, Vector2 C) {
+		Vector2.madd(this, B, C, this, false);
+	}
+	
+	/**
+	 * Multiplies this vector component-wise by another vector and adds a
+	 * third, overwriting the existing values
+	 * @param B a vector representing the XY scale
+	 * @param C a vector added to the product
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void madd(Vector2 B, Vector2 C, boolean Fused) {
+		Vector2.madd(this, B, C, this, Fused);
 	}
 	
 	/**
 	 * Negates this vector, overwriting the existing values
 	 */
 	public void negate() {
-		this.set(Vector2.negate(this));
+		Vector2.negate(this, this);
 	}
 	
 	/**
 	 * Normalizes this vector, overwriting the existing values
 	 */
 	public void normalize() {
-		this.set(Vector2.normalize(this));
+		Vector2.normalize(this, this);
 	}
 	
 	/**
@@ -294,7 +646,7 @@ public class Vector2 {
 	 * @param Y a float representing the Y scale
 	 */
 	public void scale(float X, float Y) {
-		this.set(Vector2.scale(this, X, Y));
+		Vector2.scale(this, X, Y, this);
 	}
 	
 	/**
@@ -302,7 +654,28 @@ public class Vector2 {
 	 * @param Vector a vector representing the XY scale
 	 */
 	public void scale(Vector2 Vector) {
-		this.set(Vector2.scale(this, Vector));
+		Vector2.scale(this, Vector, this);
+	}
+	
+	/**
+	 * Scales this vector by a factor and adds another vector, overwriting the
+	 * existing values
+	 * @param Scale a float scaling this vector
+	 * @param Vector a vector
+	 */
+	public void scaleAdd(float Scale, Vector2 Vector) {
+		Vector2.addScaled(Vector, this, Scale, this, false);
+	}
+	
+	/**
+	 * Scales this vector by a factor and adds another vector, overwriting the
+	 * existing values
+	 * @param Scale a float scaling this vector
+	 * @param Vector a vector
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void scaleAdd(float Scale, Vector2 Vector, boolean Fused) {
+		Vector2.addScaled(Vector, this, Scale, this, Fused);
 	}
 	
 	/**
@@ -319,8 +692,7 @@ public class Vector2 {
 	 * @param Vector
 	 */
 	public void set(Vector2 Vector) {
-		this.X = Vector.x();
-		this.Y = Vector.y();
+		this.set(Vector.x(), Vector.y());
 	}
 	
 	/**
@@ -329,7 +701,7 @@ public class Vector2 {
 	 * @param Y a float
 	 */
 	public void subtract(float X, float Y) {
-		this.set(Vector2.subtract(this, X, Y));
+		Vector2.subtract(this, X, Y, this);
 	}
 	
 	/**
@@ -337,7 +709,7 @@ public class Vector2 {
 	 * @param Vector a vector
 	 */
 	public void subtract(Vector2 Vector) {
-		Vector2.subtract(this, Vector);
+		Vector2.subtract(this, Vector, this);
 	}
 	
 	public void x(float X) {
@@ -32,8 +32,10 @@ public class Vector3 {
 	
 	/*
 	 * STATIC METHODS
-	 * All computation is performed using these methods, and they all return
-	 * a the result in a new Vector3 or float object.
+	 * All computation is performed using these methods. They return the
+	 * result in a new Vector3 or float object, or write it into a destination
+	 * vector supplied by the caller. The destination may be one of the
+	 * operands.
 	 */
 	
 	/**
@@ -45,26 +47,105 @@ public class Vector3 {
 	 * @return a new vector
 	 */
 	public static Vector3 add(Vector3 Vector, float X, float Y, float Z) {
+		return Vector3.add(Vector, X, Y, Z, new Vector3());
+	}
+	
+	/**
+	 * Adds the XY values to the vector, storing the result in the destination
+	 * @param Vector the vector
+	 * @param X a float
+	 * @param Y a float
+	 * @param Z a float
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector3 add(Vector3 Vector, float X, float Y, float Z, Vector3 Dest) {
 		float NX, NY, NZ;
 		NX = Vector.x() + X;
 		NY = Vector.y() + Y;
 		NZ = Vector.z() + Z;
-		return new Vector3(NX, NY, NZ);
+		Dest.set(NX, NY, NZ);
+		return Dest;
 	}
 	
 	/**
-	 * Adds the "right side" vector to the "left side" vector, returning the 
+	 * Adds the "right side" vector to the "left side" vector, returning the
 	 * result in a new vector
 	 * @param A left-side vector
 	 * @param B right-side vector
 	 * @return a new vector
 	 */
 	public static Vector3 add(Vector3 A, Vector3 B) {
+		return Vector3.add(A, B, new Vector3());
+	}
+	
+	/**
+	 * Adds the "right side" vector to the "left side" vector, storing the
+	 * result in the destination
+	 * @param A left-side vector
+	 * @param B right-side vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector3 add(Vector3 A, Vector3 B, Vector3 Dest) {
 		float X, Y, Z;
 		X = A.x() + B.x();
 		Y = A.y() + B.y();
 		Z = A.z() + B.z();
-		return new Vector3(X, Y, Z);
+		Dest.set(X, Y, Z);
+		return Dest;
+	}
+	
+	/**
+	 * Adds the "right side" vector scaled by a factor to the "left side"
+	 * vector, returning the result in a new vector
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Scale a float scaling the "right side" vector
+	 * @return a new vector
+	 */
+	public static Vector3 addScaled(Vector3 A, Vector3 B, float Scale) {
+		return Vector3.addScaled(A, B, Scale, new Vector3(), false);
+	}
+	
+	/**
+	 * Adds the "right side" vector scaled by a factor to the "left side"
+	 * vector, storing the result in the destination
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Scale a float scaling the "right side" vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector3 addScaled(Vector3 A, Vector3 B, float Scale, Vector3 Dest) {
+		return Vector3.addScaled(A, B, Scale, Dest, false);
+	}
+	
+	/**
+	 * Adds the "right side" vector scaled by a factor to the "left side"
+	 * vector, storing the result in the destination. Fused components are
+	 * computed by Math.fma with a single rounding, which is only fast where
+	 * the hardware has a fused multiply-add instruction.
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Scale a float scaling the "right side" vector
+	 * @param Dest the destination vector
+	 * @param Fused whether to round once using Math.fma
+	 * @return the destination vector
+	 */
+	public static Vector3 addScaled(Vector3 A, Vector3 B, float Scale, Vector3 Dest, boolean Fused) {
+		float X, Y, Z;
+		if(Fused) {
+			X = Math.fma(B.x(), Scale, A.x());
+			Y = Math.fma(B.y(), Scale, A.y());
+			Z = Math.fma(B.z(), Scale, A.z());
+		} else {
+			X = A.x() + B.x() * Scale;
+			Y = A.y() + B.y() * Scale;
+			Z = A.z() + B.z() * Scale;
+		}
+		Dest.set(X, Y, Z);
+		return Dest;
 	}
 	
 	/**
@@ -73,15 +154,41 @@ public class Vector3 {
 	 * @param A the "left side" vector
 	 * @param B the "right side" vector
 	 * @return a new vector representing the axis-angle
+	 * @see Quaternion#fromTo(Vector3, Vector3)
 	 */
 	public static Vector4 axisAngle(Vector3 A, Vector3 B) {
-		float Angle;
-		Vector3 Axis, NormA, NormB;
-		NormA = Vector3.normalize(A);
-		NormB = Vector3.normalize(B);
-		Angle = (float) Math.acos(Vector3.dot(NormA, NormB));
-		Axis = Vector3.cross(NormA, NormB);
-		return new Vector4(Axis, Angle);
+		return Vector3.axisAngle(A, B, new Vector4());
+	}
+	
+	/**
+	 * Calculates the axis-angle between two vectors, storing the result in the
+	 * destination vector4
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Dest the destination vector4
+	 * @return the destination vector4
+	 * @see Quaternion#fromTo(Vector3, Vector3, Quaternion)
+	 */
+	public static Vector4 axisAngle(Vector3 A, Vector3 B, Vector4 Dest) {
+		float AX = A.x(), AY = A.y(), AZ = A.z();
+		float BX = B.x(), BY = B.y(), BZ = B.z();
+		float Length = (float) Math.sqrt(AX * AX + AY * AY + AZ * AZ);
+		if(Length != 0.0f) {
+			Length = 1.0f / Length;
+		}
+		AX *= Length;
+		AY *= Length;
+		AZ *= Length;
+		Length = (float) Math.sqrt(BX * BX + BY * BY + BZ * BZ);
+		if(Length != 0.0f) {
+			Length = 1.0f / Length;
+		}
+		BX *= Length;
+		BY *= Length;
+		BZ *= Length;
+		float Angle = (float) Math.acos(AX * BX + AY * BY + AZ * BZ);
+		Dest.set(AY * BZ - AZ * BY, AZ * BX - AX * BZ, AX * BY - AY * BX, Angle);
+		return Dest;
 	}
 	
 	/**
@@ -92,11 +199,26 @@ public class Vector3 {
 	 * @return a new vector representing the cross product
 	 */
 	public static Vector3 cross(Vector3 A, Vector3 B) {
+		return Vector3.cross(A, B, new Vector3());
+	}
+	
+	/**
+	 * Calculates the cross product between two vectors, storing the result in
+	 * the destination
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector3 cross(Vector3 A, Vector3 B, Vector3 Dest) {
+		float AX = A.x(), AY = A.y(), AZ = A.z();
+		float BX = B.x(), BY = B.y(), BZ = B.z();
 		float X, Y, Z;
-		X = A.y() * B.z() - A.z() * B.y();
-		Y = A.x() * B.z() - A.z() * B.x();
-		Z = A.x() * B.y() - A.y() * B.x();
-		return new Vector3(X, Y, Z);
+		X = AY * BZ - AZ * BY;
+		Y = AZ * BX - AX * BZ;
+		Z = AX * BY - AY * BX;
+		Dest.set(X, Y, Z);
+		return Dest;
 	}
 	
 	/**
@@ -109,17 +231,161 @@ public class Vector3 {
 		return A.x() * B.x() + A.y() * B.y() + A.z() * B.z();
 	}
 	
+	/**
+	 * Approximately normalizes the vector, returning the result as a new
+	 * vector. Lengths below about 1E-19 or above about 1.8E19 are not
+	 * supported.
+	 * @param Vector a vector
+	 * @return a new vector
+	 */
+	public static Vector3 fastNormalize(Vector3 Vector) {
+		return Vector3.fastNormalize(Vector, new Vector3());
+	}
+	
+	/**
+	 * Approximately normalizes the vector, storing the result in the
+	 * destination. Uses a reciprocal square root estimate refined by Newton
+	 * steps instead of a square root and a division. The result has length 1
+	 * within 4.8E-6, and a zero vector stays zero. As with
+	 * FastMath.inverseSqrt, a subnormal or infinite squared length is not
+	 * supported: a nonzero vector shorter than about 1E-19 comes out too short,
+	 * and one longer than about 1.8E19 comes out NaN. Use normalize there.
+	 * @param Vector a vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 * @see FastMath#inverseSqrt(float)
+	 */
+	public static Vector3 fastNormalize(Vector3 Vector, Vector3 Dest) {
+		float X = Vector.x(), Y = Vector.y(), Z = Vector.z();
+		float InverseLength = FastMath.inverseSqrt(X * X + Y * Y + Z * Z);
+		Dest.set(X * InverseLength, Y * InverseLength, Z * InverseLength);
+		return Dest;
+	}
+	
 	public static float length(Vector3 Vector) {
 		return (float) Math.sqrt(Vector.x() * Vector.x() + Vector.y() * Vector.y() + Vector.z() * Vector.z());
 	}
 	
+	/**
+	 * Linearly interpolates from the "left side" vector to the "right side"
+	 * vector, returning the result in a new vector
+	 * @param A the "left side" vector, returned at T = 0
+	 * @param B the "right side" vector, approached as T reaches 1
+	 * @param T a float representing the interpolation factor
+	 * @return a new vector
+	 */
+	public static Vector3 lerp(Vector3 A, Vector3 B, float T) {
+		return Vector3.lerp(A, B, T, new Vector3(), false);
+	}
+	
+	/**
+	 * Linearly interpolates from the "left side" vector to the "right side"
+	 * vector, storing the result in the destination
+	 * @param A the "left side" vector, returned at T = 0
+	 * @param B the "right side" vector, approached as T reaches 1
+	 * @param T a float representing the interpolation factor
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector3 lerp(Vector3 A, Vector3 B, float T, Vector3 Dest) {
+		return Vector3.lerp(A, B, T, Dest, false);
+	}
+	
+	/**
+	 * Linearly interpolates from the "left side" vector to the "right side"
+	 * vector as A + (B - A) * T, storing the result in the destination
+	 * @param A the "left side" vector, returned at T = 0
+	 * @param B the "right side" vector, approached as T reaches 1
+	 * @param T a float representing the interpolation factor
+	 * @param Dest the destination vector
+	 * @param Fused whether to round the multiply-add once using Math.fma
+	 * @return the destination vector
+	 * @see #addScaled(Vector3, Vector3, float, Vector3, boolean)
+	 */
+	public static Vector3 lerp(Vector3 A, Vector3 B, float T, Vector3 Dest, boolean Fused) {
+		float X, Y, Z;
+		if(Fused) {
+			X = Math.fma(B.x() - A.x(), T, A.x());
+			Y = Math.fma(B.y() - A.y(), T, A.y());
+			Z = Math.fma(B.z() - A.z(), T, A.z());
+		} else {
+			X = A.x() + (B.x() - A.x()) * T;
+			Y = A.y() + (B.y() - A.y()) * T;
+			Z = A.z() + (B.z() - A.z()) * T;
+		}
+		Dest.set(X, Y, Z);
+		return Dest;
+	}
+	
+	/**
+	 * Multiplies two vectors component-wise and adds a third, returning the
+	 * result in a new vector
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param C the vector added to the product
+	 * @return a new vector
+	 */
+	public static Vector3 madd(Vector3 A, Vector3 B, Vector3 C) {
+		return Vector3.madd(A, B, C, new Vector3(), false);
+	}
+	
+	/**
+	 * Multiplies two vectors component-wise and adds a third, storing the
+	 * result in the destination
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param C the vector added to the product
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector3 madd(Vector3 A, Vector3 B, Vector3 C, Vector3 Dest) {
+		return Vector3.madd(A, B, C, Dest, false);
+	}
+	
+	/**
+	 * Multiplies two vectors component-wise and adds a third, storing the
+	 * result in the destination
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param C the vector added to the product
+	 * @param Dest the destination vector
+	 * @param Fused whether to round once using Math.fma
+	 * @return the destination vector
+	 * @see #addScaled(Vector3, Vector3, float, Vector3, boolean)
+	 */
+	public static Vector3 madd(Vector3 A, Vector3 B, Vector3 C, Vector3 Dest, boolean Fused) {
+		float X, Y, Z;
+		if(Fused) {
+			X = Math.fma(A.x(), B.x(), C.x());
+			Y = Math.fma(A.y(), B.y(), C.y());
+			Z = Math.fma(A.z(), B.z(), C.z());
+		} else {
+			X = A.x() * B.x() + C.x();
+			Y = A.y() * B.y() + C.y();
+			Z = A.z() * B.z() + C.z();
+		}
+		Dest.set(X, Y, Z);
+		return Dest;
+	}
+	
 	/**
 	 * Negates the vector, returning the result as a new vector
 	 * @param Vector a vector
 	 * @return a new vector
 	 */
 	public static Vector3 negate(Vector3 Vector) {
-		return new Vector3(-Vector.x(), -Vector.y(), -Vector.z());
+		return Vector3.negate(Vector, new Vector3());
+	}
+	
+	/**
+	 * Negates the vector, storing the result in the destination
+	 * @param Vector a vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector3 negate(Vector3 Vector, Vector3 Dest) {
+		Dest.set(-Vector.x(), -Vector.y(), -Vector.z());
+		return Dest;
 	}
 	
 	/**
@@ -128,19 +394,30 @@ public class Vector3 {
 	 * @return a new vector
 	 */
 	public static Vector3 normalize(Vector3 Vector) {
-		float X, Y, Z;
-		float Length = (float) Math.sqrt(Vector.x() * Vector.x() + Vector.y() * Vector.y() + Vector.z() * Vector.z());
+		return Vector3.normalize(Vector, new Vector3());
+	}
+	
+	/**
+	 * Normalizes the vector, storing the result in the destination
+	 * @param Vector a vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector3 normalize(Vector3 Vector, Vector3 Dest) {
+		float X = Vector.x(), Y = Vector.y(), Z = Vector.z();
+		float Length = (float) Math.sqrt(X * X + Y * Y + Z * Z);
 		if(Length != 0.0f) {
 			Length = 1.0f / Length;
-			X = Vector.x() * Length;
-			Y = Vector.y() * Length;
-			Z = Vector.z() * Length;
+			X *= Length;
+			Y *= Length;
+			Z *= Length;
 		} else {
 			X = 0.0f;
 			Y = 0.0f;
 			Z = 0.0f;
 		}
-		return new Vector3(X, Y, Z);
+		Dest.set(X, Y, Z);
+		return Dest;
 	}
 	
 	/**
@@ -150,11 +427,63 @@ public class Vector3 {
 	 * @return a new vector
 	 */
 	public static Vector3 scale(Vector3 A, Vector3 B) {
+		return Vector3.scale(A, B, new Vector3());
+	}
+	
+	/**
+	 * Scales the vector by another vector, storing the result in the destination
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector representing the XYZ scale
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector3 scale(Vector3 A, Vector3 B, Vector3 Dest) {
 		float NX, NY, NZ;
 		NX = A.x() * B.x();
 		NY = A.y() * B.y();
 		NZ = A.z() * B.z();
-		return new Vector3(NX, NY, NZ);
+		Dest.set(NX, NY, NZ);
+		return Dest;
+	}
+	
+	/**
+	 * Scales the "left side" vector by a factor and adds the "right side"
+	 * vector, returning the result in a new vector
+	 * @param A the "left side" vector
+	 * @param Scale a float scaling the "left side" vector
+	 * @param B the "right side" vector
+	 * @return a new vector
+	 */
+	public static Vector3 scaleAdd(Vector3 A, float Scale, Vector3 B) {
+		return Vector3.addScaled(B, A, Scale, new Vector3(), false);
+	}
+	
+	/**
+	 * Scales the "left side" vector by a factor and adds the "right side"
+	 * vector, storing the result in the destination
+	 * @param A the "left side" vector
+	 * @param Scale a float scaling the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector3 scaleAdd(Vector3 A, float Scale, Vector3 B, Vector3 Dest) {
+		return Vector3.addScaled(B, A, Scale, Dest, false);
+	}
+	
+	/**
+	 * Scales the "left side" vector by a factor and adds the "right side"
+	 * vector, storing the result in the destination
+	 * @param A the "left side" vector
+	 * @param Scale a float scaling the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Dest the destination vector
+	 * @param Fused whether to round once using Math.fma
+	 * @return the destination vector
+	 * @see #addScaled(Vector3, Vector3, float, Vector3, boolean)
+	 */
+	public static Vector3 scaleAdd(Vector3 A, float Scale, Vector3 B, Vector3 Dest, boolean Fused) {
+		return Vector3.addScaled(B, A, Scale, Dest, Fused);
 	}
 	
 	/**
@@ -165,16 +494,30 @@ public class Vector3 {
 	 * @return a new vector
 	 */
 	public static Vector3 subtract(Vector3 A, Vector3 B) {
+		return Vector3.subtract(A, B, new Vector3());
+	}
+	
+	/**
+	 * Subtracts the "right side" vector from the "left side" vector, storing
+	 * the result in the destination
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector3 subtract(Vector3 A, Vector3 B, Vector3 Dest) {
 		float X, Y, Z;
 		X = A.x() - B.x();
 		Y = A.y() - B.y();
 		Z = A.z() - B.z();
-		return new Vector3(X, Y, Z);
+		Dest.set(X, Y, Z);
+		return Dest;
 	}
 	
 	/*
 	 * INSTANCE METHODS
-	 * All computations are forwarded from these methods to the static methods
+	 * All computations are forwarded from these methods to the static methods.
+	 * Mutators pass this vector as the destination and do not allocate.
 	 */
 	
 	//Accessors
@@ -190,7 +533,7 @@ public class Vector3 {
 	}
 	
 	public void copy(Vector3 Vector) {
-		Vector.set(this.X, this.Y, this.Z);
+		Vector.set(this.x(), this.y(), this.z());
 	}
 	
 	/**
@@ -200,7 +543,7 @@ public class Vector3 {
 	 * @return a new vector representing the cross product
 	 */
 	public Vector3 cross(Vector3 Vector) {
-		return new Vector3(Vector3.cross(this, Vector));
+		return Vector3.cross(this, Vector);
 	}
 	
 	/**
@@ -226,7 +569,7 @@ public class Vector3 {
 	 * Format: "(X, Y, Z)"
 	 */
 	public String toString() {
-		return "(" + this.X + ", " + this.Y + ", " + this.Z + ")";
+		return "(" + this.x() + ", " + this.y() + ", " + this.z() + ")";
 	}
 	
 	public float x() {
@@ -248,30 +591,99 @@ public class Vector3 {
 	 * @param Vector a vector
 	 */
 	public void add(Vector3 Vector) {
-		this.set(Vector3.add(this, Vector));
+		Vector3.add(this, Vector, this);
+	}
+	
+	/**
+	 * Adds another vector scaled by a factor to this vector, overwriting the
+	 * existing values
+	 * @param Vector a vector
+	 * @param Scale a float scaling the other vector
+	 */
+	public void addScaled(Vector3 Vector, float Scale) {
+		Vector3.addScaled(this, Vector, Scale, this, false);
 	}
 	
 	/**
-	 * Sets the vector's components to zero	
+	 * Adds another vector scaled by a factor to this vector, overwriting the
+	 * existing values
+	 * @param Vector a vector
+	 * @param Scale a float scaling the other vector
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void addScaled(Vector3 Vector, float Scale, boolean Fused) {
+		Vector3.addScaled(this, Vector, Scale, this, Fused);
+	}
+	
+	/**
+	 * Sets the vector's components to zero
 	 */
 	public void clear() {
-		this.X = 0.0f;
-		this.Y = 0.0f;
-		this.Z = 0.0f;
+		this.set(0.0f, 0.0f, 0.0f);
+	}
+	
+	/**
+	 * Approximately normalizes this vector, overwriting the existing values
+	 * @see #fastNormalize(Vector3, Vector3)
+	 */
+	public void fastNormalize() {
+		Vector3.fastNormalize(this, this);
+	}
+	
+	/**
+	 * Linearly interpolates this vector towards another vector, overwriting
+	 * the existing values
+	 * @param Vector the target vector
+	 * @param T a float representing the interpolation factor
+	 */
+	public void lerp(Vector3 Vector, float T) {
+		Vector3.lerp(this, Vector, T, this, false);
+	}
+	
+	/**
+	 * Linearly interpolates this vector towards another vector, overwriting
+	 * the existing values
+	 * @param Vector the target vector
+	 * @param T a float representing the interpolation factor
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void lerp(Vector3 Vector, float T, boolean Fused) {
+		Vector3.lerp(this, Vector, T, this, Fused);
+	}
+	
+	/**
+	 * Multiplies this vector component-wise by another vector and adds a
+	 * third, overwriting the existing values
+	 * @param B a vector representing the XYZ scale
+	 * @param C a vector added to the product
+	 */
+	public void madd(Vector3 B, Vector3 C) {
+		Vector3.madd(this, B, C, this, false);
+	}
+	
+	/**
+	 * Multiplies this vector component-wise by another vector and adds a
+	 * third, overwriting the existing values
+	 * @param B a vector representing the XYZ scale
+	 * @param C a vector added to the product
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void madd(Vector3 B, Vector3 C, boolean Fused) {
+		Vector3.madd(this, B, C, this, Fused);
 	}
 	
 	/**
 	 * Negates this vector, overwriting the existing values
 	 */
 	public void negate() {
-		this.set(Vector3.negate(this));
+		Vector3.negate(this, this);
 	}
 	
 	/**
 	 * Normalizes this vector, overwriting the existing values
 	 */
 	public void normalize() {
-		this.set(Vector3.normalize(this));
+		Vector3.normalize(this, this);
 	}
 	
 	/**
@@ -279,7 +691,28 @@ public class Vector3 {
 	 * @param Vector a vector representing the XY scale
 	 */
 	public void scale(Vector3 Vector) {
-		this.set(Vector3.scale(this, Vector));
+		Vector3.scale(this, Vector, this);
+	}
+	
+	/**
+	 * Scales this vector by a factor and adds another vector, overwriting the
+	 * existing values
+	 * @param Scale a float scaling this vector
+	 * @param Vector a vector
+	 */
+	public void scaleAdd(float Scale, Vector3 Vector) {
+		Vector3.addScaled(Vector, this, Scale, this, false);
+	}
+	
+	/**
+	 * Scales this vector by a factor and adds another vector, overwriting the
+	 * existing values
+	 * @param Scale a float scaling this vector
+	 * @param Vector a vector
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void scaleAdd(float Scale, Vector3 Vector, boolean Fused) {
+		Vector3.addScaled(Vector, this, Scale, this, Fused);
 	}
 	
 	/**
@@ -291,7 +724,7 @@ public class Vector3 {
 	public void set(float X, float Y, float Z) {
 		this.X = X;
 		this.Y = Y;
-		this.Z = X;
+		this.Z = Z;
 	}
 	
 	/**
@@ -299,9 +732,7 @@ public class Vector3 {
 	 * @param Vector
 	 */
 	public void set(Vector3 Vector) {
-		this.X = Vector.x();
-		this.Y = Vector.y();
-		this.Z = Vector.z();
+		this.set(Vector.x(), Vector.y(), Vector.z());
 	}
 	
 	/**
@@ -309,7 +740,7 @@ public class Vector3 {
 	 * @param Vector a vector
 	 */
 	public void subtract(Vector3 Vector) {
-		Vector3.subtract(this, Vector);
+		Vector3.subtract(this, Vector, this);
 	}
 	
 	public void x(float X) {
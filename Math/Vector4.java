@@ -50,8 +50,10 @@ public class Vector4 {
 	
 	/*
 	 * STATIC METHODS
-	 * All computation is performed using these methods, and they all return
-	 * a the result in a new Vector4 or float object.
+	 * All computation is performed using these methods. They return the
+	 * result in a new Vector4 or float object, or write it into a destination
+	 * vector supplied by the caller. The destination may be one of the
+	 * operands.
 	 */
 	
 	/**
@@ -62,12 +64,79 @@ public class Vector4 {
 	 * @return a new vector
 	 */
 	public static Vector4 add(Vector4 A, Vector4 B) {
+		return Vector4.add(A, B, new Vector4());
+	}
+	
+	/**
+	 * Adds the "right side" vector to the "left side" vector, storing the
+	 * result in the destination
+	 * @param A left-side vector
+	 * @param B right-side vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector4 add(Vector4 A, Vector4 B, Vector4 Dest) {
 		float W, X, Y, Z;
 		W = A.w() + B.w();
 		X = A.x() + B.x();
 		Y = A.y() + B.y();
 		Z = A.z() + B.z();
-		return new Vector4(X, Y, Z, W);
+		Dest.set(X, Y, Z, W);
+		return Dest;
+	}
+	
+	/**
+	 * Adds the "right side" vector scaled by a factor to the "left side"
+	 * vector, returning the result in a new vector
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Scale a float scaling the "right side" vector
+	 * @return a new vector
+	 */
+	public static Vector4 addScaled(Vector4 A, Vector4 B, float Scale) {
+		return Vector4.addScaled(A, B, Scale, new Vector4(), false);
+	}
+	
+	/**
+	 * Adds the "right side" vector scaled by a factor to the "left side"
+	 * vector, storing the result in the destination
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Scale a float scaling the "right side" vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector4 addScaled(Vector4 A, Vector4 B, float Scale, Vector4 Dest) {
+		return Vector4.addScaled(A, B, Scale, Dest, false);
+	}
+	
+	/**
+	 * Adds the "right side" vector scaled by a factor to the "left side"
+	 * vector, storing the result in the destination. Fused components are
+	 * computed by Math.fma with a single rounding, which is only fast where
+	 * the hardware has a fused multiply-add instruction.
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Scale a float scaling the "right side" vector
+	 * @param Dest the destination vector
+	 * @param Fused whether to round once using Math.fma
+	 * @return the destination vector
+	 */
+	public static Vector4 addScaled(Vector4 A, Vector4 B, float Scale, Vector4 Dest, boolean Fused) {
+		float X, Y, Z, W;
+		if(Fused) {
+			X = Math.fma(B.x(), Scale, A.x());
+			Y = Math.fma(B.y(), Scale, A.y());
+			Z = Math.fma(B.z(), Scale, A.z());
+			W = Math.fma(B.w(), Scale, A.w());
+		} else {
+			X = A.x() + B.x() * Scale;
+			Y = A.y() + B.y() * Scale;
+			Z = A.z() + B.z() * Scale;
+			W = A.w() + B.w() * Scale;
+		}
+		Dest.set(X, Y, Z, W);
+		return Dest;
 	}
 	
 	/**
@@ -80,17 +149,165 @@ public class Vector4 {
 		return A.x() * B.x() + A.y() * B.y() + A.z() * B.z() + A.w() * B.w();
 	}
 	
+	/**
+	 * Approximately normalizes the vector, returning the result as a new
+	 * vector. Lengths below about 1E-19 or above about 1.8E19 are not
+	 * supported.
+	 * @param Vector a vector
+	 * @return a new vector
+	 */
+	public static Vector4 fastNormalize(Vector4 Vector) {
+		return Vector4.fastNormalize(Vector, new Vector4());
+	}
+	
+	/**
+	 * Approximately normalizes the vector, storing the result in the
+	 * destination. Uses a reciprocal square root estimate refined by Newton
+	 * steps instead of a square root and a division. The result has length 1
+	 * within 4.8E-6, and a zero vector stays zero. As with
+	 * FastMath.inverseSqrt, a subnormal or infinite squared length is not
+	 * supported: a nonzero vector shorter than about 1E-19 comes out too short,
+	 * and one longer than about 1.8E19 comes out NaN. Use normalize there.
+	 * @param Vector a vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 * @see FastMath#inverseSqrt(float)
+	 */
+	public static Vector4 fastNormalize(Vector4 Vector, Vector4 Dest) {
+		float X = Vector.x(), Y = Vector.y(), Z = Vector.z(), W = Vector.w();
+		float InverseLength = FastMath.inverseSqrt(X * X + Y * Y + Z * Z + W * W);
+		Dest.set(X * InverseLength, Y * InverseLength, Z * InverseLength, W * InverseLength);
+		return Dest;
+	}
+	
 	public static float length(Vector4 Vector) {
 		return (float) Math.sqrt(Vector.x() * Vector.x() + Vector.y() * Vector.y() + Vector.z() * Vector.z() + Vector.w() * Vector.w());
 	}
 	
+	/**
+	 * Linearly interpolates from the "left side" vector to the "right side"
+	 * vector, returning the result in a new vector
+	 * @param A the "left side" vector, returned at T = 0
+	 * @param B the "right side" vector, approached as T reaches 1
+	 * @param T a float representing the interpolation factor
+	 * @return a new vector
+	 */
+	public static Vector4 lerp(Vector4 A, Vector4 B, float T) {
+		return Vector4.lerp(A, B, T, new Vector4(), false);
+	}
+	
+	/**
+	 * Linearly interpolates from the "left side" vector to the "right side"
+	 * vector, storing the result in the destination
+	 * @param A the "left side" vector, returned at T = 0
+	 * @param B the "right side" vector, approached as T reaches 1
+	 * @param T a float representing the interpolation factor
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector4 lerp(Vector4 A, Vector4 B, float T, Vector4 Dest) {
+		return Vector4.lerp(A, B, T, Dest, false);
+	}
+	
+	/**
+	 * Linearly interpolates from the "left side" vector to the "right side"
+	 * vector as A + (B - A) * T, storing the result in the destination
+	 * @param A the "left side" vector, returned at T = 0
+	 * @param B the "right side" vector, approached as T reaches 1
+	 * @param T a float representing the interpolation factor
+	 * @param Dest the destination vector
+	 * @param Fused whether to round the multiply-add once using Math.fma
+	 * @return the destination vector
+	 * @see #addScaled(Vector4, Vector4, float, Vector4, boolean)
+	 */
+	public static Vector4 lerp(Vector4 A, Vector4 B, float T, Vector4 Dest, boolean Fused) {
+		float X, Y, Z, W;
+		if(Fused) {
+			X = Math.fma(B.x() - A.x(), T, A.x());
+			Y = Math.fma(B.y() - A.y(), T, A.y());
+			Z = Math.fma(B.z() - A.z(), T, A.z());
+			W = Math.fma(B.w() - A.w(), T, A.w());
+		} else {
+			X = A.x() + (B.x() - A.x()) * T;
+			Y = A.y() + (B.y() - A.y()) * T;
+			Z = A.z() + (B.z() - A.z()) * T;
+			W = A.w() + (B.w() - A.w()) * T;
+		}
+		Dest.set(X, Y, Z, W);
+		return Dest;
+	}
+	
+	/**
+	 * Multiplies two vectors component-wise and adds a third, returning the
+	 * result in a new vector
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param C the vector added to the product
+	 * @return a new vector
+	 */
+	public static Vector4 madd(Vector4 A, Vector4 B, Vector4 C) {
+		return Vector4.madd(A, B, C, new Vector4(), false);
+	}
+	
+	/**
+	 * Multiplies two vectors component-wise and adds a third, storing the
+	 * result in the destination
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param C the vector added to the product
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector4 madd(Vector4 A, Vector4 B, Vector4 C, Vector4 Dest) {
+		return Vector4.madd(A, B, C, Dest, false);
+	}
+	
+	/**
+	 * Multiplies two vectors component-wise and adds a third, storing the
+	 * result in the destination
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param C the vector added to the product
+	 * @param Dest the destination vector
+	 * @param Fused whether to round once using Math.fma
+	 * @return the destination vector
+	 * @see #addScaled(Vector4, Vector4, float, Vector4, boolean)
+	 */
+	public static Vector4 madd(Vector4 A, Vector4 B, Vector4 C, Vector4 Dest, boolean Fused) {
+		float X, Y, Z, W;
+		if(Fused) {
+			X = Math.fma(A.x(), B.x(), C.x());
+			Y = Math.fma(A.y(), B.y(), C.y());
+			Z = Math.fma(A.z(), B.z(), C.z());
+			W = Math.fma(A.w(), B.w(), C.w());
+		} else {
+			X = A.x() * B.x() + C.x();
+			Y = A.y() * B.y() + C.y();
+			Z = A.z() * B.z() + C.z();
+			W = A.w() * B.w() + C.w();
+		}
+		Dest.set(X, Y, Z, W);
+		return Dest;
+	}
+	
 	/**
 	 * Negates the vector, returning the result as a new vector
 	 * @param Vector a vector
 	 * @return a new vector
 	 */
 	public static Vector4 negate(Vector4 Vector) {
-		return new Vector4(-Vector.x(), -Vector.y(), -Vector.z(), -Vector.w());
+		return Vector4.negate(Vector, new Vector4());
+	}
+	
+	/**
+	 * Negates the vector, storing the result in the destination
+	 * @param Vector a vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector4 negate(Vector4 Vector, Vector4 Dest) {
+		Dest.set(-Vector.x(), -Vector.y(), -Vector.z(), -Vector.w());
+		return Dest;
 	}
 	
 	/**
@@ -99,24 +316,35 @@ public class Vector4 {
 	 * @return a new vector
 	 */
 	public static Vector4 normalize(Vector4 Vector) {
-		float W, X, Y, Z;
-		float Length = (float) Math.sqrt(Vector.x() * Vector.x() +
-										 Vector.y() * Vector.y() +
-										 Vector.z() * Vector.z() +
-										 Vector.w() * Vector.w());
+		return Vector4.normalize(Vector, new Vector4());
+	}
+	
+	/**
+	 * Normalizes the vector, storing the result in the destination
+	 * @param Vector a vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector4 normalize(Vector4 Vector, Vector4 Dest) {
+		float W = Vector.w(), X = Vector.x(), Y = Vector.y(), Z = Vector.z();
+		float Length = (float) Math.sqrt(X * X +
+										 Y * Y +
+										 Z * Z +
+										 W * W);
 		if(Length != 0.0f) {
 			Length = 1.0f / Length;
-			W = Vector.w() * Length;
-			X = Vector.x() * Length;
-			Y = Vector.y() * Length;
-			Z = Vector.z() * Length;
+			W *= Length;
+			X *= Length;
+			Y *= Length;
+			Z *= Length;
 		} else {
 			W = 0.0f;
 			X = 0.0f;
 			Y = 0.0f;
 			Z = 0.0f;
 		}
-		return new Vector4(X, Y, Z, W);
+		Dest.set(X, Y, Z, W);
+		return Dest;
 	}
 	
 	/**
@@ -126,12 +354,64 @@ public class Vector4 {
 	 * @return a new vector
 	 */
 	public static Vector4 scale(Vector4 A, Vector4 B) {
+		return Vector4.scale(A, B, new Vector4());
+	}
+	
+	/**
+	 * Scales the vector by another vector, storing the result in the destination
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector representing the XYZW scale
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector4 scale(Vector4 A, Vector4 B, Vector4 Dest) {
 		float NW, NX, NY, NZ;
 		NW = A.w() * B.w();
 		NX = A.x() * B.x();
 		NY = A.y() * B.y();
 		NZ = A.z() * B.z();
-		return new Vector4(NX, NY, NZ, NW);
+		Dest.set(NX, NY, NZ, NW);
+		return Dest;
+	}
+	
+	/**
+	 * Scales the "left side" vector by a factor and adds the "right side"
+	 * vector, returning the result in a new vector
+	 * @param A the "left side" vector
+	 * @param Scale a float scaling the "left side" vector
+	 * @param B the "right side" vector
+	 * @return a new vector
+	 */
+	public static Vector4 scaleAdd(Vector4 A, float Scale, Vector4 B) {
+		return Vector4.addScaled(B, A, Scale, new Vector4(), false);
+	}
+	
+	/**
+	 * Scales the "left side" vector by a factor and adds the "right side"
+	 * vector, storing the result in the destination
+	 * @param A the "left side" vector
+	 * @param Scale a float scaling the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector4 scaleAdd(Vector4 A, float Scale, Vector4 B, Vector4 Dest) {
+		return Vector4.addScaled(B, A, Scale, Dest, false);
+	}
+	
+	/**
+	 * Scales the "left side" vector by a factor and adds the "right side"
+	 * vector, storing the result in the destination
+	 * @param A the "left side" vector
+	 * @param Scale a float scaling the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Dest the destination vector
+	 * @param Fused whether to round once using Math.fma
+	 * @return the destination vector
+	 * @see #addScaled(Vector4, Vector4, float, Vector4, boolean)
+	 */
+	public static Vector4 scaleAdd(Vector4 A, float Scale, Vector4 B, Vector4 Dest, boolean Fused) {
+		return Vector4.addScaled(B, A, Scale, Dest, Fused);
 	}
 	
 	/**
@@ -142,23 +422,37 @@ public class Vector4 {
 	 * @return a new vector
 	 */
 	public static Vector4 subtract(Vector4 A, Vector4 B) {
+		return Vector4.subtract(A, B, new Vector4());
+	}
+	
+	/**
+	 * Subtracts the "right side" vector from the "left side" vector, storing
+	 * the result in the destination
+	 * @param A the "left side" vector
+	 * @param B the "right side" vector
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public static Vector4 subtract(Vector4 A, Vector4 B, Vector4 Dest) {
 		float W, X, Y, Z;
 		W = A.w() - B.w();
 		X = A.x() - B.x();
 		Y = A.y() - B.y();
 		Z = A.z() - B.z();
-		return new Vector4(X, Y, Z, W);
+		Dest.set(X, Y, Z, W);
+		return Dest;
 	}
 	
 	/*
 	 * INSTANCE METHODS
-	 * All computations are forwarded from these methods to the static methods
+	 * All computations are forwarded from these methods to the static methods.
+	 * Mutators pass this vector as the destination and do not allocate.
 	 */
 	
 	//Accessors
 	
 	public void copy(Vector4 Vector) {
-		Vector.set(this.X, this.Y, this.Z, this.W);
+		Vector.set(this.x(), this.y(), this.z(), this.w());
 	}
 	
 	/**
@@ -184,7 +478,7 @@ public class Vector4 {
 	 * Format: "(X, Y, Z)"
 	 */
 	public String toString() {
-		return "(" + this.X + ", " + this.Y + ", " + this.Z + ", " + this.W + ")";
+		return "(" + this.x() + ", " + this.y() + ", " + this.z() + ", " + this.w() + ")";
 	}
 	
 	public float w() {
@@ -210,31 +504,99 @@ public class Vector4 {
 	 * @param Vector a vector
 	 */
 	public void add(Vector4 Vector) {
-		this.set(Vector4.add(this, Vector));
+		Vector4.add(this, Vector, this);
+	}
+	
+	/**
+	 * Adds another vector scaled by a factor to this vector, overwriting the
+	 * existing values
+	 * @param Vector a vector
+	 * @param Scale a float scaling the other vector
+	 */
+	public void addScaled(Vector4 Vector, float Scale) {
+		Vector4.addScaled(this, Vector, Scale, this, false);
+	}
+	
+	/**
+	 * Adds another vector scaled by a factor to this vector, overwriting the
+	 * existing values
+	 * @param Vector a vector
+	 * @param Scale a float scaling the other vector
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void addScaled(Vector4 Vector, float Scale, boolean Fused) {
+		Vector4.addScaled(this, Vector, Scale, this, Fused);
 	}
 	
 	/**
 	 * Sets the vector's components to zero	
 	 */
 	public void clear() {
-		this.W = 0.0f;
-		this.X = 0.0f;
-		this.Y = 0.0f;
-		this.Z = 0.0f;
+		this.set(0.0f, 0.0f, 0.0f, 0.0f);
+	}
+	
+	/**
+	 * Approximately normalizes this vector, overwriting the existing values
+	 * @see #fastNormalize(Vector4, Vector4)
+	 */
+	public void fastNormalize() {
+		Vector4.fastNormalize(this, this);
+	}
+	
+	/**
+	 * Linearly interpolates this vector towards another vector, overwriting
+	 * the existing values
+	 * @param Vector the target vector
+	 * @param T a float representing the interpolation factor
+	 */
+	public void lerp(Vector4 Vector, float T) {
+		Vector4.lerp(this, Vector, T, this, false);
+	}
+	
+	/**
+	 * Linearly interpolates this vector towards another vector, overwriting
+	 * the existing values
+	 * @param Vector the target vector
+	 * @param T a float representing the interpolation factor
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void lerp(Vector4 Vector, float T, boolean Fused) {
+		Vector4.lerp(this, Vector, T, this, Fused);
+	}
+	
+	/**
+	 * Multiplies this vector component-wise by another vector and adds a
+	 * third, overwriting the existing values
+	 * @param B a vector representing the XYZW scale
+	 * @param C a vector added to the product
+	 */
+	public void madd(Vector4 B, Vector4 C) {
+		Vector4.madd(this, B, C, this, false);
+	}
+	
+	/**
+	 * Multiplies this vector component-wise by another vector and adds a
+	 * third, overwriting the existing values
+	 * @param B a vector representing the XYZW scale
+	 * @param C a vector added to the product
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void madd(Vector4 B, Vector4 C, boolean Fused) {
+		Vector4.madd(this, B, C, this, Fused);
 	}
 	
 	/**
 	 * Negates this vector, overwriting the existing values
 	 */
 	public void negate() {
-		this.set(Vector4.negate(this));
+		Vector4.negate(this, this);
 	}
 	
 	/**
 	 * Normalizes this vector, overwriting the existing values
 	 */
 	public void normalize() {
-		this.set(Vector4.normalize(this));
+		Vector4.normalize(this, this);
 	}
 	
 	/**
@@ -242,7 +604,28 @@ public class Vector4 {
 	 * @param Vector a vector representing the XY scale
 	 */
 	public void scale(Vector4 Vector) {
-		this.set(Vector4.scale(this, Vector));
+		Vector4.scale(this, Vector, this);
+	}
+	
+	/**
+	 * Scales this vector by a factor and adds another vector, overwriting the
+	 * existing values
+	 * @param Scale a float scaling this vector
+	 * @param Vector a vector
+	 */
+	public void scaleAdd(float Scale, Vector4 Vector) {
+		Vector4.addScaled(Vector, this, Scale, this, false);
+	}
+	
+	/**
+	 * Scales this vector by a factor and adds another vector, overwriting the
+	 * existing values
+	 * @param Scale a float scaling this vector
+	 * @param Vector a vector
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public void scaleAdd(float Scale, Vector4 Vector, boolean Fused) {
+		Vector4.addScaled(Vector, this, Scale, this, Fused);
 	}
 	
 	/**
@@ -255,7 +638,7 @@ public class Vector4 {
 		this.W = W;
 		this.X = X;
 		this.Y = Y;
-		this.Z = X;
+		this.Z = Z;
 	}
 	
 	/**
@@ -263,10 +646,7 @@ public class Vector4 {
 	 * @param Vector
 	 */
 	public void set(Vector4 Vector) {
-		this.W = Vector.w();
-		this.X = Vector.x();
-		this.Y = Vector.y();
-		this.Z = Vector.z();
+		this.set(Vector.x(), Vector.y(), Vector.z(), Vector.w());
 	}
 	
 	/**
@@ -274,7 +654,7 @@ public class Vector4 {
 	 * @param Vector a vector
 	 */
 	public void subtract(Vector4 Vector) {
-		Vector4.subtract(this, Vector);
+		Vector4.subtract(this, Vector, this);
 	}
 	
 	public void w(float W) {
@@ -0,0 +1,437 @@
+/* Helios (TM) 3D Engine (Java): Packed 4D Vector Array Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+/**
+ * A fixed-size array of 4D vectors stored as four primitive component
+ * arrays (structure of arrays).
+ */
+public class Vector4Array {
+	private final float[] W;
+	private final float[] X;
+	private final float[] Y;
+	private final float[] Z;
+	
+	public Vector4Array(int Size) {
+		this.W = new float[Size];
+		this.X = new float[Size];
+		this.Y = new float[Size];
+		this.Z = new float[Size];
+	}
+	
+	public Vector4Array(Vector4Array Array) {
+		this.W = Array.W.clone();
+		this.X = Array.X.clone();
+		this.Y = Array.Y.clone();
+		this.Z = Array.Z.clone();
+	}
+	
+	/*
+	 * STATIC METHODS
+	 * Bulk kernels mirroring the Vector4 static methods. Each operates on the
+	 * elements [Offset, Offset + Count) of every array it is given, and writes
+	 * into a destination array which may be one of the operands.
+	 */
+	
+	/**
+	 * Adds the "right side" vectors to the "left side" vectors
+	 * @param A left-side vectors
+	 * @param B right-side vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void add(Vector4Array A, Vector4Array B, Vector4Array Dest, int Offset, int Count) {
+		float[] AW = A.W, AX = A.X, AY = A.Y, AZ = A.Z;
+		float[] BW = B.W, BX = B.X, BY = B.Y, BZ = B.Z;
+		float[] DW = Dest.W, DX = Dest.X, DY = Dest.Y, DZ = Dest.Z;
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			DW[i] = AW[i] + BW[i];
+			DX[i] = AX[i] + BX[i];
+			DY[i] = AY[i] + BY[i];
+			DZ[i] = AZ[i] + BZ[i];
+		}
+	}
+	
+	/**
+	 * Adds the "right side" vectors scaled by a factor to the "left side"
+	 * vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param Scale a float scaling the "right side" vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void addScaled(Vector4Array A, Vector4Array B, float Scale, Vector4Array Dest, int Offset, int Count) {
+		BatchKernels.get().addScaled(A, B, Scale, Dest, Offset, Count, false);
+	}
+	
+	/**
+	 * Adds the "right side" vectors scaled by a factor to the "left side"
+	 * vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param Scale a float scaling the "right side" vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public static void addScaled(Vector4Array A, Vector4Array B, float Scale, Vector4Array Dest, int Offset, int Count, boolean Fused) {
+		BatchKernels.get().addScaled(A, B, Scale, Dest, Offset, Count, Fused);
+	}
+	
+	/**
+	 * Computes the dot products between two sets of vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param Dest the destination floats, indexed like the vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void dot(Vector4Array A, Vector4Array B, float[] Dest, int Offset, int Count) {
+		float[] AW = A.W, AX = A.X, AY = A.Y, AZ = A.Z;
+		float[] BW = B.W, BX = B.X, BY = B.Y, BZ = B.Z;
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			Dest[i] = AX[i] * BX[i] + AY[i] * BY[i] + AZ[i] * BZ[i] + AW[i] * BW[i];
+		}
+	}
+	
+	/**
+	 * Approximately normalizes the vectors. Lengths below about 1E-19 or above
+	 * about 1.8E19 are not supported.
+	 * @param A the vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @see FastMath#inverseSqrt(float)
+	 */
+	public static void fastNormalize(Vector4Array A, Vector4Array Dest, int Offset, int Count) {
+		BatchKernels.get().fastNormalize(A, Dest, Offset, Count);
+	}
+	
+	/**
+	 * Calculates the lengths of the vectors
+	 * @param A the vectors
+	 * @param Dest the destination floats, indexed like the vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void length(Vector4Array A, float[] Dest, int Offset, int Count) {
+		float[] AW = A.W, AX = A.X, AY = A.Y, AZ = A.Z;
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			Dest[i] = (float) Math.sqrt(AX[i] * AX[i] + AY[i] * AY[i] + AZ[i] * AZ[i] + AW[i] * AW[i]);
+		}
+	}
+	
+	/**
+	 * Linearly interpolates from the "left side" vectors to the "right side"
+	 * vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param T a float representing the interpolation factor
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void lerp(Vector4Array A, Vector4Array B, float T, Vector4Array Dest, int Offset, int Count) {
+		BatchKernels.get().lerp(A, B, T, Dest, Offset, Count, false);
+	}
+	
+	/**
+	 * Linearly interpolates from the "left side" vectors to the "right side"
+	 * vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param T a float representing the interpolation factor
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public static void lerp(Vector4Array A, Vector4Array B, float T, Vector4Array Dest, int Offset, int Count, boolean Fused) {
+		BatchKernels.get().lerp(A, B, T, Dest, Offset, Count, Fused);
+	}
+	
+	/**
+	 * Multiplies two sets of vectors component-wise and adds a third
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param C the vectors added to the products
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void madd(Vector4Array A, Vector4Array B, Vector4Array C, Vector4Array Dest, int Offset, int Count) {
+		BatchKernels.get().madd(A, B, C, Dest, Offset, Count, false);
+	}
+	
+	/**
+	 * Multiplies two sets of vectors component-wise and adds a third
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param C the vectors added to the products
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public static void madd(Vector4Array A, Vector4Array B, Vector4Array C, Vector4Array Dest, int Offset, int Count, boolean Fused) {
+		BatchKernels.get().madd(A, B, C, Dest, Offset, Count, Fused);
+	}
+	
+	/**
+	 * Normalizes the vectors
+	 * @param A the vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void normalize(Vector4Array A, Vector4Array Dest, int Offset, int Count) {
+		BatchKernels.get().normalize(A, Dest, Offset, Count);
+	}
+	
+	/**
+	 * Scales the vectors by another set of vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors representing the XYZW scales
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void scale(Vector4Array A, Vector4Array B, Vector4Array Dest, int Offset, int Count) {
+		float[] AW = A.W, AX = A.X, AY = A.Y, AZ = A.Z;
+		float[] BW = B.W, BX = B.X, BY = B.Y, BZ = B.Z;
+		float[] DW = Dest.W, DX = Dest.X, DY = Dest.Y, DZ = Dest.Z;
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			DW[i] = AW[i] * BW[i];
+			DX[i] = AX[i] * BX[i];
+			DY[i] = AY[i] * BY[i];
+			DZ[i] = AZ[i] * BZ[i];
+		}
+	}
+	
+	/**
+	 * Scales the "left side" vectors by a factor and adds the "right side"
+	 * vectors
+	 * @param A the "left side" vectors
+	 * @param Scale a float scaling the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void scaleAdd(Vector4Array A, float Scale, Vector4Array B, Vector4Array Dest, int Offset, int Count) {
+		BatchKernels.get().addScaled(B, A, Scale, Dest, Offset, Count, false);
+	}
+	
+	/**
+	 * Scales the "left side" vectors by a factor and adds the "right side"
+	 * vectors
+	 * @param A the "left side" vectors
+	 * @param Scale a float scaling the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 * @param Fused whether to round once using Math.fma
+	 */
+	public static void scaleAdd(Vector4Array A, float Scale, Vector4Array B, Vector4Array Dest, int Offset, int Count, boolean Fused) {
+		BatchKernels.get().addScaled(B, A, Scale, Dest, Offset, Count, Fused);
+	}
+	
+	/**
+	 * Subtracts the "right side" vectors from the "left side" vectors
+	 * @param A the "left side" vectors
+	 * @param B the "right side" vectors
+	 * @param Dest the destination vectors
+	 * @param Offset the first element
+	 * @param Count the number of elements
+	 */
+	public static void subtract(Vector4Array A, Vector4Array B, Vector4Array Dest, int Offset, int Count) {
+		float[] AW = A.W, AX = A.X, AY = A.Y, AZ = A.Z;
+		float[] BW = B.W, BX = B.X, BY = B.Y, BZ = B.Z;
+		float[] DW = Dest.W, DX = Dest.X, DY = Dest.Y, DZ = Dest.Z;
+		for(int i = Offset, End = Offset + Count; i < End; i++) {
+			DW[i] = AW[i] - BW[i];
+			DX[i] = AX[i] - BX[i];
+			DY[i] = AY[i] - BY[i];
+			DZ[i] = AZ[i] - BZ[i];
+		}
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Copies an element into a vector
+	 * @param Index the element
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public Vector4 get(int Index, Vector4 Dest) {
+		Dest.set(this.X[Index], this.Y[Index], this.Z[Index], this.W[Index]);
+		return Dest;
+	}
+	
+	/**
+	 * Returns the number of elements in the array
+	 * @return the number of elements
+	 */
+	public int size() {
+		return this.X.length;
+	}
+	
+	/**
+	 * Returns a view of an element. The view reads and writes the array
+	 * directly and can be passed anywhere a Vector4 is accepted.
+	 * @param Index the element
+	 * @return a new view
+	 */
+	public Element view(int Index) {
+		return new Element(this, Index);
+	}
+	
+	/**
+	 * Returns the W component array. Writes to it are visible through the
+	 * container.
+	 * @return the W components
+	 */
+	public float[] w() {
+		return this.W;
+	}
+	
+	/**
+	 * Returns the X component array. Writes to it are visible through the
+	 * container.
+	 * @return the X components
+	 */
+	public float[] x() {
+		return this.X;
+	}
+	
+	/**
+	 * Returns the Y component array. Writes to it are visible through the
+	 * container.
+	 * @return the Y components
+	 */
+	public float[] y() {
+		return this.Y;
+	}
+	
+	/**
+	 * Returns the Z component array. Writes to it are visible through the
+	 * container.
+	 * @return the Z components
+	 */
+	public float[] z() {
+		return this.Z;
+	}
+	
+	//Mutators
+	
+	/**
+	 * Sets new values for an element
+	 * @param Index the element
+	 * @param X a float representing the X component
+	 * @param Y a float representing the Y component
+	 * @param Z a float representing the Z component
+	 * @param W a float representing the W component
+	 */
+	public void set(int Index, float X, float Y, float Z, float W) {
+		this.W[Index] = W;
+		this.X[Index] = X;
+		this.Y[Index] = Y;
+		this.Z[Index] = Z;
+	}
+	
+	/**
+	 * Sets new values for an element
+	 * @param Index the element
+	 * @param Vector a vector
+	 */
+	public void set(int Index, Vector4 Vector) {
+		this.W[Index] = Vector.w();
+		this.X[Index] = Vector.x();
+		this.Y[Index] = Vector.y();
+		this.Z[Index] = Vector.z();
+	}
+	
+	/**
+	 * A Vector4 whose components live in a Vector4Array element. Moving the
+	 * view with index(int) lets a single object walk the whole array.
+	 */
+	public static class Element extends Vector4 {
+		private final Vector4Array Array;
+		private int Index;
+		
+		public Element(Vector4Array Array, int Index) {
+			this.Array = Array;
+			this.Index = Index;
+		}
+		
+		/**
+		 * Returns the element this view refers to
+		 * @return the element index
+		 */
+		public int index() {
+			return this.Index;
+		}
+		
+		/**
+		 * Moves this view to another element
+		 * @param Index the element index
+		 */
+		public void index(int Index) {
+			this.Index = Index;
+		}
+		
+		public float w() {
+			return this.Array.W[this.Index];
+		}
+		
+		public float x() {
+			return this.Array.X[this.Index];
+		}
+		
+		public float y() {
+			return this.Array.Y[this.Index];
+		}
+		
+		public float z() {
+			return this.Array.Z[this.Index];
+		}
+		
+		public void set(float X, float Y, float Z, float W) {
+			this.Array.W[this.Index] = W;
+			this.Array.X[this.Index] = X;
+			this.Array.Y[this.Index] = Y;
+			this.Array.Z[this.Index] = Z;
+		}
+		
+		public void w(float W) {
+			this.Array.W[this.Index] = W;
+		}
+		
+		public void x(float X) {
+			this.Array.X[this.Index] = X;
+		}
+		
+		public void y(float Y) {
+			this.Array.Y[this.Index] = Y;
+		}
+		
+		public void z(float Z) {
+			this.Array.Z[this.Index] = Z;
+		}
+	}
+}
@@ -0,0 +1,363 @@
+/* Helios (TM) 3D Engine (Java): SIMD Batch Kernel Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels built on jdk.incubator.vector. Only loaded reflectively by
+ * BatchKernels, so the rest of the package runs without the module. Lanes
+ * evaluate the same expressions in the same order as the scalar kernels, and
+ * the loop tails are handed to the scalar implementation.
+ */
+final class VectorBatchKernels extends BatchKernels {
+	private static final VectorSpecies<Float> Species = FloatVector.SPECIES_PREFERRED;
+	
+	VectorBatchKernels() {
+	}
+	
+	public int lanes() {
+		return VectorBatchKernels.Species.length();
+	}
+	
+	public String name() {
+		return "simd" + VectorBatchKernels.Species.vectorBitSize();
+	}
+	
+	public void bounds(Vector3Array A, AABB Dest, int Offset, int Count) {
+		float[] AX = A.x(), AY = A.y(), AZ = A.z();
+		FloatVector MinX = FloatVector.broadcast(VectorBatchKernels.Species, Float.POSITIVE_INFINITY), MinY = MinX, MinZ = MinX;
+		FloatVector MaxX = FloatVector.broadcast(VectorBatchKernels.Species, Float.NEGATIVE_INFINITY), MaxY = MaxX, MaxZ = MaxX;
+		int i = Offset;
+		for(int End = Offset + VectorBatchKernels.Species.loopBound(Count); i < End; i += VectorBatchKernels.Species.length()) {
+			FloatVector X = FloatVector.fromArray(VectorBatchKernels.Species, AX, i);
+			FloatVector Y = FloatVector.fromArray(VectorBatchKernels.Species, AY, i);
+			FloatVector Z = FloatVector.fromArray(VectorBatchKernels.Species, AZ, i);
+			MinX = MinX.min(X);
+			MinY = MinY.min(Y);
+			MinZ = MinZ.min(Z);
+			MaxX = MaxX.max(X);
+			MaxY = MaxY.max(Y);
+			MaxZ = MaxZ.max(Z);
+		}
+		//Bound the tail, then fold the lane results into it
+		super.bounds(A, Dest, i, Offset + Count - i);
+		Dest.set(Math.min(Dest.minX(), MinX.reduceLanes(VectorOperators.MIN)),
+				 Math.min(Dest.minY(), MinY.reduceLanes(VectorOperators.MIN)),
+				 Math.min(Dest.minZ(), MinZ.reduceLanes(VectorOperators.MIN)),
+				 Math.max(Dest.maxX(), MaxX.reduceLanes(VectorOperators.MAX)),
+				 Math.max(Dest.maxY(), MaxY.reduceLanes(VectorOperators.MAX)),
+				 Math.max(Dest.maxZ(), MaxZ.reduceLanes(VectorOperators.MAX)));
+	}
+	
+	public void cross(Vector3Array A, Vector3Array B, Vector3Array Dest, int Offset, int Count) {
+		float[] AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] BX = B.x(), BY = B.y(), BZ = B.z();
+		float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		int i = Offset;
+		for(int End = Offset + VectorBatchKernels.Species.loopBound(Count); i < End; i += VectorBatchKernels.Species.length()) {
+			FloatVector VAX = FloatVector.fromArray(VectorBatchKernels.Species, AX, i);
+			FloatVector VAY = FloatVector.fromArray(VectorBatchKernels.Species, AY, i);
+			FloatVector VAZ = FloatVector.fromArray(VectorBatchKernels.Species, AZ, i);
+			FloatVector VBX = FloatVector.fromArray(VectorBatchKernels.Species, BX, i);
+			FloatVector VBY = FloatVector.fromArray(VectorBatchKernels.Species, BY, i);
+			FloatVector VBZ = FloatVector.fromArray(VectorBatchKernels.Species, BZ, i);
+			VAY.mul(VBZ).sub(VAZ.mul(VBY)).intoArray(DX, i);
+			VAZ.mul(VBX).sub(VAX.mul(VBZ)).intoArray(DY, i);
+			VAX.mul(VBY).sub(VAY.mul(VBX)).intoArray(DZ, i);
+		}
+		super.cross(A, B, Dest, i, Offset + Count - i);
+	}
+	
+	public void dot(Vector3Array A, Vector3Array B, float[] Dest, int Offset, int Count) {
+		float[] AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] BX = B.x(), BY = B.y(), BZ = B.z();
+		int i = Offset;
+		for(int End = Offset + VectorBatchKernels.Species.loopBound(Count); i < End; i += VectorBatchKernels.Species.length()) {
+			FloatVector X = FloatVector.fromArray(VectorBatchKernels.Species, AX, i).mul(FloatVector.fromArray(VectorBatchKernels.Species, BX, i));
+			FloatVector Y = FloatVector.fromArray(VectorBatchKernels.Species, AY, i).mul(FloatVector.fromArray(VectorBatchKernels.Species, BY, i));
+			FloatVector Z = FloatVector.fromArray(VectorBatchKernels.Species, AZ, i).mul(FloatVector.fromArray(VectorBatchKernels.Species, BZ, i));
+			X.add(Y).add(Z).intoArray(Dest, i);
+		}
+		super.dot(A, B, Dest, i, Offset + Count - i);
+	}
+	
+	public void fastNormalize(Vector3Array A, Vector3Array Dest, int Offset, int Count) {
+		float[] AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		int i = Offset;
+		for(int End = Offset + VectorBatchKernels.Species.loopBound(Count); i < End; i += VectorBatchKernels.Species.length()) {
+			FloatVector X = FloatVector.fromArray(VectorBatchKernels.Species, AX, i);
+			FloatVector Y = FloatVector.fromArray(VectorBatchKernels.Species, AY, i);
+			FloatVector Z = FloatVector.fromArray(VectorBatchKernels.Species, AZ, i);
+			FloatVector InverseLength = VectorBatchKernels.inverseSqrt(X.mul(X).add(Y.mul(Y)).add(Z.mul(Z)));
+			X.mul(InverseLength).intoArray(DX, i);
+			Y.mul(InverseLength).intoArray(DY, i);
+			Z.mul(InverseLength).intoArray(DZ, i);
+		}
+		super.fastNormalize(A, Dest, i, Offset + Count - i);
+	}
+	
+	public void fastSlerp(QuaternionArray A, QuaternionArray B, float T, QuaternionArray Dest, int Offset, int Count) {
+		float[] AW = A.w(), AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] BW = B.w(), BX = B.x(), BY = B.y(), BZ = B.z();
+		float[] DW = Dest.w(), DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		float H = T - 0.5f;
+		float Cubic = T * H * (T - 1.0f), Square = H * H;
+		int i = Offset;
+		for(int End = Offset + VectorBatchKernels.Species.loopBound(Count); i < End; i += VectorBatchKernels.Species.length()) {
+			FloatVector QW = FloatVector.fromArray(VectorBatchKernels.Species, AW, i);
+			FloatVector QX = FloatVector.fromArray(VectorBatchKernels.Species, AX, i);
+			FloatVector QY = FloatVector.fromArray(VectorBatchKernels.Species, AY, i);
+			FloatVector QZ = FloatVector.fromArray(VectorBatchKernels.Species, AZ, i);
+			FloatVector RW = FloatVector.fromArray(VectorBatchKernels.Species, BW, i);
+			FloatVector RX = FloatVector.fromArray(VectorBatchKernels.Species, BX, i);
+			FloatVector RY = FloatVector.fromArray(VectorBatchKernels.Species, BY, i);
+			FloatVector RZ = FloatVector.fromArray(VectorBatchKernels.Species, BZ, i);
+			FloatVector Dot = QW.mul(RW).add(QX.mul(RX)).add(QY.mul(RY)).add(QZ.mul(RZ));
+			FloatVector D = Dot.abs();
+			FloatVector KA = D.mul(-1.43519f).add(3.55645f).mul(D).add(-3.2452f).mul(D).add(1.0904f);
+			FloatVector KB = D.mul(0.215638f).add(-1.06021f).mul(D).add(0.848013f);
+			FloatVector R = KA.mul(Square).add(KB).mul(Cubic).add(T);
+			FloatVector S = FloatVector.broadcast(VectorBatchKernels.Species, 1.0f).sub(R);
+			R = R.blend(R.neg(), Dot.compare(VectorOperators.LT, 0.0f));
+			VectorBatchKernels.blendNormalize(QW, QX, QY, QZ, RW, RX, RY, RZ, S, R, DW, DX, DY, DZ, i);
+		}
+		super.fastSlerp(A, B, T, Dest, i, Offset + Count - i);
+	}
+	
+	public void integrate(QuaternionArray A, Vector3Array Omega, float DT, QuaternionArray Dest, int Offset, int Count) {
+		float[] AW = A.w(), AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] OX = Omega.x(), OY = Omega.y(), OZ = Omega.z();
+		float[] DW = Dest.w(), DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		FloatVector H = FloatVector.broadcast(VectorBatchKernels.Species, 0.5f * DT);
+		FloatVector One = FloatVector.broadcast(VectorBatchKernels.Species, 1.0f);
+		int i = Offset;
+		for(int End = Offset + VectorBatchKernels.Species.loopBound(Count); i < End; i += VectorBatchKernels.Species.length()) {
+			FloatVector QW = FloatVector.fromArray(VectorBatchKernels.Species, AW, i);
+			FloatVector QX = FloatVector.fromArray(VectorBatchKernels.Species, AX, i);
+			FloatVector QY = FloatVector.fromArray(VectorBatchKernels.Species, AY, i);
+			FloatVector QZ = FloatVector.fromArray(VectorBatchKernels.Species, AZ, i);
+			FloatVector VX = FloatVector.fromArray(VectorBatchKernels.Species, OX, i);
+			FloatVector VY = FloatVector.fromArray(VectorBatchKernels.Species, OY, i);
+			FloatVector VZ = FloatVector.fromArray(VectorBatchKernels.Species, OZ, i);
+			FloatVector W = QW.sub(H.mul(VX.mul(QX).add(VY.mul(QY)).add(VZ.mul(QZ))));
+			FloatVector X = QX.add(H.mul(VX.mul(QW).add(VY.mul(QZ)).sub(VZ.mul(QY))));
+			FloatVector Y = QY.add(H.mul(VY.mul(QW).add(VZ.mul(QX)).sub(VX.mul(QZ))));
+			FloatVector Z = QZ.add(H.mul(VZ.mul(QW).add(VX.mul(QY)).sub(VY.mul(QX))));
+			FloatVector InverseLength = One.div(X.mul(X).add(Y.mul(Y)).add(Z.mul(Z)).add(W.mul(W)).sqrt());
+			W.mul(InverseLength).intoArray(DW, i);
+			X.mul(InverseLength).intoArray(DX, i);
+			Y.mul(InverseLength).intoArray(DY, i);
+			Z.mul(InverseLength).intoArray(DZ, i);
+		}
+		super.integrate(A, Omega, DT, Dest, i, Offset + Count - i);
+	}
+	
+	public void multiply(QuaternionArray A, QuaternionArray B, QuaternionArray Dest, int Offset, int Count) {
+		float[] AW = A.w(), AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] BW = B.w(), BX = B.x(), BY = B.y(), BZ = B.z();
+		float[] DW = Dest.w(), DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		int i = Offset;
+		for(int End = Offset + VectorBatchKernels.Species.loopBound(Count); i < End; i += VectorBatchKernels.Species.length()) {
+			FloatVector QW = FloatVector.fromArray(VectorBatchKernels.Species, AW, i);
+			FloatVector QX = FloatVector.fromArray(VectorBatchKernels.Species, AX, i);
+			FloatVector QY = FloatVector.fromArray(VectorBatchKernels.Species, AY, i);
+			FloatVector QZ = FloatVector.fromArray(VectorBatchKernels.Species, AZ, i);
+			FloatVector RW = FloatVector.fromArray(VectorBatchKernels.Species, BW, i);
+			FloatVector RX = FloatVector.fromArray(VectorBatchKernels.Species, BX, i);
+			FloatVector RY = FloatVector.fromArray(VectorBatchKernels.Species, BY, i);
+			FloatVector RZ = FloatVector.fromArray(VectorBatchKernels.Species, BZ, i);
+			QW.mul(RW).sub(QX.mul(RX)).sub(QY.mul(RY)).sub(QZ.mul(RZ)).intoArray(DW, i);
+			QX.mul(RW).add(QW.mul(RX)).add(QY.mul(RZ)).sub(QZ.mul(RY)).intoArray(DX, i);
+			QY.mul(RW).add(QW.mul(RY)).add(QZ.mul(RX)).sub(QX.mul(RZ)).intoArray(DY, i);
+			QZ.mul(RW).add(QW.mul(RZ)).add(QX.mul(RY)).sub(QY.mul(RX)).intoArray(DZ, i);
+		}
+		super.multiply(A, B, Dest, i, Offset + Count - i);
+	}
+	
+	public void nlerp(QuaternionArray A, QuaternionArray B, float T, QuaternionArray Dest, int Offset, int Count) {
+		float[] AW = A.w(), AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] BW = B.w(), BX = B.x(), BY = B.y(), BZ = B.z();
+		float[] DW = Dest.w(), DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		FloatVector S = FloatVector.broadcast(VectorBatchKernels.Species, 1.0f - T);
+		FloatVector Positive = FloatVector.broadcast(VectorBatchKernels.Species, T);
+		FloatVector Negative = FloatVector.broadcast(VectorBatchKernels.Species, -T);
+		int i = Offset;
+		for(int End = Offset + VectorBatchKernels.Species.loopBound(Count); i < End; i += VectorBatchKernels.Species.length()) {
+			FloatVector QW = FloatVector.fromArray(VectorBatchKernels.Species, AW, i);
+			FloatVector QX = FloatVector.fromArray(VectorBatchKernels.Species, AX, i);
+			FloatVector QY = FloatVector.fromArray(VectorBatchKernels.Species, AY, i);
+			FloatVector QZ = FloatVector.fromArray(VectorBatchKernels.Species, AZ, i);
+			FloatVector RW = FloatVector.fromArray(VectorBatchKernels.Species, BW, i);
+			FloatVector RX = FloatVector.fromArray(VectorBatchKernels.Species, BX, i);
+			FloatVector RY = FloatVector.fromArray(VectorBatchKernels.Species, BY, i);
+			FloatVector RZ = FloatVector.fromArray(VectorBatchKernels.Species, BZ, i);
+			FloatVector Dot = QW.mul(RW).add(QX.mul(RX)).add(QY.mul(RY)).add(QZ.mul(RZ));
+			FloatVector R = Positive.blend(Negative, Dot.compare(VectorOperators.LT, 0.0f));
+			VectorBatchKernels.blendNormalize(QW, QX, QY, QZ, RW, RX, RY, RZ, S, R, DW, DX, DY, DZ, i);
+		}
+		super.nlerp(A, B, T, Dest, i, Offset + Count - i);
+	}
+	
+	public void normalize(Vector3Array A, Vector3Array Dest, int Offset, int Count) {
+		float[] AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		int i = Offset;
+		for(int End = Offset + VectorBatchKernels.Species.loopBound(Count); i < End; i += VectorBatchKernels.Species.length()) {
+			FloatVector X = FloatVector.fromArray(VectorBatchKernels.Species, AX, i);
+			FloatVector Y = FloatVector.fromArray(VectorBatchKernels.Species, AY, i);
+			FloatVector Z = FloatVector.fromArray(VectorBatchKernels.Species, AZ, i);
+			FloatVector Length = X.mul(X).add(Y.mul(Y)).add(Z.mul(Z)).sqrt();
+			FloatVector Inverse = VectorBatchKernels.inverse(Length);
+			X.mul(Inverse).intoArray(DX, i);
+			Y.mul(Inverse).intoArray(DY, i);
+			Z.mul(Inverse).intoArray(DZ, i);
+		}
+		super.normalize(A, Dest, i, Offset + Count - i);
+	}
+	
+	public void rotate(Quaternion Q, Vector3Array A, Vector3Array Dest, int Offset, int Count) {
+		float[] AX = A.x(), AY = A.y(), AZ = A.z();
+		float[] DX = Dest.x(), DY = Dest.y(), DZ = Dest.z();
+		float QW = Q.w(), QX = Q.x(), QY = Q.y(), QZ = Q.z();
+		int i = Offset;
+		for(int End = Offset + VectorBatchKernels.Species.loopBound(Count); i < End; i += VectorBatchKernels.Species.length()) {
+			FloatVector VX = FloatVector.fromArray(VectorBatchKernels.Species, AX, i);
+			FloatVector VY = FloatVector.fromArray(VectorBatchKernels.Species, AY, i);
+			FloatVector VZ = FloatVector.fromArray(VectorBatchKernels.Species, AZ, i);
+			FloatVector TX = VZ.mul(QY).sub(VY.mul(QZ)).mul(2.0f);
+			FloatVector TY = VX.mul(QZ).sub(VZ.mul(QX)).mul(2.0f);
+			FloatVector TZ = VY.mul(QX).sub(VX.mul(QY)).mul(2.0f);
+			VX.add(TX.mul(QW)).add(TZ.mul(QY).sub(TY.mul(QZ))).intoArray(DX, i);
+			VY.add(TY.mul(QW)).add(TX.mul(QZ).sub(TZ.mul(QX))).intoArray(DY, i);
+			VZ.add(TZ.mul(QW)).add(TY.mul(QX).sub(TX.mul(QY))).intoArray(DZ, i);
+		}
+		super.rotate(Q, A, Dest, i, Offset + Count - i);
+	}
+	
+	protected void addScaled(float[] A, float[] B, float Scale, float[] Dest, int Offset, int Count, boolean Fused) {
+		FloatVector S = FloatVector.broadcast(VectorBatchKernels.Species, Scale);
+		int i = Offset;
+		for(int End = Offset + VectorBatchKernels.Species.loopBound(Count); i < End; i += VectorBatchKernels.Species.length()) {
+			FloatVector VA = FloatVector.fromArray(VectorBatchKernels.Species, A, i);
+			FloatVector VB = FloatVector.fromArray(VectorBatchKernels.Species, B, i);
+			if(Fused) {
+				VB.fma(S, VA).intoArray(Dest, i);
+			} else {
+				VA.add(VB.mul(S)).intoArray(Dest, i);
+			}
+		}
+		super.addScaled(A, B, Scale, Dest, i, Offset + Count - i, Fused);
+	}
+	
+	protected void fastNormalize4(float[] AX, float[] AY, float[] AZ, float[] AW,
+								  float[] DX, float[] DY, float[] DZ, float[] DW, int Offset, int Count) {
+		int i = Offset;
+		for(int End = Offset + VectorBatchKernels.Species.loopBound(Count); i < End; i += VectorBatchKernels.Species.length()) {
+			FloatVector X = FloatVector.fromArray(VectorBatchKernels.Species, AX, i);
+			FloatVector Y = FloatVector.fromArray(VectorBatchKernels.Species, AY, i);
+			FloatVector Z = FloatVector.fromArray(VectorBatchKernels.Species, AZ, i);
+			FloatVector W = FloatVector.fromArray(VectorBatchKernels.Species, AW, i);
+			FloatVector InverseLength = VectorBatchKernels.inverseSqrt(X.mul(X).add(Y.mul(Y)).add(Z.mul(Z)).add(W.mul(W)));
+			X.mul(InverseLength).intoArray(DX, i);
+			Y.mul(InverseLength).intoArray(DY, i);
+			Z.mul(InverseLength).intoArray(DZ, i);
+			W.mul(InverseLength).intoArray(DW, i);
+		}
+		super.fastNormalize4(AX, AY, AZ, AW, DX, DY, DZ, DW, i, Offset + Count - i);
+	}
+	
+	protected void lerp(float[] A, float[] B, float T, float[] Dest, int Offset, int Count, boolean Fused) {
+		FloatVector S = FloatVector.broadcast(VectorBatchKernels.Species, T);
+		int i = Offset;
+		for(int End = Offset + VectorBatchKernels.Species.loopBound(Count); i < End; i += VectorBatchKernels.Species.length()) {
+			FloatVector VA = FloatVector.fromArray(VectorBatchKernels.Species, A, i);
+			FloatVector VB = FloatVector.fromArray(VectorBatchKernels.Species, B, i);
+			if(Fused) {
+				VB.sub(VA).fma(S, VA).intoArray(Dest, i);
+			} else {
+				VA.add(VB.sub(VA).mul(S)).intoArray(Dest, i);
+			}
+		}
+		super.lerp(A, B, T, Dest, i, Offset + Count - i, Fused);
+	}
+	
+	protected void madd(float[] A, float[] B, float[] C, float[] Dest, int Offset, int Count, boolean Fused) {
+		int i = Offset;
+		for(int End = Offset + VectorBatchKernels.Species.loopBound(Count); i < End; i += VectorBatchKernels.Species.length()) {
+			FloatVector VA = FloatVector.fromArray(VectorBatchKernels.Species, A, i);
+			FloatVector VB = FloatVector.fromArray(VectorBatchKernels.Species, B, i);
+			FloatVector VC = FloatVector.fromArray(VectorBatchKernels.Species, C, i);
+			if(Fused) {
+				VA.fma(VB, VC).intoArray(Dest, i);
+			} else {
+				VA.mul(VB).add(VC).intoArray(Dest, i);
+			}
+		}
+		super.madd(A, B, C, Dest, i, Offset + Count - i, Fused);
+	}
+	
+	protected void normalize4(float[] AX, float[] AY, float[] AZ, float[] AW,
+							  float[] DX, float[] DY, float[] DZ, float[] DW, int Offset, int Count) {
+		int i = Offset;
+		for(int End = Offset + VectorBatchKernels.Species.loopBound(Count); i < End; i += VectorBatchKernels.Species.length()) {
+			FloatVector X = FloatVector.fromArray(VectorBatchKernels.Species, AX, i);
+			FloatVector Y = FloatVector.fromArray(VectorBatchKernels.Species, AY, i);
+			FloatVector Z = FloatVector.fromArray(VectorBatchKernels.Species, AZ, i);
+			FloatVector W = FloatVector.fromArray(VectorBatchKernels.Species, AW, i);
+			FloatVector Length = X.mul(X).add(Y.mul(Y)).add(Z.mul(Z)).add(W.mul(W)).sqrt();
+			FloatVector Inverse = VectorBatchKernels.inverse(Length);
+			X.mul(Inverse).intoArray(DX, i);
+			Y.mul(Inverse).intoArray(DY, i);
+			Z.mul(Inverse).intoArray(DZ, i);
+			W.mul(Inverse).intoArray(DW, i);
+		}
+		super.normalize4(AX, AY, AZ, AW, DX, DY, DZ, DW, i, Offset + Count - i);
+	}
+	
+	/**
+	 * Stores S * Q + R * R' normalized, the common tail of the lerp kernels
+	 */
+	private static void blendNormalize(FloatVector QW, FloatVector QX, FloatVector QY, FloatVector QZ,
+									   FloatVector RW, FloatVector RX, FloatVector RY, FloatVector RZ, FloatVector S, FloatVector R,
+									   float[] DW, float[] DX, float[] DY, float[] DZ, int Index) {
+		FloatVector W = S.mul(QW).add(R.mul(RW));
+		FloatVector X = S.mul(QX).add(R.mul(RX));
+		FloatVector Y = S.mul(QY).add(R.mul(RY));
+		FloatVector Z = S.mul(QZ).add(R.mul(RZ));
+		FloatVector InverseLength = FloatVector.broadcast(VectorBatchKernels.Species, 1.0f).div(W.mul(W).add(X.mul(X)).add(Y.mul(Y)).add(Z.mul(Z)).sqrt());
+		W.mul(InverseLength).intoArray(DW, Index);
+		X.mul(InverseLength).intoArray(DX, Index);
+		Y.mul(InverseLength).intoArray(DY, Index);
+		Z.mul(InverseLength).intoArray(DZ, Index);
+	}
+	
+	/**
+	 * Lane-wise FastMath.inverseSqrt, same estimate and Newton steps
+	 */
+	private static FloatVector inverseSqrt(FloatVector Square) {
+		FloatVector Half = Square.mul(0.5f);
+		IntVector Bits = Square.reinterpretAsInts().lanewise(VectorOperators.ASHR, 1);
+		FloatVector Y = IntVector.broadcast(Bits.species(), FastMath.InverseSqrtMagic).sub(Bits).reinterpretAsFloats();
+		Y = Y.mul(FloatVector.broadcast(VectorBatchKernels.Species, 1.5f).sub(Half.mul(Y).mul(Y)));
+		return Y.mul(FloatVector.broadcast(VectorBatchKernels.Species, 1.5f).sub(Half.mul(Y).mul(Y)));
+	}
+	
+	/**
+	 * Computes 1 / Length per lane, leaving zero where the length is zero to
+	 * match the scalar kernels
+	 */
+	private static FloatVector inverse(FloatVector Length) {
+		return FloatVector.broadcast(VectorBatchKernels.Species, 1.0f).div(Length)
+				.blend(0.0f, Length.compare(VectorOperators.EQ, 0.0f));
+	}
+}
@@ -0,0 +1,316 @@
+/* Helios (TM) 3D Engine (Java): Scene Transform Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Scene;
+
+import java.util.ArrayList;
+
+import Math.Matrix4;
+import Math.Quaternion;
+import Math.Vector3;
+
+/**
+ * A node of a transform hierarchy, holding a local position, rotation and
+ * scale relative to its parent. The local matrix is T * R * S and the world
+ * matrix is the parent's world matrix times the local matrix.
+ * <p>
+ * World matrices are cached. Changing a local component only marks the node
+ * dirty; the world matrix is recomputed either by
+ * {@link TransformHierarchy#update()} for every stale node at once, or on
+ * demand by {@link #worldMatrix(Matrix4)} for this node and its ancestors.
+ * A node knows its parent's world matrix changed by comparing the parent's
+ * version, which is bumped on every recompute, against the version it last
+ * saw, so moving a node implicitly invalidates its whole subtree without
+ * visiting it.
+ * <p>
+ * Nodes are created by a hierarchy and can only be parented to nodes of the
+ * same hierarchy.
+ */
+public class Transform {
+	private final Vector3 Position = new Vector3();
+	private final Quaternion Rotation = new Quaternion(0.0f, 0.0f, 0.0f, 1.0f);
+	private final Vector3 Scale = new Vector3(1.0f, 1.0f, 1.0f);
+	private final Matrix4 World = new Matrix4();
+	private final Matrix4 Local = new Matrix4();
+	TransformHierarchy Hierarchy;
+	Transform Parent;
+	final ArrayList<Transform> Children = new ArrayList<Transform>();
+	private boolean Dirty = true;
+	private int Version, ParentVersion;
+	
+	Transform(TransformHierarchy Hierarchy) {
+		this.Hierarchy = Hierarchy;
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Returns a child by index
+	 * @param Index the child index
+	 * @return the child
+	 */
+	public Transform child(int Index) {
+		return this.Children.get(Index);
+	}
+	
+	/**
+	 * Returns the number of direct children
+	 * @return the child count
+	 */
+	public int childCount() {
+		return this.Children.size();
+	}
+	
+	/**
+	 * Returns the hierarchy owning this node, or null once removed
+	 * @return the hierarchy
+	 */
+	public TransformHierarchy hierarchy() {
+		return this.Hierarchy;
+	}
+	
+	/**
+	 * Copies the local matrix into the destination
+	 * @param Dest the destination matrix
+	 * @return the destination matrix
+	 */
+	public Matrix4 localMatrix(Matrix4 Dest) {
+		return Matrix4.fromTranslationRotationScale(this.Position, this.Rotation, this.Scale, Dest);
+	}
+	
+	/**
+	 * Returns the parent, or null for a root
+	 * @return the parent
+	 */
+	public Transform parent() {
+		return this.Parent;
+	}
+	
+	/**
+	 * Copies the local position into the destination
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public Vector3 position(Vector3 Dest) {
+		Dest.set(this.Position);
+		return Dest;
+	}
+	
+	/**
+	 * Copies the local rotation into the destination
+	 * @param Dest the destination quaternion
+	 * @return the destination quaternion
+	 */
+	public Quaternion rotation(Quaternion Dest) {
+		Dest.set(this.Rotation);
+		return Dest;
+	}
+	
+	/**
+	 * Copies the local scale into the destination
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public Vector3 scale(Vector3 Dest) {
+		Dest.set(this.Scale);
+		return Dest;
+	}
+	
+	/**
+	 * Copies the world matrix into the destination, first recomputing it and
+	 * any stale ancestors
+	 * @param Dest the destination matrix
+	 * @return the destination matrix
+	 */
+	public Matrix4 worldMatrix(Matrix4 Dest) {
+		this.validate();
+		Dest.set(this.World);
+		return Dest;
+	}
+	
+	/**
+	 * Copies the world space position into the destination, first
+	 * recomputing the world matrix if stale
+	 * @param Dest the destination vector
+	 * @return the destination vector
+	 */
+	public Vector3 worldPosition(Vector3 Dest) {
+		this.validate();
+		return this.World.getTranslation(Dest);
+	}
+	
+	//Mutators
+	
+	/**
+	 * Applies a rotation in local space, after the current rotation
+	 * @param Q a unit quaternion
+	 */
+	public void rotate(Quaternion Q) {
+		this.Rotation.multiply(Q);
+		this.invalidate();
+	}
+	
+	/**
+	 * Moves this node and its subtree under a new parent, keeping the local
+	 * components
+	 * @param Parent the new parent, or null to make this node a root
+	 * @throws IllegalArgumentException if the parent belongs to another
+	 * hierarchy or is this node or one of its descendants
+	 */
+	public void setParent(Transform Parent) {
+		if(this.Hierarchy == null) {
+			throw new IllegalStateException("Transform has been removed from its hierarchy");
+		}
+		if(Parent == this.Parent) {
+			return;
+		}
+		if(Parent != null) {
+			if(Parent.Hierarchy != this.Hierarchy) {
+				throw new IllegalArgumentException("Parent belongs to a different hierarchy");
+			}
+			for(Transform T = Parent; T != null; T = T.Parent) {
+				if(T == this) {
+					throw new IllegalArgumentException("Parent is a descendant of this transform");
+				}
+			}
+		}
+		this.Hierarchy.reparent(this, Parent);
+		this.invalidate();
+	}
+	
+	/**
+	 * Sets the local position
+	 * @param X the X component
+	 * @param Y the Y component
+	 * @param Z the Z component
+	 */
+	public void setPosition(float X, float Y, float Z) {
+		this.Position.set(X, Y, Z);
+		this.invalidate();
+	}
+	
+	/**
+	 * Sets the local position
+	 * @param Position the position
+	 */
+	public void setPosition(Vector3 Position) {
+		this.Position.set(Position);
+		this.invalidate();
+	}
+	
+	/**
+	 * Sets the local rotation
+	 * @param Rotation a unit quaternion
+	 */
+	public void setRotation(Quaternion Rotation) {
+		this.Rotation.set(Rotation);
+		this.invalidate();
+	}
+	
+	/**
+	 * Sets the local scale
+	 * @param X the X scale
+	 * @param Y the Y scale
+	 * @param Z the Z scale
+	 */
+	public void setScale(float X, float Y, float Z) {
+		this.Scale.set(X, Y, Z);
+		this.invalidate();
+	}
+	
+	/**
+	 * Sets the local scale
+	 * @param Scale the XYZ scale
+	 */
+	public void setScale(Vector3 Scale) {
+		this.Scale.set(Scale);
+		this.invalidate();
+	}
+	
+	/**
+	 * Sets position, rotation and scale at once, marking the node dirty once
+	 * @param Position the position
+	 * @param Rotation a unit quaternion
+	 * @param Scale the XYZ scale
+	 */
+	public void setLocal(Vector3 Position, Quaternion Rotation, Vector3 Scale) {
+		this.Position.set(Position);
+		this.Rotation.set(Rotation);
+		this.Scale.set(Scale);
+		this.invalidate();
+	}
+	
+	/**
+	 * Moves the local position by an offset in parent space
+	 * @param Offset the offset
+	 */
+	public void translate(Vector3 Offset) {
+		this.Position.add(Offset);
+		this.invalidate();
+	}
+	
+	/**
+	 * Recomputes the world matrix if the local components or the parent's
+	 * world matrix changed since the last recompute
+	 * @return true if the world matrix was recomputed
+	 */
+	boolean refresh() {
+		Transform Parent = this.Parent;
+		if(Parent == null) {
+			if(!this.Dirty) {
+				return false;
+			}
+			this.localMatrix(this.World);
+		}else {
+			if(!this.Dirty && Parent.Version == this.ParentVersion) {
+				return false;
+			}
+			if(this.Dirty) {
+				this.localMatrix(this.Local);
+			}
+			Matrix4.multiplyAffine(Parent.World, this.Local, this.World);
+			this.ParentVersion = Parent.Version;
+		}
+		this.Dirty = false;
+		this.Version++;
+		return true;
+	}
+	
+	private void invalidate() {
+		if(!this.Dirty) {
+			this.Dirty = true;
+			if(this.Hierarchy != null) {
+				this.Hierarchy.Dirty = true;
+			}
+		}
+	}
+	
+	/**
+	 * Brings the world matrix up to date by repeatedly refreshing the topmost
+	 * stale node between this one and the root. Each refresh makes the next
+	 * node down stale, so this walks the chain top-down without recursion or
+	 * allocation.
+	 */
+	private void validate() {
+		for(;;) {
+			Transform Top = null;
+			for(Transform T = this; T != null; T = T.Parent) {
+				if(T.Dirty || (T.Parent != null && T.Parent.Version != T.ParentVersion)) {
+					Top = T;
+				}
+			}
+			if(Top == null) {
+				return;
+			}
+			Top.refresh();
+		}
+	}
+}
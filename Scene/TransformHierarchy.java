@@ -0,0 +1,172 @@
+/* Helios (TM) 3D Engine (Java): Transform Hierarchy Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Scene;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Owns a set of transforms and updates their world matrices in one pass.
+ * <p>
+ * The nodes are kept in a flat array in breadth-first order, so every parent
+ * precedes its children and siblings are adjacent. {@link #update()} walks
+ * the array front to back, refreshing only the nodes whose local components
+ * or parent changed, which needs neither recursion nor a per-frame traversal
+ * of the child lists. The order is rebuilt lazily after nodes are created,
+ * removed or reparented, and update returns immediately when nothing has
+ * changed since the last call.
+ */
+public class TransformHierarchy {
+	private final ArrayList<Transform> Roots = new ArrayList<Transform>();
+	private Transform[] Order = new Transform[16];
+	private int Size;
+	private boolean Unordered;
+	boolean Dirty;
+	
+	public TransformHierarchy() {
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Returns the number of transforms
+	 * @return the transform count
+	 */
+	public int size() {
+		return this.Size;
+	}
+	
+	//Mutators
+	
+	/**
+	 * Creates a root transform with identity local components
+	 * @return the new transform
+	 */
+	public Transform create() {
+		return this.create(null);
+	}
+	
+	/**
+	 * Creates a transform with identity local components
+	 * @param Parent the parent, or null for a root
+	 * @return the new transform
+	 * @throws IllegalArgumentException if the parent belongs to another
+	 * hierarchy
+	 */
+	public Transform create(Transform Parent) {
+		if(Parent != null && Parent.Hierarchy != this) {
+			throw new IllegalArgumentException("Parent belongs to a different hierarchy");
+		}
+		Transform T = new Transform(this);
+		this.attach(T, Parent);
+		this.Size++;
+		return T;
+	}
+	
+	/**
+	 * Removes a transform and its whole subtree. Removed transforms keep
+	 * their last world matrix but can no longer be reparented.
+	 * @param T the transform to remove
+	 * @throws IllegalArgumentException if the transform belongs to another
+	 * hierarchy
+	 */
+	public void remove(Transform T) {
+		if(T.Hierarchy != this) {
+			throw new IllegalArgumentException("Transform belongs to a different hierarchy");
+		}
+		this.detach(T);
+		T.Parent = null;
+		this.Unordered = true;
+		this.Dirty = true;
+		ArrayList<Transform> Pending = new ArrayList<Transform>();
+		Pending.add(T);
+		while(!Pending.isEmpty()) {
+			Transform Node = Pending.remove(Pending.size() - 1);
+			Node.Hierarchy = null;
+			Pending.addAll(Node.Children);
+			this.Size--;
+		}
+	}
+	
+	/**
+	 * Recomputes the world matrix of every transform whose local components,
+	 * parent, or any ancestor changed since the last update
+	 * @return the number of world matrices recomputed
+	 */
+	public int update() {
+		if(!this.Dirty) {
+			return 0;
+		}
+		if(this.Unordered) {
+			this.order();
+		}
+		Transform[] Order = this.Order;
+		int Refreshed = 0;
+		for(int i = 0; i < this.Size; i++) {
+			if(Order[i].refresh()) {
+				Refreshed++;
+			}
+		}
+		this.Dirty = false;
+		return Refreshed;
+	}
+	
+	/**
+	 * Moves a node under a new parent, or to the roots when null
+	 */
+	void reparent(Transform T, Transform Parent) {
+		this.detach(T);
+		this.attach(T, Parent);
+	}
+	
+	private void attach(Transform T, Transform Parent) {
+		T.Parent = Parent;
+		if(Parent != null) {
+			Parent.Children.add(T);
+		}else {
+			this.Roots.add(T);
+		}
+		this.Unordered = true;
+		this.Dirty = true;
+	}
+	
+	private void detach(Transform T) {
+		if(T.Parent != null) {
+			T.Parent.Children.remove(T);
+		}else {
+			this.Roots.remove(T);
+		}
+	}
+	
+	/**
+	 * Rebuilds the flat array breadth-first from the roots. The array itself
+	 * serves as the queue: each node's children are appended after it.
+	 */
+	private void order() {
+		if(this.Order.length < this.Size) {
+			this.Order = new Transform[Math.max(this.Size, 2 * this.Order.length)];
+		}
+		Transform[] Order = this.Order;
+		int Tail = 0;
+		for(int i = 0; i < this.Roots.size(); i++) {
+			Order[Tail++] = this.Roots.get(i);
+		}
+		for(int Head = 0; Head < Tail; Head++) {
+			ArrayList<Transform> Children = Order[Head].Children;
+			for(int i = 0; i < Children.size(); i++) {
+				Order[Tail++] = Children.get(i);
+			}
+		}
+		Arrays.fill(Order, Tail, Order.length, null);
+		this.Unordered = false;
+	}
+}
@@ -0,0 +1,651 @@
+/* Helios (TM) 3D Engine (Java): Bounding Volume Hierarchy Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Spatial;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import Math.AABB;
+import Math.Vector3;
+import Math.Vector3Array;
+
+/**
+ * A bounding volume hierarchy over primitives given by their bounding boxes,
+ * built top-down with the binned surface area heuristic.
+ * <p>
+ * Nodes are flattened into two arrays. Node i has its box in Bounds[6i] to
+ * Bounds[6i + 5] as min XYZ then max XYZ, and two ints in Nodes[2i] and
+ * Nodes[2i + 1]. For a leaf these are the first index into the primitive
+ * order array and the primitive count; for an interior node they are the
+ * index of the left child and zero, the right child following the left. A
+ * child always has a higher index than its parent, which lets refit walk the
+ * nodes in reverse.
+ * <p>
+ * The tree only knows primitive boxes. Queries accept a callback for the
+ * exact primitive test and fall back to the box when it is null. Queries
+ * only read the tree and may run concurrently with each other, but not with
+ * refit.
+ */
+public class BVH {
+	/**
+	 * Maximum number of primitives in a leaf
+	 */
+	public static final int LEAF_SIZE = 4;
+	
+	/**
+	 * Number of centroid bins per axis evaluated for each split
+	 */
+	private static final int BINS = 16;
+	
+	/**
+	 * Ranges larger than this are built as separate fork-join tasks
+	 */
+	private static final int TASK_SIZE = 8192;
+	
+	/**
+	 * Each thread's traversal stack, shared by every tree and taken out of
+	 * the slot while a query runs
+	 */
+	private static final ThreadLocal<int[][]> Stacks = ThreadLocal.withInitial(() -> new int[1][]);
+	
+	private Vector3Array Min, Max;
+	private final int[] Order;
+	private final float[] Bounds;
+	private final int[] Nodes;
+	private final int NodeCount;
+	private final int Depth;
+	
+	/**
+	 * Builds a hierarchy on the calling thread
+	 * @param Min the minimum corner of each primitive's box
+	 * @param Max the maximum corner of each primitive's box
+	 * @param Count the number of primitives, indexed from zero
+	 */
+	public BVH(Vector3Array Min, Vector3Array Max, int Count) {
+		this(Min, Max, Count, null);
+	}
+	
+	/**
+	 * Builds a hierarchy, building large subtrees in parallel
+	 * @param Min the minimum corner of each primitive's box
+	 * @param Max the maximum corner of each primitive's box
+	 * @param Count the number of primitives, indexed from zero
+	 * @param Pool the pool to build on, or null to build on the calling thread
+	 */
+	public BVH(Vector3Array Min, Vector3Array Max, int Count, ForkJoinPool Pool) {
+		this.Min = Min;
+		this.Max = Max;
+		this.Order = new int[Count];
+		for(int i = 0; i < Count; i++) {
+			this.Order[i] = i;
+		}
+		int Capacity = Math.max(1, 2 * Count - 1);
+		this.Bounds = new float[6 * Capacity];
+		this.Nodes = new int[2 * Capacity];
+		Builder Root = new Builder(this, new AtomicInteger(1), 0, 0, Count, 1);
+		if(Pool == null || Count <= BVH.TASK_SIZE) {
+			Root.compute();
+		}else {
+			Pool.invoke(Root);
+		}
+		this.NodeCount = Root.Allocator.get();
+		this.Depth = Root.MaxDepth.get();
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Copies the bounds of the whole hierarchy into a box
+	 * @param Dest the destination box
+	 * @return the destination box
+	 */
+	public AABB bounds(AABB Dest) {
+		if(this.Order.length == 0) {
+			Dest.clear();
+		}else {
+			Dest.set(this.Bounds[0], this.Bounds[1], this.Bounds[2], this.Bounds[3], this.Bounds[4], this.Bounds[5]);
+		}
+		return Dest;
+	}
+	
+	/**
+	 * Returns the number of levels, a single leaf being one
+	 * @return the depth
+	 */
+	public int depth() {
+		return this.Depth;
+	}
+	
+	/**
+	 * Finds the primitive closest to a point. The distance callback is
+	 * invoked only for primitives whose box is closer than the best distance
+	 * found so far.
+	 * @param Point the query point
+	 * @param MaxDistance primitives farther than this are ignored
+	 * @param Distance the exact squared distance to a primitive, or null to
+	 * use the distance to its box
+	 * @param Dest receives the primitive and its (not squared) distance, or is
+	 * cleared if nothing lies within MaxDistance
+	 * @return true if a primitive was found
+	 */
+	public boolean nearest(Vector3 Point, float MaxDistance, PointDistance Distance, Hit Dest) {
+		Dest.clear();
+		if(this.Order.length == 0) {
+			return false;
+		}
+		float PX = Point.x(), PY = Point.y(), PZ = Point.z();
+		float Best = MaxDistance * MaxDistance;
+		int BestPrimitive = -1;
+		int[][] Slot = BVH.Stacks.get();
+		int[] Stack = BVH.stack(Slot, this.Depth + 1);
+		int Top = 0;
+		Stack[Top++] = 0;
+		while(Top > 0) {
+			int Node = Stack[--Top];
+			if(BVH.distanceSquared(this.Bounds, 6 * Node, PX, PY, PZ) > Best) {
+				continue;
+			}
+			int First = this.Nodes[2 * Node], Count = this.Nodes[2 * Node + 1];
+			if(Count > 0) {
+				for(int i = First, End = First + Count; i < End; i++) {
+					int Primitive = this.Order[i];
+					float Square = Distance == null ? this.primitiveDistanceSquared(Primitive, PX, PY, PZ) : Distance.distanceSquared(Primitive, PX, PY, PZ);
+					if(Square <= Best) {
+						Best = Square;
+						BestPrimitive = Primitive;
+					}
+				}
+			}else {
+				//Push the farther child first so the nearer one is visited first
+				float Left = BVH.distanceSquared(this.Bounds, 6 * First, PX, PY, PZ);
+				float Right = BVH.distanceSquared(this.Bounds, 6 * (First + 1), PX, PY, PZ);
+				if(Left <= Right) {
+					Stack[Top++] = First + 1;
+					Stack[Top++] = First;
+				}else {
+					Stack[Top++] = First;
+					Stack[Top++] = First + 1;
+				}
+			}
+		}
+		Slot[0] = Stack;
+		if(BestPrimitive < 0) {
+			return false;
+		}
+		Dest.set(BestPrimitive, (float) Math.sqrt(Best));
+		return true;
+	}
+	
+	/**
+	 * Returns the number of nodes
+	 * @return the node count
+	 */
+	public int nodeCount() {
+		return this.NodeCount;
+	}
+	
+	/**
+	 * Reports every primitive whose box overlaps a box
+	 * @param Box the query box
+	 * @param Visitor receives the index of each overlapping primitive
+	 * @return the number of primitives reported
+	 */
+	public int overlap(AABB Box, IntConsumer Visitor) {
+		if(this.Order.length == 0 || Box.isEmpty()) {
+			return 0;
+		}
+		float MinX = Box.minX(), MinY = Box.minY(), MinZ = Box.minZ();
+		float MaxX = Box.maxX(), MaxY = Box.maxY(), MaxZ = Box.maxZ();
+		float[] PMinX = this.Min.x(), PMinY = this.Min.y(), PMinZ = this.Min.z();
+		float[] PMaxX = this.Max.x(), PMaxY = this.Max.y(), PMaxZ = this.Max.z();
+		int Found = 0;
+		int[][] Slot = BVH.Stacks.get();
+		int[] Stack = BVH.stack(Slot, this.Depth + 1);
+		int Top = 0;
+		Stack[Top++] = 0;
+		while(Top > 0) {
+			int Node = Stack[--Top];
+			int B = 6 * Node;
+			if(this.Bounds[B] > MaxX || this.Bounds[B + 3] < MinX || this.Bounds[B + 1] > MaxY || this.Bounds[B + 4] < MinY
+			   || this.Bounds[B + 2] > MaxZ || this.Bounds[B + 5] < MinZ) {
+				continue;
+			}
+			int First = this.Nodes[2 * Node], Count = this.Nodes[2 * Node + 1];
+			if(Count > 0) {
+				for(int i = First, End = First + Count; i < End; i++) {
+					int P = this.Order[i];
+					if(PMinX[P] <= MaxX && PMaxX[P] >= MinX && PMinY[P] <= MaxY && PMaxY[P] >= MinY && PMinZ[P] <= MaxZ && PMaxZ[P] >= MinZ) {
+						Visitor.accept(P);
+						Found++;
+					}
+				}
+			}else {
+				Stack[Top++] = First + 1;
+				Stack[Top++] = First;
+			}
+		}
+		Slot[0] = Stack;
+		return Found;
+	}
+	
+	/**
+	 * Finds the first primitive hit by a ray. The intersection callback is
+	 * invoked only for primitives whose box the ray enters before the
+	 * closest hit found so far.
+	 * @param Origin the ray origin
+	 * @param Direction the ray direction, not necessarily unit length;
+	 * distances are measured in multiples of it
+	 * @param MaxDistance hits farther than this are ignored
+	 * @param Intersector the exact primitive test, or null to hit the boxes
+	 * @param Dest receives the primitive and the distance along the ray, or is
+	 * cleared if nothing is hit
+	 * @return true if a primitive was hit
+	 */
+	public boolean raycast(Vector3 Origin, Vector3 Direction, float MaxDistance, RayIntersector Intersector, Hit Dest) {
+		Dest.clear();
+		if(this.Order.length == 0) {
+			return false;
+		}
+		float OX = Origin.x(), OY = Origin.y(), OZ = Origin.z();
+		float DX = Direction.x(), DY = Direction.y(), DZ = Direction.z();
+		float IX = 1.0f / DX, IY = 1.0f / DY, IZ = 1.0f / DZ;
+		float Best = MaxDistance;
+		int BestPrimitive = -1;
+		int[][] Slot = BVH.Stacks.get();
+		int[] Stack = BVH.stack(Slot, this.Depth + 1);
+		int Top = 0;
+		Stack[Top++] = 0;
+		while(Top > 0) {
+			int Node = Stack[--Top];
+			if(BVH.slab(this.Bounds, 6 * Node, OX, OY, OZ, IX, IY, IZ, Best) > Best) {
+				continue;
+			}
+			int First = this.Nodes[2 * Node], Count = this.Nodes[2 * Node + 1];
+			if(Count > 0) {
+				for(int i = First, End = First + Count; i < End; i++) {
+					int Primitive = this.Order[i];
+					float Distance = Intersector == null ? this.primitiveSlab(Primitive, OX, OY, OZ, IX, IY, IZ, Best)
+							: Intersector.intersect(Primitive, OX, OY, OZ, DX, DY, DZ, Best);
+					//A miss is +infinity, which an infinite MaxDistance would otherwise accept
+					if(Distance <= Best && Distance != Float.POSITIVE_INFINITY) {
+						Best = Distance;
+						BestPrimitive = Primitive;
+					}
+				}
+			}else {
+				float Left = BVH.slab(this.Bounds, 6 * First, OX, OY, OZ, IX, IY, IZ, Best);
+				float Right = BVH.slab(this.Bounds, 6 * (First + 1), OX, OY, OZ, IX, IY, IZ, Best);
+				if(Left <= Right) {
+					Stack[Top++] = First + 1;
+					Stack[Top++] = First;
+				}else {
+					Stack[Top++] = First;
+					Stack[Top++] = First + 1;
+				}
+			}
+		}
+		Slot[0] = Stack;
+		if(BestPrimitive < 0) {
+			return false;
+		}
+		Dest.set(BestPrimitive, Best);
+		return true;
+	}
+	
+	//Mutators
+	
+	/**
+	 * Recomputes every node box from new primitive boxes without changing the
+	 * tree structure, for animated geometry whose primitives move but keep
+	 * their identity. Query quality degrades as the motion drifts from the
+	 * configuration the tree was built for; rebuild when it matters.
+	 * @param Min the new minimum corner of each primitive's box
+	 * @param Max the new maximum corner of each primitive's box
+	 */
+	public void refit(Vector3Array Min, Vector3Array Max) {
+		this.Min = Min;
+		this.Max = Max;
+		if(this.Order.length == 0) {
+			return;
+		}
+		float[] PMinX = Min.x(), PMinY = Min.y(), PMinZ = Min.z();
+		float[] PMaxX = Max.x(), PMaxY = Max.y(), PMaxZ = Max.z();
+		float[] Bounds = this.Bounds;
+		for(int Node = this.NodeCount - 1; Node >= 0; Node--) {
+			int First = this.Nodes[2 * Node], Count = this.Nodes[2 * Node + 1];
+			int B = 6 * Node;
+			if(Count > 0) {
+				float MinX = Float.POSITIVE_INFINITY, MinY = Float.POSITIVE_INFINITY, MinZ = Float.POSITIVE_INFINITY;
+				float MaxX = Float.NEGATIVE_INFINITY, MaxY = Float.NEGATIVE_INFINITY, MaxZ = Float.NEGATIVE_INFINITY;
+				for(int i = First, End = First + Count; i < End; i++) {
+					int P = this.Order[i];
+					MinX = Math.min(MinX, PMinX[P]);
+					MinY = Math.min(MinY, PMinY[P]);
+					MinZ = Math.min(MinZ, PMinZ[P]);
+					MaxX = Math.max(MaxX, PMaxX[P]);
+					MaxY = Math.max(MaxY, PMaxY[P]);
+					MaxZ = Math.max(MaxZ, PMaxZ[P]);
+				}
+				BVH.store(Bounds, B, MinX, MinY, MinZ, MaxX, MaxY, MaxZ);
+			}else {
+				int L = 6 * First, R = L + 6;
+				BVH.store(Bounds, B, Math.min(Bounds[L], Bounds[R]), Math.min(Bounds[L + 1], Bounds[R + 1]), Math.min(Bounds[L + 2], Bounds[R + 2]),
+						  Math.max(Bounds[L + 3], Bounds[R + 3]), Math.max(Bounds[L + 4], Bounds[R + 4]), Math.max(Bounds[L + 5], Bounds[R + 5]));
+			}
+		}
+	}
+	
+	private float primitiveDistanceSquared(int P, float PX, float PY, float PZ) {
+		float DX = PX - Math.max(this.Min.x()[P], Math.min(PX, this.Max.x()[P]));
+		float DY = PY - Math.max(this.Min.y()[P], Math.min(PY, this.Max.y()[P]));
+		float DZ = PZ - Math.max(this.Min.z()[P], Math.min(PZ, this.Max.z()[P]));
+		return DX * DX + DY * DY + DZ * DZ;
+	}
+	
+	private float primitiveSlab(int P, float OX, float OY, float OZ, float IX, float IY, float IZ, float Limit) {
+		float TX0 = (this.Min.x()[P] - OX) * IX, TX1 = (this.Max.x()[P] - OX) * IX;
+		float TY0 = (this.Min.y()[P] - OY) * IY, TY1 = (this.Max.y()[P] - OY) * IY;
+		float TZ0 = (this.Min.z()[P] - OZ) * IZ, TZ1 = (this.Max.z()[P] - OZ) * IZ;
+		return BVH.slab(TX0, TX1, TY0, TY1, TZ0, TZ1, Limit);
+	}
+	
+	/**
+	 * Squared distance from a point to a node box, zero inside
+	 */
+	private static float distanceSquared(float[] Bounds, int B, float PX, float PY, float PZ) {
+		float DX = PX - Math.max(Bounds[B], Math.min(PX, Bounds[B + 3]));
+		float DY = PY - Math.max(Bounds[B + 1], Math.min(PY, Bounds[B + 4]));
+		float DZ = PZ - Math.max(Bounds[B + 2], Math.min(PZ, Bounds[B + 5]));
+		return DX * DX + DY * DY + DZ * DZ;
+	}
+	
+	private static float slab(float[] Bounds, int B, float OX, float OY, float OZ, float IX, float IY, float IZ, float Limit) {
+		return BVH.slab((Bounds[B] - OX) * IX, (Bounds[B + 3] - OX) * IX,
+						(Bounds[B + 1] - OY) * IY, (Bounds[B + 4] - OY) * IY,
+						(Bounds[B + 2] - OZ) * IZ, (Bounds[B + 5] - OZ) * IZ, Limit);
+	}
+	
+	/**
+	 * Returns the entry distance of a ray into a box given the slab
+	 * distances, clamped to zero for rays starting inside, or +infinity when
+	 * the ray misses or enters beyond the limit
+	 */
+	private static float slab(float TX0, float TX1, float TY0, float TY1, float TZ0, float TZ1, float Limit) {
+		float Near = Math.max(Math.max(Math.min(TX0, TX1), Math.min(TY0, TY1)), Math.max(Math.min(TZ0, TZ1), 0.0f));
+		float Far = Math.min(Math.min(Math.max(TX0, TX1), Math.max(TY0, TY1)), Math.min(Math.max(TZ0, TZ1), Limit));
+		if(Near <= Far) {
+			return Near;
+		}
+		//A zero direction component with the origin on one of that axis's planes gives 0 * infinity = NaN
+		if(Near != Near || Far != Far) {
+			return BVH.slabPlanar(TX0, TX1, TY0, TY1, TZ0, TZ1, Limit);
+		}
+		return Float.POSITIVE_INFINITY;
+	}
+	
+	/**
+	 * Slab test for a ray running in the plane of a box face. Math.min and
+	 * Math.max carry the NaN into that axis's interval and the compares skip
+	 * it, since the ray lies inside that slab along its whole length.
+	 */
+	private static float slabPlanar(float TX0, float TX1, float TY0, float TY1, float TZ0, float TZ1, float Limit) {
+		float Near = 0.0f, Far = Limit;
+		float Low = Math.min(TX0, TX1), High = Math.max(TX0, TX1);
+		Near = Low > Near ? Low : Near;
+		Far = High < Far ? High : Far;
+		Low = Math.min(TY0, TY1);
+		High = Math.max(TY0, TY1);
+		Near = Low > Near ? Low : Near;
+		Far = High < Far ? High : Far;
+		Low = Math.min(TZ0, TZ1);
+		High = Math.max(TZ0, TZ1);
+		Near = Low > Near ? Low : Near;
+		Far = High < Far ? High : Far;
+		return Near <= Far ? Near : Float.POSITIVE_INFINITY;
+	}
+	
+	/**
+	 * Takes the thread's traversal stack out of its slot, or allocates one if
+	 * it is too small or held by an enclosing query on this thread, such as
+	 * one made from a callback. The query puts it back when done.
+	 */
+	private static int[] stack(int[][] Slot, int Size) {
+		int[] Stack = Slot[0];
+		if(Stack == null || Stack.length < Size) {
+			return new int[Size];
+		}
+		Slot[0] = null;
+		return Stack;
+	}
+	
+	private static void store(float[] Bounds, int B, float MinX, float MinY, float MinZ, float MaxX, float MaxY, float MaxZ) {
+		Bounds[B] = MinX;
+		Bounds[B + 1] = MinY;
+		Bounds[B + 2] = MinZ;
+		Bounds[B + 3] = MaxX;
+		Bounds[B + 4] = MaxY;
+		Bounds[B + 5] = MaxZ;
+	}
+	
+	/**
+	 * Exact ray test against one primitive
+	 */
+	public interface RayIntersector {
+		/**
+		 * Intersects a ray with a primitive
+		 * @param Primitive the primitive index
+		 * @param OX the ray origin X
+		 * @param OY the ray origin Y
+		 * @param OZ the ray origin Z
+		 * @param DX the ray direction X
+		 * @param DY the ray direction Y
+		 * @param DZ the ray direction Z
+		 * @param MaxDistance the closest hit so far
+		 * @return the distance along the ray, or +infinity on a miss
+		 */
+		float intersect(int Primitive, float OX, float OY, float OZ, float DX, float DY, float DZ, float MaxDistance);
+	}
+	
+	/**
+	 * Exact point distance to one primitive
+	 */
+	public interface PointDistance {
+		/**
+		 * Measures the squared distance from a point to a primitive
+		 * @param Primitive the primitive index
+		 * @param X the point X
+		 * @param Y the point Y
+		 * @param Z the point Z
+		 * @return the squared distance
+		 */
+		float distanceSquared(int Primitive, float X, float Y, float Z);
+	}
+	
+	/**
+	 * Builds the subtree for one node over a range of the primitive order.
+	 * Runs as a fork-join task for large ranges and recurses directly below.
+	 */
+	private static final class Builder extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		private final BVH Tree;
+		private final AtomicInteger Allocator;
+		private final AtomicInteger MaxDepth;
+		private final int Node, Start, End, Level;
+		
+		Builder(BVH Tree, AtomicInteger Allocator, int Node, int Start, int End, int Level) {
+			this(Tree, Allocator, new AtomicInteger(), Node, Start, End, Level);
+		}
+		
+		private Builder(BVH Tree, AtomicInteger Allocator, AtomicInteger MaxDepth, int Node, int Start, int End, int Level) {
+			this.Tree = Tree;
+			this.Allocator = Allocator;
+			this.MaxDepth = MaxDepth;
+			this.Node = Node;
+			this.Start = Start;
+			this.End = End;
+			this.Level = Level;
+		}
+		
+		protected void compute() {
+			this.build(this.Node, this.Start, this.End, this.Level, new float[6 * BVH.BINS], new int[BVH.BINS], new float[BVH.BINS]);
+		}
+		
+		private void build(int Node, int Start, int End, int Level, float[] BinBounds, int[] BinCounts, float[] RightAreas) {
+			BVH Tree = this.Tree;
+			float[] PMinX = Tree.Min.x(), PMinY = Tree.Min.y(), PMinZ = Tree.Min.z();
+			float[] PMaxX = Tree.Max.x(), PMaxY = Tree.Max.y(), PMaxZ = Tree.Max.z();
+			int[] Order = Tree.Order;
+			float MinX = Float.POSITIVE_INFINITY, MinY = Float.POSITIVE_INFINITY, MinZ = Float.POSITIVE_INFINITY;
+			float MaxX = Float.NEGATIVE_INFINITY, MaxY = Float.NEGATIVE_INFINITY, MaxZ = Float.NEGATIVE_INFINITY;
+			float CMinX = Float.POSITIVE_INFINITY, CMinY = Float.POSITIVE_INFINITY, CMinZ = Float.POSITIVE_INFINITY;
+			float CMaxX = Float.NEGATIVE_INFINITY, CMaxY = Float.NEGATIVE_INFINITY, CMaxZ = Float.NEGATIVE_INFINITY;
+			for(int i = Start; i < End; i++) {
+				int P = Order[i];
+				MinX = Math.min(MinX, PMinX[P]);
+				MinY = Math.min(MinY, PMinY[P]);
+				MinZ = Math.min(MinZ, PMinZ[P]);
+				MaxX = Math.max(MaxX, PMaxX[P]);
+				MaxY = Math.max(MaxY, PMaxY[P]);
+				MaxZ = Math.max(MaxZ, PMaxZ[P]);
+				float CX = PMinX[P] + PMaxX[P], CY = PMinY[P] + PMaxY[P], CZ = PMinZ[P] + PMaxZ[P];
+				CMinX = Math.min(CMinX, CX);
+				CMinY = Math.min(CMinY, CY);
+				CMinZ = Math.min(CMinZ, CZ);
+				CMaxX = Math.max(CMaxX, CX);
+				CMaxY = Math.max(CMaxY, CY);
+				CMaxZ = Math.max(CMaxZ, CZ);
+			}
+			BVH.store(Tree.Bounds, 6 * Node, MinX, MinY, MinZ, MaxX, MaxY, MaxZ);
+			int Count = End - Start;
+			if(Count <= BVH.LEAF_SIZE) {
+				this.leaf(Node, Start, Count, Level);
+				return;
+			}
+			//Evaluate binned SAH on every axis. Centroids are kept doubled to save a multiply.
+			float BestCost = Float.POSITIVE_INFINITY;
+			int BestAxis = -1, BestSplit = 0;
+			for(int Axis = 0; Axis < 3; Axis++) {
+				float CMin = Axis == 0 ? CMinX : Axis == 1 ? CMinY : CMinZ;
+				float CMax = Axis == 0 ? CMaxX : Axis == 1 ? CMaxY : CMaxZ;
+				if(!(CMax > CMin)) {
+					continue;
+				}
+				float Scale = BVH.BINS / (CMax - CMin);
+				Arrays.fill(BinCounts, 0);
+				for(int b = 0; b < BVH.BINS; b++) {
+					BVH.store(BinBounds, 6 * b, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY,
+							  Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY);
+				}
+				float[] PMinA = Axis == 0 ? PMinX : Axis == 1 ? PMinY : PMinZ;
+				float[] PMaxA = Axis == 0 ? PMaxX : Axis == 1 ? PMaxY : PMaxZ;
+				for(int i = Start; i < End; i++) {
+					int P = Order[i];
+					int Bin = Math.min(BVH.BINS - 1, (int) ((PMinA[P] + PMaxA[P] - CMin) * Scale));
+					BinCounts[Bin]++;
+					int B = 6 * Bin;
+					BinBounds[B] = Math.min(BinBounds[B], PMinX[P]);
+					BinBounds[B + 1] = Math.min(BinBounds[B + 1], PMinY[P]);
+					BinBounds[B + 2] = Math.min(BinBounds[B + 2], PMinZ[P]);
+					BinBounds[B + 3] = Math.max(BinBounds[B + 3], PMaxX[P]);
+					BinBounds[B + 4] = Math.max(BinBounds[B + 4], PMaxY[P]);
+					BinBounds[B + 5] = Math.max(BinBounds[B + 5], PMaxZ[P]);
+				}
+				//Sweep from the right, recording the area of bins [b, BINS)
+				float RMinX = Float.POSITIVE_INFINITY, RMinY = Float.POSITIVE_INFINITY, RMinZ = Float.POSITIVE_INFINITY;
+				float RMaxX = Float.NEGATIVE_INFINITY, RMaxY = Float.NEGATIVE_INFINITY, RMaxZ = Float.NEGATIVE_INFINITY;
+				for(int b = BVH.BINS - 1; b > 0; b--) {
+					int B = 6 * b;
+					RMinX = Math.min(RMinX, BinBounds[B]);
+					RMinY = Math.min(RMinY, BinBounds[B + 1]);
+					RMinZ = Math.min(RMinZ, BinBounds[B + 2]);
+					RMaxX = Math.max(RMaxX, BinBounds[B + 3]);
+					RMaxY = Math.max(RMaxY, BinBounds[B + 4]);
+					RMaxZ = Math.max(RMaxZ, BinBounds[B + 5]);
+					RightAreas[b] = BVH.area(RMinX, RMinY, RMinZ, RMaxX, RMaxY, RMaxZ);
+				}
+				//Sweep from the left, splitting before bin b
+				float LMinX = Float.POSITIVE_INFINITY, LMinY = Float.POSITIVE_INFINITY, LMinZ = Float.POSITIVE_INFINITY;
+				float LMaxX = Float.NEGATIVE_INFINITY, LMaxY = Float.NEGATIVE_INFINITY, LMaxZ = Float.NEGATIVE_INFINITY;
+				int LeftCount = 0;
+				for(int b = 1; b < BVH.BINS; b++) {
+					int B = 6 * (b - 1);
+					LeftCount += BinCounts[b - 1];
+					LMinX = Math.min(LMinX, BinBounds[B]);
+					LMinY = Math.min(LMinY, BinBounds[B + 1]);
+					LMinZ = Math.min(LMinZ, BinBounds[B + 2]);
+					LMaxX = Math.max(LMaxX, BinBounds[B + 3]);
+					LMaxY = Math.max(LMaxY, BinBounds[B + 4]);
+					LMaxZ = Math.max(LMaxZ, BinBounds[B + 5]);
+					if(LeftCount == 0 || LeftCount == Count) {
+						continue;
+					}
+					float Cost = LeftCount * BVH.area(LMinX, LMinY, LMinZ, LMaxX, LMaxY, LMaxZ) + (Count - LeftCount) * RightAreas[b];
+					if(Cost < BestCost) {
+						BestCost = Cost;
+						BestAxis = Axis;
+						BestSplit = b;
+					}
+				}
+			}
+			int Middle;
+			if(BestAxis >= 0) {
+				float CMin = BestAxis == 0 ? CMinX : BestAxis == 1 ? CMinY : CMinZ;
+				float CMax = BestAxis == 0 ? CMaxX : BestAxis == 1 ? CMaxY : CMaxZ;
+				float Scale = BVH.BINS / (CMax - CMin);
+				float[] PMinA = BestAxis == 0 ? PMinX : BestAxis == 1 ? PMinY : PMinZ;
+				float[] PMaxA = BestAxis == 0 ? PMaxX : BestAxis == 1 ? PMaxY : PMaxZ;
+				int i = Start, j = End - 1;
+				while(i <= j) {
+					int P = Order[i];
+					if(Math.min(BVH.BINS - 1, (int) ((PMinA[P] + PMaxA[P] - CMin) * Scale)) < BestSplit) {
+						i++;
+					}else {
+						Order[i] = Order[j];
+						Order[j--] = P;
+					}
+				}
+				Middle = i;
+			}else {
+				//All centroids coincide: split the range in half
+				Middle = Start + Count / 2;
+			}
+			int Left = this.Allocator.getAndAdd(2);
+			Tree.Nodes[2 * Node] = Left;
+			Tree.Nodes[2 * Node + 1] = 0;
+			if(Count > BVH.TASK_SIZE && RecursiveAction.inForkJoinPool()) {
+				RecursiveAction.invokeAll(new Builder(Tree, this.Allocator, this.MaxDepth, Left, Start, Middle, Level + 1),
+										  new Builder(Tree, this.Allocator, this.MaxDepth, Left + 1, Middle, End, Level + 1));
+			}else {
+				this.build(Left, Start, Middle, Level + 1, BinBounds, BinCounts, RightAreas);
+				this.build(Left + 1, Middle, End, Level + 1, BinBounds, BinCounts, RightAreas);
+			}
+		}
+		
+		private void leaf(int Node, int Start, int Count, int Level) {
+			this.Tree.Nodes[2 * Node] = Start;
+			this.Tree.Nodes[2 * Node + 1] = Count;
+			this.MaxDepth.accumulateAndGet(Level, Math::max);
+		}
+	}
+	
+	/**
+	 * Half the surface area of a box, which is all SAH comparisons need
+	 */
+	private static float area(float MinX, float MinY, float MinZ, float MaxX, float MaxY, float MaxZ) {
+		float X = MaxX - MinX, Y = MaxY - MinY, Z = MaxZ - MinZ;
+		return X * Y + Y * Z + Z * X;
+	}
+}
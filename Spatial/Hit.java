@@ -0,0 +1,73 @@
+/* Helios (TM) 3D Engine (Java): Query Hit Class
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Spatial;
+
+/**
+ * The result of a ray or nearest-primitive query: the primitive found and
+ * its distance. Reused across queries as a destination.
+ */
+public class Hit {
+	private int Primitive;
+	private float Distance;
+	
+	/**
+	 * Creates an empty hit
+	 */
+	public Hit() {
+		this.clear();
+	}
+	
+	/*
+	 * INSTANCE METHODS
+	 */
+	
+	//Accessors
+	
+	/**
+	 * Returns the distance to the primitive, along the ray for ray queries
+	 * @return the distance, or +infinity if nothing was found
+	 */
+	public float distance() {
+		return this.Distance;
+	}
+	
+	/**
+	 * Returns the primitive index
+	 * @return the primitive, or -1 if nothing was found
+	 */
+	public int primitive() {
+		return this.Primitive;
+	}
+	
+	/**
+	 * Returns a string containing the primitive and distance
+	 * Format: "(Primitive, Distance)"
+	 */
+	public String toString() {
+		return "(" + this.Primitive + ", " + this.Distance + ")";
+	}
+	
+	//Mutators
+	
+	/**
+	 * Resets this hit to nothing found
+	 */
+	public void clear() {
+		this.set(-1, Float.POSITIVE_INFINITY);
+	}
+	
+	/**
+	 * Sets new values for the hit
+	 * @param Primitive the primitive index
+	 * @param Distance the distance
+	 */
+	public void set(int Primitive, float Distance) {
+		this.Primitive = Primitive;
+		this.Distance = Distance;
+	}
+}
@@ -0,0 +1,88 @@
+/* Helios (TM) 3D Engine (Java): Skinning Test
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Animation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import Math.DualQuaternion;
+import Math.Quaternion;
+import Math.Vector3;
+import Math.Vector3Array;
+
+/**
+ * Checks that a null pool skins on the calling thread and that bone indices
+ * outside the palette are rejected.
+ */
+public class SkinningTest {
+	private static final int Count = 2 * Skinning.TASK_SIZE + 3;
+	
+	private static DualQuaternion[] bones() {
+		return new DualQuaternion[] {
+			new DualQuaternion(new Quaternion(0.0f, 0.0f, 0.0f, 1.0f), new Vector3(1.0f, 2.0f, 3.0f)),
+			new DualQuaternion(new Quaternion(0.0f, 0.70710677f, 0.0f, 0.70710677f), new Vector3(-1.0f, 0.0f, 0.5f))
+		};
+	}
+	
+	private static Vector3Array positions() {
+		Vector3Array Positions = new Vector3Array(SkinningTest.Count);
+		for(int i = 0; i < SkinningTest.Count; i++) {
+			Positions.set(i, 0.001f * i, 1.0f - 0.002f * i, 0.5f);
+		}
+		return Positions;
+	}
+	
+	@Test
+	public void badIndex() {
+		int[] Indices = new int[Skinning.INFLUENCES * SkinningTest.Count];
+		float[] Weights = new float[Skinning.INFLUENCES * SkinningTest.Count];
+		for(int i = 0; i < SkinningTest.Count; i++) {
+			Weights[Skinning.INFLUENCES * i] = 1.0f;
+			//Unused slots are not read
+			Indices[Skinning.INFLUENCES * i + 1] = 99;
+		}
+		Vector3Array Positions = SkinningTest.positions(), Dest = new Vector3Array(SkinningTest.Count);
+		Skinning.skin(SkinningTest.bones(), Indices, Weights, Positions, Dest, 0, SkinningTest.Count);
+		//8 * (2^29 + 1) wraps to a valid palette offset
+		for(int Index : new int[] {2, -1, (1 << 29) + 1}) {
+			Indices[Skinning.INFLUENCES * 100] = Index;
+			assertThrows(IndexOutOfBoundsException.class,
+				() -> Skinning.skin(SkinningTest.bones(), Indices, Weights, Positions, Dest, 0, SkinningTest.Count));
+			assertThrows(IndexOutOfBoundsException.class,
+				() -> Skinning.skin(SkinningTest.bones(), Indices, Weights, Positions, Dest, 0, SkinningTest.Count, null));
+		}
+	}
+	
+	@Test
+	public void nullPool() {
+		int[] Indices = new int[Skinning.INFLUENCES * SkinningTest.Count];
+		float[] Weights = new float[Skinning.INFLUENCES * SkinningTest.Count];
+		for(int i = 0; i < SkinningTest.Count; i++) {
+			Indices[Skinning.INFLUENCES * i + 1] = 1;
+			Weights[Skinning.INFLUENCES * i] = 0.25f + 0.5f * i / SkinningTest.Count;
+			Weights[Skinning.INFLUENCES * i + 1] = 0.5f;
+		}
+		Vector3Array Positions = SkinningTest.positions(), Normals = SkinningTest.positions();
+		Vector3Array Serial = new Vector3Array(SkinningTest.Count), SerialNormals = new Vector3Array(SkinningTest.Count);
+		Vector3Array Dest = new Vector3Array(SkinningTest.Count), NormalDest = new Vector3Array(SkinningTest.Count);
+		Skinning.skin(SkinningTest.bones(), Indices, Weights, Positions, Normals, Serial, SerialNormals, 0, SkinningTest.Count);
+		Skinning.skin(SkinningTest.bones(), Indices, Weights, Positions, Normals, Dest, NormalDest, 0, SkinningTest.Count, null);
+		assertArrayEquals(Serial.x(), Dest.x());
+		assertArrayEquals(Serial.y(), Dest.y());
+		assertArrayEquals(Serial.z(), Dest.z());
+		assertArrayEquals(SerialNormals.x(), NormalDest.x());
+		assertArrayEquals(SerialNormals.y(), NormalDest.y());
+		assertArrayEquals(SerialNormals.z(), NormalDest.z());
+		Skinning.skin(SkinningTest.bones(), Indices, Weights, Positions, Dest, 0, SkinningTest.Count, null);
+		assertArrayEquals(Serial.x(), Dest.x());
+		assertArrayEquals(Serial.y(), Dest.y());
+		assertArrayEquals(Serial.z(), Dest.z());
+	}
+}
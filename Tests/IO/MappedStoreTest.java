@@ -0,0 +1,82 @@
+/* Helios (TM) 3D Engine (Java): Memory-Mapped Data Store Test
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package IO;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that a corrupt record count in the stream table is rejected with an
+ * IOException when the store is opened, including counts whose byte size
+ * overflows a long, and that a stream count too large for the table to be
+ * read is rejected the same way.
+ */
+public class MappedStoreTest {
+	//Byte offset of the first stream's record count: header, then type and reserved ints
+	private static final long RecordsField = 16 + 8;
+	//Byte offset of the stream count in the header, after the magic and version
+	private static final long StreamsField = 8;
+	
+	@TempDir
+	Path Directory;
+	
+	private Path create() throws IOException {
+		Path File = this.Directory.resolve("store.hlxs");
+		MappedStore.create(File, new MappedStore.Layout().add("Positions", MappedStore.Type.VECTOR3, 10)).close();
+		return File;
+	}
+	
+	private static void corrupt(Path File, long Records) throws IOException {
+		try(FileChannel Channel = FileChannel.open(File, StandardOpenOption.WRITE)) {
+			ByteBuffer Field = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, Records);
+			Channel.write(Field, MappedStoreTest.RecordsField);
+		}
+	}
+	
+	@Test
+	public void overflowingCount() throws IOException {
+		Path File = this.create();
+		//2^62 records of 12 bytes wraps to zero bytes in a long
+		MappedStoreTest.corrupt(File, 1L << 62);
+		IOException Exception = assertThrows(IOException.class, () -> MappedStore.open(File));
+		assertEquals("Corrupt entry for stream 0", Exception.getMessage());
+	}
+	
+	@Test
+	public void overflowingStreams() throws IOException {
+		Path File = this.create();
+		//40M entries of 56 bytes is 2.24 GB, past an int; grow the file sparsely so the size check passes
+		int Streams = 40000000;
+		try(FileChannel Channel = FileChannel.open(File, StandardOpenOption.WRITE)) {
+			Channel.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, Streams), MappedStoreTest.StreamsField);
+			Channel.write(ByteBuffer.allocate(1), 16 + 56L * Streams);
+		}
+		IOException Exception = assertThrows(IOException.class, () -> MappedStore.open(File));
+		assertEquals("Corrupt stream table", Exception.getMessage());
+	}
+	
+	@Test
+	public void truncatedCount() throws IOException {
+		Path File = this.create();
+		try(MappedStore Store = MappedStore.open(File)) {
+			assertEquals(10L, Store.stream("Positions").count());
+		}
+		MappedStoreTest.corrupt(File, 1000);
+		assertThrows(IOException.class, () -> MappedStore.open(File));
+	}
+}
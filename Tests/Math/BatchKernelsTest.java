@@ -0,0 +1,265 @@
+/* Helios (TM) 3D Engine (Java): Batch Kernel Test
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks every kernel VectorBatchKernels overrides against the scalar
+ * kernels. Inputs are random, start at a non-zero offset and have lengths
+ * that are not a multiple of any lane count, so both the vector loop and the
+ * scalar tail run. The build runs this once with Helios.simd=false and once
+ * with the SIMD kernels selected.
+ */
+public class BatchKernelsTest {
+	private static final int[] Lengths = {1, 3, 7, 13, 37, 1003};
+	private static final int Offset = 5;
+	private static final int Ulps = 1;
+	
+	private final BatchKernels Kernels = BatchKernels.get();
+	private final BatchKernels Scalar = BatchKernels.scalar();
+	private final Random Random = new Random(42);
+	
+	private static void assertUlps(float[] Expected, float[] Actual, String Kernel) {
+		for(int i = 0; i < Expected.length; i++) {
+			float Tolerance = BatchKernelsTest.Ulps * Math.ulp(Math.max(Math.abs(Expected[i]), Math.abs(Actual[i])));
+			assertTrue(Math.abs(Expected[i] - Actual[i]) <= Tolerance, Kernel + "[" + i + "]: " + Expected[i] + " != " + Actual[i]);
+		}
+	}
+	
+	private static void assertUlps(Vector3Array Expected, Vector3Array Actual, String Kernel) {
+		BatchKernelsTest.assertUlps(Expected.x(), Actual.x(), Kernel + ".x");
+		BatchKernelsTest.assertUlps(Expected.y(), Actual.y(), Kernel + ".y");
+		BatchKernelsTest.assertUlps(Expected.z(), Actual.z(), Kernel + ".z");
+	}
+	
+	private static void assertUlps(Vector4Array Expected, Vector4Array Actual, String Kernel) {
+		BatchKernelsTest.assertUlps(Expected.w(), Actual.w(), Kernel + ".w");
+		BatchKernelsTest.assertUlps(Expected.x(), Actual.x(), Kernel + ".x");
+		BatchKernelsTest.assertUlps(Expected.y(), Actual.y(), Kernel + ".y");
+		BatchKernelsTest.assertUlps(Expected.z(), Actual.z(), Kernel + ".z");
+	}
+	
+	private static void assertUlps(QuaternionArray Expected, QuaternionArray Actual, String Kernel) {
+		BatchKernelsTest.assertUlps(Expected.w(), Actual.w(), Kernel + ".w");
+		BatchKernelsTest.assertUlps(Expected.x(), Actual.x(), Kernel + ".x");
+		BatchKernelsTest.assertUlps(Expected.y(), Actual.y(), Kernel + ".y");
+		BatchKernelsTest.assertUlps(Expected.z(), Actual.z(), Kernel + ".z");
+	}
+	
+	private void fill(float[] Array) {
+		for(int i = 0; i < Array.length; i++) {
+			Array[i] = this.Random.nextFloat() * 4.0f - 2.0f;
+		}
+	}
+	
+	private QuaternionArray quaternion(int Length) {
+		QuaternionArray Array = new QuaternionArray(BatchKernelsTest.Offset + Length + 3);
+		this.fill(Array.w());
+		this.fill(Array.x());
+		this.fill(Array.y());
+		this.fill(Array.z());
+		this.Scalar.normalize(Array, Array, 0, Array.size());
+		return Array;
+	}
+	
+	private Vector3Array vector3(int Length) {
+		Vector3Array Array = new Vector3Array(BatchKernelsTest.Offset + Length + 3);
+		this.fill(Array.x());
+		this.fill(Array.y());
+		this.fill(Array.z());
+		return Array;
+	}
+	
+	private Vector4Array vector4(int Length) {
+		Vector4Array Array = new Vector4Array(BatchKernelsTest.Offset + Length + 3);
+		this.fill(Array.w());
+		this.fill(Array.x());
+		this.fill(Array.y());
+		this.fill(Array.z());
+		return Array;
+	}
+	
+	private QuaternionArray vector4AsQuaternion(Vector4Array A) {
+		QuaternionArray Array = new QuaternionArray(A.size());
+		System.arraycopy(A.w(), 0, Array.w(), 0, A.size());
+		System.arraycopy(A.x(), 0, Array.x(), 0, A.size());
+		System.arraycopy(A.y(), 0, Array.y(), 0, A.size());
+		System.arraycopy(A.z(), 0, Array.z(), 0, A.size());
+		return Array;
+	}
+	
+	@Test
+	public void bounds() {
+		for(int Length : BatchKernelsTest.Lengths) {
+			Vector3Array A = this.vector3(Length);
+			AABB Expected = new AABB(), Actual = new AABB();
+			this.Scalar.bounds(A, Expected, BatchKernelsTest.Offset, Length);
+			this.Kernels.bounds(A, Actual, BatchKernelsTest.Offset, Length);
+			BatchKernelsTest.assertUlps(new float[] {Expected.minX(), Expected.minY(), Expected.minZ(), Expected.maxX(), Expected.maxY(), Expected.maxZ()},
+										new float[] {Actual.minX(), Actual.minY(), Actual.minZ(), Actual.maxX(), Actual.maxY(), Actual.maxZ()}, "bounds");
+		}
+	}
+	
+	@Test
+	public void cross() {
+		for(int Length : BatchKernelsTest.Lengths) {
+			Vector3Array A = this.vector3(Length), B = this.vector3(Length), Expected = this.vector3(Length), Actual = new Vector3Array(Expected);
+			this.Scalar.cross(A, B, Expected, BatchKernelsTest.Offset, Length);
+			this.Kernels.cross(A, B, Actual, BatchKernelsTest.Offset, Length);
+			BatchKernelsTest.assertUlps(Expected, Actual, "cross");
+		}
+	}
+	
+	@Test
+	public void dot() {
+		for(int Length : BatchKernelsTest.Lengths) {
+			Vector3Array A = this.vector3(Length), B = this.vector3(Length);
+			float[] Expected = new float[A.size()], Actual = new float[A.size()];
+			this.Scalar.dot(A, B, Expected, BatchKernelsTest.Offset, Length);
+			this.Kernels.dot(A, B, Actual, BatchKernelsTest.Offset, Length);
+			BatchKernelsTest.assertUlps(Expected, Actual, "dot");
+		}
+	}
+	
+	@Test
+	public void fastNormalize() {
+		for(int Length : BatchKernelsTest.Lengths) {
+			Vector3Array A3 = this.vector3(Length), Expected3 = this.vector3(Length), Actual3 = new Vector3Array(Expected3);
+			this.Scalar.fastNormalize(A3, Expected3, BatchKernelsTest.Offset, Length);
+			this.Kernels.fastNormalize(A3, Actual3, BatchKernelsTest.Offset, Length);
+			BatchKernelsTest.assertUlps(Expected3, Actual3, "fastNormalize3");
+			Vector4Array A4 = this.vector4(Length), Expected4 = this.vector4(Length), Actual4 = new Vector4Array(Expected4);
+			this.Scalar.fastNormalize(A4, Expected4, BatchKernelsTest.Offset, Length);
+			this.Kernels.fastNormalize(A4, Actual4, BatchKernelsTest.Offset, Length);
+			BatchKernelsTest.assertUlps(Expected4, Actual4, "fastNormalize4");
+			QuaternionArray AQ = this.vector4AsQuaternion(A4), ExpectedQ = this.quaternion(Length), ActualQ = new QuaternionArray(ExpectedQ);
+			this.Scalar.fastNormalize(AQ, ExpectedQ, BatchKernelsTest.Offset, Length);
+			this.Kernels.fastNormalize(AQ, ActualQ, BatchKernelsTest.Offset, Length);
+			BatchKernelsTest.assertUlps(ExpectedQ, ActualQ, "fastNormalizeQ");
+		}
+	}
+	
+	@Test
+	public void fastSlerp() {
+		for(int Length : BatchKernelsTest.Lengths) {
+			for(float T : new float[] {0.0f, 0.3f, 0.75f, 1.0f}) {
+				QuaternionArray A = this.quaternion(Length), B = this.quaternion(Length), Expected = this.quaternion(Length), Actual = new QuaternionArray(Expected);
+				this.Scalar.fastSlerp(A, B, T, Expected, BatchKernelsTest.Offset, Length);
+				this.Kernels.fastSlerp(A, B, T, Actual, BatchKernelsTest.Offset, Length);
+				BatchKernelsTest.assertUlps(Expected, Actual, "fastSlerp");
+			}
+		}
+	}
+	
+	@Test
+	public void fused() {
+		for(int Length : BatchKernelsTest.Lengths) {
+			for(boolean Fused : new boolean[] {false, true}) {
+				Vector3Array A3 = this.vector3(Length), B3 = this.vector3(Length), C3 = this.vector3(Length);
+				Vector3Array Expected3 = this.vector3(Length), Actual3 = new Vector3Array(Expected3);
+				this.Scalar.addScaled(A3, B3, 0.7f, Expected3, BatchKernelsTest.Offset, Length, Fused);
+				this.Kernels.addScaled(A3, B3, 0.7f, Actual3, BatchKernelsTest.Offset, Length, Fused);
+				BatchKernelsTest.assertUlps(Expected3, Actual3, "addScaled3");
+				this.Scalar.lerp(A3, B3, 0.3f, Expected3, BatchKernelsTest.Offset, Length, Fused);
+				this.Kernels.lerp(A3, B3, 0.3f, Actual3, BatchKernelsTest.Offset, Length, Fused);
+				BatchKernelsTest.assertUlps(Expected3, Actual3, "lerp3");
+				this.Scalar.madd(A3, B3, C3, Expected3, BatchKernelsTest.Offset, Length, Fused);
+				this.Kernels.madd(A3, B3, C3, Actual3, BatchKernelsTest.Offset, Length, Fused);
+				BatchKernelsTest.assertUlps(Expected3, Actual3, "madd3");
+				Vector4Array A4 = this.vector4(Length), B4 = this.vector4(Length), C4 = this.vector4(Length);
+				Vector4Array Expected4 = this.vector4(Length), Actual4 = new Vector4Array(Expected4);
+				this.Scalar.addScaled(A4, B4, 0.7f, Expected4, BatchKernelsTest.Offset, Length, Fused);
+				this.Kernels.addScaled(A4, B4, 0.7f, Actual4, BatchKernelsTest.Offset, Length, Fused);
+				BatchKernelsTest.assertUlps(Expected4, Actual4, "addScaled4");
+				this.Scalar.lerp(A4, B4, 0.3f, Expected4, BatchKernelsTest.Offset, Length, Fused);
+				this.Kernels.lerp(A4, B4, 0.3f, Actual4, BatchKernelsTest.Offset, Length, Fused);
+				BatchKernelsTest.assertUlps(Expected4, Actual4, "lerp4");
+				this.Scalar.madd(A4, B4, C4, Expected4, BatchKernelsTest.Offset, Length, Fused);
+				this.Kernels.madd(A4, B4, C4, Actual4, BatchKernelsTest.Offset, Length, Fused);
+				BatchKernelsTest.assertUlps(Expected4, Actual4, "madd4");
+			}
+		}
+	}
+	
+	@Test
+	public void integrate() {
+		for(int Length : BatchKernelsTest.Lengths) {
+			QuaternionArray A = this.quaternion(Length), Expected = this.quaternion(Length), Actual = new QuaternionArray(Expected);
+			Vector3Array Omega = this.vector3(Length);
+			this.Scalar.integrate(A, Omega, 0.016f, Expected, BatchKernelsTest.Offset, Length);
+			this.Kernels.integrate(A, Omega, 0.016f, Actual, BatchKernelsTest.Offset, Length);
+			BatchKernelsTest.assertUlps(Expected, Actual, "integrate");
+		}
+	}
+	
+	@Test
+	public void multiply() {
+		for(int Length : BatchKernelsTest.Lengths) {
+			QuaternionArray A = this.quaternion(Length), B = this.quaternion(Length), Expected = this.quaternion(Length), Actual = new QuaternionArray(Expected);
+			this.Scalar.multiply(A, B, Expected, BatchKernelsTest.Offset, Length);
+			this.Kernels.multiply(A, B, Actual, BatchKernelsTest.Offset, Length);
+			BatchKernelsTest.assertUlps(Expected, Actual, "multiply");
+		}
+	}
+	
+	@Test
+	public void nlerp() {
+		for(int Length : BatchKernelsTest.Lengths) {
+			QuaternionArray A = this.quaternion(Length), B = this.quaternion(Length), Expected = this.quaternion(Length), Actual = new QuaternionArray(Expected);
+			this.Scalar.nlerp(A, B, 0.4f, Expected, BatchKernelsTest.Offset, Length);
+			this.Kernels.nlerp(A, B, 0.4f, Actual, BatchKernelsTest.Offset, Length);
+			BatchKernelsTest.assertUlps(Expected, Actual, "nlerp");
+		}
+	}
+	
+	@Test
+	public void normalize() {
+		for(int Length : BatchKernelsTest.Lengths) {
+			Vector3Array A3 = this.vector3(Length), Expected3 = this.vector3(Length), Actual3 = new Vector3Array(Expected3);
+			this.Scalar.normalize(A3, Expected3, BatchKernelsTest.Offset, Length);
+			this.Kernels.normalize(A3, Actual3, BatchKernelsTest.Offset, Length);
+			BatchKernelsTest.assertUlps(Expected3, Actual3, "normalize3");
+			Vector4Array A4 = this.vector4(Length), Expected4 = this.vector4(Length), Actual4 = new Vector4Array(Expected4);
+			this.Scalar.normalize(A4, Expected4, BatchKernelsTest.Offset, Length);
+			this.Kernels.normalize(A4, Actual4, BatchKernelsTest.Offset, Length);
+			BatchKernelsTest.assertUlps(Expected4, Actual4, "normalize4");
+			QuaternionArray AQ = this.vector4AsQuaternion(A4), ExpectedQ = this.quaternion(Length), ActualQ = new QuaternionArray(ExpectedQ);
+			this.Scalar.normalize(AQ, ExpectedQ, BatchKernelsTest.Offset, Length);
+			this.Kernels.normalize(AQ, ActualQ, BatchKernelsTest.Offset, Length);
+			BatchKernelsTest.assertUlps(ExpectedQ, ActualQ, "normalizeQ");
+		}
+	}
+	
+	@Test
+	public void rotate() {
+		Quaternion Q = Quaternion.normalize(new Quaternion(0.1f, 0.7f, -0.2f, 0.68f));
+		for(int Length : BatchKernelsTest.Lengths) {
+			Vector3Array A = this.vector3(Length), Expected = this.vector3(Length), Actual = new Vector3Array(Expected);
+			this.Scalar.rotate(Q, A, Expected, BatchKernelsTest.Offset, Length);
+			this.Kernels.rotate(Q, A, Actual, BatchKernelsTest.Offset, Length);
+			BatchKernelsTest.assertUlps(Expected, Actual, "rotate");
+		}
+	}
+	
+	@Test
+	public void selection() {
+		if(Boolean.parseBoolean(System.getProperty("Helios.simd", "true"))) {
+			assertNotEquals("scalar", this.Kernels.name(), "SIMD kernels were not selected");
+		} else {
+			assertEquals("scalar", this.Kernels.name());
+		}
+	}
+
+}
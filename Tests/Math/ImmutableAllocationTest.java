@@ -0,0 +1,75 @@
+/* Helios (TM) 3D Engine (Java): Immutable Allocation Test
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+/**
+ * Checks that chained expressions on the immutable types are scalar-replaced
+ * once compiled, the same chains ImmutableBenchmark measures. This depends on
+ * C2 escape analysis, so the tests are skipped on a VM without it, such as
+ * under -Xint, -XX:TieredStopAtLevel=1 or -XX:-DoEscapeAnalysis. They also
+ * need -XX:-BackgroundCompilation, which the build sets, so that the warm-up
+ * returns only once C2 has compiled the body. Escape analysis is a JIT
+ * decision rather than a guarantee, so instead of zero bytes this allows a
+ * few one-off allocations across the 10^6 calls; one surviving intermediate
+ * per call would be at least 16 MB.
+ */
+public class ImmutableAllocationTest {
+	private static final long Budget = 4096;
+	
+	private float AX = 0.3f, AY = -1.2f, AZ = 2.1f;
+	private float BX = 2.5f, BY = 0.7f, BZ = -0.4f;
+	private ImmutableQuaternion Rotation = new ImmutableQuaternion(0.1f, 0.7f, -0.2f, 0.68f).normalize();
+	private float Sink;
+	
+	@BeforeEach
+	public void compiler() {
+		HotSpotDiagnosticMXBean Bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+		assumeTrue(Bean != null, "Not a HotSpot VM");
+		try {
+			assumeTrue(Boolean.parseBoolean(Bean.getVMOption("UseCompiler").getValue()), "JIT disabled");
+			assumeTrue(!Boolean.parseBoolean(Bean.getVMOption("TieredCompilation").getValue())
+					   || Integer.parseInt(Bean.getVMOption("TieredStopAtLevel").getValue()) >= 4, "C2 disabled");
+			assumeTrue(Boolean.parseBoolean(Bean.getVMOption("DoEscapeAnalysis").getValue())
+					   && Boolean.parseBoolean(Bean.getVMOption("EliminateAllocations").getValue()), "Escape analysis disabled");
+			assumeTrue(!Boolean.parseBoolean(Bean.getVMOption("BackgroundCompilation").getValue()), "Compiling in the background");
+		}catch(IllegalArgumentException Exception) {
+			//A VM built without C2 does not have its flags
+			assumeTrue(false, Exception.getMessage());
+		}
+	}
+	
+	@Test
+	public void normalizeCross() {
+		long Allocated = MutatorAllocationTest.allocated(() -> {
+			ImmutableVector3 A = new ImmutableVector3(this.AX, this.AY, this.AZ);
+			ImmutableVector3 B = new ImmutableVector3(this.BX, this.BY, this.BZ);
+			this.Sink += ImmutableVector3.normalize(ImmutableVector3.cross(A, B)).dot(B);
+		});
+		assertTrue(Allocated <= ImmutableAllocationTest.Budget, Allocated + " bytes allocated");
+	}
+	
+	@Test
+	public void rotateChain() {
+		long Allocated = MutatorAllocationTest.allocated(() -> {
+			ImmutableVector3 A = new ImmutableVector3(this.AX, this.AY, this.AZ);
+			ImmutableQuaternion Twice = this.Rotation.multiply(this.Rotation);
+			this.Sink += Twice.rotate(A).add(this.Rotation.rotate(A)).scale(0.5f).length();
+		});
+		assertTrue(Allocated <= ImmutableAllocationTest.Budget, Allocated + " bytes allocated");
+	}
+}
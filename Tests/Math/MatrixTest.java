@@ -0,0 +1,94 @@
+/* Helios (TM) 3D Engine (Java): Matrix Test
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the component accessors of Matrix3 and Matrix4 and that the
+ * allocating forms match the destination forms.
+ */
+public class MatrixTest {
+	private static final int[][] Outside3 = {{0, 3}, {1, -1}, {-1, 2}, {3, 0}, {2, 3}};
+	private static final int[][] Outside4 = {{0, 4}, {1, -1}, {-1, 3}, {4, 0}, {3, 4}};
+	
+	private static void assertMatrix(Matrix4 Expected, Matrix4 Actual) {
+		for(int Row = 0; Row < 4; Row++) {
+			for(int Column = 0; Column < 4; Column++) {
+				assertEquals(Expected.get(Row, Column), Actual.get(Row, Column));
+			}
+		}
+	}
+	
+	@Test
+	public void allocating() {
+		Quaternion Q = Quaternion.normalize(new Quaternion(0.1f, 0.7f, -0.2f, 0.68f));
+		Vector3 T = new Vector3(1.0f, -2.0f, 3.0f), S = new Vector3(2.0f, 2.0f, 2.0f), P = new Vector3(0.5f, 0.25f, -1.0f);
+		Matrix3 R = Matrix3.fromQuaternion(Q);
+		Matrix3 RT = Matrix3.transpose(R);
+		for(int Row = 0; Row < 3; Row++) {
+			for(int Column = 0; Column < 3; Column++) {
+				assertEquals(Matrix3.fromQuaternion(Q, new Matrix3()).get(Row, Column), R.get(Row, Column));
+				assertEquals(R.get(Column, Row), RT.get(Row, Column));
+			}
+		}
+		assertEquals(Matrix3.toQuaternion(R, new Quaternion()).toString(), Matrix3.toQuaternion(R).toString());
+		Matrix4 A = Matrix4.fromTranslationRotationScale(T, Q, S);
+		Matrix4 B = Matrix4.fromTranslationRotationScale(T, Q, new Vector3(1.0f, 1.0f, 1.0f));
+		MatrixTest.assertMatrix(Matrix4.fromTranslationRotationScale(T, Q, S, new Matrix4()), A);
+		MatrixTest.assertMatrix(Matrix4.fromQuaternion(Q, new Matrix4()), Matrix4.fromQuaternion(Q));
+		MatrixTest.assertMatrix(Matrix4.inverseAffine(A, new Matrix4()), Matrix4.inverseAffine(A));
+		MatrixTest.assertMatrix(Matrix4.inverseRigid(B, new Matrix4()), Matrix4.inverseRigid(B));
+		MatrixTest.assertMatrix(Matrix4.multiplyAffine(A, B, new Matrix4()), Matrix4.multiplyAffine(A, B));
+		MatrixTest.assertMatrix(Matrix4.transpose(A, new Matrix4()), Matrix4.transpose(A));
+		assertEquals(Matrix4.toQuaternion(B, new Quaternion()).toString(), Matrix4.toQuaternion(B).toString());
+		assertEquals(Matrix4.transformDirection(A, P, new Vector3()).toString(), Matrix4.transformDirection(A, P).toString());
+		assertEquals(Matrix4.transformPoint(A, P, new Vector3()).toString(), Matrix4.transformPoint(A, P).toString());
+	}
+	
+	@Test
+	public void index3() {
+		Matrix3 A = new Matrix3();
+		for(int Row = 0; Row < 3; Row++) {
+			for(int Column = 0; Column < 3; Column++) {
+				A.set(Row, Column, 3 * Row + Column);
+			}
+		}
+		for(int[] Index : MatrixTest.Outside3) {
+			assertThrows(IndexOutOfBoundsException.class, () -> A.get(Index[0], Index[1]));
+			assertThrows(IndexOutOfBoundsException.class, () -> A.set(Index[0], Index[1], -1.0f));
+		}
+		for(int Row = 0; Row < 3; Row++) {
+			for(int Column = 0; Column < 3; Column++) {
+				assertEquals(3 * Row + Column, A.get(Row, Column));
+			}
+		}
+	}
+	
+	@Test
+	public void index4() {
+		Matrix4 A = new Matrix4();
+		for(int Row = 0; Row < 4; Row++) {
+			for(int Column = 0; Column < 4; Column++) {
+				A.set(Row, Column, 4 * Row + Column);
+			}
+		}
+		for(int[] Index : MatrixTest.Outside4) {
+			assertThrows(IndexOutOfBoundsException.class, () -> A.get(Index[0], Index[1]));
+			assertThrows(IndexOutOfBoundsException.class, () -> A.set(Index[0], Index[1], -1.0f));
+		}
+		for(int Row = 0; Row < 4; Row++) {
+			for(int Column = 0; Column < 4; Column++) {
+				assertEquals(4 * Row + Column, A.get(Row, Column));
+			}
+		}
+	}
+}
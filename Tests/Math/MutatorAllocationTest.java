@@ -0,0 +1,101 @@
+/* Helios (TM) 3D Engine (Java): Mutator Allocation Test
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the instance mutators of Vector2, Vector3, Vector4 and
+ * Quaternion work in place: after warm-up, 10^6 calls must allocate no bytes
+ * on the calling thread.
+ */
+public class MutatorAllocationTest {
+	private static final int Calls = 1000000;
+	private static final int WarmUp = 200000;
+	
+	/**
+	 * Returns the bytes allocated by the current thread across Calls runs of
+	 * the body, after WarmUp runs to let the JIT compile it
+	 * @param Body the calls to measure
+	 * @return the bytes allocated
+	 */
+	static long allocated(Runnable Body) {
+		com.sun.management.ThreadMXBean Bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		for(int i = 0; i < MutatorAllocationTest.WarmUp; i++) {
+			Body.run();
+		}
+		long Start = Bean.getCurrentThreadAllocatedBytes();
+		for(int i = 0; i < MutatorAllocationTest.Calls; i++) {
+			Body.run();
+		}
+		return Bean.getCurrentThreadAllocatedBytes() - Start;
+	}
+	
+	@Test
+	public void quaternion() {
+		Quaternion A = new Quaternion(0.1f, 0.7f, -0.2f, 0.68f);
+		Quaternion B = new Quaternion(-0.3f, 0.2f, 0.5f, 0.79f);
+		Vector3 Omega = new Vector3(0.4f, -1.1f, 0.25f);
+		assertEquals(0L, MutatorAllocationTest.allocated(() -> {
+			A.multiply(B);
+			A.conjugate();
+			A.inverse();
+			A.integrate(Omega, 0.01f);
+			A.slerp(B, 0.25f);
+			A.nlerp(B, 0.25f);
+			A.scale(2.0f);
+			A.normalize();
+		}));
+	}
+	
+	@Test
+	public void vector2() {
+		Vector2 A = new Vector2(0.3f, -1.2f);
+		Vector2 B = new Vector2(2.5f, 0.7f);
+		assertEquals(0L, MutatorAllocationTest.allocated(() -> {
+			A.add(B);
+			A.subtract(B);
+			A.scale(B);
+			A.negate();
+			A.lerp(B, 0.25f);
+			A.normalize();
+		}));
+	}
+	
+	@Test
+	public void vector3() {
+		Vector3 A = new Vector3(0.3f, -1.2f, 2.1f);
+		Vector3 B = new Vector3(2.5f, 0.7f, -0.4f);
+		assertEquals(0L, MutatorAllocationTest.allocated(() -> {
+			A.add(B);
+			A.subtract(B);
+			A.scale(B);
+			A.negate();
+			A.lerp(B, 0.25f);
+			A.normalize();
+		}));
+	}
+	
+	@Test
+	public void vector4() {
+		Vector4 A = new Vector4(0.3f, -1.2f, 2.1f, 0.5f);
+		Vector4 B = new Vector4(2.5f, 0.7f, -0.4f, 1.5f);
+		assertEquals(0L, MutatorAllocationTest.allocated(() -> {
+			A.add(B);
+			A.subtract(B);
+			A.scale(B);
+			A.negate();
+			A.lerp(B, 0.25f);
+			A.normalize();
+		}));
+	}
+}
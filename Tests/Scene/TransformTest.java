@@ -0,0 +1,59 @@
+/* Helios (TM) 3D Engine (Java): Scene Transform Test
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Scene;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import Math.Matrix4;
+import Math.Quaternion;
+import Math.Vector3;
+
+/**
+ * Checks that new nodes start with identity local components and that
+ * rotating one moves it and its subtree.
+ */
+public class TransformTest {
+	private static final float Epsilon = 1.0E-6f;
+	
+	private static void assertVector(float X, float Y, float Z, Vector3 Actual) {
+		assertEquals(X, Actual.x(), TransformTest.Epsilon);
+		assertEquals(Y, Actual.y(), TransformTest.Epsilon);
+		assertEquals(Z, Actual.z(), TransformTest.Epsilon);
+	}
+	
+	@Test
+	public void identity() {
+		Transform Node = new TransformHierarchy().create();
+		Quaternion Rotation = Node.rotation(new Quaternion());
+		assertEquals(0.0f, Rotation.x());
+		assertEquals(0.0f, Rotation.y());
+		assertEquals(0.0f, Rotation.z());
+		assertEquals(1.0f, Rotation.w());
+		Vector3 Point = Matrix4.transformPoint(Node.worldMatrix(new Matrix4()), new Vector3(1.0f, 2.0f, 3.0f), new Vector3());
+		TransformTest.assertVector(1.0f, 2.0f, 3.0f, Point);
+	}
+	
+	@Test
+	public void rotate() {
+		TransformHierarchy Hierarchy = new TransformHierarchy();
+		Transform Root = Hierarchy.create();
+		Transform Child = Hierarchy.create(Root);
+		Child.setPosition(1.0f, 0.0f, 0.0f);
+		Hierarchy.update();
+		TransformTest.assertVector(1.0f, 0.0f, 0.0f, Child.worldPosition(new Vector3()));
+		//A quarter turn about Y takes +X to -Z
+		float Half = (float) Math.sqrt(0.5);
+		Root.rotate(new Quaternion(0.0f, Half, 0.0f, Half));
+		Vector3 Point = Matrix4.transformPoint(Root.worldMatrix(new Matrix4()), new Vector3(1.0f, 0.0f, 0.0f), new Vector3());
+		TransformTest.assertVector(0.0f, 0.0f, -1.0f, Point);
+		Hierarchy.update();
+		TransformTest.assertVector(0.0f, 0.0f, -1.0f, Child.worldPosition(new Vector3()));
+	}
+}
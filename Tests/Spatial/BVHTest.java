@@ -0,0 +1,124 @@
+/* Helios (TM) 3D Engine (Java): Bounding Volume Hierarchy Test
+* Copyright (C) DeRemee Systems, IXE Electronics LLC
+* Portions copyright IXE Electronics LLC, Republic Robotics, FemtoLaunch, FemtoSat, FemtoTrack, Weland
+* This work is made available under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+* To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/.
+*/
+
+package Spatial;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+import Math.AABB;
+import Math.Vector3;
+import Math.Vector3Array;
+
+/**
+ * Checks ray casts that run along box faces, where a zero direction component
+ * meets an origin on a slab plane, and that queries reuse a per-thread
+ * traversal stack without breaking queries nested in callbacks.
+ */
+public class BVHTest {
+	private int Visited;
+	
+	/**
+	 * Builds a row of Count unit cubes along X, cube i spanning [i, i + 1]
+	 */
+	private static BVH row(int Count) {
+		Vector3Array Min = new Vector3Array(Count), Max = new Vector3Array(Count);
+		for(int i = 0; i < Count; i++) {
+			Min.set(i, i, 0.0f, 0.0f);
+			Max.set(i, i + 1, 1.0f, 1.0f);
+		}
+		return new BVH(Min, Max, Count);
+	}
+	
+	private static void assertHit(BVH Tree, float OX, float OY, float OZ, float DX, float DY, float DZ, int Primitive, float Distance) {
+		Hit Dest = new Hit();
+		assertTrue(Tree.raycast(new Vector3(OX, OY, OZ), new Vector3(DX, DY, DZ), 100.0f, null, Dest));
+		assertEquals(Primitive, Dest.primitive());
+		assertEquals(Distance, Dest.distance());
+	}
+	
+	@Test
+	public void alongFaces() {
+		BVH Tree = BVHTest.row(1);
+		BVHTest.assertHit(Tree, 0.0f, 0.5f, -5.0f, 0.0f, 0.0f, 1.0f, 0, 5.0f);
+		BVHTest.assertHit(Tree, 1.0f, 0.5f, -5.0f, 0.0f, 0.0f, 1.0f, 0, 5.0f);
+		BVHTest.assertHit(Tree, 0.0f, 0.0f, -5.0f, 0.0f, 0.0f, 1.0f, 0, 5.0f);
+		BVHTest.assertHit(Tree, 1.0f, 1.0f, 6.0f, -0.0f, 0.0f, -1.0f, 0, 5.0f);
+		BVHTest.assertHit(Tree, 0.5f, 1.0f, 0.5f, 0.0f, -0.0f, 0.0f, 0, 0.0f);
+	}
+	
+	@Test
+	public void infiniteRange() {
+		BVH Tree = BVHTest.row(8);
+		Hit Dest = new Hit();
+		Vector3 Direction = new Vector3(1.0f, 0.0f, 0.0f);
+		assertFalse(Tree.raycast(new Vector3(-5.0f, 5.0f, 5.0f), Direction, Float.POSITIVE_INFINITY, null, Dest));
+		assertFalse(Tree.raycast(new Vector3(-5.0f, 5.0f, 5.0f), Direction, Float.POSITIVE_INFINITY,
+			(Primitive, OX, OY, OZ, DX, DY, DZ, MaxDistance) -> Float.POSITIVE_INFINITY, Dest));
+		assertTrue(Tree.raycast(new Vector3(-5.0f, 0.5f, 0.5f), Direction, Float.POSITIVE_INFINITY, null, Dest));
+		assertEquals(0, Dest.primitive());
+		assertEquals(5.0f, Dest.distance());
+	}
+	
+	@Test
+	public void gridPlanes() {
+		BVH Tree = BVHTest.row(64);
+		//Runs along the shared face of cubes 9 and 10, entering both at the same distance
+		Hit Dest = new Hit();
+		assertTrue(Tree.raycast(new Vector3(10.0f, 0.5f, -2.0f), new Vector3(0.0f, 0.0f, 1.0f), 100.0f, null, Dest));
+		assertTrue(Dest.primitive() == 9 || Dest.primitive() == 10, "Hit " + Dest.primitive());
+		assertEquals(2.0f, Dest.distance());
+		//Runs along the top face of the row from outside it
+		BVHTest.assertHit(Tree, -3.0f, 1.0f, 1.0f, 1.0f, 0.0f, 0.0f, 0, 3.0f);
+		BVHTest.assertHit(Tree, 70.0f, 0.0f, 0.0f, -1.0f, 0.0f, 0.0f, 63, 6.0f);
+	}
+	
+	@Test
+	public void nested() {
+		BVH Outer = BVHTest.row(64), Inner = BVHTest.row(16);
+		AABB Box = new AABB(-1.0f, -1.0f, -1.0f, 100.0f, 2.0f, 2.0f);
+		int[] Found = new int[1];
+		//Each outer primitive reports every inner primitive through a nested query
+		assertEquals(64, Outer.overlap(Box, Primitive -> Found[0] += Inner.overlap(Box, Nested -> {})));
+		assertEquals(64 * 16, Found[0]);
+		Hit Dest = new Hit();
+		assertTrue(Outer.nearest(new Vector3(30.5f, 0.5f, 5.0f), 100.0f, (Primitive, PX, PY, PZ) -> {
+			Hit Nested = new Hit();
+			Inner.nearest(new Vector3(PX, PY, PZ), 100.0f, null, Nested);
+			float DX = PX - (Primitive + 0.5f), DZ = PZ - 0.5f;
+			return DX * DX + DZ * DZ;
+		}, Dest));
+		assertEquals(30, Dest.primitive());
+	}
+	
+	@Test
+	public void noAllocation() {
+		BVH Tree = BVHTest.row(4096);
+		AABB Box = new AABB(100.0f, 0.0f, 0.0f, 140.0f, 1.0f, 1.0f);
+		Vector3 Origin = new Vector3(-3.0f, 0.5f, 0.5f), Direction = new Vector3(1.0f, 0.0f, 0.0f), Point = new Vector3(2000.5f, 3.0f, 0.5f);
+		Hit Dest = new Hit();
+		Runnable Body = () -> {
+			Tree.raycast(Origin, Direction, 1.0E4f, null, Dest);
+			Tree.nearest(Point, 1.0E4f, null, Dest);
+			this.Visited += Tree.overlap(Box, Primitive -> {});
+		};
+		com.sun.management.ThreadMXBean Bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		for(int i = 0; i < 20000; i++) {
+			Body.run();
+		}
+		long Start = Bean.getCurrentThreadAllocatedBytes();
+		for(int i = 0; i < 100000; i++) {
+			Body.run();
+		}
+		assertEquals(0L, Bean.getCurrentThreadAllocatedBytes() - Start);
+	}
+}